@@ -0,0 +1,483 @@
+package dev.felnull.itts.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ハッシュ化されたタイミングホイールによるタイマー<br/>
+ * 登録とキャンセルは定数時間で行い、キャンセルされたタスクは次のティックでホイールから取り除く<br/>
+ * 実行時間の精度はティックの間隔に依存する
+ *
+ * @author MORIMORI0317
+ */
+public class HashedWheelTimer {
+
+    /**
+     * 1ティックで登録を反映する最大の数
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    /**
+     * ティックの間隔(ns)
+     */
+    private final long tickDuration;
+
+    /**
+     * ホイール
+     */
+    private final Bucket[] wheel;
+
+    /**
+     * ホイールの位置を求めるためのマスク
+     */
+    private final int mask;
+
+    /**
+     * 登録待ちのタスク
+     */
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 取り除き待ちのキャンセルされたタスク
+     */
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * ワーカースレッド
+     */
+    private final Thread workerThread;
+
+    /**
+     * 現在のティックの実行後に再登録する繰り返しのタスク (ワーカースレッドからのみ操作)
+     */
+    private final List<Timeout> rescheduleTimeouts = new ArrayList<>();
+
+    /**
+     * 開始時間(ns)
+     */
+    private final long startTime;
+
+    /**
+     * 登録中のタスク数
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * 実行したタスク数
+     */
+    private final AtomicLong executedCount = new AtomicLong();
+
+    /**
+     * キャンセルされたタスク数
+     */
+    private final AtomicLong cancelledCount = new AtomicLong();
+
+    /**
+     * 実行の遅れの合計(ns)
+     */
+    private final AtomicLong totalLag = new AtomicLong();
+
+    /**
+     * 実行の遅れの最大(ns)
+     */
+    private final AtomicLong maxLag = new AtomicLong();
+
+    /**
+     * 停止したかどうか
+     */
+    private volatile boolean stopped;
+
+    /**
+     * 経過したティック数 (ワーカースレッドからのみ操作)
+     */
+    private long tick;
+
+    /**
+     * コンストラクタ
+     *
+     * @param threadName    ワーカースレッドの名前
+     * @param tickDuration  ティックの間隔
+     * @param unit          ティックの間隔の単位
+     * @param ticksPerWheel ホイール1周のティック数 (2の累乗に切り上げる)
+     */
+    public HashedWheelTimer(@NotNull String threadName, long tickDuration, @NotNull TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel out of range: " + ticksPerWheel);
+        }
+
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        if (wheelSize <= 0) {
+            wheelSize = 1;
+        }
+
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        this.mask = wheelSize - 1;
+
+        for (int i = 0; i < wheelSize; i++) {
+            this.wheel[i] = new Bucket();
+        }
+
+        this.startTime = System.nanoTime();
+        this.workerThread = new Thread(this::work, threadName);
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    /**
+     * タスクを登録
+     *
+     * @param task   タスク
+     * @param delay  遅延(ms)
+     * @param period 繰り返す間隔(ms)、0の場合は繰り返さない
+     * @return 登録したタスク
+     */
+    @NotNull
+    public Timeout newTimeout(@NotNull Runnable task, long delay, long period) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Negative delay");
+        }
+
+        if (period < 0) {
+            throw new IllegalArgumentException("Negative period");
+        }
+
+        if (stopped) {
+            throw new IllegalStateException("Timer already stopped");
+        }
+
+        Timeout timeout = new Timeout(task, toDeadline(TimeUnit.MILLISECONDS.toNanos(delay)), TimeUnit.MILLISECONDS.toNanos(period));
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+
+        return timeout;
+    }
+
+    /**
+     * タイマーを停止<br/>
+     * 登録済みのタスクは実行されない
+     */
+    public void stop() {
+        stopped = true;
+        workerThread.interrupt();
+    }
+
+    /**
+     * 統計を取得
+     *
+     * @return 統計
+     */
+    @NotNull
+    public TimerMetrics getMetrics() {
+        long executed = executedCount.get();
+        return new TimerMetrics(pendingCount.get(), executed, cancelledCount.get(),
+                executed > 0 ? totalLag.get() / executed : 0, maxLag.get());
+    }
+
+    private long toDeadline(long delayNanos) {
+        long deadline = System.nanoTime() - startTime + delayNanos;
+
+        // オーバーフロー対策
+        return deadline < 0 ? Long.MAX_VALUE : deadline;
+    }
+
+    private void work() {
+        while (!stopped) {
+            if (!waitForNextTick()) {
+                continue;
+            }
+
+            removeCancelled();
+            transferPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+            reschedule();
+        }
+    }
+
+    private boolean waitForNextTick() {
+        long deadline = tickDuration * (tick + 1);
+
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+
+            if (sleepNanos <= 0) {
+                return true;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+
+            if (timeout.state.get() == Timeout.STATE_CANCELLED) {
+                continue;
+            }
+
+            // 過去の時間の場合は現在のティックで実行する
+            place(timeout, tick);
+        }
+    }
+
+    private void reschedule() {
+        // 実行中の枠に戻すと、この周回で残りの周回数が減らされずに1周遅れるため、ティックを進めてから登録する
+        for (Timeout timeout : rescheduleTimeouts) {
+            if (timeout.state.get() != Timeout.STATE_CANCELLED) {
+                place(timeout, tick);
+            }
+        }
+
+        rescheduleTimeouts.clear();
+    }
+
+    private void place(Timeout timeout, long minTick) {
+        long ticks = Math.max(timeout.deadline / tickDuration, minTick);
+        timeout.remainingRounds = (ticks - tick) / wheel.length;
+        wheel[(int) (ticks & mask)].add(timeout);
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+
+        while (timeout != null) {
+            Timeout next = timeout.next;
+
+            if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                run(timeout);
+            } else {
+                timeout.remainingRounds--;
+            }
+
+            timeout = next;
+        }
+    }
+
+    private void run(Timeout timeout) {
+        if (!timeout.state.compareAndSet(Timeout.STATE_INIT, Timeout.STATE_RUNNING)) {
+            return;
+        }
+
+        // 前のタスクの実行に時間がかかった場合の遅れも含める
+        long lag = Math.max(System.nanoTime() - startTime - timeout.deadline, 0);
+        totalLag.addAndGet(lag);
+        maxLag.accumulateAndGet(lag, Math::max);
+        executedCount.incrementAndGet();
+
+        try {
+            timeout.task.run();
+        } catch (Throwable throwable) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        }
+
+        if (timeout.period > 0 && timeout.state.compareAndSet(Timeout.STATE_RUNNING, Timeout.STATE_INIT)) {
+            // 実行終了から間隔を空けて再登録する
+            timeout.deadline = toDeadline(timeout.period);
+            rescheduleTimeouts.add(timeout);
+        } else if (timeout.state.compareAndSet(Timeout.STATE_RUNNING, Timeout.STATE_EXPIRED)) {
+            pendingCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * ホイールの1枠に入るタスクのリスト
+     *
+     * @author MORIMORI0317
+     */
+    private static final class Bucket {
+
+        /**
+         * 先頭
+         */
+        private Timeout head;
+
+        /**
+         * 末尾
+         */
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    /**
+     * タイマーの統計
+     *
+     * @param pendingTasks   登録中のタスク数
+     * @param executedTasks  実行したタスク数
+     * @param cancelledTasks キャンセルされたタスク数
+     * @param averageLag     予定時間からの実行の遅れの平均(ns)
+     * @param maxLag         予定時間からの実行の遅れの最大(ns)
+     * @author MORIMORI0317
+     */
+    public record TimerMetrics(int pendingTasks, long executedTasks, long cancelledTasks, long averageLag, long maxLag) {
+    }
+
+    /**
+     * 登録したタスク
+     *
+     * @author MORIMORI0317
+     */
+    public final class Timeout {
+
+        /**
+         * 待機中
+         */
+        private static final int STATE_INIT = 0;
+
+        /**
+         * 実行中
+         */
+        private static final int STATE_RUNNING = 1;
+
+        /**
+         * キャンセル済み
+         */
+        private static final int STATE_CANCELLED = 2;
+
+        /**
+         * 実行済み
+         */
+        private static final int STATE_EXPIRED = 3;
+
+        /**
+         * タスク
+         */
+        private final Runnable task;
+
+        /**
+         * 繰り返す間隔(ns)
+         */
+        private final long period;
+
+        /**
+         * 状態
+         */
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+        /**
+         * 実行予定時間 (開始時間からの経過ns)
+         */
+        private long deadline;
+
+        /**
+         * 実行までの残りの周回数 (ワーカースレッドからのみ操作)
+         */
+        private long remainingRounds;
+
+        /**
+         * 所属する枠 (ワーカースレッドからのみ操作)
+         */
+        private Bucket bucket;
+
+        /**
+         * 前のタスク (ワーカースレッドからのみ操作)
+         */
+        private Timeout prev;
+
+        /**
+         * 次のタスク (ワーカースレッドからのみ操作)
+         */
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline, long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        /**
+         * キャンセル<br/>
+         * 実行中の場合は、繰り返しのみ停止する
+         *
+         * @return キャンセルできたかどうか
+         */
+        public boolean cancel() {
+            while (true) {
+                int current = state.get();
+
+                if (current == STATE_CANCELLED || current == STATE_EXPIRED) {
+                    return false;
+                }
+
+                if (state.compareAndSet(current, STATE_CANCELLED)) {
+                    break;
+                }
+            }
+
+            pendingCount.decrementAndGet();
+            cancelledCount.incrementAndGet();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+    }
+}
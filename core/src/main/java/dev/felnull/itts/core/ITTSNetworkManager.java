@@ -3,9 +3,14 @@ package dev.felnull.itts.core;
 import com.google.common.base.Suppliers;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
 /**
@@ -47,4 +52,34 @@ public class ITTSNetworkManager {
     public HttpClient getHttpClient() {
         return httpClient.get();
     }
+
+    /**
+     * リクエストを送信してレスポンスを待つ<br/>
+     * 待機中に割り込まれた場合は通信を中止する
+     *
+     * @param request     リクエスト
+     * @param bodyHandler レスポンスボディのハンドラー
+     * @param <T>         レスポンスボディの型
+     * @return レスポンス
+     * @throws IOException          IO例外
+     * @throws InterruptedException 割り込み例外
+     */
+    @NotNull
+    public <T> HttpResponse<T> sendInterruptibly(@NotNull HttpRequest request, @NotNull HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        CompletableFuture<HttpResponse<T>> future = getHttpClient().sendAsync(request, bodyHandler);
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
 }
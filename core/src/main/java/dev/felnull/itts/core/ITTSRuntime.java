@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import dev.felnull.itts.core.audio.VoiceAudioManager;
 import dev.felnull.itts.core.cache.CacheManager;
 import dev.felnull.itts.core.config.ConfigManager;
+import dev.felnull.itts.core.config.ThreadConfig;
 import dev.felnull.itts.core.dict.DictionaryManager;
 import dev.felnull.itts.core.discord.Bot;
 import dev.felnull.itts.core.savedata.SaveDataManager;
@@ -13,9 +14,9 @@ import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
-import java.util.Timer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -40,18 +41,12 @@ public class ITTSRuntime {
     /**
      * 非同期処理用エクスキューター
      */
-    private final ExecutorService asyncWorkerExecutor = Executors.newCachedThreadPool(new BasicThreadFactory.Builder()
-            .namingPattern("async-worker-%d")
-            .daemon(true)
-            .build());
+    private final WorkerExecutorService asyncWorkerExecutor = new WorkerExecutorService("async-worker");
 
     /**
      * HTTP接続の制御を行うためのエクスキューター
      */
-    private final ExecutorService httpWorkerExecutor = Executors.newCachedThreadPool(new BasicThreadFactory.Builder()
-            .namingPattern("http-worker-%d")
-            .daemon(true)
-            .build());
+    private final WorkerExecutorService httpWorkerExecutor = new WorkerExecutorService("http-worker");
 
     /**
      * 重い処理を行うエクスキューター
@@ -62,13 +57,18 @@ public class ITTSRuntime {
     /**
      * タイマー
      */
-    private final ImmortalityTimer immortalityTimer = new ImmortalityTimer(new Timer("immortality-timer", true));
+    private final ImmortalityTimer immortalityTimer = new ImmortalityTimer("immortality-timer");
 
     /**
      * ディレクトリロック
      */
     private final DirectoryLock directoryLock = new DirectoryLock();
 
+    /**
+     * 仮想スレッドのキャリアスレッド固定の監視
+     */
+    private final PinnedThreadMonitor pinnedThreadMonitor;
+
     /**
      * バージョン
      */
@@ -139,6 +139,7 @@ public class ITTSRuntime {
         directoryLock.lock();
 
         this.logger = runtimeContext.getLogContext().getLogger();
+        this.pinnedThreadMonitor = new PinnedThreadMonitor(logger);
 
         String v = ITTSRuntime.class.getPackage().getImplementationVersion();
         this.developmentEnvironment = v == null;
@@ -148,7 +149,7 @@ public class ITTSRuntime {
         this.configManager = new ConfigManager(runtimeContext.getConfigContext());
         this.cacheManager = new CacheManager(runtimeContext.getGlobalCacheAccessFactory());
 
-        this.managers = ImmutableList.of(configManager, voiceManager);
+        this.managers = ImmutableList.of(configManager, cacheManager, voiceManager);
     }
 
     /**
@@ -198,13 +199,37 @@ public class ITTSRuntime {
                 .map(ITTSBaseManager::init)
                 .forEach(CompletableFuture::join);
 
+        setupWorkerThreads();
+
         SaveDataManager.getInstance().init();
+        dictionaryManager.init();
 
         logger.info("Setup complete");
 
         bot.start();
     }
 
+    private void setupWorkerThreads() {
+        ThreadConfig threadConfig = configManager.getConfig().getThreadConfig();
+
+        if (!threadConfig.isVirtualThreads()) {
+            return;
+        }
+
+        asyncWorkerExecutor.useVirtualThreads();
+        httpWorkerExecutor.useVirtualThreads();
+        logger.info("Using virtual threads for async and http workers");
+
+        long pinnedWarnThreshold = threadConfig.getPinnedWarnThreshold();
+        if (pinnedWarnThreshold > 0) {
+            try {
+                pinnedThreadMonitor.start(Duration.ofMillis(pinnedWarnThreshold));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to start pinned virtual thread monitor", e);
+            }
+        }
+    }
+
     public long getStartupTime() {
         return startupTime;
     }
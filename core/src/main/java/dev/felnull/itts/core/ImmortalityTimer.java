@@ -1,27 +1,46 @@
 package dev.felnull.itts.core;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * 処理中にエラーが発生しても停止しないタイマー
- * 元のタイマーをラップする
+ * 処理中にエラーが発生しても停止しないタイマー<br/>
+ * ハッシュ化されたタイミングホイールで動作し、登録とキャンセルは定数時間で行う
  *
  * @author MORIMORI0317
  */
 public class ImmortalityTimer implements ITTSRuntimeUse {
 
+    /**
+     * ティックの間隔(ms)
+     */
+    private static final long TICK_DURATION = 10;
+
+    /**
+     * ホイール1周のティック数
+     */
+    private static final int TICKS_PER_WHEEL = 512;
+
     /**
      * ラップされるタイマー
      */
-    private final Timer timer;
+    private final HashedWheelTimer timer;
+
+    /**
+     * コンストラクタ
+     *
+     * @param threadName タイマースレッドの名前
+     */
+    public ImmortalityTimer(String threadName) {
+        this(new HashedWheelTimer(threadName, TICK_DURATION, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL));
+    }
 
     /**
      * コンストラクタ
      *
      * @param timer ラップされるタイマー
      */
-    public ImmortalityTimer(Timer timer) {
+    public ImmortalityTimer(HashedWheelTimer timer) {
         this.timer = timer;
     }
 
@@ -30,10 +49,11 @@ public class ImmortalityTimer implements ITTSRuntimeUse {
      *
      * @param task  タスク
      * @param delay 遅延
-     * @see Timer
+     * @see java.util.Timer
      */
     public void schedule(ImmortalityTimerTask task, long delay) {
-        timer.schedule(task.task, delay);
+        task.reserve();
+        task.bind(timer.newTimeout(task::runSafely, delay, 0));
     }
 
     /**
@@ -42,38 +62,86 @@ public class ImmortalityTimer implements ITTSRuntimeUse {
      * @param task   タスク
      * @param delay  遅延
      * @param period 間隔
-     * @see Timer
+     * @see java.util.Timer
      */
     public void schedule(ImmortalityTimerTask task, long delay, long period) {
-        timer.schedule(task.task, delay, period);
+        if (period <= 0) {
+            throw new IllegalArgumentException("Non-positive period");
+        }
+
+        task.reserve();
+        task.bind(timer.newTimeout(task::runSafely, delay, period));
+    }
+
+    /**
+     * タイマーの統計を取得
+     *
+     * @return 統計
+     */
+    public HashedWheelTimer.TimerMetrics getMetrics() {
+        return timer.getMetrics();
+    }
+
+    /**
+     * タイマーを停止
+     */
+    public void stop() {
+        timer.stop();
     }
 
     /**
      * TimerTaskのラップ
      *
      * @author MORIMORI0317
-     * @see TimerTask
+     * @see java.util.TimerTask
      */
     public abstract static class ImmortalityTimerTask implements Runnable {
+
         /**
-         * ラップされるタイマータスク
+         * キャンセル済みを示す登録
          */
-        private final TimerTask task = new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    ImmortalityTimerTask.this.run();
-                } catch (Exception ex) {
-                    ITTSRuntime.getInstance().getLogger().error("An error occurred while processing the timer", ex);
-                }
-            }
-        };
+        private static final Object CANCELLED = new Object();
+
+        /**
+         * 登録中を示す登録
+         */
+        private static final Object SCHEDULING = new Object();
+
+        /**
+         * 登録したタスク、登録中の場合はSCHEDULING、キャンセル済みの場合はCANCELLED
+         */
+        private final AtomicReference<Object> timeout = new AtomicReference<>();
 
         /**
          * タイマータスクをキャンセル
          */
         public void cancel() {
-            task.cancel();
+            Object old = timeout.getAndSet(CANCELLED);
+
+            if (old instanceof HashedWheelTimer.Timeout registered) {
+                registered.cancel();
+            }
+        }
+
+        private void reserve() {
+            if (!timeout.compareAndSet(null, SCHEDULING)) {
+                throw new IllegalStateException("Task already scheduled or cancelled");
+            }
+        }
+
+        private void bind(HashedWheelTimer.Timeout registered) {
+            // 登録中にキャンセルされた場合
+            if (!timeout.compareAndSet(SCHEDULING, registered)) {
+                registered.cancel();
+            }
+        }
+
+        private void runSafely() {
+            try {
+                run();
+            } catch (Exception ex) {
+                ITTSRuntime.getInstance().getLogger().error("An error occurred while processing the timer", ex);
+            }
         }
     }
 }
@@ -0,0 +1,90 @@
+package dev.felnull.itts.core;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+
+/**
+ * 仮想スレッドがキャリアスレッドに固定されたことを検出する<br/>
+ * JFRのjdk.VirtualThreadPinnedイベントを監視し、固定された場所を警告として出力する
+ *
+ * @author MORIMORI0317
+ */
+final class PinnedThreadMonitor {
+
+    /**
+     * 監視するイベント名
+     */
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    /**
+     * 出力するスタックトレースの最大の深さ
+     */
+    private static final int MAX_STACK_DEPTH = 16;
+
+    /**
+     * ロガー
+     */
+    private final Logger logger;
+
+    /**
+     * イベントのストリーム
+     */
+    private RecordingStream stream;
+
+    /**
+     * コンストラクタ
+     *
+     * @param logger ロガー
+     */
+    PinnedThreadMonitor(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * 監視を開始
+     *
+     * @param threshold 警告を行う固定時間
+     */
+    synchronized void start(Duration threshold) {
+        if (stream != null) {
+            return;
+        }
+
+        RecordingStream rs = new RecordingStream();
+        rs.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        rs.onEvent(EVENT_NAME, this::onPinned);
+        rs.startAsync();
+
+        this.stream = rs;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        StringBuilder sb = new StringBuilder();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+
+        if (stackTrace != null) {
+            int depth = 0;
+
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (depth++ >= MAX_STACK_DEPTH) {
+                    sb.append("\n\t...");
+                    break;
+                }
+
+                sb.append("\n\tat ")
+                        .append(frame.getMethod().getType().getName())
+                        .append('.')
+                        .append(frame.getMethod().getName())
+                        .append(':')
+                        .append(frame.getLineNumber());
+            }
+        }
+
+        logger.warn("Virtual thread pinned its carrier for {} ms{}", event.getDuration().toMillis(), sb);
+    }
+}
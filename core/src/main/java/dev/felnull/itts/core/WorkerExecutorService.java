@@ -0,0 +1,108 @@
+package dev.felnull.itts.core;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 実行するスレッドの種類を起動後に切り替え可能なエクスキューター<br/>
+ * 切り替え前に受け付けたタスクは、元のスレッドで最後まで実行される
+ *
+ * @author MORIMORI0317
+ */
+final class WorkerExecutorService extends AbstractExecutorService {
+
+    /**
+     * スレッド名
+     */
+    private final String name;
+
+    /**
+     * 実際に実行するエクスキューター
+     */
+    private volatile ExecutorService delegate;
+
+    /**
+     * 仮想スレッドを利用しているかどうか
+     */
+    private volatile boolean virtual;
+
+    /**
+     * コンストラクタ<br/>
+     * 最初はプラットフォームスレッドで実行する
+     *
+     * @param name スレッド名
+     */
+    WorkerExecutorService(String name) {
+        this.name = name;
+        this.delegate = Executors.newCachedThreadPool(new BasicThreadFactory.Builder()
+                .namingPattern(name + "-%d")
+                .daemon(true)
+                .build());
+    }
+
+    /**
+     * 仮想スレッドでの実行に切り替える
+     */
+    void useVirtualThreads() {
+        synchronized (this) {
+            if (virtual) {
+                return;
+            }
+
+            ExecutorService old = delegate;
+            delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-virtual-", 0).factory());
+            virtual = true;
+            old.shutdown();
+        }
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        while (true) {
+            ExecutorService current = delegate;
+
+            try {
+                current.execute(command);
+                return;
+            } catch (RejectedExecutionException e) {
+                // 切り替え中に古いエクスキューターに渡した場合は再試行する
+                if (current == delegate) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @NotNull
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
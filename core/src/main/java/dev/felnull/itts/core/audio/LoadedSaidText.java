@@ -1,8 +1,13 @@
 package dev.felnull.itts.core.audio;
 
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import dev.felnull.itts.core.audio.loader.VoiceTrackLoader;
+import dev.felnull.itts.core.cache.OpusFrameSequence;
 import dev.felnull.itts.core.tts.saidtext.SaidText;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -22,9 +27,19 @@ public class LoadedSaidText {
     private final AudioTrack track;
 
     /**
-     * 破棄時の処理
+     * 音声の読み込み
      */
-    private final Runnable dispose;
+    private final VoiceTrackLoader loader;
+
+    /**
+     * 以前の再生で保存されたエンコード済みフレーム
+     */
+    private final OpusFrameSequence opusFrames;
+
+    /**
+     * 続きの読み上げ音声、続きが無い場合はnull
+     */
+    private final CompletableFuture<LoadedSaidText> next;
 
     /**
      * すでに読み上げ終わったかどうか
@@ -36,12 +51,26 @@ public class LoadedSaidText {
      *
      * @param saidText 読み上げ音声
      * @param track    オーディオトラック
-     * @param dispose  破棄時の処理
+     * @param loader   音声の読み込み
+     */
+    public LoadedSaidText(SaidText saidText, AudioTrack track, VoiceTrackLoader loader) {
+        this(saidText, track, loader, null);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param saidText 読み上げ音声
+     * @param track    オーディオトラック
+     * @param loader   音声の読み込み
+     * @param next     続きの読み上げ音声
      */
-    public LoadedSaidText(SaidText saidText, AudioTrack track, Runnable dispose) {
+    public LoadedSaidText(SaidText saidText, AudioTrack track, VoiceTrackLoader loader, @Nullable CompletableFuture<LoadedSaidText> next) {
         this.saidText = saidText;
         this.track = track;
-        this.dispose = dispose;
+        this.loader = loader;
+        this.opusFrames = loader.getOpusFrames();
+        this.next = next;
     }
 
     public SaidText getSaidText() {
@@ -53,10 +82,25 @@ public class LoadedSaidText {
     }
 
     /**
-     * 破棄の処理を行う
+     * 破棄の処理を行う<br/>
+     * 続きの読み上げ音声が読み込み中の場合は中止し、読み込み済みの場合は破棄する
      */
     public void dispose() {
-        dispose.run();
+        loader.dispose();
+
+        if (next != null) {
+            next.cancel(false);
+            next.thenAccept(LoadedSaidText::dispose);
+        }
+    }
+
+    /**
+     * 再生したエンコード済みフレームを保存
+     *
+     * @param frames エンコード済みフレーム
+     */
+    public void saveOpusFrames(@NotNull OpusFrameSequence frames) {
+        loader.saveOpusFrames(frames);
     }
 
     /**
@@ -75,4 +119,14 @@ public class LoadedSaidText {
     public AudioTrack getTrack() {
         return track;
     }
+
+    @Nullable
+    public OpusFrameSequence getOpusFrames() {
+        return opusFrames;
+    }
+
+    @Nullable
+    public CompletableFuture<LoadedSaidText> getNext() {
+        return next;
+    }
 }
@@ -0,0 +1,106 @@
+package dev.felnull.itts.core.audio;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import dev.felnull.itts.core.cache.OpusFrameSequence;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 再生中に送信したOpusフレームの記録
+ *
+ * @author MORIMORI0317
+ */
+class OpusFrameRecorder {
+
+    /**
+     * 記録する最大のバイト数
+     */
+    private static final int MAX_RECORD_SIZE = 1024 * 1024;
+
+    /**
+     * 記録対象のトラック
+     */
+    private final AudioTrack track;
+
+    /**
+     * 各フレームの開始位置
+     */
+    private final IntArrayList offsets = new IntArrayList();
+
+    /**
+     * 記録したデータ
+     */
+    private byte[] data = new byte[1024 * 16];
+
+    /**
+     * 記録したバイト数
+     */
+    private int size;
+
+    /**
+     * 最大サイズを超えたかどうか
+     */
+    private boolean overflow;
+
+    /**
+     * コンストラクタ
+     *
+     * @param track 記録対象のトラック
+     */
+    OpusFrameRecorder(AudioTrack track) {
+        this.track = track;
+        this.offsets.add(0);
+    }
+
+    AudioTrack getTrack() {
+        return track;
+    }
+
+    /**
+     * フレームを記録<br/>
+     * フレームの位置は変更しない
+     *
+     * @param frame 送信するフレーム
+     */
+    synchronized void record(ByteBuffer frame) {
+        if (overflow) {
+            return;
+        }
+
+        int len = frame.remaining();
+
+        if (size + len > MAX_RECORD_SIZE) {
+            overflow = true;
+            return;
+        }
+
+        if (size + len > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + len));
+        }
+
+        frame.get(frame.position(), data, size, len);
+        size += len;
+        offsets.add(size);
+    }
+
+    /**
+     * 記録したフレームの並びを作成
+     *
+     * @return フレームの並び、記録できていない場合はnull
+     */
+    @Nullable
+    synchronized OpusFrameSequence toSequence() {
+        if (overflow || size == 0) {
+            return null;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(size);
+        buf.put(data, 0, size);
+        buf.flip();
+
+        return new OpusFrameSequence(buf, offsets.toIntArray());
+    }
+}
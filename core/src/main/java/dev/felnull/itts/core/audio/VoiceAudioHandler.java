@@ -1,11 +1,15 @@
 package dev.felnull.itts.core.audio;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import dev.felnull.itts.core.cache.OpusFrameSequence;
 import net.dv8tion.jda.api.audio.AudioSendHandler;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Discordに音声を送るためのハンドラー
@@ -13,6 +17,11 @@ import java.nio.ByteBuffer;
  * @author MORIMORI0317
  */
 public class VoiceAudioHandler implements AudioSendHandler {
+    /**
+     * フレーム用バッファの大きさ
+     */
+    private static final int FRAME_BUFFER_SIZE = 1024;
+
     /**
      * オーディオプレーヤー
      */
@@ -28,6 +37,31 @@ public class VoiceAudioHandler implements AudioSendHandler {
      */
     private final MutableAudioFrame frame;
 
+    /**
+     * エンコード済みフレーム送信用バッファ
+     */
+    private final ByteBuffer encodedBuffer;
+
+    /**
+     * 再生中のエンコード済みフレーム
+     */
+    private final AtomicReference<EncodedPlayback> encodedPlayback = new AtomicReference<>();
+
+    /**
+     * 送信したフレームの記録
+     */
+    private final AtomicReference<OpusFrameRecorder> recorder = new AtomicReference<>();
+
+    /**
+     * 間隔を空けて開始する再生
+     */
+    private final AtomicReference<PendingStart> pendingStart = new AtomicReference<>();
+
+    /**
+     * 最後に用意したフレームがエンコード済みフレームかどうか
+     */
+    private boolean providedEncoded;
+
     /**
      * コンストラクタ
      *
@@ -35,20 +69,56 @@ public class VoiceAudioHandler implements AudioSendHandler {
      */
     public VoiceAudioHandler(AudioPlayer audioPlayer) {
         this.audioPlayer = audioPlayer;
-        this.buffer = ByteBuffer.allocate(1024);
+        this.buffer = ByteBuffer.allocate(FRAME_BUFFER_SIZE);
         this.frame = new MutableAudioFrame();
         this.frame.setBuffer(buffer);
+        this.encodedBuffer = ByteBuffer.allocateDirect(FRAME_BUFFER_SIZE);
     }
 
     @Override
     public boolean canProvide() {
+        EncodedPlayback playback = encodedPlayback.get();
+
+        if (playback != null) {
+            if (provideEncoded(playback)) {
+                return true;
+            }
+
+            if (encodedPlayback.compareAndSet(playback, null)) {
+                playback.endRun.run();
+            }
+        }
+
+        // 間隔を空けている間は何も送信しない
+        if (!updatePendingStart()) {
+            providedEncoded = false;
+            return false;
+        }
+
+        // 終了処理や予約で次の再生が始まった場合は、同じフレームから続けて送信する
+        playback = encodedPlayback.get();
+        if (playback != null) {
+            return provideEncoded(playback);
+        }
+
+        providedEncoded = false;
         return audioPlayer.provide(frame);
     }
 
     @Nullable
     @Override
     public ByteBuffer provide20MsAudio() {
+        if (providedEncoded) {
+            return encodedBuffer;
+        }
+
         buffer.flip();
+
+        OpusFrameRecorder rec = recorder.get();
+        if (rec != null) {
+            rec.record(buffer);
+        }
+
         return buffer;
     }
 
@@ -56,4 +126,145 @@ public class VoiceAudioHandler implements AudioSendHandler {
     public boolean isOpus() {
         return true;
     }
+
+    /**
+     * エンコード済みフレームの再生を開始
+     *
+     * @param frames エンコード済みフレーム
+     * @param endRun 最後まで再生し終えた時の処理 (音声送信スレッドから呼ばれる)
+     */
+    protected void playEncoded(@NotNull OpusFrameSequence frames, @NotNull Runnable endRun) {
+        encodedPlayback.set(new EncodedPlayback(frames, endRun));
+    }
+
+    /**
+     * エンコード済みフレームの再生を停止
+     */
+    protected void stopEncoded() {
+        encodedPlayback.set(null);
+    }
+
+    /**
+     * 指定したフレーム数だけ間隔を空けてから再生を開始する<br/>
+     * 開始処理は音声送信スレッドから呼ばれる
+     *
+     * @param frames   空けるフレーム数 (1フレーム20ms)
+     * @param startRun 再生の開始処理
+     */
+    protected void startAfter(int frames, @NotNull Runnable startRun) {
+        pendingStart.set(new PendingStart(frames, startRun));
+    }
+
+    /**
+     * 間隔を空けて開始する再生を取り消す
+     */
+    protected void cancelPendingStart() {
+        pendingStart.set(null);
+    }
+
+    private boolean provideEncoded(EncodedPlayback playback) {
+        if (playback.frames.copyFrame(playback.position, encodedBuffer)) {
+            playback.position++;
+            providedEncoded = true;
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean updatePendingStart() {
+        PendingStart pending = pendingStart.get();
+
+        if (pending == null) {
+            return true;
+        }
+
+        if (pending.remainingFrames > 0) {
+            pending.remainingFrames--;
+            return false;
+        }
+
+        if (pendingStart.compareAndSet(pending, null)) {
+            pending.startRun.run();
+        }
+
+        return true;
+    }
+
+    /**
+     * 送信するフレームの記録を開始
+     *
+     * @param track 記録対象のトラック
+     */
+    protected void startRecording(@NotNull AudioTrack track) {
+        recorder.set(new OpusFrameRecorder(track));
+    }
+
+    /**
+     * 送信するフレームの記録を終了
+     *
+     * @param track 記録対象のトラック
+     * @return 記録、対象のトラックを記録していなかった場合はnull
+     */
+    @Nullable
+    protected OpusFrameRecorder stopRecording(@NotNull AudioTrack track) {
+        OpusFrameRecorder rec = recorder.get();
+
+        if (rec != null && rec.getTrack() == track && recorder.compareAndSet(rec, null)) {
+            return rec;
+        }
+
+        return null;
+    }
+
+    /**
+     * エンコード済みフレームの再生状態
+     *
+     * @author MORIMORI0317
+     */
+    private static final class EncodedPlayback {
+
+        /**
+         * エンコード済みフレーム
+         */
+        private final OpusFrameSequence frames;
+
+        /**
+         * 再生終了時の処理
+         */
+        private final Runnable endRun;
+
+        /**
+         * 次に送信するフレームの番号 (音声送信スレッドからのみ操作)
+         */
+        private int position;
+
+        private EncodedPlayback(OpusFrameSequence frames, Runnable endRun) {
+            this.frames = frames;
+            this.endRun = endRun;
+        }
+    }
+
+    /**
+     * 間隔を空けて開始する再生
+     *
+     * @author MORIMORI0317
+     */
+    private static final class PendingStart {
+
+        /**
+         * 開始処理
+         */
+        private final Runnable startRun;
+
+        /**
+         * 開始までの残りフレーム数 (音声送信スレッドからのみ操作)
+         */
+        private int remainingFrames;
+
+        private PendingStart(int remainingFrames, Runnable startRun) {
+            this.remainingFrames = remainingFrames;
+            this.startRun = startRun;
+        }
+    }
 }
@@ -5,6 +5,7 @@ import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManagers;
 import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager;
+import dev.felnull.itts.core.audio.source.InMemoryAudioSourceManager;
 
 /**
  * 音声オーディオマネージャー
@@ -17,11 +18,18 @@ public class VoiceAudioManager {
      */
     private final AudioPlayerManager audioPlayerManager;
 
+    /**
+     * メモリ上の音声データ用オーディオソースマネージャー
+     */
+    private final InMemoryAudioSourceManager inMemoryAudioSourceManager;
+
     /**
      * コンストラクタ
      */
     public VoiceAudioManager() {
         this.audioPlayerManager = new DefaultAudioPlayerManager();
+        this.inMemoryAudioSourceManager = new InMemoryAudioSourceManager(MediaContainerRegistry.DEFAULT_REGISTRY);
+        audioPlayerManager.registerSourceManager(inMemoryAudioSourceManager);
         AudioSourceManagers.registerLocalSource(audioPlayerManager);
         audioPlayerManager.registerSourceManager(new HttpAudioSourceManager(MediaContainerRegistry.DEFAULT_REGISTRY));
     }
@@ -29,4 +37,8 @@ public class VoiceAudioManager {
     public AudioPlayerManager getAudioPlayerManager() {
         return audioPlayerManager;
     }
+
+    public InMemoryAudioSourceManager getInMemoryAudioSourceManager() {
+        return inMemoryAudioSourceManager;
+    }
 }
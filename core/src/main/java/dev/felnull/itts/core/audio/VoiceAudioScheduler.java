@@ -6,12 +6,16 @@ import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
 import dev.felnull.itts.core.ITTSRuntimeUse;
 import dev.felnull.itts.core.audio.loader.VoiceTrackLoader;
+import dev.felnull.itts.core.cache.OpusFrameSequence;
 import dev.felnull.itts.core.tts.saidtext.SaidText;
+import dev.felnull.itts.core.util.StringUtils;
 import dev.felnull.itts.core.util.TTSUtils;
 import dev.felnull.itts.core.voice.Voice;
 import net.dv8tion.jda.api.managers.AudioManager;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -23,6 +27,17 @@ import java.util.concurrent.atomic.AtomicReference;
  * @author MORIMORI0317
  */
 public class VoiceAudioScheduler extends AudioEventAdapter implements ITTSRuntimeUse {
+    /**
+     * 分割した1つあたりの最小文字数<br/>
+     * これより短い文は次の文とまとめて合成する
+     */
+    private static final int MIN_CHUNK_LENGTH = 15;
+
+    /**
+     * 1フレームの長さ(ms)
+     */
+    private static final int FRAME_DURATION = 20;
+
     /**
      * オーディオマネージャー
      */
@@ -38,16 +53,41 @@ public class VoiceAudioScheduler extends AudioEventAdapter implements ITTSRuntim
      */
     private final AudioPlayer audioPlayer;
 
+    /**
+     * 音声送信ハンドラー
+     */
+    private final VoiceAudioHandler audioHandler;
+
     /**
      * 現在の読み込み済み読み上げテキスト
      */
     private final AtomicReference<Pair<LoadedSaidText, Runnable>> currentLoaded = new AtomicReference<>();
 
+    /**
+     * 現在再生中の分割された読み上げ音声
+     */
+    private final AtomicReference<LoadedSaidText> currentPart = new AtomicReference<>();
+
+    /**
+     * 再生の切り替え用ロック
+     */
+    private final Object playLock = new Object();
+
     /**
      * サーバーID
      */
     private final long guildId;
 
+    /**
+     * 現在の再生が終わり次第続けて再生する読み上げ
+     */
+    private ArmedSaidText armed;
+
+    /**
+     * 最後に読み上げが終了した時間(ns)
+     */
+    private long lastEndTime = Long.MIN_VALUE;
+
     /**
      * コンストラクタ
      *
@@ -60,8 +100,9 @@ public class VoiceAudioScheduler extends AudioEventAdapter implements ITTSRuntim
         this.voiceAudioManager = voiceAudioManager;
         this.audioPlayer = voiceAudioManager.getAudioPlayerManager().createPlayer();
         this.guildId = guildId;
+        this.audioHandler = new VoiceAudioHandler(audioPlayer);
         this.audioPlayer.addListener(this);
-        this.audioManager.setSendingHandler(new VoiceAudioHandler(audioPlayer));
+        this.audioManager.setSendingHandler(audioHandler);
     }
 
     /**
@@ -73,7 +114,9 @@ public class VoiceAudioScheduler extends AudioEventAdapter implements ITTSRuntim
     }
 
     /**
-     * 読み込みを開始
+     * 読み込みを開始<br/>
+     * テキストを文の区切りで分割して全て並列で合成し、先頭の読み込みが終わった時点で完了する<br/>
+     * 返されたCompletableFutureをキャンセルした場合は、合成中の音声の取得も中止する
      *
      * @param saidText 読み上げテキスト
      * @return 読み込み済み読み上げテキストの非同期読み込みCompletableFuture
@@ -81,8 +124,9 @@ public class VoiceAudioScheduler extends AudioEventAdapter implements ITTSRuntim
     public CompletableFuture<LoadedSaidText> load(SaidText saidText) {
         CompletableFuture<String> textCf = saidText.getText();
         CompletableFuture<Voice> voiceCf = saidText.getVoice();
+        CompletableFuture<LoadedSaidText> ret = new CompletableFuture<>();
 
-        return textCf.thenApplyAsync(text -> {
+        textCf.thenApplyAsync(text -> {
                     String sayText = getDictionaryManager().applyDict(text, guildId);
 
                     Voice voice;
@@ -94,19 +138,93 @@ public class VoiceAudioScheduler extends AudioEventAdapter implements ITTSRuntim
 
                     Objects.requireNonNull(voice, "Voice is null");
 
-                    return Pair.of(TTSUtils.roundText(voice, guildId, sayText, false), voice);
+                    return Pair.of(TTSUtils.roundText(voice, guildId, sayText, false, true), voice);
                 }, getAsyncExecutor())
-                .thenComposeAsync((sayTextVoice) -> {
-                    VoiceTrackLoader vtl = sayTextVoice.getRight().createVoiceTrackLoader(sayTextVoice.getLeft());
-                    return vtl.load().thenApplyAsync(r -> new LoadedSaidText(saidText, r, vtl::dispose), getAsyncExecutor());
-                }, getAsyncExecutor());
+                .thenAcceptAsync(sayTextVoice -> {
+                    // 合成開始前にキャンセルされた場合
+                    if (ret.isDone()) {
+                        return;
+                    }
+
+                    CompletableFuture<LoadedSaidText> head = loadChunks(saidText, sayTextVoice.getRight(), sayTextVoice.getLeft());
+
+                    head.whenComplete((loaded, error) -> {
+                        if (error != null) {
+                            ret.completeExceptionally(error);
+                        } else if (!ret.complete(loaded)) {
+                            loaded.dispose();
+                        }
+                    });
+
+                    ret.whenComplete((loaded, error) -> {
+                        if (ret.isCancelled()) {
+                            head.cancel(false);
+                        }
+                    });
+                }, getAsyncExecutor())
+                .exceptionally(error -> {
+                    ret.completeExceptionally(error);
+                    return null;
+                });
+
+        return ret;
+    }
+
+    private CompletableFuture<LoadedSaidText> loadChunks(SaidText saidText, Voice voice, String text) {
+        List<String> chunks = StringUtils.splitSentences(text, MIN_CHUNK_LENGTH, Math.max(1, voice.getReadLimit()));
+
+        if (chunks.isEmpty()) {
+            chunks = List.of(text);
+        }
+
+        // 分割したものはそれぞれ別のキャッシュとして全て同時に読み込みを開始する
+        List<VoiceTrackLoader> loaders = new ArrayList<>(chunks.size());
+        List<CompletableFuture<AudioTrack>> tracks = new ArrayList<>(chunks.size());
+
+        for (String chunk : chunks) {
+            VoiceTrackLoader vtl = voice.createVoiceTrackLoader(chunk, guildId);
+            loaders.add(vtl);
+            tracks.add(vtl.load());
+        }
+
+        // 後ろから順に続きを繋げる
+        CompletableFuture<LoadedSaidText> next = null;
+
+        for (int i = chunks.size() - 1; i >= 0; i--) {
+            VoiceTrackLoader vtl = loaders.get(i);
+            CompletableFuture<LoadedSaidText> nextPart = next;
+            CompletableFuture<LoadedSaidText> part = tracks.get(i)
+                    .thenApplyAsync(r -> new LoadedSaidText(saidText, r, vtl, nextPart), getAsyncExecutor());
+
+            part.whenComplete((r, error) -> {
+                if (error != null) {
+                    // 失敗かキャンセルされた場合は以降を再生しないため、続きの読み込みも中止する
+                    vtl.cancel();
+
+                    if (nextPart != null) {
+                        nextPart.cancel(false);
+                        nextPart.thenAccept(LoadedSaidText::dispose);
+                    }
+                }
+            });
+
+            next = part;
+        }
+
+        return next;
     }
 
     /**
      * 再生を一時停止
      */
     public void stop() {
-        currentLoaded.set(null);
+        synchronized (playLock) {
+            armed = null;
+            currentLoaded.set(null);
+        }
+        currentPart.set(null);
+        audioHandler.cancelPendingStart();
+        audioHandler.stopEncoded();
         audioPlayer.stopTrack();
     }
 
@@ -117,16 +235,184 @@ public class VoiceAudioScheduler extends AudioEventAdapter implements ITTSRuntim
      * @param playEndRun     再生終了後の処理
      */
     public void play(LoadedSaidText loadedSaidText, Runnable playEndRun) {
-        currentLoaded.set(Pair.of(loadedSaidText, playEndRun));
-        audioPlayer.playTrack(loadedSaidText.getTrack());
+        Pair<LoadedSaidText, Runnable> playing = Pair.of(loadedSaidText, playEndRun);
+
+        synchronized (playLock) {
+            armed = null;
+            currentLoaded.set(playing);
+        }
+
+        audioHandler.cancelPendingStart();
+        playPart(playing, loadedSaidText, false);
+    }
+
+    /**
+     * 現在の読み上げの後に続けて再生する<br/>
+     * 再生中の場合は終了したフレームから間隔を空けて切り替え、再生中でない場合は前の読み上げの終了から間隔を空けて開始する
+     *
+     * @param loadedSaidText 読み込み済み読み上げテキスト
+     * @param interval       前の読み上げとの間隔(ms)
+     * @param playEndRun     再生終了後の処理
+     */
+    public void playNext(LoadedSaidText loadedSaidText, int interval, Runnable playEndRun) {
+        Pair<LoadedSaidText, Runnable> playing = Pair.of(loadedSaidText, playEndRun);
+        int frames;
+
+        synchronized (playLock) {
+            if (currentLoaded.get() != null) {
+                armed = new ArmedSaidText(playing, interval);
+                return;
+            }
+
+            long elapsed = (System.nanoTime() - lastEndTime) / 1_000_000L;
+            frames = lastEndTime == Long.MIN_VALUE ? 0 : toFrames(interval - elapsed);
+            currentLoaded.set(playing);
+        }
+
+        start(playing, frames, false);
     }
 
     @Override
     public void onTrackEnd(AudioPlayer player, AudioTrack track, AudioTrackEndReason endReason) {
-        Pair<LoadedSaidText, Runnable> old = currentLoaded.getAndSet(null);
-        if (old != null) {
-            old.getLeft().setAlreadyUsed(true);
-            old.getRight().run();
+        OpusFrameRecorder recorder = audioHandler.stopRecording(track);
+
+        Pair<LoadedSaidText, Runnable> playing = currentLoaded.get();
+        LoadedSaidText part = currentPart.get();
+        if (playing == null || part == null || part.getTrack() != track) {
+            return;
+        }
+
+        if (endReason == AudioTrackEndReason.FINISHED && recorder != null) {
+            OpusFrameSequence frames = recorder.toSequence();
+            if (frames != null) {
+                part.saveOpusFrames(frames);
+            }
+        }
+
+        // 再生が終わった場合は音声送信スレッドから呼ばれるため、次のトラックの開始は別スレッドで行う
+        if (endReason.mayStartNext) {
+            partEnd(playing, part, true);
+        } else {
+            finish(playing, true);
+        }
+    }
+
+    private void playPart(Pair<LoadedSaidText, Runnable> playing, LoadedSaidText part, boolean sendThread) {
+        if (currentLoaded.get() != playing) {
+            return;
+        }
+
+        currentPart.set(part);
+
+        // 以前の再生で保存したフレームがあればデコードとエンコードを行わずに送信する
+        OpusFrameSequence frames = part.getOpusFrames();
+        if (frames != null) {
+            audioHandler.playEncoded(frames, () -> partEnd(playing, part, true));
+            return;
+        }
+
+        // トラックの開始は音声送信スレッドを止めないように別スレッドで行う
+        if (sendThread) {
+            getAsyncExecutor().execute(() -> playTrack(playing, part));
+        } else {
+            playTrack(playing, part);
+        }
+    }
+
+    private void playTrack(Pair<LoadedSaidText, Runnable> playing, LoadedSaidText part) {
+        if (currentLoaded.get() != playing || currentPart.get() != part) {
+            return;
+        }
+
+        AudioTrack track = part.getTrack();
+        audioHandler.startRecording(track);
+        audioPlayer.playTrack(track);
+
+        // 再生開始までの間に停止された場合
+        if (currentLoaded.get() != playing) {
+            audioPlayer.stopTrack();
+        }
+    }
+
+    private void partEnd(Pair<LoadedSaidText, Runnable> playing, LoadedSaidText part, boolean sendThread) {
+        if (currentLoaded.get() != playing) {
+            return;
+        }
+
+        CompletableFuture<LoadedSaidText> next = part.getNext();
+        if (next == null) {
+            finish(playing, sendThread);
+            return;
         }
+
+        // 続きの合成が終わっている場合は途切れないようにそのまま再生する
+        if (next.isDone() && !next.isCompletedExceptionally()) {
+            playPart(playing, next.join(), sendThread);
+            return;
+        }
+
+        // 続きがまだ合成中の場合は完了を待ってから再生する
+        next.whenCompleteAsync((nextPart, error) -> {
+            if (error != null) {
+                getITTSLogger().error("Failed to load the rest of the text", error);
+                finish(playing, false);
+                return;
+            }
+
+            playPart(playing, nextPart, false);
+        }, getAsyncExecutor());
+    }
+
+    private void finish(Pair<LoadedSaidText, Runnable> played, boolean sendThread) {
+        ArmedSaidText next;
+
+        synchronized (playLock) {
+            if (currentLoaded.get() != played) {
+                return;
+            }
+
+            next = armed;
+            armed = null;
+            lastEndTime = System.nanoTime();
+            currentLoaded.set(next != null ? next.playing : null);
+        }
+
+        // 次の読み上げが用意されている場合は、終了したフレームから間隔を空けて切り替える
+        if (next != null) {
+            start(next.playing, toFrames(next.interval), sendThread);
+        }
+
+        playEnd(played);
+    }
+
+    private void start(Pair<LoadedSaidText, Runnable> playing, int frames, boolean sendThread) {
+        if (frames > 0) {
+            audioHandler.startAfter(frames, () -> playPart(playing, playing.getLeft(), true));
+        } else {
+            playPart(playing, playing.getLeft(), sendThread);
+        }
+    }
+
+    private void playEnd(Pair<LoadedSaidText, Runnable> played) {
+        played.getLeft().setAlreadyUsed(true);
+        played.getRight().run();
+    }
+
+    static int toFrames(long millis) {
+        if (millis <= 0) {
+            return 0;
+        }
+
+        return (int) Math.min((millis + FRAME_DURATION - 1) / FRAME_DURATION, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 続けて再生するために用意された読み上げ
+     *
+     * @param playing  読み込み済み読み上げテキストと再生終了後の処理
+     * @param interval 前の読み上げとの間隔(ms)
+     * @author MORIMORI0317
+     */
+    private record ArmedSaidText(Pair<LoadedSaidText, Runnable> playing, int interval) {
     }
 }
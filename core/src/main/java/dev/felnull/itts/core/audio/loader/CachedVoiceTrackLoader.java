@@ -1,17 +1,19 @@
 package dev.felnull.itts.core.audio.loader;
 
 import com.google.common.hash.HashCode;
-import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
-import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import dev.felnull.itts.core.ITTSRuntimeUse;
 import dev.felnull.itts.core.audio.VoiceAudioManager;
 import dev.felnull.itts.core.cache.CacheUseEntry;
+import dev.felnull.itts.core.cache.OpusFrameSequence;
 import dev.felnull.itts.core.cache.StreamOpener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -36,6 +38,16 @@ public class CachedVoiceTrackLoader implements VoiceTrackLoader, ITTSRuntimeUse
      */
     private final AtomicReference<CacheUseEntry> cacheEntry = new AtomicReference<>();
 
+    /**
+     * 読み込み中のキャッシュのエントリ
+     */
+    private final AtomicReference<CompletableFuture<CacheUseEntry>> loadingEntry = new AtomicReference<>();
+
+    /**
+     * 中止したかどうか
+     */
+    private final AtomicBoolean canceled = new AtomicBoolean();
+
     /**
      * コンストラクタ
      *
@@ -49,51 +61,60 @@ public class CachedVoiceTrackLoader implements VoiceTrackLoader, ITTSRuntimeUse
 
     @Override
     public CompletableFuture<AudioTrack> load() {
-        return getCacheManager().loadOrRestore(hash, streamOpener)
-                .thenApplyAsync(this::loadTack, getAsyncExecutor());
+        boolean streaming = getConfigManager().getConfig().getCacheConfig().isStreamingPlayback();
+        CompletableFuture<CacheUseEntry> entryFuture = getCacheManager().loadOrRestore(hash, streamOpener, streaming);
+        loadingEntry.set(entryFuture);
+
+        if (canceled.get()) {
+            entryFuture.cancel(false);
+        }
+
+        return entryFuture.thenApplyAsync(this::loadTack, getAsyncExecutor());
     }
 
     private AudioTrack loadTack(CacheUseEntry cacheUseEntry) {
         cacheEntry.set(cacheUseEntry);
-        VoiceAudioManager vam = getVoiceAudioManager();
-        AtomicReference<AudioTrack> retTrack = new AtomicReference<>();
 
-        try {
-            vam.getAudioPlayerManager().loadItem(cacheUseEntry.file().getAbsolutePath(), new AudioLoadResultHandler() {
-                @Override
-                public void trackLoaded(AudioTrack track) {
-                    retTrack.set(track);
-                }
-
-                @Override
-                public void playlistLoaded(AudioPlaylist playlist) {
-                }
-
-                @Override
-                public void noMatches() {
-                }
-
-                @Override
-                public void loadFailed(FriendlyException exception) {
-                }
-            }).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException(e);
+        if (canceled.get()) {
+            dispose();
+            throw new CancellationException("Load canceled");
         }
+        VoiceAudioManager vam = getVoiceAudioManager();
 
-        AudioTrack ret = retTrack.get();
-        if (ret == null) {
-            throw new RuntimeException("Failed to load track");
+        try {
+            return vam.getInMemoryAudioSourceManager().createTrack(hash.toString(), cacheUseEntry.buffer());
+        } catch (FriendlyException e) {
+            throw new RuntimeException("Failed to load track", e);
         }
-
-        return ret;
     }
 
     @Override
     public void dispose() {
-        CacheUseEntry ce = cacheEntry.get();
+        CacheUseEntry ce = cacheEntry.getAndSet(null);
         if (ce != null) {
             ce.useLock().unlock();
         }
     }
+
+    @Override
+    public void cancel() {
+        canceled.set(true);
+
+        CompletableFuture<CacheUseEntry> entryFuture = loadingEntry.get();
+        if (entryFuture != null) {
+            entryFuture.cancel(false);
+        }
+
+        dispose();
+    }
+
+    @Override
+    public @Nullable OpusFrameSequence getOpusFrames() {
+        return getCacheManager().getOpusFrames(hash);
+    }
+
+    @Override
+    public void saveOpusFrames(@NotNull OpusFrameSequence frames) {
+        getCacheManager().putOpusFrames(hash, frames);
+    }
 }
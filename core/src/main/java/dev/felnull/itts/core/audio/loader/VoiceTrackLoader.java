@@ -1,6 +1,9 @@
 package dev.felnull.itts.core.audio.loader;
 
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import dev.felnull.itts.core.cache.OpusFrameSequence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -22,4 +25,30 @@ public interface VoiceTrackLoader {
      * 破棄
      */
     void dispose();
+
+    /**
+     * 読み込みを中止して破棄する<br/>
+     * 同じ音声を読み込む者が他にいない場合は、音声の取得も中止する
+     */
+    default void cancel() {
+        dispose();
+    }
+
+    /**
+     * 以前の再生で保存されたエンコード済みフレームを取得
+     *
+     * @return エンコード済みフレーム、存在しない場合はnull
+     */
+    @Nullable
+    default OpusFrameSequence getOpusFrames() {
+        return null;
+    }
+
+    /**
+     * 再生したエンコード済みフレームを保存
+     *
+     * @param frames エンコード済みフレーム
+     */
+    default void saveOpusFrames(@NotNull OpusFrameSequence frames) {
+    }
 }
@@ -0,0 +1,102 @@
+package dev.felnull.itts.core.audio.source;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link ByteBuffer}から読み込むシーク可能なストリーム<br/>
+ * ヒープ、ダイレクトバッファのどちらでも利用可能
+ *
+ * @author MORIMORI0317
+ */
+public class ByteBufferSeekableInputStream extends SeekableInputStream {
+
+    /**
+     * 読み込み対象のバッファ
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * コンストラクタ<br/>
+     * 元のバッファの位置は変更されない
+     *
+     * @param buffer 読み込み対象のバッファ
+     */
+    public ByteBufferSeekableInputStream(@NotNull ByteBuffer buffer) {
+        super(buffer.remaining(), Long.MAX_VALUE);
+        this.buffer = buffer.slice();
+    }
+
+    @Override
+    public int read() {
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+
+        int readLen = Math.min(len, buffer.remaining());
+        buffer.get(b, off, readLen);
+        return readLen;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+
+        int skipLen = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + skipLen);
+        return skipLen;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public long getPosition() {
+        return buffer.position();
+    }
+
+    @Override
+    protected void seekHard(long position) {
+        buffer.position((int) Math.max(0, Math.min(position, buffer.limit())));
+    }
+
+    @Override
+    public boolean canSeekHard() {
+        return true;
+    }
+
+    @Override
+    public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void close() {
+        // メモリ上のバッファのため解放するリソースは無い
+    }
+}
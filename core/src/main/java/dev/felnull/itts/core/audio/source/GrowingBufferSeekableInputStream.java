@@ -0,0 +1,106 @@
+package dev.felnull.itts.core.audio.source;
+
+import com.sedmelluq.discord.lavaplayer.tools.Units;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import dev.felnull.itts.core.cache.GrowingBuffer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 書き込み中の{@link GrowingBuffer}から読み込むシーク可能なストリーム<br/>
+ * まだ書き込まれていない位置を読み込む場合は書き込まれるまで待機する
+ *
+ * @author MORIMORI0317
+ */
+public class GrowingBufferSeekableInputStream extends SeekableInputStream {
+
+    /**
+     * 読み込み対象のバッファ
+     */
+    private final GrowingBuffer buffer;
+
+    /**
+     * 読み込み位置
+     */
+    private long position;
+
+    /**
+     * コンストラクタ
+     *
+     * @param buffer 読み込み対象のバッファ
+     */
+    public GrowingBufferSeekableInputStream(@NotNull GrowingBuffer buffer) {
+        super(buffer.isCompleted() ? buffer.getLength() : Units.CONTENT_LENGTH_UNKNOWN, Long.MAX_VALUE);
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int len = read(b, 0, 1);
+        return len < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        try {
+            int readLen = buffer.read(position, b, off, len);
+            if (readLen > 0) {
+                position += readLen;
+            }
+            return readLen;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for data");
+        }
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.max(0, buffer.getLength() - position);
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    protected void seekHard(long position) {
+        this.position = Math.max(0, position);
+    }
+
+    @Override
+    public boolean canSeekHard() {
+        return true;
+    }
+
+    @Override
+    public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void close() {
+        // バッファの解放はキャッシュ側で行う
+    }
+}
@@ -0,0 +1,137 @@
+package dev.felnull.itts.core.audio.source;
+
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import com.sedmelluq.discord.lavaplayer.track.AudioReference;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import dev.felnull.itts.core.cache.GrowingBuffer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+/**
+ * メモリ上の音声データからトラックを生成するオーディオソースマネージャー<br/>
+ * ファイルやURLを経由せず、キャッシュ済みのバイト列を直接再生する
+ *
+ * @author MORIMORI0317
+ */
+public class InMemoryAudioSourceManager implements AudioSourceManager {
+
+    /**
+     * ソース名
+     */
+    private static final String SOURCE_NAME = "itts-in-memory";
+
+    /**
+     * 音声合成エンジンが返すコンテナ形式のヒント
+     */
+    private static final MediaContainerHints WAV_HINTS = MediaContainerHints.from("audio/wav", "wav");
+
+    /**
+     * コンテナレジストリ
+     */
+    private final MediaContainerRegistry containerRegistry;
+
+    /**
+     * コンストラクタ
+     *
+     * @param containerRegistry コンテナレジストリ
+     */
+    public InMemoryAudioSourceManager(MediaContainerRegistry containerRegistry) {
+        this.containerRegistry = containerRegistry;
+    }
+
+    /**
+     * メモリ上の音声データからトラックを生成<br/>
+     * コンテナ形式はWAVを優先して判定する
+     *
+     * @param identifier トラックの識別子
+     * @param data       音声データ
+     * @return 生成したトラック
+     */
+    @NotNull
+    public AudioTrack createTrack(@NotNull String identifier, @NotNull ByteBuffer data) {
+        ByteBuffer trackData = data.asReadOnlyBuffer();
+        return createTrack(identifier, () -> new ByteBufferSeekableInputStream(trackData));
+    }
+
+    /**
+     * 書き込み中のバッファからトラックを生成<br/>
+     * 書き込みが完了していない場合は、再生が書き込みに追従する
+     *
+     * @param identifier トラックの識別子
+     * @param buffer     音声データのバッファ
+     * @return 生成したトラック
+     */
+    @NotNull
+    public AudioTrack createTrack(@NotNull String identifier, @NotNull GrowingBuffer buffer) {
+        if (buffer.isCompleted()) {
+            return createTrack(identifier, buffer.toByteBuffer());
+        }
+
+        return createTrack(identifier, () -> new GrowingBufferSeekableInputStream(buffer));
+    }
+
+    private AudioTrack createTrack(String identifier, Supplier<SeekableInputStream> streamFactory) {
+        MediaContainerDetectionResult result;
+
+        try (SeekableInputStream in = streamFactory.get()) {
+            result = new MediaContainerDetection(containerRegistry, new AudioReference(identifier, null), in, WAV_HINTS).detectContainer();
+        } catch (IOException e) {
+            throw new FriendlyException("Failed to read audio data", FriendlyException.Severity.COMMON, e);
+        }
+
+        if (!result.isContainerDetected()) {
+            throw new FriendlyException("Unknown audio format", FriendlyException.Severity.COMMON, null);
+        }
+
+        if (!result.isSupportedFile()) {
+            throw new FriendlyException(result.getUnsupportedReason(), FriendlyException.Severity.COMMON, null);
+        }
+
+        return new InMemoryAudioTrack(result.getTrackInfo(), result.getContainerDescriptor(), streamFactory, this);
+    }
+
+    @Override
+    public String getSourceName() {
+        return SOURCE_NAME;
+    }
+
+    @Override
+    public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
+        // 識別子からの読み込みには対応しない
+        return null;
+    }
+
+    @Override
+    public boolean isTrackEncodable(AudioTrack track) {
+        return false;
+    }
+
+    @Override
+    public void encodeTrack(AudioTrack track, DataOutput output) {
+        throw new UnsupportedOperationException("In-memory tracks cannot be encoded");
+    }
+
+    @Override
+    public AudioTrack decodeTrack(AudioTrackInfo trackInfo, DataInput input) {
+        return null;
+    }
+
+    @Override
+    public void shutdown() {
+        // 保持するリソースは無い
+    }
+}
@@ -0,0 +1,68 @@
+package dev.felnull.itts.core.audio.source;
+
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+
+import java.util.function.Supplier;
+
+/**
+ * メモリ上の音声データを再生するトラック
+ *
+ * @author MORIMORI0317
+ */
+public class InMemoryAudioTrack extends DelegatedAudioTrack {
+
+    /**
+     * 音声データのストリーム生成
+     */
+    private final Supplier<SeekableInputStream> streamFactory;
+
+    /**
+     * コンテナの情報
+     */
+    private final MediaContainerDescriptor containerDescriptor;
+
+    /**
+     * オーディオソースマネージャー
+     */
+    private final InMemoryAudioSourceManager sourceManager;
+
+    /**
+     * コンストラクタ
+     *
+     * @param trackInfo           トラック情報
+     * @param containerDescriptor コンテナの情報
+     * @param streamFactory       音声データのストリーム生成
+     * @param sourceManager       オーディオソースマネージャー
+     */
+    protected InMemoryAudioTrack(AudioTrackInfo trackInfo, MediaContainerDescriptor containerDescriptor, Supplier<SeekableInputStream> streamFactory,
+                                 InMemoryAudioSourceManager sourceManager) {
+        super(trackInfo);
+        this.streamFactory = streamFactory;
+        this.containerDescriptor = containerDescriptor;
+        this.sourceManager = sourceManager;
+    }
+
+    @Override
+    public void process(LocalAudioTrackExecutor executor) throws Exception {
+        try (SeekableInputStream in = streamFactory.get()) {
+            processDelegate((InternalAudioTrack) containerDescriptor.createTrack(trackInfo, in), executor);
+        }
+    }
+
+    @Override
+    protected AudioTrack makeShallowClone() {
+        return new InMemoryAudioTrack(trackInfo, containerDescriptor, streamFactory, sourceManager);
+    }
+
+    @Override
+    public AudioSourceManager getSourceManager() {
+        return sourceManager;
+    }
+}
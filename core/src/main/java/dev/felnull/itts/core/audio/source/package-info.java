@@ -0,0 +1,4 @@
+/**
+ * メモリ上の音声データを再生するためのオーディオソース関係
+ */
+package dev.felnull.itts.core.audio.source;
@@ -1,20 +1,21 @@
 package dev.felnull.itts.core.cache;
 
 import com.google.common.hash.HashCode;
-import dev.felnull.fnjl.util.FNDataUtil;
-import dev.felnull.itts.core.ITTSRuntimeUse;
-import org.apache.commons.io.FileUtils;
+import dev.felnull.itts.core.ITTSBaseManager;
+import dev.felnull.itts.core.ImmortalityTimer;
+import dev.felnull.itts.core.config.CacheConfig;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedInputStream;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 /**
@@ -22,99 +23,326 @@ import java.util.function.Supplier;
  *
  * @author MORIMORI0317
  */
-public class CacheManager implements ITTSRuntimeUse {
+public class CacheManager implements ITTSBaseManager {
 
     /**
-     * キャッシュ保存用フォルダー
+     * 永続キャッシュのインデックスを保存する間隔
      */
-    private static final File LOCAL_CACHE_FOLDER = new File("./tmp");
+    private static final long INDEX_SAVE_INTERVAL = 60 * 1000;
+
+    /**
+     * メモリキャッシュから取得したエントリ用のロック
+     */
+    private static final UseLock NO_LOCK = () -> {
+    };
 
     /**
      * 保存済みローカルキャッシュ
      */
     private final Map<HashCode, CompletableFuture<LocalCache>> localCaches = new ConcurrentHashMap<>();
 
+    /**
+     * 取得中のキャッシュ
+     */
+    private final Map<HashCode, PendingLoad> pendingLoads = new ConcurrentHashMap<>();
+
     /**
      * グローバルキャッシュアクセスの取得
      */
     private final Supplier<GlobalCacheAccess> globalCacheAccessFactory;
 
+    /**
+     * 永続キャッシュ、無効の場合はnull
+     */
+    private volatile DiskCache diskCache;
+
+    /**
+     * ヒープ外のメモリキャッシュ、無効の場合はnull
+     */
+    private volatile OffHeapCache offHeapCache;
+
     /**
      * コンストラクタ
      *
      * @param globalCacheAccessFactory グローバルキャッシュアクセスの取得用Supplier
      */
     public CacheManager(@Nullable Supplier<GlobalCacheAccess> globalCacheAccessFactory) {
-        try {
-            FileUtils.deleteDirectory(LOCAL_CACHE_FOLDER);
-            FNDataUtil.wishMkdir(LOCAL_CACHE_FOLDER);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
         this.globalCacheAccessFactory = globalCacheAccessFactory;
     }
 
+    @Override
+    public @NotNull CompletableFuture<?> init() {
+        return CompletableFuture.runAsync(() -> {
+            CacheConfig config = getConfigManager().getConfig().getCacheConfig();
+
+            if (config.getMemoryCacheSize() > 0) {
+                this.offHeapCache = new OffHeapCache(config.getMemoryCacheSize(), config.getMemoryCacheMaxEntrySize());
+            }
+
+            if (!config.isPersistent()) {
+                return;
+            }
+
+            DiskCache dc = new DiskCache(Path.of(config.getPersistentDirectory()), config.getMaxDiskSize(), config.getMaxDiskEntries());
+
+            try {
+                dc.load();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load disk cache", e);
+            }
+
+            getImmortalityTimer().schedule(new ImmortalityTimer.ImmortalityTimerTask() {
+                @Override
+                public void run() {
+                    CompletableFuture.runAsync(dc::saveIndex, getAsyncExecutor());
+                }
+            }, INDEX_SAVE_INTERVAL, INDEX_SAVE_INTERVAL);
+
+            Runtime.getRuntime().addShutdownHook(new Thread(dc::saveIndex, "disk-cache-index-save"));
+
+            this.diskCache = dc;
+            getITTSLogger().info("Persistent cache setup completed");
+        }, getAsyncExecutor());
+    }
+
     /**
-     * キャッシュを読み込む、もしくは生成する
+     * キャッシュを読み込む、もしくは生成する<br/>
+     * 返されるエントリのバッファは書き込みが完了している
      *
      * @param key        キー
      * @param loadOpener ストリーム生成
      * @return キャッシュエントリのCompletableFuture
      */
     public CompletableFuture<CacheUseEntry> loadOrRestore(@NotNull HashCode key, @NotNull StreamOpener loadOpener) {
-        return localCaches.computeIfAbsent(key, ky -> createLocalCache(ky, loadOpener))
-                .thenApplyAsync(LocalCache::restore, getAsyncExecutor());
+        return loadOrRestore(key, loadOpener, false);
     }
 
-    private CompletableFuture<LocalCache> createLocalCache(HashCode key, StreamOpener loadOpener) {
-        CompletableFuture<File> cf;
-        File lcFile = getLocalCacheFile(key);
+    /**
+     * キャッシュを読み込む、もしくは生成する<br/>
+     * 返されたCompletableFutureのキャンセルか、エントリのロック解除で利用を終了したとみなし、
+     * 取得中のキャッシュを利用する者が他にいなくなった場合は取得を中止する
+     *
+     * @param key        キー
+     * @param loadOpener ストリーム生成
+     * @param streaming  trueの場合はストリームを開いた時点で完了し、バッファへの書き込みは並行して行われる
+     * @return キャッシュエントリのCompletableFuture
+     */
+    public CompletableFuture<CacheUseEntry> loadOrRestore(@NotNull HashCode key, @NotNull StreamOpener loadOpener, boolean streaming) {
+        OffHeapCache ohc = offHeapCache;
+        ByteBuffer memoryData = ohc != null ? ohc.get(key) : null;
 
-        if (globalCacheAccessFactory != null) {
-            cf = CompletableFuture.supplyAsync(() -> {
-                try (var gca = globalCacheAccessFactory.get()) {
-                    byte[] data = gca.get(key);
+        // メモリキャッシュに存在する場合はローカルキャッシュやタイマーを経由しない
+        if (memoryData != null) {
+            return CompletableFuture.completedFuture(new CacheUseEntry(new GrowingBuffer(memoryData), NO_LOCK));
+        }
 
-                    if (data == null) {
-                        gca.lock(key);
+        CompletableFuture<LocalCache> lcf;
+        PendingLoad pending;
 
-                        data = gca.get(key);
-                        if (data == null) {
-                            try (var in = new BufferedInputStream(loadOpener.openStream());) {
-                                data = in.readAllBytes();
-                            }
-                            gca.set(key, data);
-                        }
+        while (true) {
+            lcf = localCaches.computeIfAbsent(key, ky -> createLocalCache(ky, loadOpener));
+            pending = pendingLoads.get(key);
 
-                        gca.unlock(key);
+            if (pending == null || pending.future != lcf) {
+                pending = null;
+                break;
+            }
+
+            // 失敗時の削除が公開前に行われないように、公開されてから取得を開始する
+            pending.launch();
+
+            if (pending.acquire()) {
+                break;
+            }
+
+            // 中止された取得には相乗りせずに取得し直す
+            localCaches.remove(key, lcf);
+        }
+
+        if (!streaming) {
+            lcf = lcf.thenCompose(lc -> lc.getBuffer().getCompleteFuture().thenApply(v -> lc));
+        }
+
+        PendingLoad consumerPending = pending;
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (consumerPending != null && released.compareAndSet(false, true)) {
+                consumerPending.release();
+            }
+        };
+
+        CompletableFuture<CacheUseEntry> ret = new CompletableFuture<>();
+
+        lcf.thenApplyAsync(LocalCache::restore, getAsyncExecutor()).whenComplete((entry, error) -> {
+            if (error != null) {
+                ret.completeExceptionally(error);
+                return;
+            }
+
+            CacheUseEntry useEntry = new CacheUseEntry(entry.buffer(), () -> {
+                entry.useLock().unlock();
+                release.run();
+            });
+
+            // キャンセル済みの場合はすぐにロックを解除する
+            if (!ret.complete(useEntry)) {
+                useEntry.useLock().unlock();
+            }
+        });
+
+        ret.whenComplete((entry, error) -> {
+            if (error != null) {
+                release.run();
+            }
+        });
+
+        return ret;
+    }
+
+    private CompletableFuture<LocalCache> createLocalCache(HashCode key, StreamOpener loadOpener) {
+        CompletableFuture<LocalCache> ret = new CompletableFuture<>();
+        GrowingBuffer buffer = new GrowingBuffer();
+        Runnable onStart = () -> ret.complete(new LocalCache(key, buffer));
+        PendingLoad pending = new PendingLoad(ret);
+
+        pending.loader = () -> CompletableFuture.runAsync(() -> {
+            try {
+                if (!pending.start(Thread.currentThread())) {
+                    throw new CancellationException("Load aborted");
+                }
+
+                DiskCache dc = diskCache;
+                byte[] diskData = dc != null ? dc.get(key) : null;
+
+                if (diskData != null) {
+                    fillFromData(diskData, buffer, onStart);
+                } else {
+                    if (globalCacheAccessFactory != null) {
+                        fillFromGlobalCache(key, loadOpener, buffer, onStart, pending);
+                    } else {
+                        fillFromStream(loadOpener, buffer, onStart, pending);
                     }
 
-                    Files.write(lcFile.toPath(), data);
+                    if (dc != null) {
+                        dc.put(key, buffer.toByteArray());
+                    }
+                }
 
-                    return lcFile;
-                } catch (Exception ex) {
-                    throw new RuntimeException(ex);
+                OffHeapCache ohc = offHeapCache;
+                if (ohc != null) {
+                    ohc.put(key, buffer.toByteBuffer());
                 }
-            }, getAsyncExecutor());
+            } catch (Exception ex) {
+                buffer.fail(ex);
+                ret.completeExceptionally(ex);
+
+                // 失敗したキャッシュは次回に再取得する
+                localCaches.remove(key, ret);
+            } finally {
+                pending.finish();
+                pendingLoads.remove(key, pending);
+
+                // 中止による割り込みを次の処理に持ち越さない
+                Thread.interrupted();
+            }
+        }, getAsyncExecutor());
 
-        } else {
-            cf = CompletableFuture.supplyAsync(() -> {
+        pendingLoads.put(key, pending);
+        return ret;
+    }
+
+    private void fillFromGlobalCache(HashCode key, StreamOpener loadOpener, GrowingBuffer buffer, Runnable onStart, PendingLoad pending) throws Exception {
+        try (var gca = globalCacheAccessFactory.get()) {
+            byte[] data = gca.get(key);
 
-                try (var in = loadOpener.openStream(); var out = new FileOutputStream(lcFile)) {
-                    FNDataUtil.inputToOutputBuff(in, out);
-                } catch (IOException | InterruptedException e) {
-                    throw new RuntimeException(e);
+            if (data == null) {
+                gca.lock(key);
+
+                try {
+                    data = gca.get(key);
+                    if (data == null) {
+                        fillFromStream(loadOpener, buffer, onStart, pending);
+                        gca.set(key, buffer.toByteArray());
+                        return;
+                    }
+                } finally {
+                    gca.unlock(key);
                 }
+            }
 
-                return lcFile;
-            }, getAsyncExecutor());
+            fillFromData(data, buffer, onStart);
         }
-        return cf.thenApplyAsync((file) -> new LocalCache(key, file), getAsyncExecutor());
     }
 
-    private File getLocalCacheFile(HashCode hashCode) {
-        return new File(LOCAL_CACHE_FOLDER, hashCode.toString());
+    private static void fillFromData(byte[] data, GrowingBuffer buffer, Runnable onStart) {
+        buffer.append(data, 0, data.length);
+        buffer.complete();
+        onStart.run();
+    }
+
+    private static void fillFromStream(StreamOpener loadOpener, GrowingBuffer buffer, Runnable onStart, PendingLoad pending) throws IOException, InterruptedException {
+        try (InputStream in = loadOpener.openStream()) {
+            if (!pending.setStream(in)) {
+                throw new CancellationException("Load aborted");
+            }
+
+            onStart.run();
+
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = in.read(buf)) >= 0) {
+                buffer.append(buf, 0, len);
+            }
+        }
+
+        buffer.complete();
+    }
+
+    /**
+     * 再生済みのエンコード済みフレームを取得
+     *
+     * @param key キー
+     * @return エンコード済みフレーム、存在しない場合はnull
+     */
+    @Nullable
+    public OpusFrameSequence getOpusFrames(@NotNull HashCode key) {
+        OffHeapCache ohc = offHeapCache;
+        OpusFrameSequence frames = ohc != null ? ohc.getOpusFrames(key) : null;
+        if (frames != null) {
+            return frames;
+        }
+
+        LocalCache lc = getLoadedLocalCache(key);
+        return lc != null ? lc.getOpusFrames() : null;
+    }
+
+    /**
+     * 再生したエンコード済みフレームを保存<br/>
+     * 次回以降の再生でデコードとエンコードを省略するために利用する
+     *
+     * @param key    キー
+     * @param frames エンコード済みフレーム
+     */
+    public void putOpusFrames(@NotNull HashCode key, @NotNull OpusFrameSequence frames) {
+        OffHeapCache ohc = offHeapCache;
+        if (ohc != null) {
+            ohc.putOpusFrames(key, frames);
+        }
+
+        LocalCache lc = getLoadedLocalCache(key);
+        if (lc != null && !lc.isDestroy()) {
+            lc.setOpusFrames(frames);
+        }
+    }
+
+    private LocalCache getLoadedLocalCache(HashCode key) {
+        CompletableFuture<LocalCache> lcf = localCaches.get(key);
+
+        if (lcf == null || !lcf.isDone() || lcf.isCompletedExceptionally()) {
+            return null;
+        }
+
+        return lcf.join();
     }
 
     /**
@@ -128,4 +356,132 @@ public class CacheManager implements ITTSRuntimeUse {
             lc.thenAcceptAsync(LocalCache::dispose, getAsyncExecutor());
         }
     }
+
+    /**
+     * 取得中のキャッシュ<br/>
+     * 利用する者の数を数え、全員が利用を終了した場合は取得を中止する
+     *
+     * @author MORIMORI0317
+     */
+    private static final class PendingLoad {
+
+        /**
+         * ローカルキャッシュのCompletableFuture
+         */
+        private final CompletableFuture<LocalCache> future;
+
+        /**
+         * 利用する者の数
+         */
+        private int consumers;
+
+        /**
+         * 取得が終了したかどうか
+         */
+        private boolean finished;
+
+        /**
+         * 取得を中止したかどうか
+         */
+        private boolean aborted;
+
+        /**
+         * 取得を行っているスレッド
+         */
+        private Thread worker;
+
+        /**
+         * 取得中のストリーム
+         */
+        private InputStream stream;
+
+        /**
+         * 取得を開始する処理
+         */
+        private Runnable loader;
+
+        /**
+         * 取得を開始したかどうか
+         */
+        private boolean launched;
+
+        private PendingLoad(CompletableFuture<LocalCache> future) {
+            this.future = future;
+        }
+
+        private void launch() {
+            synchronized (this) {
+                if (launched) {
+                    return;
+                }
+
+                launched = true;
+            }
+
+            loader.run();
+        }
+
+        private synchronized boolean acquire() {
+            if (aborted) {
+                return false;
+            }
+
+            if (!finished) {
+                consumers++;
+            }
+
+            return true;
+        }
+
+        private void release() {
+            InputStream abortStream;
+
+            synchronized (this) {
+                if (finished || aborted || --consumers > 0) {
+                    return;
+                }
+
+                aborted = true;
+                abortStream = stream;
+
+                // 割り込みで通信の待機を中止する (終了後の割り込みを防ぐため同期中に行う)
+                if (worker != null) {
+                    worker.interrupt();
+                }
+            }
+
+            // ストリームを閉じて受信中の通信を中止する
+            if (abortStream != null) {
+                try {
+                    abortStream.close();
+                } catch (IOException ignored) {
+                    // 中止するため無視
+                }
+            }
+        }
+
+        private synchronized boolean start(Thread thread) {
+            if (aborted) {
+                return false;
+            }
+
+            this.worker = thread;
+            return true;
+        }
+
+        private synchronized boolean setStream(InputStream in) {
+            if (aborted) {
+                return false;
+            }
+
+            this.stream = in;
+            return true;
+        }
+
+        private synchronized void finish() {
+            finished = true;
+            worker = null;
+            stream = null;
+        }
+    }
 }
@@ -1,13 +1,26 @@
 package dev.felnull.itts.core.cache;
 
-import java.io.File;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
 
 /**
  * キャッシュエントリ
  *
- * @param file    保存先ファイル
+ * @param buffer  音声データのバッファ (取得中の場合は書き込みが完了していない)
  * @param useLock 使用中か確認用ロック
  * @author MORIMORI0317
  */
-public record CacheUseEntry(File file, UseLock useLock) {
+public record CacheUseEntry(GrowingBuffer buffer, UseLock useLock) {
+
+    /**
+     * 書き込みが完了した音声データを取得<br/>
+     * メモリキャッシュから取得した場合はダイレクトバッファとなる
+     *
+     * @return 読み取り専用のバッファ、取得中の場合はnull
+     */
+    @Nullable
+    public ByteBuffer completedData() {
+        return buffer.isCompleted() ? buffer.toByteBuffer() : null;
+    }
 }
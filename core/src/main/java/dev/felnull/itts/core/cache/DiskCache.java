@@ -0,0 +1,446 @@
+package dev.felnull.itts.core.cache;
+
+import com.google.common.hash.HashCode;
+import dev.felnull.itts.core.ITTSRuntimeUse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 再起動後も保持されるディスク上のキャッシュ<br/>
+ * ハッシュの先頭2文字でフォルダを分割して保存し、インデックスで合計サイズと最終使用時間を管理する<br/>
+ * 合計サイズか件数が上限を超えた場合は最も長く使われていないものから削除する
+ *
+ * @author MORIMORI0317
+ */
+public class DiskCache implements ITTSRuntimeUse {
+
+    /**
+     * インデックスファイル名
+     */
+    private static final String INDEX_FILE_NAME = "index.bin";
+
+    /**
+     * インデックスファイルの識別子
+     */
+    private static final int INDEX_MAGIC = 0x49545443;
+
+    /**
+     * インデックスファイルのバージョン
+     */
+    private static final int INDEX_VERSION = 1;
+
+    /**
+     * 書き込み中ファイルの拡張子
+     */
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * 保存先フォルダ
+     */
+    private final Path directory;
+
+    /**
+     * 最大の合計サイズ
+     */
+    private final long maxSize;
+
+    /**
+     * 最大の件数
+     */
+    private final int maxEntries;
+
+    /**
+     * 排他用オブジェクト
+     */
+    private final Object lock = new Object();
+
+    /**
+     * 使用順のエントリ
+     */
+    private final LinkedHashMap<HashCode, IndexEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * インデックスが未保存かどうか
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    /**
+     * 起動時のフォルダ走査中かどうか
+     */
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    /**
+     * 合計サイズ
+     */
+    private long totalSize;
+
+    /**
+     * コンストラクタ
+     *
+     * @param directory  保存先フォルダ
+     * @param maxSize    最大の合計サイズ
+     * @param maxEntries 最大の件数
+     */
+    public DiskCache(@NotNull Path directory, long maxSize, int maxEntries) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * インデックスを読み込む<br/>
+     * インデックスに無いファイルは非同期でフォルダを走査して登録し、走査中もキャッシュは利用可能
+     *
+     * @throws IOException フォルダの作成に失敗した場合
+     */
+    public void load() throws IOException {
+        Files.createDirectories(directory);
+
+        Path indexFile = directory.resolve(INDEX_FILE_NAME);
+
+        if (Files.exists(indexFile)) {
+            try {
+                loadIndex(indexFile);
+                getITTSLogger().info("Loaded disk cache index ({} entries, {} bytes)", getEntryCount(), getTotalSize());
+            } catch (IOException e) {
+                getITTSLogger().warn("Failed to load disk cache index, rescanning", e);
+                clearEntries();
+            }
+        }
+
+        // 異常終了などでインデックスに登録されていないファイルを非同期で登録する
+        scanning.set(true);
+        getHeavyExecutor().execute(this::scan);
+    }
+
+    /**
+     * キャッシュを取得
+     *
+     * @param key キー
+     * @return データ、存在しない場合はnull
+     */
+    @Nullable
+    public byte[] get(@NotNull HashCode key) {
+        boolean indexed;
+
+        synchronized (lock) {
+            IndexEntry entry = entries.get(key);
+            indexed = entry != null;
+
+            if (indexed) {
+                entry.lastAccessTime = System.currentTimeMillis();
+                dirty.set(true);
+            } else if (!scanning.get()) {
+                return null;
+            }
+        }
+
+        byte[] data;
+        try {
+            data = Files.readAllBytes(getFile(key));
+        } catch (NoSuchFileException e) {
+            if (indexed) {
+                remove(key);
+            }
+            return null;
+        } catch (IOException e) {
+            getITTSLogger().warn("Failed to read disk cache", e);
+            return null;
+        }
+
+        if (!indexed) {
+            // 走査中にまだインデックスに登録されていないものを見つけた場合
+            register(key, data.length, System.currentTimeMillis());
+        }
+
+        return data;
+    }
+
+    /**
+     * キャッシュを保存
+     *
+     * @param key  キー
+     * @param data データ
+     */
+    public void put(@NotNull HashCode key, byte[] data) {
+        if (data.length > maxSize) {
+            return;
+        }
+
+        Path file = getFile(key);
+        Path tmpFile = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(tmpFile, data);
+            moveReplace(tmpFile, file);
+        } catch (IOException e) {
+            getITTSLogger().warn("Failed to write disk cache", e);
+            return;
+        }
+
+        register(key, data.length, System.currentTimeMillis());
+    }
+
+    /**
+     * 変更があればインデックスを保存
+     */
+    public void saveIndex() {
+        if (!dirty.compareAndSet(true, false)) {
+            return;
+        }
+
+        List<Map.Entry<HashCode, IndexEntry>> snapshot;
+        synchronized (lock) {
+            snapshot = new ArrayList<>(entries.size());
+            for (Map.Entry<HashCode, IndexEntry> entry : entries.entrySet()) {
+                snapshot.add(Map.entry(entry.getKey(), entry.getValue().copy()));
+            }
+        }
+
+        Path indexFile = directory.resolve(INDEX_FILE_NAME);
+        Path tmpFile = directory.resolve(INDEX_FILE_NAME + TMP_SUFFIX);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeInt(snapshot.size());
+
+            for (Map.Entry<HashCode, IndexEntry> entry : snapshot) {
+                byte[] hash = entry.getKey().asBytes();
+                out.writeByte(hash.length);
+                out.write(hash);
+                out.writeLong(entry.getValue().size);
+                out.writeLong(entry.getValue().lastAccessTime);
+            }
+        } catch (IOException e) {
+            dirty.set(true);
+            getITTSLogger().warn("Failed to write disk cache index", e);
+            return;
+        }
+
+        try {
+            moveReplace(tmpFile, indexFile);
+        } catch (IOException e) {
+            dirty.set(true);
+            getITTSLogger().warn("Failed to replace disk cache index", e);
+        }
+    }
+
+    /**
+     * 件数を取得
+     *
+     * @return 件数
+     */
+    public int getEntryCount() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 合計サイズを取得
+     *
+     * @return 合計サイズ
+     */
+    public long getTotalSize() {
+        synchronized (lock) {
+            return totalSize;
+        }
+    }
+
+    private void loadIndex(Path indexFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                throw new IOException("Unsupported index file");
+            }
+
+            int count = in.readInt();
+
+            // 使用順で保存されているため、そのまま登録すれば使用順が復元される
+            synchronized (lock) {
+                for (int i = 0; i < count; i++) {
+                    byte[] hash = new byte[in.readUnsignedByte()];
+                    in.readFully(hash);
+                    long size = in.readLong();
+                    long lastAccessTime = in.readLong();
+
+                    IndexEntry old = entries.put(HashCode.fromBytes(hash), new IndexEntry(size, lastAccessTime));
+                    totalSize += size - (old != null ? old.size : 0);
+                }
+            }
+        }
+    }
+
+    private void scan() {
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            List<Map.Entry<HashCode, IndexEntry>> found = new ArrayList<>();
+
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !directory.equals(file.getParent()))
+                    .forEach(file -> {
+                        HashCode key = parseKey(file);
+                        if (key == null) {
+                            return;
+                        }
+
+                        try {
+                            found.add(Map.entry(key, new IndexEntry(Files.size(file), Files.getLastModifiedTime(file).toMillis())));
+                        } catch (IOException ignored) {
+                            // 走査中に削除されたファイルは無視
+                        }
+                    });
+
+            found.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccessTime));
+
+            synchronized (lock) {
+                for (Map.Entry<HashCode, IndexEntry> entry : found) {
+                    if (!entries.containsKey(entry.getKey())) {
+                        entries.put(entry.getKey(), entry.getValue());
+                        totalSize += entry.getValue().size;
+                    }
+                }
+            }
+
+            getITTSLogger().info("Scanned disk cache ({} entries, {} bytes)", getEntryCount(), getTotalSize());
+        } catch (IOException e) {
+            getITTSLogger().warn("Failed to scan disk cache", e);
+        } finally {
+            scanning.set(false);
+        }
+
+        dirty.set(true);
+        evict();
+        saveIndex();
+    }
+
+    private void register(HashCode key, long size, long lastAccessTime) {
+        synchronized (lock) {
+            IndexEntry old = entries.put(key, new IndexEntry(size, lastAccessTime));
+            totalSize += size - (old != null ? old.size : 0);
+        }
+
+        dirty.set(true);
+        evict();
+    }
+
+    private void remove(HashCode key) {
+        synchronized (lock) {
+            IndexEntry old = entries.remove(key);
+            if (old != null) {
+                totalSize -= old.size;
+            }
+        }
+
+        dirty.set(true);
+    }
+
+    private void evict() {
+        List<HashCode> evicted = new ArrayList<>();
+
+        synchronized (lock) {
+            Iterator<Map.Entry<HashCode, IndexEntry>> iterator = entries.entrySet().iterator();
+
+            while ((totalSize > maxSize || entries.size() > maxEntries) && iterator.hasNext()) {
+                Map.Entry<HashCode, IndexEntry> eldest = iterator.next();
+                iterator.remove();
+                totalSize -= eldest.getValue().size;
+                evicted.add(eldest.getKey());
+            }
+        }
+
+        if (evicted.isEmpty()) {
+            return;
+        }
+
+        dirty.set(true);
+
+        for (HashCode key : evicted) {
+            try {
+                Files.deleteIfExists(getFile(key));
+            } catch (IOException e) {
+                getITTSLogger().warn("Failed to delete disk cache", e);
+            }
+        }
+    }
+
+    private void clearEntries() {
+        synchronized (lock) {
+            entries.clear();
+            totalSize = 0;
+        }
+    }
+
+    private Path getFile(HashCode key) {
+        String name = key.toString();
+        return directory.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static HashCode parseKey(Path file) {
+        String name = file.getFileName().toString();
+
+        if (name.endsWith(TMP_SUFFIX) || name.length() < 2 || !name.startsWith(file.getParent().getFileName().toString())) {
+            return null;
+        }
+
+        try {
+            return HashCode.fromString(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void moveReplace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * インデックスのエントリ
+     *
+     * @author MORIMORI0317
+     */
+    private static final class IndexEntry {
+
+        /**
+         * ファイルサイズ
+         */
+        private final long size;
+
+        /**
+         * 最終使用時間
+         */
+        private long lastAccessTime;
+
+        private IndexEntry(long size, long lastAccessTime) {
+            this.size = size;
+            this.lastAccessTime = lastAccessTime;
+        }
+
+        private IndexEntry copy() {
+            return new IndexEntry(size, lastAccessTime);
+        }
+    }
+}
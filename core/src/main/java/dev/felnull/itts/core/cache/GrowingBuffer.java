@@ -0,0 +1,245 @@
+package dev.felnull.itts.core.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 書き込みと並行して読み込みが可能な伸長するバッファ<br/>
+ * 音声の取得中から再生を開始するために利用する
+ *
+ * @author MORIMORI0317
+ */
+public class GrowingBuffer {
+
+    /**
+     * 初期容量
+     */
+    private static final int INITIAL_CAPACITY = 1024 * 64;
+
+    /**
+     * 書き込み完了時のFuture
+     */
+    private final CompletableFuture<Void> completeFuture = new CompletableFuture<>();
+
+    /**
+     * 排他用オブジェクト
+     */
+    private final Object lock = new Object();
+
+    /**
+     * データ
+     */
+    private byte[] data;
+
+    /**
+     * 書き込み済みのバッファから作成した場合のデータ
+     */
+    private ByteBuffer completedBuffer;
+
+    /**
+     * 書き込み済みの長さ
+     */
+    private int length;
+
+    /**
+     * 書き込みが完了したかどうか
+     */
+    private boolean completed;
+
+    /**
+     * 書き込み失敗時の例外
+     */
+    private Throwable failure;
+
+    /**
+     * 空のバッファを作成するコンストラクタ
+     */
+    public GrowingBuffer() {
+        this.data = new byte[INITIAL_CAPACITY];
+    }
+
+    /**
+     * 書き込み済みのバッファを作成するコンストラクタ<br/>
+     * ダイレクトバッファの場合もコピーせずに利用する
+     *
+     * @param completedData 全てのデータ
+     */
+    public GrowingBuffer(@NotNull ByteBuffer completedData) {
+        this.completedBuffer = completedData.slice().asReadOnlyBuffer();
+        this.length = completedBuffer.capacity();
+        this.completed = true;
+        this.completeFuture.complete(null);
+    }
+
+    /**
+     * データを追記
+     *
+     * @param b   データ
+     * @param off 開始位置
+     * @param len 長さ
+     */
+    public void append(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        synchronized (lock) {
+            if (completed || failure != null) {
+                throw new IllegalStateException("Already finished");
+            }
+
+            if (length + len > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + len));
+            }
+
+            System.arraycopy(b, off, data, length, len);
+            length += len;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * 書き込みを完了する
+     */
+    public void complete() {
+        synchronized (lock) {
+            completed = true;
+            lock.notifyAll();
+        }
+
+        completeFuture.complete(null);
+    }
+
+    /**
+     * 書き込みを失敗として終了する
+     *
+     * @param throwable 失敗の原因
+     */
+    public void fail(@NotNull Throwable throwable) {
+        synchronized (lock) {
+            if (completed) {
+                return;
+            }
+
+            failure = throwable;
+            lock.notifyAll();
+        }
+
+        completeFuture.completeExceptionally(throwable);
+    }
+
+    /**
+     * 指定位置からデータを読み込む<br/>
+     * データがまだ書き込まれていない場合は書き込まれるまで待機する
+     *
+     * @param position 読み込み位置
+     * @param b        読み込み先
+     * @param off      読み込み先の開始位置
+     * @param len      最大の長さ
+     * @return 読み込んだ長さ、終端の場合は-1
+     * @throws IOException          書き込みが失敗した場合
+     * @throws InterruptedException 割り込み例外
+     */
+    public int read(long position, byte[] b, int off, int len) throws IOException, InterruptedException {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        synchronized (lock) {
+            while (position >= length && !completed) {
+                if (failure != null) {
+                    throw new IOException("Failed to load data", failure);
+                }
+
+                lock.wait();
+            }
+
+            if (position >= length) {
+                return -1;
+            }
+
+            int readLen = (int) Math.min(len, length - position);
+
+            if (completedBuffer != null) {
+                completedBuffer.get((int) position, b, off, readLen);
+            } else {
+                System.arraycopy(data, (int) position, b, off, readLen);
+            }
+
+            return readLen;
+        }
+    }
+
+    /**
+     * 現在書き込まれている長さを取得
+     *
+     * @return 長さ
+     */
+    public int getLength() {
+        synchronized (lock) {
+            return length;
+        }
+    }
+
+    /**
+     * 書き込みが完了しているかどうか
+     *
+     * @return 完了していればtrue
+     */
+    public boolean isCompleted() {
+        synchronized (lock) {
+            return completed;
+        }
+    }
+
+    /**
+     * 書き込み完了後のデータを読み取り専用のバッファとして取得
+     *
+     * @return 読み取り専用のバッファ
+     */
+    @NotNull
+    public ByteBuffer toByteBuffer() {
+        synchronized (lock) {
+            if (!completed) {
+                throw new IllegalStateException("Not completed");
+            }
+
+            if (completedBuffer != null) {
+                return completedBuffer.duplicate();
+            }
+
+            return ByteBuffer.wrap(data, 0, length).asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * 書き込み完了後のデータをコピーして取得
+     *
+     * @return データのコピー
+     */
+    public byte[] toByteArray() {
+        synchronized (lock) {
+            if (!completed) {
+                throw new IllegalStateException("Not completed");
+            }
+
+            if (completedBuffer != null) {
+                byte[] ret = new byte[length];
+                completedBuffer.get(0, ret);
+                return ret;
+            }
+
+            return Arrays.copyOf(data, length);
+        }
+    }
+
+    /**
+     * 書き込み完了時のFutureを取得
+     *
+     * @return 書き込み完了時に完了するFuture
+     */
+    public CompletableFuture<Void> getCompleteFuture() {
+        return completeFuture;
+    }
+}
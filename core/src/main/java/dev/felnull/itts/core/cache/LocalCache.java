@@ -4,11 +4,11 @@ import com.google.common.hash.HashCode;
 import dev.felnull.itts.core.ITTSRuntimeUse;
 import dev.felnull.itts.core.ImmortalityTimer;
 
-import java.io.File;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * ローカルキャッシュ
@@ -36,25 +36,30 @@ public class LocalCache implements ITTSRuntimeUse {
      */
     private final AtomicBoolean destroy = new AtomicBoolean();
 
+    /**
+     * 再生済みのエンコード済みフレーム
+     */
+    private final AtomicReference<OpusFrameSequence> opusFrames = new AtomicReference<>();
+
     /**
      * キャッシュのキー
      */
     private final HashCode hashCode;
 
     /**
-     * 保存先ファイル
+     * 音声データのバッファ
      */
-    private final File file;
+    private final GrowingBuffer buffer;
 
     /**
      * コンストラクタ
      *
      * @param hashCode キーとしてのハッシュコード
-     * @param file     保存先ファイル
+     * @param buffer   音声データのバッファ
      */
-    public LocalCache(HashCode hashCode, File file) {
+    public LocalCache(HashCode hashCode, GrowingBuffer buffer) {
         this.hashCode = hashCode;
-        this.file = file;
+        this.buffer = buffer;
     }
 
     /**
@@ -81,7 +86,7 @@ public class LocalCache implements ITTSRuntimeUse {
             }
         };
 
-        return new CacheUseEntry(file, ul);
+        return new CacheUseEntry(buffer, ul);
     }
 
     /**
@@ -89,9 +94,23 @@ public class LocalCache implements ITTSRuntimeUse {
      */
     protected void dispose() {
         destroy.set(true);
-        if (file.exists() && file.delete()) {
-            throw new RuntimeException("Failed to delete file");
-        }
+    }
+
+    public GrowingBuffer getBuffer() {
+        return buffer;
+    }
+
+    public OpusFrameSequence getOpusFrames() {
+        return opusFrames.get();
+    }
+
+    /**
+     * エンコード済みフレームを設定
+     *
+     * @param frames エンコード済みフレーム
+     */
+    public void setOpusFrames(OpusFrameSequence frames) {
+        opusFrames.compareAndSet(null, frames);
     }
 
     public boolean isDestroy() {
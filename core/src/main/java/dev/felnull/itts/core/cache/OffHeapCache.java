@@ -0,0 +1,209 @@
+package dev.felnull.itts.core.cache;
+
+import com.google.common.hash.HashCode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ヒープ外のダイレクトバッファに保持するメモリキャッシュ<br/>
+ * 合計サイズが上限を超えた場合は最も長く使われていないものから破棄する<br/>
+ * 使用中のバッファはGCに回収されるまで有効なため、破棄時にロックを取る必要はない
+ *
+ * @author MORIMORI0317
+ */
+public class OffHeapCache {
+
+    /**
+     * 最大の合計サイズ
+     */
+    private final long maxSize;
+
+    /**
+     * 保持する1件あたりの最大サイズ
+     */
+    private final int maxEntrySize;
+
+    /**
+     * 排他用オブジェクト
+     */
+    private final Object lock = new Object();
+
+    /**
+     * 使用順のエントリ
+     */
+    private final LinkedHashMap<HashCode, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * ヒット数
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * ミス数
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * 合計サイズ
+     */
+    private long totalSize;
+
+    /**
+     * コンストラクタ
+     *
+     * @param maxSize      最大の合計サイズ
+     * @param maxEntrySize 保持する1件あたりの最大サイズ
+     */
+    public OffHeapCache(long maxSize, int maxEntrySize) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    /**
+     * キャッシュを取得
+     *
+     * @param key キー
+     * @return 読み取り専用のバッファ、存在しない場合はnull
+     */
+    @Nullable
+    public ByteBuffer get(@NotNull HashCode key) {
+        Entry entry;
+        synchronized (lock) {
+            entry = entries.get(key);
+        }
+
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+        return entry.data.duplicate();
+    }
+
+    /**
+     * キャッシュを保存<br/>
+     * 1件あたりの最大サイズを超える場合は保存しない
+     *
+     * @param key  キー
+     * @param data データ
+     */
+    public void put(@NotNull HashCode key, @NotNull ByteBuffer data) {
+        int size = data.remaining();
+        if (size > maxEntrySize || size > maxSize) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+        }
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(size);
+        direct.put(data.duplicate());
+        direct.flip();
+
+        synchronized (lock) {
+            Entry old = entries.putIfAbsent(key, new Entry(direct.asReadOnlyBuffer()));
+            if (old == null) {
+                totalSize += size;
+                evict();
+            }
+        }
+    }
+
+    /**
+     * 再生済みのエンコード済みフレームを取得
+     *
+     * @param key キー
+     * @return エンコード済みフレーム、存在しない場合はnull
+     */
+    @Nullable
+    public OpusFrameSequence getOpusFrames(@NotNull HashCode key) {
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            return entry != null ? entry.opusFrames : null;
+        }
+    }
+
+    /**
+     * 再生したエンコード済みフレームを保存
+     *
+     * @param key    キー
+     * @param frames エンコード済みフレーム
+     */
+    public void putOpusFrames(@NotNull HashCode key, @NotNull OpusFrameSequence frames) {
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry == null || entry.opusFrames != null) {
+                return;
+            }
+
+            entry.opusFrames = frames;
+            totalSize += frames.getByteSize();
+            evict();
+        }
+    }
+
+    /**
+     * 合計サイズを取得
+     *
+     * @return 合計サイズ
+     */
+    public long getTotalSize() {
+        synchronized (lock) {
+            return totalSize;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<HashCode, Entry>> iterator = entries.entrySet().iterator();
+
+        while (totalSize > maxSize && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            totalSize -= eldest.getSize();
+        }
+    }
+
+    /**
+     * キャッシュのエントリ
+     *
+     * @author MORIMORI0317
+     */
+    private static final class Entry {
+
+        /**
+         * 音声データ
+         */
+        private final ByteBuffer data;
+
+        /**
+         * 再生済みのエンコード済みフレーム
+         */
+        private OpusFrameSequence opusFrames;
+
+        private Entry(ByteBuffer data) {
+            this.data = data;
+        }
+
+        private long getSize() {
+            return data.capacity() + (opusFrames != null ? opusFrames.getByteSize() : 0);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package dev.felnull.itts.core.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * エンコード済みの20ms毎のOpusフレームの並び
+ *
+ * @author MORIMORI0317
+ */
+public final class OpusFrameSequence {
+
+    /**
+     * 全フレームを連結したデータ
+     */
+    private final ByteBuffer data;
+
+    /**
+     * 各フレームの開始位置 (最後の要素は全体の長さ)
+     */
+    private final int[] offsets;
+
+    /**
+     * コンストラクタ
+     *
+     * @param data    全フレームを連結したデータ
+     * @param offsets 各フレームの開始位置、最後の要素は全体の長さ
+     */
+    public OpusFrameSequence(@NotNull ByteBuffer data, int[] offsets) {
+        if (offsets.length == 0 || offsets[offsets.length - 1] != data.remaining()) {
+            throw new IllegalArgumentException("Invalid offsets");
+        }
+
+        this.data = data.slice().asReadOnlyBuffer();
+        this.offsets = offsets.clone();
+    }
+
+    /**
+     * フレーム数を取得
+     *
+     * @return フレーム数
+     */
+    public int getFrameCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * データの大きさを取得
+     *
+     * @return バイト数
+     */
+    public int getByteSize() {
+        return data.capacity();
+    }
+
+    /**
+     * 指定したフレームを書き込む<br/>
+     * 書き込み先は位置0から書き込まれ、フレームの長さがリミットに設定される
+     *
+     * @param index フレームの番号
+     * @param dst   書き込み先
+     * @return フレームが存在しない場合はfalse
+     */
+    public boolean copyFrame(int index, @NotNull ByteBuffer dst) {
+        if (index < 0 || index >= getFrameCount()) {
+            return false;
+        }
+
+        int offset = offsets[index];
+        int length = offsets[index + 1] - offset;
+
+        dst.clear();
+        dst.put(0, data, offset, length);
+        dst.limit(length);
+        return true;
+    }
+}
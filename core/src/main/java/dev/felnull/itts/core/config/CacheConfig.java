@@ -0,0 +1,94 @@
+package dev.felnull.itts.core.config;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * キャッシュのコンフィグ
+ */
+public interface CacheConfig {
+
+    /**
+     * デフォルトのストリーミング再生
+     */
+    boolean DEFAULT_STREAMING_PLAYBACK = true;
+
+    /**
+     * デフォルトの永続キャッシュの有効化
+     */
+    boolean DEFAULT_PERSISTENT = false;
+
+    /**
+     * デフォルトの永続キャッシュの保存先フォルダ
+     */
+    String DEFAULT_PERSISTENT_DIRECTORY = "./voice_cache";
+
+    /**
+     * デフォルトの永続キャッシュの最大合計サイズ (1GiB)
+     */
+    long DEFAULT_MAX_DISK_SIZE = 1024L * 1024L * 1024L;
+
+    /**
+     * デフォルトの永続キャッシュの最大件数
+     */
+    int DEFAULT_MAX_DISK_ENTRIES = 100000;
+
+    /**
+     * デフォルトのメモリキャッシュの最大合計サイズ (64MiB)
+     */
+    long DEFAULT_MEMORY_CACHE_SIZE = 64L * 1024L * 1024L;
+
+    /**
+     * デフォルトのメモリキャッシュに保持する1件あたりの最大サイズ (512KiB)
+     */
+    int DEFAULT_MEMORY_CACHE_MAX_ENTRY_SIZE = 512 * 1024;
+
+    /**
+     * 音声の取得完了を待たずに再生を開始するかどうか
+     *
+     * @return ストリーミング再生を行うかどうか
+     */
+    boolean isStreamingPlayback();
+
+    /**
+     * 再起動後も保持される永続キャッシュを利用するかどうか
+     *
+     * @return 永続キャッシュを利用するかどうか
+     */
+    boolean isPersistent();
+
+    /**
+     * 永続キャッシュの保存先フォルダ
+     *
+     * @return フォルダのパス
+     */
+    @NotNull
+    String getPersistentDirectory();
+
+    /**
+     * 永続キャッシュの最大合計サイズ
+     *
+     * @return 最大合計サイズ(byte)
+     */
+    long getMaxDiskSize();
+
+    /**
+     * 永続キャッシュの最大件数
+     *
+     * @return 最大件数
+     */
+    int getMaxDiskEntries();
+
+    /**
+     * ヒープ外に保持するメモリキャッシュの最大合計サイズ
+     *
+     * @return 最大合計サイズ(byte)、0の場合は無効
+     */
+    long getMemoryCacheSize();
+
+    /**
+     * メモリキャッシュに保持する1件あたりの最大サイズ
+     *
+     * @return 最大サイズ(byte)
+     */
+    int getMemoryCacheMaxEntrySize();
+}
@@ -82,4 +82,18 @@ public interface Config {
      * @return DB関係のコンフィグ
      */
     DataBaseConfig getDataBaseConfig();
+
+    /**
+     * キャッシュのコンフィグ
+     *
+     * @return キャッシュ関係のコンフィグ
+     */
+    CacheConfig getCacheConfig();
+
+    /**
+     * スレッドのコンフィグ
+     *
+     * @return スレッド関係のコンフィグ
+     */
+    ThreadConfig getThreadConfig();
 }
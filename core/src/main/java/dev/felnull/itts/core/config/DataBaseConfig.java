@@ -39,6 +39,16 @@ public interface DataBaseConfig {
      */
     String DEFAULT_PASSWORD = "";
 
+    /**
+     * デフォルトのSQLiteのWALモードの有効化
+     */
+    boolean DEFAULT_SQLITE_WAL = false;
+
+    /**
+     * デフォルトのBOT状態データの更新をまとめて書き込む間隔(ms)
+     */
+    long DEFAULT_BOT_STATE_WRITE_BEHIND_INTERVAL = 0;
+
     /**
      * データベースの種類
      *
@@ -87,6 +97,22 @@ public interface DataBaseConfig {
     @NotNull
     String getPassword();
 
+    /**
+     * SQLiteをWALモードで利用するかどうか<br/>
+     * 書き込みを1つのコネクションで順番に行い、読み取りは別の読み取り専用のコネクションで行う
+     *
+     * @return WALモードで利用するかどうか
+     */
+    boolean isSQLiteWal();
+
+    /**
+     * BOT状態データの更新をまとめて書き込む間隔<br/>
+     * 0以下の場合は更新ごとにすぐに書き込む
+     *
+     * @return 間隔(ms)
+     */
+    long getBotStateWriteBehindInterval();
+
     /**
      * SQLの種類
      */
@@ -0,0 +1,31 @@
+package dev.felnull.itts.core.config;
+
+/**
+ * スレッドのコンフィグ
+ */
+public interface ThreadConfig {
+
+    /**
+     * デフォルトの仮想スレッドの利用
+     */
+    boolean DEFAULT_VIRTUAL_THREADS = false;
+
+    /**
+     * デフォルトのキャリアスレッド固定の警告を行う時間(ms)
+     */
+    long DEFAULT_PINNED_WARN_THRESHOLD = 20;
+
+    /**
+     * 非同期処理とHTTP通信に仮想スレッドを利用するかどうか
+     *
+     * @return 仮想スレッドを利用するかどうか
+     */
+    boolean isVirtualThreads();
+
+    /**
+     * 仮想スレッドがキャリアスレッドに固定された場合に警告を行う時間
+     *
+     * @return 警告を行う時間(ms)、0の場合は警告しない
+     */
+    long getPinnedWarnThreshold();
+}
@@ -11,10 +11,22 @@ public interface VoiceTypeConfig {
      */
     boolean DEFAULT_ENABLE = true;
 
+    /**
+     * デフォルトの最大同時合成数
+     */
+    int DEFAULT_MAX_CONCURRENT_SYNTHESIS = 4;
+
     /**
      * 有効かどうか取得
      *
      * @return 有効かどうか
      */
     boolean isEnable();
+
+    /**
+     * 全サーバー合計の最大同時合成数を取得
+     *
+     * @return 最大同時合成数
+     */
+    int getMaxConcurrentSynthesis();
 }
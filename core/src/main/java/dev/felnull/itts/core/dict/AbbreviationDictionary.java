@@ -5,7 +5,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -21,40 +20,28 @@ public class AbbreviationDictionary implements Dictionary {
     private static final Pattern CODE_BLOCK_REGEX = Pattern.compile("```(.|\n)*```");
 
     /**
-     * 正規表現関係
+     * IPv6の正規表現
      */
-    private final RegexUtil regexUtil = new RegexUtil()
-            /*.addOption(1, "ユーアルエルショウリャク", s -> {
-                Pattern pattern = Pattern.compile("https?://[\\w!?/+\\-_~=;.,*&@#$%()'\\[\\]]+");
-                Matcher matcher = pattern.matcher(s);
-                return matcher.find();
-            })*/
-            .addOption(1, "ドメインショウリャク", s -> {
-                Pattern pattern = Pattern.compile("^([a-zA-Z0-9][a-zA-Z0-9-]*[a-zA-Z0-9]*\\.)+[a-zA-Z]{2,}$");
-                Matcher matcher = pattern.matcher(s);
-                return matcher.find();
-            })
-            .addOption(1, "アイピーブイフォーショウリャク", s -> {
-                Pattern pattern = Pattern.compile("^((25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])\\.){3}(25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])$");
-                Matcher matcher = pattern.matcher(s);
-                return matcher.matches();
-            })
-            .addOption(1, "アイピーブイロクショウリャク", s -> {
-                Pattern pattern = Pattern.compile("(([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}|"
-                        + "([0-9a-fA-F]{1,4}:){1,7}:|"
-                        + "([0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}|"
-                        + "([0-9a-fA-F]{1,4}:){1,5}(:[0-9a-fA-F]{1,4}){1,2}|"
-                        + "([0-9a-fA-F]{1,4}:){1,4}(:[0-9a-fA-F]{1,4}){1,3}|"
-                        + "([0-9a-fA-F]{1,4}:){1,3}(:[0-9a-fA-F]{1,4}){1,4}|"
-                        + "([0-9a-fA-F]{1,4}:){1,2}(:[0-9a-fA-F]{1,4}){1,5}|"
-                        + "[0-9a-fA-F]{1,4}:((:[0-9a-fA-F]{1,4}){1,6})|"
-                        + ":((:[0-9a-fA-F]{1,4}){1,7}|:)|fe80:(:[0-9a-fA-F]{0,4}){0,4}%[0-9a-zA-Z]+|"
-                        + "::(ffff(:0{1,4})?:)?((25[0-5]|(2[0-4]|1?[0-9])?[0-9])\\.){3}(25[0-5]|"
-                        + "(2[0-4]|1?[0-9])?[0-9])|([0-9a-fA-F]{1,4}:){1,4}:((25[0-5]|"
-                        + "(2[0-4]|1?[0-9])?[0-9])\\.){3}(25[0-5]|(2[0-4]|1?[0-9])?[0-9]))");
-                Matcher matcher = pattern.matcher(s);
-                return matcher.matches();
-            });
+    private static final Pattern IPV6_REGEX = Pattern.compile("(([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}|"
+            + "([0-9a-fA-F]{1,4}:){1,7}:|"
+            + "([0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}|"
+            + "([0-9a-fA-F]{1,4}:){1,5}(:[0-9a-fA-F]{1,4}){1,2}|"
+            + "([0-9a-fA-F]{1,4}:){1,4}(:[0-9a-fA-F]{1,4}){1,3}|"
+            + "([0-9a-fA-F]{1,4}:){1,3}(:[0-9a-fA-F]{1,4}){1,4}|"
+            + "([0-9a-fA-F]{1,4}:){1,2}(:[0-9a-fA-F]{1,4}){1,5}|"
+            + "[0-9a-fA-F]{1,4}:((:[0-9a-fA-F]{1,4}){1,6})|"
+            + ":((:[0-9a-fA-F]{1,4}){1,7}|:)|fe80:(:[0-9a-fA-F]{0,4}){0,4}%[0-9a-zA-Z]+|"
+            + "::(ffff(:0{1,4})?:)?((25[0-5]|(2[0-4]|1?[0-9])?[0-9])\\.){3}(25[0-5]|"
+            + "(2[0-4]|1?[0-9])?[0-9])|([0-9a-fA-F]{1,4}:){1,4}:((25[0-5]|"
+            + "(2[0-4]|1?[0-9])?[0-9])\\.){3}(25[0-5]|(2[0-4]|1?[0-9])?[0-9]))");
+
+    /**
+     * 英数字と記号の部分の置き換え
+     */
+    private final AsciiTokenReplacer tokenReplacer = new AsciiTokenReplacer()
+            .addOption(1, "ドメインショウリャク", AbbreviationDictionary::isDomain)
+            .addOption(1, "アイピーブイフォーショウリャク", AbbreviationDictionary::isIPv4)
+            .addOption(1, "アイピーブイロクショウリャク", AbbreviationDictionary::isIPv6);
 
     /**
      * URLリプレーサー
@@ -65,7 +52,7 @@ public class AbbreviationDictionary implements Dictionary {
     public @NotNull String apply(@NotNull String text, long guildId) {
         text = urlReplacer.replace(text);
         text = CODE_BLOCK_REGEX.matcher(text).replaceAll("コードブロックショウリャク");
-        return regexUtil.replaceText(text);
+        return tokenReplacer.replace(text);
     }
 
     @Override
@@ -92,4 +79,127 @@ public class AbbreviationDictionary implements Dictionary {
     public int getDefaultPriority() {
         return 1;
     }
+
+    /**
+     * ドメインかどうか<br/>
+     * {@code ^([a-zA-Z0-9][a-zA-Z0-9-]*\\.)+[a-zA-Z]{2,}$} と同じ判定
+     *
+     * @param text  テキスト
+     * @param start 開始位置
+     * @param end   終了位置
+     * @return ドメインであればtrue
+     */
+    private static boolean isDomain(String text, int start, int end) {
+        int lastDot = -1;
+        for (int i = end - 1; i >= start; i--) {
+            if (text.charAt(i) == '.') {
+                lastDot = i;
+                break;
+            }
+        }
+
+        if (lastDot < 0 || end - lastDot - 1 < 2) {
+            return false;
+        }
+
+        for (int i = lastDot + 1; i < end; i++) {
+            if (!isAlphabet(text.charAt(i))) {
+                return false;
+            }
+        }
+
+        // 最後のドットまでは、英数字で始まり英数字とハイフンが続くラベルとドットの繰り返し
+        boolean labelStart = true;
+        for (int i = start; i <= lastDot; i++) {
+            char c = text.charAt(i);
+
+            if (labelStart) {
+                if (!isAlphabet(c) && !isDigit(c)) {
+                    return false;
+                }
+                labelStart = false;
+            } else if (c == '.') {
+                labelStart = true;
+            } else if (!isAlphabet(c) && !isDigit(c) && c != '-') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * IPv4アドレスかどうか<br/>
+     * 0から255までの先頭に0が付かない数字4つをドットで区切ったもの
+     *
+     * @param text  テキスト
+     * @param start 開始位置
+     * @param end   終了位置
+     * @return IPv4アドレスであればtrue
+     */
+    private static boolean isIPv4(String text, int start, int end) {
+        int parts = 0;
+        int pos = start;
+
+        while (true) {
+            int value = 0;
+            int digits = 0;
+
+            while (pos < end && isDigit(text.charAt(pos))) {
+                if (digits > 0 && value == 0) {
+                    return false;
+                }
+
+                value = value * 10 + (text.charAt(pos) - '0');
+                digits++;
+                pos++;
+
+                if (digits > 3 || value > 255) {
+                    return false;
+                }
+            }
+
+            if (digits == 0) {
+                return false;
+            }
+
+            parts++;
+
+            if (pos == end) {
+                return parts == 4;
+            }
+
+            if (text.charAt(pos) != '.' || parts == 4) {
+                return false;
+            }
+
+            pos++;
+        }
+    }
+
+    /**
+     * IPv6アドレスかどうか
+     *
+     * @param text  テキスト
+     * @param start 開始位置
+     * @param end   終了位置
+     * @return IPv6アドレスであればtrue
+     */
+    private static boolean isIPv6(String text, int start, int end) {
+        // コロンを含まないものは一致しないため、正規表現による判定を行わない
+        int colon = text.indexOf(':', start);
+        if (colon < 0 || colon >= end) {
+            return false;
+        }
+
+        return IPV6_REGEX.matcher(text).region(start, end).matches();
+    }
+
+    private static boolean isAlphabet(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 }
@@ -0,0 +1,156 @@
+package dev.felnull.itts.core.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * テキストを英数字と記号が連続する部分とそれ以外に分け、英数字と記号の部分を条件に一致した場合に置き換える処理<br/>
+ * 一度の走査で分割と判定を行い、部分文字列を作成しない
+ *
+ * @author MORIMORI0317
+ */
+public final class AsciiTokenReplacer {
+
+    /**
+     * 英数字と記号の部分として扱う文字 (英数字と {@code #$%&_}、{@code ,} から {@code ?} まで)
+     */
+    private static final boolean[] TOKEN_CHARS = new boolean[128];
+
+    /**
+     * 優先度順の置き換え条件
+     */
+    private final List<Option> options = new ArrayList<>();
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) {
+            TOKEN_CHARS[c] = true;
+            TOKEN_CHARS[Character.toLowerCase(c)] = true;
+        }
+
+        for (char c = ','; c <= '?'; c++) {
+            TOKEN_CHARS[c] = true;
+        }
+
+        for (char c : "#$%&_".toCharArray()) {
+            TOKEN_CHARS[c] = true;
+        }
+    }
+
+    /**
+     * 英数字と記号の部分として扱う文字かどうか
+     *
+     * @param c 文字
+     * @return 英数字と記号の部分として扱う場合はtrue
+     */
+    public static boolean isTokenChar(char c) {
+        return c < TOKEN_CHARS.length && TOKEN_CHARS[c];
+    }
+
+    /**
+     * 置き換え条件を追加<br/>
+     * 優先度が小さい順に判定し、同じ優先度の場合は追加した順に判定する
+     *
+     * @param priority    優先度
+     * @param replacement 置き換え後の文字列
+     * @param classifier  置き換え判定
+     * @return このインスタンス
+     */
+    @NotNull
+    public AsciiTokenReplacer addOption(int priority, @NotNull String replacement, @NotNull TokenClassifier classifier) {
+        int idx = options.size();
+
+        while (idx > 0 && options.get(idx - 1).priority() > priority) {
+            idx--;
+        }
+
+        options.add(idx, new Option(priority, replacement, classifier));
+        return this;
+    }
+
+    /**
+     * テキストを置き換える
+     *
+     * @param text 置き換え対象のテキスト
+     * @return 置き換え済みテキスト、置き換えが無い場合は同じインスタンス
+     */
+    @NotNull
+    public String replace(@NotNull String text) {
+        int length = text.length();
+        StringBuilder sb = null;
+        int emitted = 0;
+        int pos = 0;
+
+        while (pos < length) {
+            if (!isTokenChar(text.charAt(pos))) {
+                pos++;
+                continue;
+            }
+
+            int start = pos;
+            while (pos < length && isTokenChar(text.charAt(pos))) {
+                pos++;
+            }
+
+            String replacement = classify(text, start, pos);
+            if (replacement == null) {
+                continue;
+            }
+
+            if (sb == null) {
+                sb = new StringBuilder(length);
+            }
+
+            sb.append(text, emitted, start).append(replacement);
+            emitted = pos;
+        }
+
+        if (sb == null) {
+            return text;
+        }
+
+        sb.append(text, emitted, length);
+        return sb.toString();
+    }
+
+    private String classify(String text, int start, int end) {
+        for (Option option : options) {
+            if (option.classifier().test(text, start, end)) {
+                return option.replacement();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 英数字と記号の部分の置き換え判定
+     *
+     * @author MORIMORI0317
+     */
+    @FunctionalInterface
+    public interface TokenClassifier {
+
+        /**
+         * 置き換えるかどうか
+         *
+         * @param text  テキスト全体
+         * @param start 英数字と記号の部分の開始位置
+         * @param end   英数字と記号の部分の終了位置 (この位置を含まない)
+         * @return 置き換える場合はtrue
+         */
+        boolean test(@NotNull String text, int start, int end);
+    }
+
+    /**
+     * 置き換え条件
+     *
+     * @param priority    優先度
+     * @param replacement 置き換え後の文字列
+     * @param classifier  置き換え判定
+     * @author MORIMORI0317
+     */
+    private record Option(int priority, String replacement, TokenClassifier classifier) {
+    }
+}
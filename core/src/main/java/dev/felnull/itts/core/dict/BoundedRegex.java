@@ -0,0 +1,191 @@
+package dev.felnull.itts.core.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 利用者が登録した正規表現を制限時間付きで評価する<br/>
+ * 評価対象の文字列を、文字の参照ごとに制限時間を確認する文字列で包むため、バックトラックが爆発する正規表現でもスレッドを占有し続けない
+ *
+ * @author MORIMORI0317
+ */
+public final class BoundedRegex {
+
+    /**
+     * 1回の評価の制限時間(ms)
+     */
+    public static final long DEFAULT_TIME_LIMIT = 100;
+
+    /**
+     * 無効にするまでに続けて制限時間を超えた回数
+     */
+    public static final int DISABLE_TIMEOUT_COUNT = 3;
+
+    /**
+     * 制限時間を確認する文字の参照回数の間隔
+     */
+    private static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * 正規表現
+     */
+    private final Pattern pattern;
+
+    /**
+     * 1回の評価の制限時間(ns)
+     */
+    private final long timeLimit;
+
+    private BoundedRegex(Pattern pattern, long timeLimit) {
+        this.pattern = pattern;
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * 正規表現をコンパイル
+     *
+     * @param regex 正規表現
+     * @return 制限時間付きの正規表現
+     * @throws PatternSyntaxException 正規表現が不正な場合
+     */
+    @NotNull
+    public static BoundedRegex compile(@NotNull String regex) {
+        return compile(regex, DEFAULT_TIME_LIMIT);
+    }
+
+    /**
+     * 正規表現をコンパイル
+     *
+     * @param regex     正規表現
+     * @param timeLimit 1回の評価の制限時間(ms)
+     * @return 制限時間付きの正規表現
+     * @throws PatternSyntaxException 正規表現が不正な場合
+     */
+    @NotNull
+    public static BoundedRegex compile(@NotNull String regex, long timeLimit) {
+        if (timeLimit <= 0) {
+            throw new IllegalArgumentException("timeLimit must be positive");
+        }
+
+        return new BoundedRegex(Pattern.compile(regex), timeLimit * 1000000L);
+    }
+
+    /**
+     * 一致した全ての部分を置き換える
+     *
+     * @param text        対象のテキスト
+     * @param replacement 置き換え後の文字列 (グループ参照が可能)
+     * @return 置き換え済みテキスト
+     * @throws RegexTimeoutException 制限時間を超えた場合
+     */
+    @NotNull
+    public String replaceAll(@NotNull String text, @NotNull String replacement) {
+        return pattern.matcher(bound(text)).replaceAll(replacement);
+    }
+
+    /**
+     * テキスト全体が一致するかどうか
+     *
+     * @param text 対象のテキスト
+     * @return 一致すればtrue
+     * @throws RegexTimeoutException 制限時間を超えた場合
+     */
+    public boolean matches(@NotNull String text) {
+        return pattern.matcher(bound(text)).matches();
+    }
+
+    /**
+     * 元の正規表現を取得
+     *
+     * @return 正規表現
+     */
+    @NotNull
+    public String getRegex() {
+        return pattern.pattern();
+    }
+
+    private CharSequence bound(String text) {
+        return new DeadlineCharSequence(text, new Deadline(System.nanoTime() + timeLimit));
+    }
+
+    /**
+     * 1回の評価の期限
+     *
+     * @author MORIMORI0317
+     */
+    private final class Deadline {
+
+        /**
+         * 期限(ns)
+         */
+        private final long time;
+
+        /**
+         * 前回の確認からの文字の参照回数
+         */
+        private int count;
+
+        private Deadline(long time) {
+            this.time = time;
+        }
+
+        private void check() {
+            if (++count < CHECK_INTERVAL) {
+                return;
+            }
+
+            count = 0;
+
+            if (System.nanoTime() - time > 0) {
+                throw new RegexTimeoutException(pattern.pattern());
+            }
+        }
+    }
+
+    /**
+     * 文字の参照ごとに期限を確認する文字列<br/>
+     * 部分文字列も同じ期限を共有する
+     *
+     * @author MORIMORI0317
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        /**
+         * 元の文字列
+         */
+        private final CharSequence text;
+
+        /**
+         * 期限
+         */
+        private final Deadline deadline;
+
+        private DeadlineCharSequence(CharSequence text, Deadline deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            deadline.check();
+            return text.charAt(index);
+        }
+
+        @Override
+        public @NotNull CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.felnull.itts.core.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 特定のサーバー向けに前処理を済ませた辞書<br/>
+ * 適用時にデータベースへのアクセスや正規表現のコンパイルを行わない
+ *
+ * @author MORIMORI0317
+ */
+@FunctionalInterface
+public interface CompiledDictionary {
+
+    /**
+     * テキストに辞書を適用
+     *
+     * @param text 適用対象テキスト
+     * @return 適用済みテキスト
+     */
+    @NotNull
+    String apply(@NotNull String text);
+}
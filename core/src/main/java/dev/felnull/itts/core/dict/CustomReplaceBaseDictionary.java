@@ -0,0 +1,226 @@
+package dev.felnull.itts.core.dict;
+
+import dev.felnull.itts.core.ITTSRuntimeUse;
+import dev.felnull.itts.core.savedata.legacy.LegacyDictData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 利用者が登録した置き換え対象と読みで置き換える辞書のベース<br/>
+ * 正規表現の記号を含まない置き換え対象はまとめて一度の走査で置き換え、それ以外のみ正規表現で置き換える<br/>
+ * 正規表現が不正なものや、評価が続けて制限時間を超えたものは、そのサーバーでのみ無効にして以降は適用しない
+ *
+ * @author MORIMORI0317
+ */
+public abstract class CustomReplaceBaseDictionary implements Dictionary, ITTSRuntimeUse {
+
+    /**
+     * 正規表現として扱う必要がある記号
+     */
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+    /**
+     * 無効にした項目の表示
+     */
+    private static final String DISABLED_SUFFIX = " (無効: 不正または処理時間超過)";
+
+    /**
+     * 無効にしたサーバーIDと置き換え対象と置き換え後の文字列の組み合わせ<br/>
+     * 内容を変更した項目は別の組み合わせになるため、再度有効になる
+     */
+    private final Set<EntryKey> disabledEntries = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 続けて評価が制限時間を超えた回数
+     */
+    private final RegexTimeoutCounter<EntryKey> timeoutCounter = new RegexTimeoutCounter<>();
+
+    /**
+     * 置き換え対象と置き換え後の文字列のMAP
+     *
+     * @param guildId サーバーID
+     * @return 置き換え対象と置き換え後の文字列のMAP
+     */
+    @NotNull
+    protected abstract Map<String, String> getEntries(long guildId);
+
+    @Override
+    public @NotNull String apply(@NotNull String text, long guildId) {
+        return compile(guildId).apply(text);
+    }
+
+    @Override
+    public @NotNull CompiledDictionary compile(long guildId) {
+        if (isReplacedByWordDictionary(guildId)) {
+            return text -> text;
+        }
+
+        Map<String, String> literals = new HashMap<>();
+        List<Map.Entry<BoundedRegex, String>> regexes = new ArrayList<>();
+
+        getEntries(guildId).forEach((target, read) -> {
+            if (isLiteral(target)) {
+                literals.put(target, read);
+                return;
+            }
+
+            EntryKey key = new EntryKey(guildId, target, read);
+
+            if (disabledEntries.contains(key)) {
+                return;
+            }
+
+            try {
+                regexes.add(Map.entry(BoundedRegex.compile(target), read));
+            } catch (PatternSyntaxException e) {
+                disable(key, "invalid pattern");
+            }
+        });
+
+        LiteralReplacer literalReplacer = literals.isEmpty() ? LiteralReplacer.empty() : new LiteralReplacer(literals);
+
+        return text -> {
+            String ret = literalReplacer.isEmpty() ? text : literalReplacer.replace(text, getBoundaries(text));
+
+            for (Map.Entry<BoundedRegex, String> regex : regexes) {
+                try {
+                    ret = regex.getKey().replaceAll(ret, regex.getValue());
+                    timeoutCounter.onSuccess(new EntryKey(guildId, regex.getKey().getRegex(), regex.getValue()));
+                } catch (RegexTimeoutException e) {
+                    // 途中まで置き換えた結果は破棄し、この項目を飛ばして続ける
+                    onTimeout(new EntryKey(guildId, regex.getKey().getRegex(), regex.getValue()));
+                } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                    // 存在しないグループを参照している場合
+                    if (disable(new EntryKey(guildId, regex.getKey().getRegex(), regex.getValue()), "invalid replacement")) {
+                        onDisabled(guildId);
+                    }
+                }
+            }
+
+            return ret;
+        };
+    }
+
+    /**
+     * サーバーで無効にした項目に印を付けた表示用のMAPを作成
+     *
+     * @param guildId サーバーID
+     * @param entries 置き換え対象と置き換え後の文字列のMAP
+     * @return 表示用のMAP
+     */
+    @NotNull
+    @Unmodifiable
+    protected Map<String, String> markDisabled(long guildId, @NotNull Map<String, String> entries) {
+        Map<String, String> ret = new HashMap<>();
+        entries.forEach((target, read) ->
+                ret.put(target, disabledEntries.contains(new EntryKey(guildId, target, read)) ? read + DISABLED_SUFFIX : read));
+        return Map.copyOf(ret);
+    }
+
+    /**
+     * 正規表現を使わない置き換え対象の区切りを取得
+     *
+     * @param text テキスト
+     * @return 位置が区切りかどうかの判定、nullの場合は全ての位置を区切りとする
+     */
+    @Nullable
+    protected IntPredicate getBoundaries(@NotNull String text) {
+        return null;
+    }
+
+    /**
+     * 単語辞書が有効で、この辞書の代わりに置き換えを行うかどうか
+     *
+     * @param guildId サーバーID
+     * @return 単語辞書が置き換えを行う場合はtrue
+     */
+    protected boolean isReplacedByWordDictionary(long guildId) {
+        return getDictionaryManager().isEnable(guildId, WordDictionary.ID);
+    }
+
+    /**
+     * 項目を無効にしたサーバーの辞書を作り直す
+     *
+     * @param guildId サーバーID
+     */
+    protected void onDisabled(long guildId) {
+        getDictionaryManager().updateVersion(guildId);
+    }
+
+    private void onTimeout(EntryKey key) {
+        int count = timeoutCounter.onTimeout(key);
+
+        if (!RegexTimeoutCounter.shouldDisable(count)) {
+            getITTSLogger().warn("{} entry in guild {} timed out ({}/{}): {}", getId(), key.guildId(), count, BoundedRegex.DISABLE_TIMEOUT_COUNT, key.target());
+            return;
+        }
+
+        if (disable(key, "evaluation timed out")) {
+            onDisabled(key.guildId());
+        }
+    }
+
+    private boolean disable(EntryKey key, String reason) {
+        if (!disabledEntries.add(key)) {
+            return false;
+        }
+
+        getITTSLogger().warn("Disabled {} entry in guild {} ({}): {}", getId(), key.guildId(), reason, key.target());
+        return true;
+    }
+
+    /**
+     * 辞書データから置き換え対象と置き換え後の文字列のMAPを作成<br/>
+     * 同じ置き換え対象が複数登録されている場合は後のものを優先する
+     *
+     * @param dictData 辞書データのリスト
+     * @return 置き換え対象と置き換え後の文字列のMAP
+     */
+    @NotNull
+    protected static Map<String, String> toEntries(@NotNull List<? extends LegacyDictData> dictData) {
+        Map<String, String> ret = new LinkedHashMap<>();
+        dictData.forEach(data -> ret.put(data.getTarget(), data.getRead()));
+        return ret;
+    }
+
+    /**
+     * 正規表現を使わずにそのままの文字列として置き換えられるかどうか
+     *
+     * @param target 置き換え対象
+     * @return そのままの文字列として扱える場合はtrue
+     */
+    protected static boolean isLiteral(@NotNull String target) {
+        if (target.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < target.length(); i++) {
+            if (REGEX_META_CHARS.indexOf(target.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * サーバーごとの項目
+     *
+     * @param guildId サーバーID
+     * @param target  置き換え対象
+     * @param read    置き換え後の文字列
+     */
+    private record EntryKey(long guildId, String target, String read) {
+    }
+}
@@ -22,6 +22,18 @@ public interface Dictionary {
     @NotNull
     String apply(@NotNull String text, long guildId);
 
+    /**
+     * 指定したサーバー向けに前処理を済ませた辞書を作成<br/>
+     * 保存されたデータを読み込む辞書は、ここで読み込みを行い適用時にはアクセスしないようにする
+     *
+     * @param guildId サーバーID
+     * @return 前処理済みの辞書
+     */
+    @NotNull
+    default CompiledDictionary compile(long guildId) {
+        return text -> apply(text, guildId);
+    }
+
     /**
      * 組み込み辞書かどうか
      *
@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import dev.felnull.itts.core.ITTSRuntimeUse;
+import dev.felnull.itts.core.ImmortalityTimer;
 import dev.felnull.itts.core.savedata.SaveDataManager;
 import dev.felnull.itts.core.savedata.legacy.LegacyDictData;
 import dev.felnull.itts.core.savedata.legacy.LegacySaveDataLayer;
@@ -13,7 +14,9 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -28,10 +31,26 @@ public class DictionaryManager implements ITTSRuntimeUse {
      */
     private static final int FILE_VERSION = 0;
 
+    /**
+     * 適用結果のキャッシュの最大の件数
+     */
+    private static final int RESULT_CACHE_MAX_ENTRIES = 4096;
+
+    /**
+     * 適用結果をキャッシュするテキストの最大の文字数
+     */
+    private static final int RESULT_CACHE_MAX_TEXT_LENGTH = 200;
+
+    /**
+     * グローバル辞書の変更を確認する間隔(ms)<br/>
+     * グローバル辞書はBotの外部から直接編集されるため、定期的に保存されたデータと比較する
+     */
+    private static final long GLOBAL_CHECK_INTERVAL = 30 * 1000;
+
     /**
      * グローバル辞書
      */
-    private final Dictionary globalDictionary = new GlobalDictionary();
+    private final GlobalDictionary globalDictionary = new GlobalDictionary();
 
     /**
      * サーバー辞書
@@ -53,10 +72,22 @@ public class DictionaryManager implements ITTSRuntimeUse {
      */
     private final Dictionary romajiDictionary = new RomajiDictionary();
 
+    /**
+     * 単語辞書
+     */
+    private final Dictionary wordDictionary = new WordDictionary();
+
     /**
      * 全辞書のリスト
      */
-    private final List<Dictionary> dictionaries = ImmutableList.of(globalDictionary, serverDictionary, abbreviationDictionary, unitDictionary, romajiDictionary);
+    private final List<Dictionary> dictionaries = ImmutableList.of(
+            globalDictionary,
+            serverDictionary,
+            wordDictionary,
+            abbreviationDictionary,
+            unitDictionary,
+            romajiDictionary
+    );
 
     /**
      * デフォルトで有効な辞書
@@ -65,9 +96,48 @@ public class DictionaryManager implements ITTSRuntimeUse {
             globalDictionary,
             serverDictionary,
             abbreviationDictionary,
+            unitDictionary,
             romajiDictionary
     );
 
+    /**
+     * 適用結果のキャッシュ
+     */
+    private final DictionaryResultCache resultCache = new DictionaryResultCache(RESULT_CACHE_MAX_ENTRIES, RESULT_CACHE_MAX_TEXT_LENGTH);
+
+    /**
+     * サーバーごとの前処理済みの辞書
+     */
+    private final Map<Long, DictionaryPipeline> pipelines = new ConcurrentHashMap<>();
+
+    /**
+     * サーバーごとの辞書のバージョン
+     */
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 全サーバー共通の辞書のバージョン
+     */
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    /**
+     * 最後に確認したグローバル辞書の内容 (確認するタスクからのみ操作)
+     */
+    private Map<String, String> lastGlobalEntries;
+
+    /**
+     * 初期化<br/>
+     * 保存データの初期化後に呼び、グローバル辞書の変更を定期的に確認するタスクを開始する
+     */
+    public void init() {
+        getImmortalityTimer().schedule(new ImmortalityTimer.ImmortalityTimerTask() {
+            @Override
+            public void run() {
+                CompletableFuture.runAsync(DictionaryManager.this::checkGlobalDictionary, getAsyncExecutor());
+            }
+        }, 0, GLOBAL_CHECK_INTERVAL);
+    }
+
     /**
      * 辞書を取得
      *
@@ -201,6 +271,7 @@ public class DictionaryManager implements ITTSRuntimeUse {
     public void setEnable(long guildId, String dictId, boolean enable) {
         SaveDataManager saveDataManager = SaveDataManager.getInstance();
         saveDataManager.getRepository().getDictionaryUseData(guildId, dictId).setEnable(enable);
+        updateVersion(guildId);
     }
 
     /**
@@ -211,12 +282,109 @@ public class DictionaryManager implements ITTSRuntimeUse {
      * @return 適用済みテキスト
      */
     public String applyDict(String text, long guildId) {
-        AtomicReference<String> retText = new AtomicReference<>(text);
+        DictionaryPipeline pipeline = getPipeline(guildId);
 
-        getAllPriorityOrderEnableDictionaries(guildId)
-                .forEach(dict -> retText.set(dict.apply(retText.get(), guildId)));
+        // 作成時のバージョンをキーにするため、辞書が変更された場合は以前の結果を使わない
+        String ret = resultCache.get(guildId, pipeline.getVersion(), pipeline.getGlobalVersion(), text);
+        if (ret != null) {
+            return ret;
+        }
+
+        ret = pipeline.apply(text);
+        resultCache.put(guildId, pipeline.getVersion(), pipeline.getGlobalVersion(), text, ret);
 
-        return retText.get();
+        return ret;
+    }
+
+    /**
+     * サーバーの前処理済みの辞書を取得<br/>
+     * 辞書のバージョンが変わっていない場合は、保存されたデータへのアクセスを行わない
+     *
+     * @param guildId サーバーID
+     * @return 前処理済みの辞書
+     */
+    @NotNull
+    public DictionaryPipeline getPipeline(long guildId) {
+        long version = getVersion(guildId);
+        long global = globalVersion.get();
+
+        DictionaryPipeline pipeline = pipelines.get(guildId);
+        if (pipeline != null && pipeline.isVersion(version, global)) {
+            return pipeline;
+        }
+
+        // 作成中に変更された場合は、バージョンが一致しないため次回作り直される
+        List<CompiledDictionary> compiled = getAllPriorityOrderEnableDictionaries(guildId).stream()
+                .map(dict -> dict.compile(guildId))
+                .toList();
+
+        DictionaryPipeline newPipeline = new DictionaryPipeline(version, global, compiled);
+        pipelines.put(guildId, newPipeline);
+
+        return newPipeline;
+    }
+
+    /**
+     * サーバーの辞書のバージョンを取得
+     *
+     * @param guildId サーバーID
+     * @return バージョン
+     */
+    public long getVersion(long guildId) {
+        AtomicLong version = versions.get(guildId);
+        return version != null ? version.get() : 0;
+    }
+
+    /**
+     * サーバーの辞書の内容や有効状態が変更された場合に呼び、バージョンを更新する
+     *
+     * @param guildId サーバーID
+     */
+    public void updateVersion(long guildId) {
+        versions.computeIfAbsent(guildId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * 全サーバー共通の辞書が変更された場合に呼び、全サーバーのバージョンを更新する
+     */
+    public void updateGlobalVersion() {
+        globalVersion.incrementAndGet();
+    }
+
+    /**
+     * グローバル辞書の内容を前回の確認時と比較し、変更されていればバージョンを更新する
+     */
+    private synchronized void checkGlobalDictionary() {
+        Map<String, String> entries;
+
+        try {
+            entries = globalDictionary.getEntries(0);
+        } catch (RuntimeException e) {
+            getITTSLogger().warn("Failed to check global dictionary", e);
+            return;
+        }
+
+        Map<String, String> lastEntries = lastGlobalEntries;
+        lastGlobalEntries = entries;
+
+        if (lastEntries != null && !lastEntries.equals(entries)) {
+            updateGlobalVersion();
+        }
+    }
+
+    /**
+     * サーバーの前処理済みの辞書と適用結果のキャッシュを破棄
+     *
+     * @param guildId サーバーID
+     */
+    public void removePipeline(long guildId) {
+        pipelines.remove(guildId);
+        resultCache.remove(guildId);
+    }
+
+    @NotNull
+    public DictionaryResultCache getResultCache() {
+        return resultCache;
     }
 
 
@@ -261,29 +429,19 @@ public class DictionaryManager implements ITTSRuntimeUse {
             JsonObject entry = jo.getAsJsonObject("entry");
             LegacySaveDataLayer legacySaveDataLayer = SaveDataManager.getInstance().getLegacySaveDataLayer();
 
-            for (Map.Entry<String, JsonElement> en : entry.entrySet()) {
-                String target = en.getKey();
+            Map<String, String> entries = new LinkedHashMap<>();
 
+            for (Map.Entry<String, JsonElement> en : entry.entrySet()) {
                 if (!en.getValue().isJsonPrimitive() || !en.getValue().getAsJsonPrimitive().isString()) {
                     continue;
                 }
 
-                String read = en.getValue().getAsString();
-
-                LegacyDictData pre = legacySaveDataLayer.getServerDictData(guildId, target);
-
-                if (!overwrite && pre != null) {
-                    continue;
-                }
-
-                legacySaveDataLayer.addServerDictData(guildId, target, read);
-
-                LegacyDictData ndata = Objects.requireNonNull(legacySaveDataLayer.getServerDictData(guildId, target));
-
-                if (!ndata.equals(pre)) {
-                    ret.add(ndata);
-                }
+                entries.put(en.getKey(), en.getValue().getAsString());
             }
+
+            // 既存のエントリとの差分のみを1つのトランザクションで書き込むため、失敗した場合は何も登録されない
+            ret.addAll(legacySaveDataLayer.addAllServerDictData(guildId, entries, overwrite));
+            updateVersion(guildId);
         }
 
         return ret;
@@ -0,0 +1,85 @@
+package dev.felnull.itts.core.dict;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+
+/**
+ * サーバーで有効な辞書を優先度順に並べて前処理を済ませたもの<br/>
+ * 作成時の辞書のバージョンを保持し、バージョンが変わった場合は作り直す
+ *
+ * @author MORIMORI0317
+ */
+public final class DictionaryPipeline {
+
+    /**
+     * 作成時のサーバーの辞書のバージョン
+     */
+    private final long version;
+
+    /**
+     * 作成時の全サーバー共通の辞書のバージョン
+     */
+    private final long globalVersion;
+
+    /**
+     * 優先度順の辞書
+     */
+    private final List<CompiledDictionary> dictionaries;
+
+    /**
+     * コンストラクタ
+     *
+     * @param version       サーバーの辞書のバージョン
+     * @param globalVersion 全サーバー共通の辞書のバージョン
+     * @param dictionaries  優先度順の辞書
+     */
+    public DictionaryPipeline(long version, long globalVersion, @NotNull List<CompiledDictionary> dictionaries) {
+        this.version = version;
+        this.globalVersion = globalVersion;
+        this.dictionaries = List.copyOf(dictionaries);
+    }
+
+    /**
+     * テキストに全ての辞書を適用
+     *
+     * @param text 適用対象テキスト
+     * @return 適用済みテキスト
+     */
+    @NotNull
+    public String apply(@NotNull String text) {
+        String ret = text;
+
+        for (CompiledDictionary dictionary : dictionaries) {
+            ret = dictionary.apply(ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * 指定したバージョンで作成されたものかどうか
+     *
+     * @param version       サーバーの辞書のバージョン
+     * @param globalVersion 全サーバー共通の辞書のバージョン
+     * @return 一致すればtrue
+     */
+    public boolean isVersion(long version, long globalVersion) {
+        return this.version == version && this.globalVersion == globalVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getGlobalVersion() {
+        return globalVersion;
+    }
+
+    @Unmodifiable
+    @NotNull
+    public List<CompiledDictionary> getDictionaries() {
+        return dictionaries;
+    }
+}
@@ -0,0 +1,154 @@
+package dev.felnull.itts.core.dict;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 辞書の適用結果のキャッシュ<br/>
+ * サーバーID、辞書のバージョン、テキストが一致する場合に以前の結果を返し、件数が上限を超えた場合は最も長く使われていないものから破棄する
+ *
+ * @author MORIMORI0317
+ */
+public class DictionaryResultCache {
+
+    /**
+     * 最大の件数
+     */
+    private final int maxEntries;
+
+    /**
+     * 保持するテキストの最大の文字数
+     */
+    private final int maxTextLength;
+
+    /**
+     * 排他用オブジェクト
+     */
+    private final Object lock = new Object();
+
+    /**
+     * 使用順の結果
+     */
+    private final LinkedHashMap<Key, String> entries;
+
+    /**
+     * ヒット数
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * ミス数
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * コンストラクタ
+     *
+     * @param maxEntries    最大の件数
+     * @param maxTextLength 保持するテキストの最大の文字数
+     */
+    public DictionaryResultCache(int maxEntries, int maxTextLength) {
+        this.maxEntries = maxEntries;
+        this.maxTextLength = maxTextLength;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > DictionaryResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 結果を取得
+     *
+     * @param guildId       サーバーID
+     * @param version       サーバーの辞書のバージョン
+     * @param globalVersion 全サーバー共通の辞書のバージョン
+     * @param text          適用前のテキスト
+     * @return 適用済みテキスト、存在しない場合はnull
+     */
+    @Nullable
+    public String get(long guildId, long version, long globalVersion, @NotNull String text) {
+        if (text.length() > maxTextLength) {
+            return null;
+        }
+
+        String ret;
+        synchronized (lock) {
+            ret = entries.get(new Key(guildId, version, globalVersion, text));
+        }
+
+        if (ret != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+
+        return ret;
+    }
+
+    /**
+     * 結果を保存
+     *
+     * @param guildId       サーバーID
+     * @param version       サーバーの辞書のバージョン
+     * @param globalVersion 全サーバー共通の辞書のバージョン
+     * @param text          適用前のテキスト
+     * @param result        適用済みテキスト
+     */
+    public void put(long guildId, long version, long globalVersion, @NotNull String text, @NotNull String result) {
+        if (text.length() > maxTextLength || maxEntries <= 0) {
+            return;
+        }
+
+        synchronized (lock) {
+            entries.put(new Key(guildId, version, globalVersion, text), result);
+        }
+    }
+
+    /**
+     * サーバーの結果を全て破棄
+     *
+     * @param guildId サーバーID
+     */
+    public void remove(long guildId) {
+        synchronized (lock) {
+            entries.keySet().removeIf(key -> key.guildId() == guildId);
+        }
+    }
+
+    /**
+     * 件数を取得
+     *
+     * @return 件数
+     */
+    public int getEntryCount() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * キャッシュのキー
+     *
+     * @param guildId       サーバーID
+     * @param version       サーバーの辞書のバージョン
+     * @param globalVersion 全サーバー共通の辞書のバージョン
+     * @param text          適用前のテキスト
+     * @author MORIMORI0317
+     */
+    private record Key(long guildId, long version, long globalVersion, String text) {
+    }
+}
@@ -0,0 +1,291 @@
+package dev.felnull.itts.core.dict;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * 複数の文字列を一度の走査でまとめて置き換える処理<br/>
+ * Aho-Corasick法のオートマトンを利用し、重なる場合は最も左で始まるもの、同じ位置で始まる場合は最も長いものを優先する
+ *
+ * @author MORIMORI0317
+ */
+public final class LiteralReplacer {
+
+    /**
+     * 空の置き換え
+     */
+    private static final LiteralReplacer EMPTY = new LiteralReplacer(Map.of());
+
+    /**
+     * ノードごとの遷移文字 (昇順)
+     */
+    private final char[][] transitionChars;
+
+    /**
+     * ノードごとの遷移先
+     */
+    private final int[][] transitionNodes;
+
+    /**
+     * 失敗時の遷移先
+     */
+    private final int[] fail;
+
+    /**
+     * ノードの深さ (ルートからの文字数)
+     */
+    private final int[] depth;
+
+    /**
+     * ノードそのものが置き換え対象の終わりである場合の置き換え後の文字列、無い場合はnull
+     */
+    private final String[] replacement;
+
+    /**
+     * ノードで終わる最も長い置き換え対象の終わりのノード、無い場合は0
+     */
+    private final int[] matchNode;
+
+    /**
+     * コンストラクタ
+     *
+     * @param replaces 置き換え対象と置き換え後の文字列のMAP、空文字の置き換え対象は無視する
+     */
+    public LiteralReplacer(@NotNull Map<String, String> replaces) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<String> outputs = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+
+        trie.add(new TreeMap<>());
+        outputs.add(null);
+        depths.add(0);
+
+        for (Map.Entry<String, String> entry : replaces.entrySet()) {
+            String target = entry.getKey();
+            if (target.isEmpty()) {
+                continue;
+            }
+
+            int node = 0;
+            for (int i = 0; i < target.length(); i++) {
+                Integer next = trie.get(node).get(target.charAt(i));
+
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    outputs.add(null);
+                    depths.add(i + 1);
+                    trie.get(node).put(target.charAt(i), next);
+                }
+
+                node = next;
+            }
+
+            outputs.set(node, entry.getValue());
+        }
+
+        int size = trie.size();
+        this.transitionChars = new char[size][];
+        this.transitionNodes = new int[size][];
+        this.fail = new int[size];
+        this.depth = new int[size];
+        this.replacement = new String[size];
+        this.matchNode = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            TreeMap<Character, Integer> transitions = trie.get(i);
+            char[] chars = new char[transitions.size()];
+            int[] nodes = new int[transitions.size()];
+            int idx = 0;
+
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                chars[idx] = transition.getKey();
+                nodes[idx] = transition.getValue();
+                idx++;
+            }
+
+            this.transitionChars[i] = chars;
+            this.transitionNodes[i] = nodes;
+            this.depth[i] = depths.get(i);
+            this.replacement[i] = outputs.get(i);
+        }
+
+        // 幅優先で失敗時の遷移先と、そのノードで終わる最も長い置き換え対象を求める
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+
+            if (outputs.get(node) != null) {
+                matchNode[node] = node;
+            } else if (node != 0) {
+                matchNode[node] = matchNode[fail[node]];
+            }
+
+            for (int i = 0; i < transitionChars[node].length; i++) {
+                int child = transitionNodes[node][i];
+                fail[child] = node == 0 ? 0 : step(fail[node], transitionChars[node][i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 空の置き換えを取得
+     *
+     * @return 何も置き換えない置き換え
+     */
+    @NotNull
+    public static LiteralReplacer empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 置き換え対象が無いかどうか
+     *
+     * @return 無ければtrue
+     */
+    public boolean isEmpty() {
+        return transitionChars[0].length == 0;
+    }
+
+    /**
+     * テキストを置き換え
+     *
+     * @param text テキスト
+     * @return 置き換え済みテキスト、置き換えが無い場合は同じインスタンス
+     */
+    @NotNull
+    public String replace(@NotNull String text) {
+        return replace(text, null);
+    }
+
+    /**
+     * 開始位置と終了位置が区切りである置き換え対象のみでテキストを置き換え
+     *
+     * @param text     テキスト
+     * @param boundary 位置が区切りかどうかの判定、nullの場合は全ての位置を区切りとする
+     * @return 置き換え済みテキスト、置き換えが無い場合は同じインスタンス
+     */
+    @NotNull
+    public String replace(@NotNull String text, @Nullable IntPredicate boundary) {
+        if (isEmpty()) {
+            return text;
+        }
+
+        int length = text.length();
+        StringBuilder sb = null;
+        int emitted = 0;
+        int node = 0;
+        int pos = 0;
+
+        // 確定していない最も左で始まる一致
+        int candidateStart = -1;
+        int candidateEnd = -1;
+        String candidateReplacement = null;
+
+        while (true) {
+            if (pos < length) {
+                node = step(node, text.charAt(pos));
+                pos++;
+
+                int matched = findMatch(node, pos, boundary);
+                if (matched != 0) {
+                    int start = pos - depth[matched];
+
+                    // 後で見つかった同じ開始位置の一致はより長い
+                    if (candidateReplacement == null || start <= candidateStart) {
+                        candidateStart = start;
+                        candidateEnd = pos;
+                        candidateReplacement = replacement[matched];
+                    }
+                }
+
+                // 以降の一致は現在のノードの深さより前からは始まらないため、候補より前から始まる可能性が無くなるまで確定しない
+                if (candidateReplacement == null || pos - depth[node] <= candidateStart) {
+                    continue;
+                }
+            } else if (candidateReplacement == null) {
+                break;
+            }
+
+            if (sb == null) {
+                sb = new StringBuilder(length + 16);
+            }
+
+            sb.append(text, emitted, candidateStart).append(candidateReplacement);
+            emitted = candidateEnd;
+
+            // 置き換えた範囲の直後から走査し直す
+            pos = candidateEnd;
+            node = 0;
+            candidateReplacement = null;
+        }
+
+        if (sb == null) {
+            return text;
+        }
+
+        sb.append(text, emitted, length);
+        return sb.toString();
+    }
+
+    /**
+     * 位置で終わる置き換え対象のうち、最も長いもののノードを探す
+     *
+     * @param node     現在のノード
+     * @param pos      終了位置
+     * @param boundary 位置が区切りかどうかの判定
+     * @return 置き換え対象の終わりのノード、無い場合は0
+     */
+    private int findMatch(int node, int pos, IntPredicate boundary) {
+        int current = matchNode[node];
+
+        if (current == 0 || boundary == null) {
+            return current;
+        }
+
+        if (!boundary.test(pos)) {
+            return 0;
+        }
+
+        // 長い順に辿り、開始位置も区切りであるものを探す
+        while (current != 0) {
+            if (boundary.test(pos - depth[current])) {
+                return current;
+            }
+
+            current = matchNode[fail[current]];
+        }
+
+        return 0;
+    }
+
+    private int step(int node, char c) {
+        int current = node;
+
+        while (true) {
+            int idx = Arrays.binarySearch(transitionChars[current], c);
+
+            if (idx >= 0) {
+                return transitionNodes[current][idx];
+            }
+
+            if (current == 0) {
+                return 0;
+            }
+
+            current = fail[current];
+        }
+    }
+}
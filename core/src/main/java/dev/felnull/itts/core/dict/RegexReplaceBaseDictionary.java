@@ -24,9 +24,17 @@ public abstract class RegexReplaceBaseDictionary implements Dictionary {
 
     @Override
     public @NotNull String apply(@NotNull String text, long guildId) {
+        return compile(guildId).apply(text);
+    }
+
+    @Override
+    public @NotNull CompiledDictionary compile(long guildId) {
         Map<Pattern, Function<String, String>> replaces = getReplaces(guildId);
-        AtomicReference<String> ret = new AtomicReference<>(text);
-        replaces.forEach((pattern, rep) -> ret.set(pattern.matcher(ret.get()).replaceAll(res -> rep.apply(res.group()))));
-        return ret.get();
+
+        return text -> {
+            AtomicReference<String> ret = new AtomicReference<>(text);
+            replaces.forEach((pattern, rep) -> ret.set(pattern.matcher(ret.get()).replaceAll(res -> rep.apply(res.group()))));
+            return ret.get();
+        };
     }
 }
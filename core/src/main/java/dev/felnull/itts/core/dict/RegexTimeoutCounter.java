@@ -0,0 +1,68 @@
+package dev.felnull.itts.core.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 正規表現の評価が続けて制限時間を超えた回数をキーごとに数える<br/>
+ * GCなどで一時的に停止した場合に無効にしないように、{@link BoundedRegex#DISABLE_TIMEOUT_COUNT}回続けて制限時間を超えた場合のみ無効にする
+ *
+ * @param <K> キー
+ * @author MORIMORI0317
+ */
+public final class RegexTimeoutCounter<K> {
+
+    /**
+     * 続けて評価が制限時間を超えた回数
+     */
+    private final Map<K, Integer> counts = new ConcurrentHashMap<>();
+
+    /**
+     * 評価が制限時間を超えたことを記録<br/>
+     * 無効にする回数に達した場合は回数を初期化する
+     *
+     * @param key キー
+     * @return 続けて制限時間を超えた回数
+     */
+    public int onTimeout(@NotNull K key) {
+        int count = counts.merge(key, 1, Integer::sum);
+
+        if (shouldDisable(count)) {
+            counts.remove(key);
+        }
+
+        return count;
+    }
+
+    /**
+     * 評価が制限時間内に終わったことを記録
+     *
+     * @param key キー
+     */
+    public void onSuccess(@NotNull K key) {
+        if (!counts.isEmpty()) {
+            counts.remove(key);
+        }
+    }
+
+    /**
+     * 回数を破棄
+     *
+     * @param key キー
+     */
+    public void remove(@NotNull K key) {
+        counts.remove(key);
+    }
+
+    /**
+     * 無効にする回数に達したかどうか
+     *
+     * @param count 続けて制限時間を超えた回数
+     * @return 無効にする場合はtrue
+     */
+    public static boolean shouldDisable(int count) {
+        return count >= BoundedRegex.DISABLE_TIMEOUT_COUNT;
+    }
+}
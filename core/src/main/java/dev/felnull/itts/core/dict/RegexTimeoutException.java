@@ -0,0 +1,31 @@
+package dev.felnull.itts.core.dict;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 正規表現の評価が制限時間を超えた場合の例外
+ *
+ * @author MORIMORI0317
+ */
+public class RegexTimeoutException extends RuntimeException {
+
+    /**
+     * 制限時間を超えた正規表現
+     */
+    private final String regex;
+
+    /**
+     * コンストラクタ
+     *
+     * @param regex 制限時間を超えた正規表現
+     */
+    public RegexTimeoutException(@NotNull String regex) {
+        super("Regex evaluation timed out: " + regex);
+        this.regex = regex;
+    }
+
+    @NotNull
+    public String getRegex() {
+        return regex;
+    }
+}
@@ -1,22 +1,67 @@
 package dev.felnull.itts.core.dict;
 
 import com.google.common.collect.ImmutableMap;
+import com.ibm.icu.text.ReplaceableString;
 import com.ibm.icu.text.Transliterator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * ローマ字辞書
+ * ローマ字辞書<br/>
+ * ラテン文字が連続する部分のみを平仮名に変換し、ラテン文字を含まないテキストはそのまま返す<br/>
+ * テキスト全体を変換していた場合と異なり、ラテン文字の間にない記号 (末尾の「-」や「~」、句読点など) は変換しない
  *
  * @author MORIMORI0317
  */
 public class RomajiDictionary implements Dictionary {
+
+    /**
+     * 変換のID
+     */
+    private static final String TRANSLITERATOR_ID = "Latin-Hiragana";
+
+    /**
+     * ラテン文字の間にある場合に、ラテン文字が連続する部分に含める文字
+     */
+    private static final String JOINER_CHARS = "'-^~";
+
+    /**
+     * 使い回す変換<br/>
+     * 作成に時間がかかるため、使用中でないものを使い回し、足りない場合のみ作成する
+     */
+    private final Queue<Transliterator> transliterators = new ConcurrentLinkedQueue<>();
+
     @Override
     public @NotNull String apply(@NotNull String text, long guildId) {
-        Transliterator transliterator = Transliterator.getInstance("Latin-Hiragana");
-        return transliterator.transliterate(text);
+        int first = indexOfLatin(text, 0);
+        if (first < 0) {
+            return text;
+        }
+
+        Transliterator transliterator = transliterators.poll();
+        if (transliterator == null) {
+            transliterator = Transliterator.getInstance(TRANSLITERATOR_ID);
+        }
+
+        try {
+            StringBuffer buffer = new StringBuffer(text);
+            ReplaceableString replaceable = new ReplaceableString(buffer);
+            int pos = first;
+
+            while (pos >= 0) {
+                int end = endOfLatinRun(buffer, pos);
+                int newEnd = transliterator.transliterate(replaceable, pos, end);
+                pos = indexOfLatin(buffer, newEnd);
+            }
+
+            return buffer.toString();
+        } finally {
+            transliterators.add(transliterator);
+        }
     }
 
     @Override
@@ -43,4 +88,48 @@ public class RomajiDictionary implements Dictionary {
     public int getDefaultPriority() {
         return 4;
     }
+
+    private static int indexOfLatin(CharSequence text, int from) {
+        for (int i = from; i < text.length(); ) {
+            int cp = Character.codePointAt(text, i);
+
+            if (isLatin(cp)) {
+                return i;
+            }
+
+            i += Character.charCount(cp);
+        }
+
+        return -1;
+    }
+
+    private static int endOfLatinRun(CharSequence text, int start) {
+        int length = text.length();
+        int end = start;
+        int pos = start;
+
+        while (pos < length) {
+            int cp = Character.codePointAt(text, pos);
+
+            if (isLatin(cp)) {
+                pos += Character.charCount(cp);
+                end = pos;
+            } else if (JOINER_CHARS.indexOf(cp) >= 0) {
+                // 後ろにラテン文字が続く場合のみ含める
+                pos++;
+            } else {
+                break;
+            }
+        }
+
+        return end;
+    }
+
+    private static boolean isLatin(int cp) {
+        if (cp < 0x80) {
+            return (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z');
+        }
+
+        return Character.UnicodeScript.of(cp) == Character.UnicodeScript.LATIN;
+    }
 }
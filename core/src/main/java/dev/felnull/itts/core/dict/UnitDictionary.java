@@ -6,28 +6,20 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 /**
- * 単位辞書
+ * 単位辞書<br/>
+ * 数字の直後に続く文字を、単位と接頭辞の文字のトライ木で一度の走査で判定する
  *
  * @author MORIMORI0317
  */
 public class UnitDictionary implements Dictionary {
-    /**
-     * 単位に置き換える文字のひとつ前の文字を表す正規表現
-     */
-    private static final Pattern UNIT_PREFIX_REGEX = createPrefixAndUnitPattern();
-
-    /**
-     * 数字の正規表現
-     */
-    private static final Pattern NUMBERS_REGEX = Pattern.compile("\\d+");
-
     /**
      * 通常の大きい接頭辞
      */
@@ -66,16 +58,103 @@ public class UnitDictionary implements Dictionary {
      */
     private static final Prefix[] NORMAL_ALL_PREFIX = ArrayUtils.addAll(NORMAL_UP_PREFIX, NORMAL_DOWN_PREFIX);
 
+    /**
+     * 数字の直後に続く場合でも単位として扱わない英語の接尾辞 (英字を小文字にして比較する)
+     */
+    private static final Set<String> ENGLISH_SUFFIXES = Set.of("am", "pm", "th", "st", "nd", "rd", "ch");
+
+    /**
+     * 接頭辞と単位の組み合わせの読みのトライ木 (大文字と小文字を区別する)<br/>
+     * 単位の列挙型は接頭辞の配列を参照するため、接頭辞の配列より後に初期化する
+     */
+    private static final CharTrie<String> EXACT_UNITS = new CharTrie<>();
+
+    /**
+     * 接頭辞と単位の組み合わせの読みのトライ木 (英字を小文字にして比較する)<br/>
+     * 英字を小文字にした場合に他の組み合わせと同じになるものと、1文字の単位と、大文字と小文字が混在する単位は含まない
+     */
+    private static final CharTrie<String> FOLDED_UNITS = new CharTrie<>();
+
+    static {
+        Map<String, String> combinations = new LinkedHashMap<>();
+
+        for (Unit unit : Unit.values()) {
+            combinations.putIfAbsent(unit.word, unit.read);
+
+            for (Prefix prefix : unit.prefixes) {
+                combinations.putIfAbsent(prefix.word + unit.word, prefix.read + unit.read);
+            }
+        }
+
+        Map<String, Integer> foldedCounts = new HashMap<>();
+        combinations.keySet().forEach(word -> foldedCounts.merge(fold(word), 1, Integer::sum));
+
+        combinations.forEach((word, read) -> EXACT_UNITS.put(word, read));
+
+        for (Unit unit : Unit.values()) {
+            if (isMixedCase(unit.word)) {
+                continue;
+            }
+
+            for (Prefix prefix : unit.prefixes) {
+                String word = prefix.word + unit.word;
+                if (foldedCounts.get(fold(word)) == 1) {
+                    FOLDED_UNITS.put(fold(word), combinations.get(word));
+                }
+            }
+
+            if (unit.word.length() > 1 && foldedCounts.get(fold(unit.word)) == 1) {
+                FOLDED_UNITS.put(fold(unit.word), unit.read);
+            }
+        }
+    }
+
     @Override
     public @NotNull String apply(@NotNull String text, long guildId) {
-        return UNIT_PREFIX_REGEX.matcher(text).replaceAll(matchResult -> {
-            String lst = null;
-            if (matchResult.end() < text.length()) {
-                lst = String.valueOf(text.charAt(matchResult.end()));
+        int length = text.length();
+        StringBuilder sb = null;
+        int emitted = 0;
+        int pos = 0;
+
+        while (pos < length) {
+            if (!isDigit(text.charAt(pos))) {
+                pos++;
+                continue;
+            }
+
+            while (pos < length && isDigit(text.charAt(pos))) {
+                pos++;
+            }
+
+            int unitStart = pos;
+            while (pos < length && isUnitChar(text.charAt(pos))) {
+                pos++;
+            }
+
+            // 英単語の一部やハイフンで繋がっている場合は単位として扱わない
+            if (unitStart == pos || (pos < length && text.charAt(pos) == '-')) {
+                continue;
+            }
+
+            String read = readUnit(text, unitStart, pos);
+            if (read == null) {
+                continue;
             }
 
-            return replaceUnitAndPrefix(matchResult.group(), lst);
-        });
+            if (sb == null) {
+                sb = new StringBuilder(length + 16);
+            }
+
+            sb.append(text, emitted, unitStart).append(read);
+            emitted = pos;
+        }
+
+        if (sb == null) {
+            return text;
+        }
+
+        sb.append(text, emitted, length);
+        return sb.toString();
     }
 
     @Override
@@ -93,69 +172,62 @@ public class UnitDictionary implements Dictionary {
         return "unit";
     }
 
-    private static Pattern createPrefixAndUnitPattern() {
-        Pattern alphabet = Pattern.compile("[a-zA-Z]+");
-        StringBuilder lastUnits = new StringBuilder();
-        StringBuilder preOrUnitMiddle = new StringBuilder();
-        for (Unit unit : Unit.values()) {
-            String lst = unit.word.substring(unit.word.length() - 1);
-            lastUnits.append(lst.toLowerCase(Locale.ROOT)).append(lst.toUpperCase(Locale.ROOT));
-
-            String middle = unit.word.substring(0, unit.word.length() - 1);
-            preOrUnitMiddle.append(middle.toLowerCase(Locale.ROOT)).append(middle.toUpperCase(Locale.ROOT));
+    /**
+     * 数字に続く文字を接頭辞と単位として読む<br/>
+     * 大文字と小文字が一致する組み合わせを優先し、一致しない場合は英字を小文字にしても他と区別できる組み合わせのみ読む
+     *
+     * @param text  テキスト
+     * @param start 数字に続く文字の開始位置
+     * @param end   数字に続く文字の終了位置
+     * @return 接頭辞と単位の読み、単位として読めない場合はnull
+     */
+    private static String readUnit(String text, int start, int end) {
+        // 5amや4thなどの時刻や序数は単位として扱わない
+        if (end - start == 2 && ENGLISH_SUFFIXES.contains(fold(text.substring(start, end)))) {
+            return null;
         }
 
-        for (Prefix prefix : Prefix.values()) {
-            if (prefix.word == null || prefix.read == null) {
-                continue;
-            }
-
-            Matcher mc = alphabet.matcher(prefix.word);
-            if (mc.matches()) {
-                preOrUnitMiddle.append(prefix.word.toLowerCase(Locale.ROOT)).append(prefix.word.toUpperCase(Locale.ROOT));
-            } else {
-                preOrUnitMiddle.append(prefix.word);
-            }
+        String exact = EXACT_UNITS.get(text, start, end, false);
+        if (exact != null) {
+            return exact;
         }
 
-        return Pattern.compile("\\d+[" + preOrUnitMiddle + "]*[" + lastUnits + "]");
+        return FOLDED_UNITS.get(text, start, end, true);
     }
 
-    private String replaceUnitAndPrefix(String text, String after) {
-        Pattern alphabets = Pattern.compile("[a-zA-Z-]+");
-        if (after != null && alphabets.matcher(after).matches()) {
-            return text;
-        }
-
-        Matcher nmc = NUMBERS_REGEX.matcher(text);
+    private static boolean isMixedCase(String word) {
+        boolean lower = false;
+        boolean upper = false;
 
-        if (!nmc.find()) {
-            return text;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            lower |= c >= 'a' && c <= 'z';
+            upper |= c >= 'A' && c <= 'Z';
         }
 
-        String number = nmc.group();
-        String only = text.substring(number.length());
-        Unit unit = Unit.getEndUnit(only);
-
-        if (unit == null) {
-            return text;
-        }
+        return lower && upper;
+    }
 
-        String unitStr = only.substring(only.length() - unit.word.length());
-        boolean big = Character.isUpperCase(unitStr.charAt(0));
-        String prefixStr = only.substring(0, only.length() - unitStr.length());
+    private static String fold(String word) {
+        StringBuilder sb = new StringBuilder(word.length());
 
-        if (prefixStr.isEmpty()) {
-            return number + unit.read;
+        for (int i = 0; i < word.length(); i++) {
+            sb.append(fold(word.charAt(i)));
         }
 
-        Prefix prefix = Prefix.getPrefix(prefixStr, unit, big);
+        return sb.toString();
+    }
 
-        if (prefix == null) {
-            return text;
-        }
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
 
-        return number + prefix.read + unit.read;
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUnitChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == 'μ' || c == 'Ω' || c == '°';
     }
 
     @Override
@@ -225,7 +297,7 @@ public class UnitDictionary implements Dictionary {
         /**
          * バイト
          */
-        BYTE("b", "ばいと", NORMAL_UP_PREFIX),
+        BYTE("B", "ばいと", NORMAL_UP_PREFIX),
 
         /**
          * メートル
@@ -240,7 +312,7 @@ public class UnitDictionary implements Dictionary {
         /**
          * アンペア
          */
-        AMPERE("a", "あんぺあ", NORMAL_ALL_PREFIX),
+        AMPERE("A", "あんぺあ", NORMAL_ALL_PREFIX),
 
         /**
          * モル
@@ -270,7 +342,7 @@ public class UnitDictionary implements Dictionary {
         /**
          * ニュートン
          */
-        NEWTON("n", "にゅーとん", NORMAL_ALL_PREFIX),
+        NEWTON("N", "にゅーとん", NORMAL_ALL_PREFIX),
 
         /**
          * パスカル
@@ -365,7 +437,7 @@ public class UnitDictionary implements Dictionary {
         /**
          * ケルビン
          */
-        KELVIN("k", "けるびん"),
+        KELVIN("K", "けるびん"),
 
         /**
          * トン
@@ -392,16 +464,10 @@ public class UnitDictionary implements Dictionary {
          */
         private final UnitDictionary.Prefix[] prefixes;
 
-        /**
-         * 置き換え対象正規表現
-         */
-        private final Pattern pattern;
-
         Unit(String word, String read, Prefix... prefixes) {
             this.word = word;
             this.read = read;
             this.prefixes = prefixes;
-            this.pattern = Pattern.compile(word);
         }
 
         public String getWord() {
@@ -415,59 +481,6 @@ public class UnitDictionary implements Dictionary {
         public UnitDictionary.Prefix[] getPrefixes() {
             return prefixes;
         }
-
-        public boolean isEndMache(String text) {
-            if (findPrefix(text)) {
-                return true;
-            }
-
-            Pattern alphabet = Pattern.compile("[a-zA-Z]+");
-
-            text = alphabet.matcher(text).replaceAll(n -> n.group().toLowerCase(Locale.ROOT));
-
-            if (findPrefix(text)) {
-                return true;
-            }
-
-            text = alphabet.matcher(text).replaceAll(n -> n.group().toUpperCase(Locale.ROOT));
-
-            return findPrefix(text);
-        }
-
-        private boolean findPrefix(String text) {
-            Matcher m = pattern.matcher(text);
-            int lstm = -1;
-            while (m.find()) {
-                lstm = m.end();
-            }
-            return lstm == text.length();
-        }
-
-        public static Unit getEndUnit(String text) {
-            List<Unit> maches = new ArrayList<>();
-
-            for (Unit unit : values()) {
-                if (unit.isEndMache(text)) {
-                    maches.add(unit);
-                }
-            }
-
-            if (maches.isEmpty()) {
-                return null;
-            }
-
-            if (maches.size() == 1) {
-                return maches.get(0);
-            }
-
-            for (Unit unit : maches) {
-                if (unit.word.equals(text)) {
-                    return unit;
-                }
-            }
-
-            return maches.get(0);
-        }
     }
 
     /**
@@ -555,47 +568,47 @@ public class UnitDictionary implements Dictionary {
         /**
          * メガ
          */
-        MEGA("m", "めが", true),
+        MEGA("M", "めが", true),
 
         /**
          * ギガ
          */
-        GIGA("g", "ぎが", true),
+        GIGA("G", "ぎが", true),
 
         /**
          * テラ
          */
-        TERA("t", "てら", true),
+        TERA("T", "てら", true),
 
         /**
          * ペタ
          */
-        PETA("p", "ぺた", true),
+        PETA("P", "ぺた", true),
 
         /**
          * エクサ
          */
-        EXA("e", "えくさ", true),
+        EXA("E", "えくさ", true),
 
         /**
-         * ヨタ
+         * ゼタ
          */
-        ZETTA("y", "よた", true),
+        ZETTA("Z", "ぜた", true),
 
         /**
-         * ゼタ
+         * ヨタ
          */
-        YOTTA("z", "ぜた", true),
+        YOTTA("Y", "よた", true),
 
         /**
          * ロナ
          */
-        RONNA("r", "ろな", true),
+        RONNA("R", "ろな", true),
 
         /**
          * クエタ
          */
-        QUETTA("q", "くえた", true);
+        QUETTA("Q", "くえた", true);
 
         /**
          * 置き換える文字
@@ -633,37 +646,100 @@ public class UnitDictionary implements Dictionary {
         public boolean isUp() {
             return up;
         }
+    }
 
-        public boolean isMache(String text) {
-            return word.equalsIgnoreCase(text);
-        }
+    /**
+     * 文字のトライ木
+     *
+     * @param <T> 値の型
+     * @author MORIMORI0317
+     */
+    private static final class CharTrie<T> {
 
-        public static Prefix getPrefix(String text, UnitDictionary.Unit unit, boolean big) {
-            List<Prefix> prefixes = new ArrayList<>();
-            for (Prefix prefix : unit.getPrefixes()) {
-                if (prefix.isMache(text)) {
-                    prefixes.add(prefix);
-                }
-            }
+        /**
+         * ルート
+         */
+        private final Node<T> root = new Node<>();
+
+        private void put(CharSequence key, T value) {
+            Node<T> node = root;
 
-            if (prefixes.isEmpty()) {
-                return null;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.getOrCreateChild(key.charAt(i));
             }
 
-            if (prefixes.size() == 1) {
-                return prefixes.get(0);
+            node.values.add(value);
+        }
+
+        /**
+         * 範囲の文字を先頭から辿り、一致する最初の値を取得
+         */
+        private T get(String text, int start, int end, boolean folded) {
+            Node<T> node = root;
+
+            for (int i = start; i < end && node != null; i++) {
+                char c = text.charAt(i);
+                node = node.getChild(folded ? fold(c) : c);
             }
 
-            boolean pbig = Character.isUpperCase(text.charAt(0));
+            return node != null && !node.values.isEmpty() ? node.values.get(0) : null;
+        }
+    }
 
-            Prefix up = prefixes.stream().filter(Prefix::isUp).findFirst().orElseThrow();
-            Prefix don = prefixes.stream().filter(n -> !n.isUp()).findFirst().orElseThrow();
+    /**
+     * トライ木のノード
+     *
+     * @param <T> 値の型
+     * @author MORIMORI0317
+     */
+    private static final class Node<T> {
 
-            if (!big && pbig) {
-                return up;
+        /**
+         * 登録順の値
+         */
+        private final List<T> values = new ArrayList<>();
+
+        /**
+         * 遷移文字 (昇順)
+         */
+        private char[] chars = new char[0];
+
+        /**
+         * 遷移先
+         */
+        private Node<T>[] children = newArray(0);
+
+        private Node<T> getChild(char c) {
+            int idx = Arrays.binarySearch(chars, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        private Node<T> getOrCreateChild(char c) {
+            int idx = Arrays.binarySearch(chars, c);
+            if (idx >= 0) {
+                return children[idx];
             }
 
-            return don;
+            int insert = -idx - 1;
+            Node<T> child = new Node<>();
+
+            char[] newChars = new char[chars.length + 1];
+            Node<T>[] newChildren = newArray(chars.length + 1);
+            System.arraycopy(chars, 0, newChars, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            System.arraycopy(chars, insert, newChars, insert + 1, chars.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, chars.length - insert);
+            newChars[insert] = c;
+            newChildren[insert] = child;
+
+            chars = newChars;
+            children = newChildren;
+            return child;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newArray(int size) {
+            return (Node<T>[]) new Node[size];
         }
     }
 }
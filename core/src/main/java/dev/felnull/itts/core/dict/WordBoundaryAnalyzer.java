@@ -0,0 +1,120 @@
+package dev.felnull.itts.core.dict;
+
+import com.atilika.kuromoji.ipadic.Token;
+import com.atilika.kuromoji.ipadic.Tokenizer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+/**
+ * 形態素解析による単語の区切りの判定<br/>
+ * 形態素解析器は全体で1つを共有し、初めて使用する際に作成する<br/>
+ * 同じテキストの区切りは最近使用したものから一定数を保持して使い回す
+ *
+ * @author MORIMORI0317
+ */
+public class WordBoundaryAnalyzer {
+
+    /**
+     * 区切りを保持する最大の数
+     */
+    private static final int MAX_CACHE_ENTRIES = 1024;
+
+    /**
+     * 区切りを保持するテキストの最大の文字数
+     */
+    private static final int MAX_CACHE_TEXT_LENGTH = 1000;
+
+    /**
+     * 排他用オブジェクト
+     */
+    private final Object lock = new Object();
+
+    /**
+     * 使用順のテキストごとの区切り
+     */
+    private final LinkedHashMap<String, BitSet> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BitSet> eldest) {
+            return size() > MAX_CACHE_ENTRIES;
+        }
+    };
+
+    /**
+     * ヒット数
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * ミス数
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * テキストの単語の区切りを取得
+     *
+     * @param text テキスト
+     * @return 位置が単語の区切りかどうかの判定、テキストの先頭と末尾は常に区切り
+     */
+    @NotNull
+    public IntPredicate getBoundaries(@NotNull String text) {
+        BitSet boundaries;
+        synchronized (lock) {
+            boundaries = cache.get(text);
+        }
+
+        if (boundaries != null) {
+            hitCount.incrementAndGet();
+            return boundaries::get;
+        }
+
+        missCount.incrementAndGet();
+        boundaries = analyze(text);
+
+        if (text.length() <= MAX_CACHE_TEXT_LENGTH) {
+            synchronized (lock) {
+                cache.put(text, boundaries);
+            }
+        }
+
+        return boundaries::get;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private static BitSet analyze(String text) {
+        BitSet boundaries = new BitSet(text.length() + 1);
+        boundaries.set(0);
+        boundaries.set(text.length());
+
+        for (Token token : TokenizerHolder.TOKENIZER.tokenize(text)) {
+            boundaries.set(token.getPosition());
+            boundaries.set(token.getPosition() + token.getSurface().length());
+        }
+
+        return boundaries;
+    }
+
+    /**
+     * 初めて使用する際に形態素解析器を作成するためのクラス
+     *
+     * @author MORIMORI0317
+     */
+    private static final class TokenizerHolder {
+
+        /**
+         * 形態素解析器 (スレッドセーフ)
+         */
+        private static final Tokenizer TOKENIZER = new Tokenizer();
+    }
+}
@@ -0,0 +1,89 @@
+package dev.felnull.itts.core.dict;
+
+import com.google.common.collect.ImmutableMap;
+import dev.felnull.itts.core.savedata.SaveDataManager;
+import dev.felnull.itts.core.savedata.legacy.LegacyDictData;
+import dev.felnull.itts.core.savedata.legacy.LegacySaveDataLayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * 単語辞書<br/>
+ * グローバル辞書とサーバー辞書の単語を、形態素解析による単語の区切りが一致する場合のみ置き換える<br/>
+ * 有効な場合、グローバル辞書とサーバー辞書は置き換えを行わない
+ *
+ * @author MORIMORI0317
+ */
+public class WordDictionary extends CustomReplaceBaseDictionary {
+
+    /**
+     * 辞書ID
+     */
+    public static final String ID = "word";
+
+    /**
+     * 単語の区切りの判定
+     */
+    private final WordBoundaryAnalyzer analyzer = new WordBoundaryAnalyzer();
+
+    @Override
+    public boolean isBuiltIn() {
+        return false;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return "単語辞書";
+    }
+
+    @Override
+    public @NotNull String getId() {
+        return ID;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable Map<String, String> getShowInfo(long guildId) {
+        return ImmutableMap.of("グローバル辞書とサーバー辞書の単語", "単語の区切りが一致する場合のみ置き換え");
+    }
+
+    @Override
+    public int getDefaultPriority() {
+        return 2;
+    }
+
+    @NotNull
+    public WordBoundaryAnalyzer getAnalyzer() {
+        return analyzer;
+    }
+
+    @Override
+    protected @NotNull Map<String, String> getEntries(long guildId) {
+        LegacySaveDataLayer legacySaveDataLayer = SaveDataManager.getInstance().getLegacySaveDataLayer();
+        Map<String, String> entries = new HashMap<>();
+
+        // 同じ単語はサーバー辞書を優先する
+        for (LegacyDictData dictData : legacySaveDataLayer.getAllGlobalDictData()) {
+            entries.put(dictData.getTarget(), dictData.getRead());
+        }
+
+        for (LegacyDictData dictData : legacySaveDataLayer.getAllServerDictData(guildId)) {
+            entries.put(dictData.getTarget(), dictData.getRead());
+        }
+
+        return entries;
+    }
+
+    @Override
+    protected @NotNull IntPredicate getBoundaries(@NotNull String text) {
+        return analyzer.getBoundaries(text);
+    }
+
+    @Override
+    protected boolean isReplacedByWordDictionary(long guildId) {
+        return false;
+    }
+}
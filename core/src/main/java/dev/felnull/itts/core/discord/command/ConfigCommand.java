@@ -37,6 +37,11 @@ public class ConfigCommand extends BaseCommand {
      */
     private static final String AUTO_DISCONNECT_NAME = "auto-disconnect";
 
+    /**
+     * 最大の読み上げの間隔(ms)
+     */
+    private static final int MAX_READ_INTERVAL = 10000;
+
     /**
      * コンストラクタ
      */
@@ -63,6 +68,11 @@ public class ConfigCommand extends BaseCommand {
                                 .setMinValue(1)
                                 .setMaxValue(Integer.MAX_VALUE)
                                 .setRequired(true)))
+                .addSubcommands(new SubcommandData("read-interval", "読み上げの間隔")
+                        .addOptions(new OptionData(OptionType.INTEGER, "millis", "次の読み上げまでの間隔(ミリ秒) 0で間隔無し")
+                                .setMinValue(0)
+                                .setMaxValue(MAX_READ_INTERVAL)
+                                .setRequired(true)))
                 .addSubcommands(new SubcommandData("need-join", "VCに参加中のユーザーのみ読み上げ")
                         .addOptions(new OptionData(OptionType.BOOLEAN, "enable", "True: 有効、False: 無効")
                                 .setRequired(true)))
@@ -95,6 +105,7 @@ public class ConfigCommand extends BaseCommand {
             case "notify-move" -> notifyMove(event);
             case "read-limit" -> readLimit(event);
             case "name-read-limit" -> nameReadLimit(event);
+            case "read-interval" -> readInterval(event);
             case "need-join" -> needJoin(event);
             case "read-overwrite" -> readOverwrite(event);
             case "read-ignore" -> readIgnore(event);
@@ -124,6 +135,7 @@ public class ConfigCommand extends BaseCommand {
         showEmbedBuilder.addField("VCの入退室時にユーザー名を読み上げ", sd.isNotifyMove() ? "有効" : "無効", inline);
         showEmbedBuilder.addField("読み上げ文字数上限", sd.getReadLimit() + "文字", inline);
         showEmbedBuilder.addField("名前の読み上げ文字数上限", sd.getNameReadLimit() + "文字", inline);
+        showEmbedBuilder.addField("読み上げの間隔", serverData.getReadInterval() + "ミリ秒", inline);
         showEmbedBuilder.addField("VCに参加中のユーザーのみ読み上げ", sd.isNeedJoin() ? "有効" : "無効", inline);
         showEmbedBuilder.addField("読み上げの上書き", sd.isOverwriteAloud() ? "有効" : "無効", inline);
         showEmbedBuilder.addField("読み上げない文字(正規表現)", sd.getIgnoreRegex() == null ? "無し" : ("``" + sd.getIgnoreRegex() + "``"), inline);
@@ -238,6 +250,22 @@ public class ConfigCommand extends BaseCommand {
         }
     }
 
+    private void readInterval(SlashCommandInteractionEvent event) {
+        Guild guild = Objects.requireNonNull(event.getGuild());
+
+        int op = Objects.requireNonNullElse(event.getOption("millis", OptionMapping::getAsInt), 0);
+        ServerData serverData = SaveDataManager.getInstance().getRepository().getServerData(guild.getIdLong());
+
+        int pre = serverData.getReadInterval();
+        if (op != pre) {
+            serverData.setReadInterval(op);
+
+            event.reply("読み上げの間隔を" + op + "ミリ秒にしました。").queue();
+        } else {
+            event.reply("既に読み上げの間隔は" + op + "ミリ秒です。").queue();
+        }
+    }
+
     private void readLimit(SlashCommandInteractionEvent event) {
         Guild guild = Objects.requireNonNull(event.getGuild());
 
@@ -251,6 +251,7 @@ public class DictCommand extends BaseCommand {
         }
 
         legacySaveDataLayer.removeServerDictData(guildId, word);
+        getDictionaryManager().updateVersion(guildId);
 
         EmbedBuilder replayEmbedBuilder = new EmbedBuilder();
         replayEmbedBuilder.setColor(getConfigManager().getConfig().getThemeColor());
@@ -277,6 +278,7 @@ public class DictCommand extends BaseCommand {
         boolean overwrite = legacySaveDataLayer.getServerDictData(guildId, word) != null;
 
         legacySaveDataLayer.addServerDictData(guildId, word, reading);
+        getDictionaryManager().updateVersion(guildId);
 
         EmbedBuilder replayEmbedBuilder = new EmbedBuilder();
         replayEmbedBuilder.setColor(getConfigManager().getConfig().getThemeColor());
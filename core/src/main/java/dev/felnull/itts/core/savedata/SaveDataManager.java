@@ -92,18 +92,25 @@ public class SaveDataManager {
         // 移行処理
         LegacyMigrator.checkAndExecution(this::createDAO);
 
-        DataRepository repo = DataRepository.create(createDAO());
+        DataRepository repo = createRepository();
         repo.init();
         repo.addErrorListener(errorListener);
         repository.set(repo);
     }
 
+    private DataRepository createRepository() {
+        DataBaseConfig dataBaseConfig = ITTSRuntime.getInstance().getConfigManager().getConfig().getDataBaseConfig();
+        return DataRepository.create(createDAO(), dataBaseConfig.getBotStateWriteBehindInterval());
+    }
+
     private DAO createDAO() {
         DataBaseConfig dataBaseConfig = ITTSRuntime.getInstance().getConfigManager().getConfig().getDataBaseConfig();
 
         DAO dao;
         switch (dataBaseConfig.getType()) {
-            case SQLITE -> dao = DAOFactory.getInstance().createSQLiteDAO(SQLITE_DB_FILE);
+            case SQLITE -> dao = dataBaseConfig.isSQLiteWal()
+                    ? DAOFactory.getInstance().createSQLiteWALDAO(SQLITE_DB_FILE)
+                    : DAOFactory.getInstance().createSQLiteDAO(SQLITE_DB_FILE);
             case MYSQL -> dao = DAOFactory.getInstance().createMysqlDAO(
                     dataBaseConfig.getHost(),
                     dataBaseConfig.getPort(),
@@ -180,7 +187,7 @@ public class SaveDataManager {
 
                 // 非同期でレポジトリを作成する
                 CompletableFuture.supplyAsync(() -> {
-                    DataRepository ret = DataRepository.create(createDAO());
+                    DataRepository ret = createRepository();
                     ret.init();
                     ret.addErrorListener(errorListener);
                     return ret;
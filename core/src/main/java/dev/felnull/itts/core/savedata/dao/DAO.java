@@ -37,6 +37,16 @@ public interface DAO {
      */
     Connection getConnection() throws SQLException;
 
+    /**
+     * 読み取り専用のコネクションを取得<br/>
+     * 書き込みを行わない処理でのみ利用し、実装によっては書き込み用とは別のコネクションを返す
+     *
+     * @return コネクション
+     */
+    default Connection getReadConnection() throws SQLException {
+        return getConnection();
+    }
+
     /**
      * サーバーテーブル
      *
@@ -135,6 +145,22 @@ public interface DAO {
      */
     GlobalCustomDictionaryTable globalCustomDictionaryTable();
 
+    /**
+     * スキーマバージョンテーブル
+     *
+     * @return テーブルインスタンス
+     */
+    SchemaVersionTable schemaVersionTable();
+
+    /**
+     * 既存のデータベースのスキーマを最新のバージョンに移行する<br/>
+     * 全てのテーブルを作成した後に呼び出し、適用済みのバージョンより新しい移行処理のみを順番に実行する
+     *
+     * @param connection コネクション
+     * @throws SQLException エラー
+     */
+    void migrateSchema(@NotNull Connection connection) throws SQLException;
+
     /**
      * 絵文字をサポートしているか確認
      *
@@ -420,6 +446,26 @@ public interface DAO {
          */
         void updateNameReadLimit(Connection connection, int recordId, int nameReadLimit) throws SQLException;
 
+        /**
+         * "読み上げの間隔"を取得する
+         *
+         * @param connection コネクション
+         * @param recordId   レコードID
+         * @return 読み上げの間隔(ms)
+         * @throws SQLException エラー
+         */
+        int selectReadInterval(Connection connection, int recordId) throws SQLException;
+
+        /**
+         * "読み上げの間隔"を更新する
+         *
+         * @param connection   コネクション
+         * @param recordId     レコードID
+         * @param readInterval 読み上げの間隔(ms)
+         * @throws SQLException エラー
+         */
+        void updateReadInterval(Connection connection, int recordId, int readInterval) throws SQLException;
+
         /**
          * "自動切断モードのキーID"を取得する
          *
@@ -515,6 +561,17 @@ public interface DAO {
          * @throws SQLException エラー
          */
         List<Long> selectAllDenyUser(Connection connection, int serverKeyId) throws SQLException;
+
+        /**
+         * サーバーデータとサーバー別ユーザーデータを結合して、メッセージの読み上げに必要なレコードを1回の問い合わせで取得する
+         *
+         * @param connection コネクション
+         * @param serverId   サーバーのDiscordID
+         * @param userId     ユーザーのDiscordID
+         * @return レコード、サーバーデータかサーバー別ユーザーデータのどちらかが存在しない場合は空
+         * @throws SQLException エラー
+         */
+        Optional<MessageContextRecord> selectMessageContext(Connection connection, long serverId, long userId) throws SQLException;
     }
 
     /**
@@ -713,6 +770,25 @@ public interface DAO {
          */
         void deleteRecord(Connection connection, int recordId) throws SQLException;
 
+        /**
+         * 指定されたサーバーの辞書に複数のレコードをバッチで追加する
+         *
+         * @param connection コネクション
+         * @param key        サーバーキー
+         * @param records    レコードのリスト
+         * @throws SQLException エラー
+         */
+        void insertRecords(Connection connection, @NotNull ServerKey key, @NotNull List<DictionaryRecord> records) throws SQLException;
+
+        /**
+         * 指定されたサーバーの辞書から複数のレコードをバッチで削除する
+         *
+         * @param connection コネクション
+         * @param recordIds  レコードIDのリスト
+         * @throws SQLException エラー
+         */
+        void deleteRecords(Connection connection, @NotNull List<Integer> recordIds) throws SQLException;
+
         /**
          * 対象の読みのエントリを取得する
          *
@@ -757,6 +833,24 @@ public interface DAO {
          */
         void deleteRecord(Connection connection, int recordId) throws SQLException;
 
+        /**
+         * 辞書に複数のレコードをバッチで追加する
+         *
+         * @param connection コネクション
+         * @param records    レコードのリスト
+         * @throws SQLException エラー
+         */
+        void insertRecords(Connection connection, @NotNull List<DictionaryRecord> records) throws SQLException;
+
+        /**
+         * 辞書から複数のレコードをバッチで削除する
+         *
+         * @param connection コネクション
+         * @param recordIds  レコードIDのリスト
+         * @throws SQLException エラー
+         */
+        void deleteRecords(Connection connection, @NotNull List<Integer> recordIds) throws SQLException;
+
         /**
          * 対象の読みのエントリを取得する
          *
@@ -767,4 +861,28 @@ public interface DAO {
         Map<Integer, DictionaryRecord> selectRecordByTarget(Connection connection, @NotNull String targetWord) throws SQLException;
     }
 
+    /**
+     * スキーマバージョンテーブル
+     */
+    interface SchemaVersionTable extends Table {
+
+        /**
+         * 適用済みのスキーマのバージョンを取得する
+         *
+         * @param connection コネクション
+         * @return バージョン、一度も移行していない場合は空
+         * @throws SQLException エラー
+         */
+        OptionalInt selectVersion(@NotNull Connection connection) throws SQLException;
+
+        /**
+         * 適用済みのスキーマのバージョンを更新する
+         *
+         * @param connection コネクション
+         * @param version    バージョン
+         * @throws SQLException エラー
+         */
+        void updateVersion(@NotNull Connection connection, int version) throws SQLException;
+    }
+
 }
@@ -22,6 +22,15 @@ public interface DAOFactory {
      */
     DAO createSQLiteDAO(File dbFile);
 
+    /**
+     * WALモードのSQLiteのDAOを作成<br/>
+     * 書き込みは1つのコネクションで順番に行い、読み取りは別の読み取り専用のコネクションで行う
+     *
+     * @param dbFile データベースのファイル
+     * @return DAO
+     */
+    DAO createSQLiteWALDAO(File dbFile);
+
     /**
      * MySQLのDAOを作成
      *
@@ -0,0 +1,14 @@
+package dev.felnull.itts.core.savedata.dao;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * メッセージの読み上げに必要なサーバーデータとサーバー別ユーザーデータを結合したレコード
+ *
+ * @param serverData     サーバーデータのIDとレコード
+ * @param serverUserData サーバー別ユーザーデータのIDとレコード
+ */
+public record MessageContextRecord(@NotNull IdRecordPair<ServerDataRecord> serverData,
+                                   @NotNull IdRecordPair<ServerUserDataRecord> serverUserData
+) {
+}
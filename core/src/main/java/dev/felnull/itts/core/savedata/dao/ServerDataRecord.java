@@ -13,6 +13,7 @@ import org.jetbrains.annotations.Nullable;
  * @param readLimit               名前の最大読み上げ数
  * @param nameReadLimit           名前の最大読み上げ数
  * @param autoDisconnectModeKeyId 自動切断モード
+ * @param readInterval            読み上げの間隔(ms)
  */
 public record ServerDataRecord(@Nullable Integer defaultVoiceTypeKeyId,
                                @Nullable String ignoreRegex,
@@ -21,5 +22,6 @@ public record ServerDataRecord(@Nullable Integer defaultVoiceTypeKeyId,
                                boolean notifyMove,
                                int readLimit,
                                int nameReadLimit,
-                               int autoDisconnectModeKeyId) {
+                               int autoDisconnectModeKeyId,
+                               int readInterval) {
 }
@@ -3,9 +3,14 @@ package dev.felnull.itts.core.savedata.dao.impl;
 
 import com.zaxxer.hikari.HikariDataSource;
 import dev.felnull.itts.core.savedata.dao.DAO;
+import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
 
 /**
  * DAOのベース
@@ -24,6 +29,13 @@ abstract class BaseDAO implements DAO {
      */
     protected abstract HikariDataSource createDataSource();
 
+    /**
+     * スキーマの移行処理を取得
+     *
+     * @return バージョンの昇順に並んだ移行処理
+     */
+    protected abstract List<SchemaMigration> getSchemaMigrations();
+
     @Override
     public void init() {
         try {
@@ -45,5 +57,85 @@ abstract class BaseDAO implements DAO {
         return dataSource.getConnection();
     }
 
+    @Override
+    public void migrateSchema(@NotNull Connection connection) throws SQLException {
+        SchemaVersionTable versionTable = schemaVersionTable();
+        versionTable.createTableIfNotExists(connection);
+
+        int currentVersion = versionTable.selectVersion(connection).orElse(0);
+
+        for (SchemaMigration migration : getSchemaMigrations()) {
+            if (migration.version() <= currentVersion) {
+                continue;
+            }
+
+            // 移行処理ごとにバージョンの更新と同じトランザクションで実行し、失敗した場合は次回にその移行処理からやり直す
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+                migration.proc().accept(connection);
+                versionTable.updateVersion(connection, migration.version());
+                connection.commit();
+            } catch (Throwable throwable) {
+                connection.rollback();
+                throw new SQLException("Schema migration to version " + migration.version() + " failed", throwable);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+            currentVersion = migration.version();
+        }
+    }
+
+    /**
+     * 既存のテーブルに列が存在しない場合は追加する
+     *
+     * @param connection コネクション
+     * @param table      テーブル名
+     * @param column     列名
+     * @param definition 列の定義
+     * @throws SQLException エラー
+     */
+    protected void addColumnIfNotExists(Connection connection, String table, String column, String definition) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+
+        try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null, table, column)) {
+            if (rs.next()) {
+                return;
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table " + table + " add column " + column + " " + definition);
+        }
+    }
+
+    /**
+     * 既存のテーブルに索引が存在しない場合は作成する
+     *
+     * @param connection コネクション
+     * @param table      テーブル名
+     * @param index      索引名
+     * @param unique     一意な索引かどうか
+     * @param columns    索引を作成する列 (カンマ区切り)
+     * @throws SQLException エラー
+     */
+    protected void createIndexIfNotExists(Connection connection, String table, String index, boolean unique, String columns) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create " + (unique ? "unique " : "") + "index " + index + " on " + table + "(" + columns + ")");
+        }
+    }
+
 }
 
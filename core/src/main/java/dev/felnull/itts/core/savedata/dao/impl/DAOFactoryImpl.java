@@ -21,6 +21,11 @@ public final class DAOFactoryImpl implements DAOFactory {
         return new SQLiteDAO(dbFile);
     }
 
+    @Override
+    public DAO createSQLiteWALDAO(File dbFile) {
+        return new SQLiteWALDAO(dbFile);
+    }
+
     @Override
     public DAO createMysqlDAO(@NotNull String host, int port, @NotNull String databaseName, @NotNull String user, @NotNull String password) {
         return new MySQLDAO(host, port, databaseName, user, password);
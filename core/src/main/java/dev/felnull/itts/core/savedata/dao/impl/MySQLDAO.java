@@ -90,6 +90,11 @@ class MySQLDAO extends BaseDAO {
      */
     private final GlobalCustomDictionaryTable globalCustomDictionaryTable = new GlobalCustomDictionaryTableImpl();
 
+    /**
+     * スキーマバージョンテーブルのインスタンス
+     */
+    private final SchemaVersionTable schemaVersionTable = new SchemaVersionTableImpl();
+
     /**
      * ホスト名
      */
@@ -143,6 +148,9 @@ class MySQLDAO extends BaseDAO {
         config.setUsername(user);
         config.setPassword(password);
 
+        // バッチ処理を複数行のinsertにまとめて送信する
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+
         return new HikariDataSource(config);
     }
 
@@ -222,6 +230,42 @@ class MySQLDAO extends BaseDAO {
         return globalCustomDictionaryTable;
     }
 
+    @Override
+    public SchemaVersionTable schemaVersionTable() {
+        return schemaVersionTable;
+    }
+
+    @Override
+    protected List<SchemaMigration> getSchemaMigrations() {
+        return List.of(
+                // 読み上げの間隔が追加される前に作成されたテーブルに列を追加
+                new SchemaMigration(1, connection -> addColumnIfNotExists(connection, "server_data", "read_interval", "integer not null default 500")),
+                // キーによる取得で全件を走査しないように索引を追加
+                new SchemaMigration(2, this::addLookupIndexes)
+        );
+    }
+
+    private void addLookupIndexes(Connection connection) throws SQLException {
+        // 一意な索引の作成前に、同時に追加されて重複したレコードのうち最初のもの以外を削除する
+        deleteDuplicateRecords(connection, "server_user_data", "server_id", "user_id");
+        deleteDuplicateRecords(connection, "dictionary_use_data", "server_id", "dictionary_id");
+        deleteDuplicateRecords(connection, "bot_state_data", "server_id", "bot_id");
+
+        createIndexIfNotExists(connection, "server_user_data", "server_user_data_key", true, "server_id, user_id");
+        createIndexIfNotExists(connection, "dictionary_use_data", "dictionary_use_data_key", true, "server_id, dictionary_id");
+        createIndexIfNotExists(connection, "bot_state_data", "bot_state_data_key", true, "server_id, bot_id");
+        createIndexIfNotExists(connection, "bot_state_data", "bot_state_data_bot", false, "bot_id");
+        createIndexIfNotExists(connection, "server_custom_dictionary", "server_custom_dictionary_target", false, "server_id, target_word(255)");
+        createIndexIfNotExists(connection, "global_custom_dictionary", "global_custom_dictionary_target", false, "target_word(255)");
+    }
+
+    private void deleteDuplicateRecords(Connection connection, String table, String keyColumn1, String keyColumn2) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("delete newer from " + table + " newer inner join " + table + " older on newer." + keyColumn1 + " = older." + keyColumn1
+                    + " and newer." + keyColumn2 + " = older." + keyColumn2 + " and newer.id > older.id");
+        }
+    }
+
     @Override
     public boolean checkEmojiSupport() {
         throw new AssertionError("TODO");
@@ -1115,6 +1159,49 @@ class MySQLDAO extends BaseDAO {
             }
         }
 
+        @Override
+        public int selectReadInterval(Connection connection, int recordId) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    select read_interval
+                    from server_data
+                    where id = ?
+                    limit 1
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, recordId);
+
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt("read_interval");
+                    }
+                }
+            }
+
+            throw new IllegalStateException("Record not found");
+        }
+
+        @Override
+        public void updateReadInterval(Connection connection, int recordId, int readInterval) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    update server_data
+                    set read_interval = ?
+                    where id = ?
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+                statement.setInt(1, readInterval);
+                statement.setLong(2, recordId);
+
+                if (statement.executeUpdate() == 0) {
+                    throw new IllegalStateException("No record update");
+                }
+            }
+        }
+
         @Override
         public int selectAutoDisconnectMode(Connection connection, int recordId) throws SQLException {
             @Language("MySQL")
@@ -1166,8 +1253,8 @@ class MySQLDAO extends BaseDAO {
             @Language("MySQL")
             String sql = """
                     insert into server_data(server_id, default_voice_type, ignore_regex, need_join, overwrite_aloud, notify_move,
-                               read_limit, name_read_limit, auto_disconnect_mode)
-                    select ?, ?, ?, ?, ?, ?, ?, ?, ? where not exists(select * from server_data where server_id = ?);
+                               read_limit, name_read_limit, auto_disconnect_mode, read_interval)
+                    select ?, ?, ?, ?, ?, ?, ?, ?, ?, ? where not exists(select * from server_data where server_id = ?);
                     """;
 
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
@@ -1186,7 +1273,8 @@ class MySQLDAO extends BaseDAO {
                 statement.setInt(7, record.readLimit());
                 statement.setInt(8, record.nameReadLimit());
                 statement.setInt(9, record.autoDisconnectModeKeyId());
-                statement.setInt(10, key.serverKeyId());
+                statement.setInt(10, record.readInterval());
+                statement.setInt(11, key.serverKeyId());
 
                 statement.execute();
             }
@@ -1204,7 +1292,8 @@ class MySQLDAO extends BaseDAO {
                            notify_move,
                            read_limit,
                            name_read_limit,
-                           auto_disconnect_mode
+                           auto_disconnect_mode,
+                           read_interval
                      from server_data
                      where server_id = ?
                      limit 1
@@ -1234,7 +1323,8 @@ class MySQLDAO extends BaseDAO {
                            notify_move,
                            read_limit,
                            name_read_limit,
-                           auto_disconnect_mode
+                           auto_disconnect_mode,
+                           read_interval
                      from server_data
                      where id = ?
                      limit 1
@@ -1262,7 +1352,8 @@ class MySQLDAO extends BaseDAO {
                     resultSet.getBoolean("notify_move"),
                     resultSet.getInt("read_limit"),
                     resultSet.getInt("name_read_limit"),
-                    resultSet.getInt("auto_disconnect_mode")
+                    resultSet.getInt("auto_disconnect_mode"),
+                    resultSet.getInt("read_interval")
             );
         }
 
@@ -1281,6 +1372,7 @@ class MySQLDAO extends BaseDAO {
                         read_limit integer not null, -- VC参加時に読み上げるかどうか
                         name_read_limit integer not null, -- 最大読み上げ文字数
                         auto_disconnect_mode integer not null, -- 自動切断のモード
+                        read_interval integer not null default 500, -- 読み上げの間隔(ms)
                     
                         foreign key (server_id) references server_key(id),
                         foreign key (default_voice_type) references voice_type_key(id),
@@ -1568,6 +1660,61 @@ class MySQLDAO extends BaseDAO {
 
             return denyUsersBuilder.build();
         }
+
+        @Override
+        public Optional<MessageContextRecord> selectMessageContext(Connection connection, long serverId, long userId) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    select server_data.id as server_data_id,
+                           server_data.default_voice_type,
+                           server_data.ignore_regex,
+                           server_data.need_join,
+                           server_data.overwrite_aloud,
+                           server_data.notify_move,
+                           server_data.read_limit,
+                           server_data.name_read_limit,
+                           server_data.auto_disconnect_mode,
+                           server_data.read_interval,
+                           server_user_data.id as server_user_data_id,
+                           server_user_data.voice_type,
+                           server_user_data.deny,
+                           server_user_data.nick_name
+                    from server_data
+                        inner join server_key on server_data.server_id = server_key.id
+                        inner join server_user_data on server_user_data.server_id = server_data.server_id
+                        inner join user_key on server_user_data.user_id = user_key.id
+                    where server_key.discord_id = ? and user_key.discord_id = ?
+                    limit 1
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, serverId);
+                statement.setLong(2, userId);
+
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        ServerDataRecord serverDataRecord = new ServerDataRecord(
+                                (Integer) rs.getObject("default_voice_type"),
+                                rs.getString("ignore_regex"),
+                                rs.getBoolean("need_join"),
+                                rs.getBoolean("overwrite_aloud"),
+                                rs.getBoolean("notify_move"),
+                                rs.getInt("read_limit"),
+                                rs.getInt("name_read_limit"),
+                                rs.getInt("auto_disconnect_mode"),
+                                rs.getInt("read_interval")
+                        );
+
+                        return Optional.of(new MessageContextRecord(
+                                new IdRecordPair<>(rs.getInt("server_data_id"), serverDataRecord),
+                                new IdRecordPair<>(rs.getInt("server_user_data_id"), createRecord(rs))
+                        ));
+                    }
+                }
+            }
+
+            return Optional.empty();
+        }
     }
 
     /**
@@ -2240,6 +2387,7 @@ class MySQLDAO extends BaseDAO {
                            replace_type
                     from server_custom_dictionary
                     where server_id = ?
+                    order by id
                     """;
 
             ImmutableMap.Builder<Integer, DictionaryRecord> ret = ImmutableMap.builder();
@@ -2290,6 +2438,44 @@ class MySQLDAO extends BaseDAO {
             }
         }
 
+        @Override
+        public void insertRecords(Connection connection, @NotNull ServerKey key, @NotNull List<DictionaryRecord> records) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    insert into server_custom_dictionary(server_id, target_word, read_word, replace_type)
+                    values(?, ?, ?, ?)
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (DictionaryRecord record : records) {
+                    statement.setInt(1, key.serverKeyId());
+                    statement.setString(2, record.target());
+                    statement.setString(3, record.read());
+                    statement.setInt(4, record.replaceTypeKeyId());
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+            }
+        }
+
+        @Override
+        public void deleteRecords(Connection connection, @NotNull List<Integer> recordIds) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    delete from server_custom_dictionary where id=?
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int recordId : recordIds) {
+                    statement.setInt(1, recordId);
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+            }
+        }
+
         @Override
         public void createTableIfNotExists(@NotNull Connection connection) throws SQLException {
             @Language("MySQL")
@@ -2354,6 +2540,7 @@ class MySQLDAO extends BaseDAO {
                            read_word,
                            replace_type
                     from global_custom_dictionary
+                    order by id
                     """;
 
             ImmutableMap.Builder<Integer, DictionaryRecord> ret = ImmutableMap.builder();
@@ -2401,6 +2588,43 @@ class MySQLDAO extends BaseDAO {
             }
         }
 
+        @Override
+        public void insertRecords(Connection connection, @NotNull List<DictionaryRecord> records) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    insert into global_custom_dictionary(target_word, read_word, replace_type)
+                    values(?, ?, ?)
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (DictionaryRecord record : records) {
+                    statement.setString(1, record.target());
+                    statement.setString(2, record.read());
+                    statement.setInt(3, record.replaceTypeKeyId());
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+            }
+        }
+
+        @Override
+        public void deleteRecords(Connection connection, @NotNull List<Integer> recordIds) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    delete from global_custom_dictionary where id=?
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int recordId : recordIds) {
+                    statement.setInt(1, recordId);
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+            }
+        }
+
         @Override
         public void createTableIfNotExists(@NotNull Connection connection) throws SQLException {
             @Language("MySQL")
@@ -2447,4 +2671,54 @@ class MySQLDAO extends BaseDAO {
             return ret.build();
         }
     }
+
+    /**
+     * スキーマバージョンテーブルの実装
+     */
+    private final class SchemaVersionTableImpl implements SchemaVersionTable {
+
+        @Override
+        public void createTableIfNotExists(@NotNull Connection connection) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    create table if not exists schema_version(
+                        id integer not null primary key, -- ID (常に1)
+                        version integer not null -- 適用済みのバージョン
+                    );
+                    """;
+
+            execute(connection, sql);
+        }
+
+        @Override
+        public OptionalInt selectVersion(@NotNull Connection connection) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    select version from schema_version where id = 1;
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        return OptionalInt.of(rs.getInt("version"));
+                    }
+                }
+            }
+            return OptionalInt.empty();
+        }
+
+        @Override
+        public void updateVersion(@NotNull Connection connection, int version) throws SQLException {
+            @Language("MySQL")
+            String sql = """
+                    insert into schema_version(id, version) values (1, ?)
+                    on duplicate key update version = values(version);
+                    """;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setInt(1, version);
+                statement.execute();
+            }
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package dev.felnull.itts.core.savedata.dao.impl;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * WALモードのSQLiteのDAO実装<br/>
+ * 書き込みは1つのコネクションのみで行い、コネクションの取得待ちを書き込みの待ち行列として順番に処理する<br/>
+ * 読み取りは読み取り専用のコネクションプールから行い、WALにより書き込み中でも待たずに読み取れる
+ */
+class SQLiteWALDAO extends SQLiteDAO {
+
+    /**
+     * 読み取り用のコネクションの最大数
+     */
+    private static final int READ_POOL_SIZE = 8;
+
+    /**
+     * コネクションごとのページキャッシュのサイズ (負の値はKiB単位、16MiB)
+     */
+    private static final String CACHE_SIZE = "-16384";
+
+    /**
+     * メモリマップで読み取るDBファイルの最大サイズ (256MiB)
+     */
+    private static final String MMAP_SIZE = String.valueOf(256L * 1024L * 1024L);
+
+    /**
+     * 読み取り用のデータソース
+     */
+    private HikariDataSource readDataSource;
+
+    SQLiteWALDAO(File dbFile) {
+        super(dbFile);
+    }
+
+    @Override
+    protected HikariDataSource createDataSource() {
+        HikariConfig config = createConfig();
+        config.setPoolName("I-TTS Write Pool");
+
+        // 書き込みの競合による待機を避けるため、書き込みは1つのコネクションのみで行う
+        config.setMinimumIdle(1);
+        config.setMaximumPoolSize(1);
+
+        // WALはDBファイルに記録されるため、以降に開く読み取り用のコネクションにも適用される
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("synchronous", "NORMAL");
+        config.addDataSourceProperty("foreign_keys", "true");
+        addTuningProperties(config);
+
+        return new HikariDataSource(config);
+    }
+
+    private HikariDataSource createReadDataSource() {
+        HikariConfig config = createConfig();
+        config.setPoolName("I-TTS Read Pool");
+        config.setMaximumPoolSize(READ_POOL_SIZE);
+
+        // 読み取り専用で開く (SQLITE_OPEN_READONLY)
+        config.addDataSourceProperty("open_mode", "1");
+        addTuningProperties(config);
+
+        return new HikariDataSource(config);
+    }
+
+    private void addTuningProperties(HikariConfig config) {
+        config.addDataSourceProperty("cache_size", CACHE_SIZE);
+        config.addDataSourceProperty("mmap_size", MMAP_SIZE);
+    }
+
+    @Override
+    public void init() {
+        // DBファイルの作成とWALへの切り替えを書き込み用のコネクションで行ってから、読み取り用のコネクションを開く
+        super.init();
+
+        try {
+            this.readDataSource = createReadDataSource();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Read data source creation failed", e);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (this.readDataSource != null) {
+            this.readDataSource.close();
+        }
+
+        super.dispose();
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return readDataSource.getConnection();
+    }
+}
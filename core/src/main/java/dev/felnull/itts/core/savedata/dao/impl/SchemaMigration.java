@@ -0,0 +1,16 @@
+package dev.felnull.itts.core.savedata.dao.impl;
+
+import org.apache.commons.lang3.function.FailableConsumer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * スキーマの移行処理<br/>
+ * 途中で中断された場合は再度実行されるため、既に適用済みの変更があっても失敗しない処理にしてください
+ *
+ * @param version 移行後のスキーマのバージョン
+ * @param proc    移行処理
+ */
+record SchemaMigration(int version, FailableConsumer<Connection, SQLException> proc) {
+}
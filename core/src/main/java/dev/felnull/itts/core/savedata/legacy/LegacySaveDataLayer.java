@@ -7,6 +7,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 以前のセーブデータシステムを利用するための互換レイヤー
@@ -63,7 +64,8 @@ public interface LegacySaveDataLayer {
     LegacyDictData getServerDictData(long guildId, @NotNull String target);
 
     /**
-     * サーバー辞書データを追加
+     * サーバー辞書データを追加<br/>
+     * 既に同じ対象の文字列が登録されている場合は上書きする
      *
      * @param guildId 辞書ID
      * @param target  対象の文字列
@@ -71,6 +73,18 @@ public interface LegacySaveDataLayer {
      */
     void addServerDictData(long guildId, @NotNull String target, @NotNull String read);
 
+    /**
+     * 複数のサーバー辞書データをまとめて追加
+     *
+     * @param guildId   サーバーID
+     * @param entries   対象の文字列と読みのマップ
+     * @param overwrite 既に登録済みの対象の文字列を上書きするかどうか
+     * @return 追加または上書きした辞書データのリスト
+     */
+    @NotNull
+    @Unmodifiable
+    List<LegacyDictData> addAllServerDictData(long guildId, @NotNull Map<String, String> entries, boolean overwrite);
+
     /**
      * サーバー辞書データを削除
      *
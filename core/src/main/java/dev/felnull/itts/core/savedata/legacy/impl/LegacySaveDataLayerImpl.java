@@ -11,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * レガシーセーブデータレイヤーの実装
@@ -61,7 +62,21 @@ public final class LegacySaveDataLayerImpl implements LegacySaveDataLayer {
 
     @Override
     public void addServerDictData(long guildId, @NotNull String target, @NotNull String read) {
-        saveDataManager.getRepository().getServerCustomDictionaryData(guildId).add(new CustomDictionaryEntry(target, read, ReplaceType.WORD));
+        // 同じ対象の文字列が重複して登録されないように、既存のものは置き換える
+        saveDataManager.getRepository().getServerCustomDictionaryData(guildId).addAll(List.of(new CustomDictionaryEntry(target, read, ReplaceType.WORD)), true);
+    }
+
+    @Override
+    public @NotNull @Unmodifiable List<LegacyDictData> addAllServerDictData(long guildId, @NotNull Map<String, String> entries, boolean overwrite) {
+        List<CustomDictionaryEntry> dictEntries = entries.entrySet().stream()
+                .map(it -> new CustomDictionaryEntry(it.getKey(), it.getValue(), ReplaceType.WORD))
+                .toList();
+
+        List<LegacyDictData> addedDictData = saveDataManager.getRepository().getServerCustomDictionaryData(guildId).addAll(dictEntries, overwrite)
+                .stream()
+                .map(it -> (LegacyDictData) new LegacyDictDataImpl(it.target(), it.read()))
+                .toList();
+        return ImmutableList.copyOf(addedDictData);
     }
 
     @Override
@@ -37,6 +37,18 @@ public interface CustomDictionaryData {
      */
     void add(@NotNull CustomDictionaryEntry dictionaryEntry);
 
+    /**
+     * 複数の辞書エントリをまとめて追加<br/>
+     * 既存のエントリとの差分のみを、1つのトランザクション内でバッチ処理して書き込む
+     *
+     * @param dictionaryEntries 辞書エントリのリスト、置き換え対象が重複する場合は後のものを優先する
+     * @param overwrite         既に同じ置き換え対象のエントリが存在する場合に上書きするかどうか
+     * @return 追加または上書きした辞書エントリのリスト
+     */
+    @NotNull
+    @Unmodifiable
+    List<CustomDictionaryEntry> addAll(@NotNull List<CustomDictionaryEntry> dictionaryEntries, boolean overwrite);
+
     /**
      * 指定したIDのエントリを削除する
      *
@@ -9,6 +9,7 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * データを管理するレポジトリ<br/>
@@ -26,6 +27,18 @@ public interface DataRepository {
         return new DataRepositoryImpl(dao);
     }
 
+    /**
+     * BOT状態データの更新をまとめて書き込むインスタンス作成<br/>
+     * 同じBOT状態データの同じ項目への更新は最後のもののみを、間隔ごとに1つのトランザクションで書き込み、破棄時に残りを書き込む
+     *
+     * @param dao                         初期化前のDAO
+     * @param botStateWriteBehindInterval BOT状態データの更新をまとめて書き込む間隔(ms)、0以下の場合はすぐに書き込む
+     * @return データレポジトリインスタンス
+     */
+    static DataRepository create(DAO dao, long botStateWriteBehindInterval) {
+        return new DataRepositoryImpl(dao, botStateWriteBehindInterval);
+    }
+
     /**
      * 初期化
      */
@@ -71,6 +84,17 @@ public interface DataRepository {
     @NotNull
     ServerUserData getServerUserData(long serverId, long userId);
 
+    /**
+     * メッセージの読み上げに必要なサーバーとユーザーの設定をまとめて取得<br/>
+     * 読み込み済みのデータが無い場合も、1回の問い合わせで取得する
+     *
+     * @param serverId サーバーID
+     * @param userId   ユーザーID
+     * @return メッセージのコンテキスト
+     */
+    @NotNull
+    MessageContext getMessageContext(long serverId, long userId);
+
     /**
      * 辞書使用データを取得
      *
@@ -147,4 +171,12 @@ public interface DataRepository {
     @NotNull
     @Unmodifiable
     Map<Long, BotStateData> getAllBotStateData(long botId);
+
+    /**
+     * BOT状態データの書き込み待ちの統計を取得する
+     *
+     * @return 統計、書き込み待ちを利用しない場合は空
+     */
+    @NotNull
+    Optional<WriteBehindMetrics> getBotStateWriteBehindMetrics();
 }
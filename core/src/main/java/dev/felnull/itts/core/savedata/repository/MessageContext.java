@@ -0,0 +1,25 @@
+package dev.felnull.itts.core.savedata.repository;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * メッセージの読み上げに必要なサーバーとユーザーの設定をまとめた不変のコンテキスト
+ *
+ * @param ignoreRegex      読み上げない正規表現
+ * @param needJoin         VCに参加している場合のみ読み上げるかどうか
+ * @param readLimit        最大読み上げ文字数
+ * @param nameReadLimit    名前の最大読み上げ文字数
+ * @param defaultVoiceType サーバーのデフォルトの音声タイプ
+ * @param deny             ユーザーの読み上げが拒否されているかどうか
+ * @param voiceType        ユーザーの音声タイプ
+ * @param nickName         ユーザーのニックネーム
+ */
+public record MessageContext(@Nullable String ignoreRegex,
+                             boolean needJoin,
+                             int readLimit,
+                             int nameReadLimit,
+                             @Nullable String defaultVoiceType,
+                             boolean deny,
+                             @Nullable String voiceType,
+                             @Nullable String nickName) {
+}
@@ -122,4 +122,18 @@ public interface ServerData {
      */
     void setAutoDisconnectMode(AutoDisconnectMode autoDisconnectMode);
 
+    /**
+     * 読み上げの間隔を取得
+     *
+     * @return 読み上げの間隔(ms)
+     */
+    int getReadInterval();
+
+    /**
+     * 読み上げの間隔を変更
+     *
+     * @param readInterval 読み上げの間隔(ms)
+     */
+    void setReadInterval(int readInterval);
+
 }
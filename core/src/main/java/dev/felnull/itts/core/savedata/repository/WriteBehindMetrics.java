@@ -0,0 +1,23 @@
+package dev.felnull.itts.core.savedata.repository;
+
+/**
+ * 書き込み待ちの統計
+ *
+ * @param pendingRecords  書き込み待ちか書き込み中のレコード数
+ * @param queuedWrites    書き込み待ちに追加された更新の数
+ * @param coalescedWrites 書き込み前に後の更新で置き換えられた更新の数
+ * @param flushedWrites   データベースに書き込んだ更新の数
+ * @param flushes         書き込みに成功した回数
+ * @param failedFlushes   書き込みに失敗した回数
+ * @param lastFlushLag    最後の書き込みで、最も古い更新が追加されてから書き込み終わるまでの時間(ns)
+ * @param maxFlushLag     最も古い更新が追加されてから書き込み終わるまでの時間の最大(ns)
+ */
+public record WriteBehindMetrics(int pendingRecords,
+                                 long queuedWrites,
+                                 long coalescedWrites,
+                                 long flushedWrites,
+                                 long flushes,
+                                 long failedFlushes,
+                                 long lastFlushLag,
+                                 long maxFlushLag) {
+}
@@ -7,11 +7,11 @@ import dev.felnull.itts.core.savedata.repository.BotStateData;
 import dev.felnull.itts.core.tts.TTSChannelPair;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 import java.util.OptionalInt;
 
 /**
- * BOTの状態データの実装
+ * BOTの状態データの実装<br/>
+ * 再接続時などに短時間で何度も更新されるため、書き込み待ちが有効な場合はまとめて書き込む
  */
 class BotStateDataImpl extends RecordData<ServerBotKey, BotStateDataRecord> implements BotStateData {
 
@@ -31,6 +31,14 @@ class BotStateDataImpl extends RecordData<ServerBotKey, BotStateDataRecord> impl
         this.botId = botId;
     }
 
+    long getServerId() {
+        return serverId;
+    }
+
+    long getBotId() {
+        return botId;
+    }
+
     @Override
     protected RecordData<ServerBotKey, BotStateDataRecord>.InitRecordContext getInitRecordContext() {
         int serverKeyId = repository.getServerKeyData().getId(serverId);
@@ -43,111 +51,98 @@ class BotStateDataImpl extends RecordData<ServerBotKey, BotStateDataRecord> impl
 
     @Override
     public @Nullable TTSChannelPair getConnectedChannelPair() {
-        return sqlProcReturnable(connection -> {
-            Optional<TTSChannelKeyPair> connectedChannel = dao().botStateDataTable().selectConnectedChannelKeyPair(connection, recordId());
-
-            if (connectedChannel.isEmpty()) {
-                return null;
-            }
-
-            Long speakAudioChannel = repository.getChannelKeyData().getKey(connectedChannel.get().speakAudioChannelKey());
-            Long readTextChannel = repository.getChannelKeyData().getKey(connectedChannel.get().readTextChannelKey());
-
-            if (speakAudioChannel != null && readTextChannel != null) {
-                return new TTSChannelPair(speakAudioChannel, readTextChannel);
-            }
-
-            return null;
-        });
+        BotStateDataRecord record = record();
+        return toChannelPair(record.speakAudioChannelKey(), record.readTextChannelKey());
     }
 
     @Override
     public void setConnectedChannelPair(@Nullable TTSChannelPair connectedChannel) {
-        sqlProc(connection -> {
-            TTSChannelKeyPair ttsChannelKeyPair;
-            if (connectedChannel != null) {
-                int speakAudioChannelKey = repository.getChannelKeyData().getId(connectedChannel.speakAudioChannel());
-                int readTextChannelKey = repository.getChannelKeyData().getId(connectedChannel.readTextChannel());
-                ttsChannelKeyPair = new TTSChannelKeyPair(speakAudioChannelKey, readTextChannelKey);
-            } else {
-                ttsChannelKeyPair = null;
-            }
-            dao().botStateDataTable().updateConnectedChannelKeyPair(connection, recordId(), ttsChannelKeyPair);
-        });
+        TTSChannelKeyPair ttsChannelKeyPair = toChannelKeyPair(connectedChannel);
+        Integer speakAudioChannelKey = ttsChannelKeyPair != null ? ttsChannelKeyPair.speakAudioChannelKey() : null;
+        Integer readTextChannelKey = ttsChannelKeyPair != null ? ttsChannelKeyPair.readTextChannelKey() : null;
+
+        updateRecordLater("connected_channel",
+                record -> new BotStateDataRecord(speakAudioChannelKey, readTextChannelKey,
+                        record.reconnectSpeakAudioChannelKey(), record.reconnectReadTextChannelKey()),
+                connection -> dao().botStateDataTable().updateConnectedChannelKeyPair(connection, recordId(), ttsChannelKeyPair));
     }
 
     @Override
     public @Nullable TTSChannelPair getReconnectChannelPair() {
-        return sqlProcReturnable(connection -> {
-            Optional<TTSChannelKeyPair> reconnectChannel = dao().botStateDataTable().selectReconnectChannelKeyPair(connection, recordId());
-
-            if (reconnectChannel.isEmpty()) {
-                return null;
-            }
-
-            Long speakAudioChannel = repository.getChannelKeyData().getKey(reconnectChannel.get().speakAudioChannelKey());
-            Long readTextChannel = repository.getChannelKeyData().getKey(reconnectChannel.get().readTextChannelKey());
-
-            if (speakAudioChannel != null && readTextChannel != null) {
-                return new TTSChannelPair(speakAudioChannel, readTextChannel);
-            }
-
-            return null;
-        });
+        BotStateDataRecord record = record();
+        return toChannelPair(record.reconnectSpeakAudioChannelKey(), record.reconnectReadTextChannelKey());
     }
 
     @Override
     public void setReconnectChannelPair(@Nullable TTSChannelPair reconnectChannel) {
-        sqlProc(connection -> {
-            TTSChannelKeyPair ttsChannelKeyPair;
-            if (reconnectChannel != null) {
-                int speakAudioChannelKey = repository.getChannelKeyData().getId(reconnectChannel.speakAudioChannel());
-                int readTextChannelKey = repository.getChannelKeyData().getId(reconnectChannel.readTextChannel());
-                ttsChannelKeyPair = new TTSChannelKeyPair(speakAudioChannelKey, readTextChannelKey);
-            } else {
-                ttsChannelKeyPair = null;
-            }
-            dao().botStateDataTable().updateReconnectChannelKeyPair(connection, recordId(), ttsChannelKeyPair);
-        });
+        TTSChannelKeyPair ttsChannelKeyPair = toChannelKeyPair(reconnectChannel);
+        Integer speakAudioChannelKey = ttsChannelKeyPair != null ? ttsChannelKeyPair.speakAudioChannelKey() : null;
+        Integer readTextChannelKey = ttsChannelKeyPair != null ? ttsChannelKeyPair.readTextChannelKey() : null;
+
+        updateRecordLater("reconnect_channel",
+                record -> new BotStateDataRecord(record.speakAudioChannelKey(), record.readTextChannelKey(),
+                        speakAudioChannelKey, readTextChannelKey),
+                connection -> dao().botStateDataTable().updateReconnectChannelKeyPair(connection, recordId(), ttsChannelKeyPair));
     }
 
     @Override
     public @Nullable Long getSpeakAudioChannel() {
-        return sqlProcReturnable(connection -> {
-            OptionalInt channelKeyId = dao().botStateDataTable().selectSpeakAudioChannel(connection, recordId());
-            if (channelKeyId.isPresent()) {
-                return repository.getChannelKeyData().getKey(channelKeyId.getAsInt());
-            } else {
-                return null;
-            }
-        });
+        Integer channelKeyId = record().speakAudioChannelKey();
+        return channelKeyId != null ? repository.getChannelKeyData().getKey(channelKeyId) : null;
     }
 
     @Override
     public void setSpeakAudioChannel(@Nullable Long channelId) {
-        sqlProc(connection -> {
-            OptionalInt channelKey = repository.getChannelKeyData().getIdNullable(channelId);
-            dao().botStateDataTable().updateSpeakAudioChannel(connection, recordId(), channelKey.isPresent() ? channelKey.getAsInt() : null);
-        });
+        OptionalInt channelKey = repository.getChannelKeyData().getIdNullable(channelId);
+        Integer channelKeyId = channelKey.isPresent() ? channelKey.getAsInt() : null;
+
+        updateRecordLater("speak_audio_channel",
+                record -> new BotStateDataRecord(channelKeyId, record.readTextChannelKey(),
+                        record.reconnectSpeakAudioChannelKey(), record.reconnectReadTextChannelKey()),
+                connection -> dao().botStateDataTable().updateSpeakAudioChannel(connection, recordId(), channelKeyId));
     }
 
     @Override
     public @Nullable Long getReadAroundTextChannel() {
-        return sqlProcReturnable(connection -> {
-            OptionalInt channelKeyId = dao().botStateDataTable().selectReadAroundTextChannel(connection, recordId());
-            if (channelKeyId.isPresent()) {
-                return repository.getChannelKeyData().getKey(channelKeyId.getAsInt());
-            } else {
-                return null;
-            }
-        });
+        Integer channelKeyId = record().readTextChannelKey();
+        return channelKeyId != null ? repository.getChannelKeyData().getKey(channelKeyId) : null;
     }
 
     @Override
     public void setReadAroundTextChannel(@Nullable Long channelId) {
-        sqlProc(connection -> {
-            OptionalInt channelKey = repository.getChannelKeyData().getIdNullable(channelId);
-            dao().botStateDataTable().updateReadAroundTextChannel(connection, recordId(), channelKey.isPresent() ? channelKey.getAsInt() : null);
-        });
+        OptionalInt channelKey = repository.getChannelKeyData().getIdNullable(channelId);
+        Integer channelKeyId = channelKey.isPresent() ? channelKey.getAsInt() : null;
+
+        updateRecordLater("read_text_channel",
+                record -> new BotStateDataRecord(record.speakAudioChannelKey(), channelKeyId,
+                        record.reconnectSpeakAudioChannelKey(), record.reconnectReadTextChannelKey()),
+                connection -> dao().botStateDataTable().updateReadAroundTextChannel(connection, recordId(), channelKeyId));
+    }
+
+    @Nullable
+    private TTSChannelPair toChannelPair(@Nullable Integer speakAudioChannelKey, @Nullable Integer readTextChannelKey) {
+        if (speakAudioChannelKey == null || readTextChannelKey == null) {
+            return null;
+        }
+
+        Long speakAudioChannel = repository.getChannelKeyData().getKey(speakAudioChannelKey);
+        Long readTextChannel = repository.getChannelKeyData().getKey(readTextChannelKey);
+
+        if (speakAudioChannel != null && readTextChannel != null) {
+            return new TTSChannelPair(speakAudioChannel, readTextChannel);
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private TTSChannelKeyPair toChannelKeyPair(@Nullable TTSChannelPair channelPair) {
+        if (channelPair == null) {
+            return null;
+        }
+
+        int speakAudioChannelKey = repository.getChannelKeyData().getId(channelPair.speakAudioChannel());
+        int readTextChannelKey = repository.getChannelKeyData().getId(channelPair.readTextChannel());
+        return new TTSChannelKeyPair(speakAudioChannelKey, readTextChannelKey);
     }
 }
@@ -0,0 +1,57 @@
+package dev.felnull.itts.core.savedata.repository.impl;
+
+import dev.felnull.itts.core.dict.CustomDictionaryEntry;
+import dev.felnull.itts.core.savedata.repository.IdCustomDictionaryEntryPair;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 既存のカスタム辞書エントリと、まとめて追加する辞書エントリの差分
+ *
+ * @param deleteIds  削除するエントリのID
+ * @param addEntries 追加する辞書エントリ
+ */
+record CustomDictionaryDiff(List<Integer> deleteIds, List<CustomDictionaryEntry> addEntries) {
+
+    /**
+     * 差分を求める<br/>
+     * 上書きする場合は同じ置き換え対象の既存エントリを全て削除し、既存エントリと全く同じ場合は何もしない
+     *
+     * @param existingEntries   既存のエントリ
+     * @param dictionaryEntries 追加する辞書エントリ、置き換え対象が重複する場合は後のものを優先する
+     * @param overwrite         既に同じ置き換え対象のエントリが存在する場合に上書きするかどうか
+     * @return 差分
+     */
+    static CustomDictionaryDiff create(@NotNull List<IdCustomDictionaryEntryPair> existingEntries,
+                                       @NotNull List<CustomDictionaryEntry> dictionaryEntries, boolean overwrite) {
+        Map<String, List<IdCustomDictionaryEntryPair>> existingByTarget = new HashMap<>();
+        existingEntries.forEach(pair -> existingByTarget.computeIfAbsent(pair.entry().target(), target -> new ArrayList<>()).add(pair));
+
+        Map<String, CustomDictionaryEntry> entryByTarget = new LinkedHashMap<>();
+        dictionaryEntries.forEach(entry -> entryByTarget.put(entry.target(), entry));
+
+        List<Integer> deleteIds = new ArrayList<>();
+        List<CustomDictionaryEntry> addEntries = new ArrayList<>();
+
+        for (CustomDictionaryEntry entry : entryByTarget.values()) {
+            List<IdCustomDictionaryEntryPair> pre = existingByTarget.get(entry.target());
+
+            if (pre != null) {
+                if (!overwrite || (pre.size() == 1 && pre.get(0).entry().equals(entry))) {
+                    continue;
+                }
+
+                pre.forEach(pair -> deleteIds.add(pair.id()));
+            }
+
+            addEntries.add(entry);
+        }
+
+        return new CustomDictionaryDiff(List.copyOf(deleteIds), List.copyOf(addEntries));
+    }
+}
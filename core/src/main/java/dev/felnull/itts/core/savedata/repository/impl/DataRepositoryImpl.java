@@ -5,17 +5,21 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import dev.felnull.itts.core.dict.DictionaryUseEntry;
 import dev.felnull.itts.core.savedata.dao.DAO;
+import dev.felnull.itts.core.savedata.dao.MessageContextRecord;
 import dev.felnull.itts.core.savedata.repository.*;
 import dev.felnull.itts.core.tts.TTSChannelPair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -116,6 +120,12 @@ public final class DataRepositoryImpl implements DataRepository {
             .build(new CacheLoader<>() {
                 @Override
                 public @NotNull BotStateData load(@NotNull ServerBotCacheKey key) {
+                    // キャッシュから破棄されたデータに書き込み待ちか書き込み中の更新がある場合は、データベースの値が古いためそのデータを再利用する
+                    BotStateDataImpl pending = getPendingBotStateData(key.serverId(), key.botId());
+                    if (pending != null) {
+                        return pending;
+                    }
+
                     BotStateDataImpl botStateData = new BotStateDataImpl(DataRepositoryImpl.this, key.serverId(), key.botId());
                     botStateData.init();
                     return botStateData;
@@ -147,6 +157,12 @@ public final class DataRepositoryImpl implements DataRepository {
     private final DAO dao;
 
 
+    /**
+     * BOT状態データの書き込み待ち、利用しない場合はnull
+     */
+    @Nullable
+    private final WriteBehindQueue writeBehindQueue;
+
     /**
      * 登録済みエラーリスナー
      */
@@ -163,7 +179,18 @@ public final class DataRepositoryImpl implements DataRepository {
      * @param dao 初期化前のDAO
      */
     public DataRepositoryImpl(DAO dao) {
+        this(dao, 0);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param dao                         初期化前のDAO
+     * @param botStateWriteBehindInterval BOT状態データの更新をまとめて書き込む間隔(ms)、0以下の場合はすぐに書き込む
+     */
+    public DataRepositoryImpl(DAO dao, long botStateWriteBehindInterval) {
         this.dao = dao;
+        this.writeBehindQueue = botStateWriteBehindInterval > 0 ? new WriteBehindQueue(this, botStateWriteBehindInterval) : null;
     }
 
     @Override
@@ -179,6 +206,10 @@ public final class DataRepositoryImpl implements DataRepository {
         } catch (SQLException e) {
             throw new IllegalStateException("Database initialization failure", e);
         }
+
+        if (this.writeBehindQueue != null) {
+            this.writeBehindQueue.start();
+        }
     }
 
     private void initDataBase() throws SQLException {
@@ -200,6 +231,9 @@ public final class DataRepositoryImpl implements DataRepository {
             dao.botStateDataTable().createTableIfNotExists(con);
             dao.serverCustomDictionaryTable().createTableIfNotExists(con);
             dao.globalCustomDictionaryTable().createTableIfNotExists(con);
+
+            // 既存のテーブルを最新のスキーマに移行
+            dao.migrateSchema(con);
         }
     }
 
@@ -209,6 +243,11 @@ public final class DataRepositoryImpl implements DataRepository {
             return;
         }
 
+        // 書き込み待ちの更新を書き込んでから破棄する
+        if (this.writeBehindQueue != null) {
+            this.writeBehindQueue.stop();
+        }
+
         if (this.dao != null) {
             try {
                 this.dao.dispose();
@@ -245,6 +284,23 @@ public final class DataRepositoryImpl implements DataRepository {
         return dao;
     }
 
+    @Nullable
+    WriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
+    @Nullable
+    private BotStateDataImpl getPendingBotStateData(long serverId, long botId) {
+        if (this.writeBehindQueue == null) {
+            return null;
+        }
+
+        return this.writeBehindQueue.getPendingRecords(BotStateDataImpl.class).stream()
+                .filter(it -> it.getServerId() == serverId && it.getBotId() == botId)
+                .findFirst()
+                .orElse(null);
+    }
+
     KeyData<Long> getServerKeyData() {
         return serverKeyData;
     }
@@ -287,6 +343,58 @@ public final class DataRepositoryImpl implements DataRepository {
         return serverUserDataCache.getUnchecked(new ServerUserCacheKey(serverId, userId));
     }
 
+    @Override
+    public @NotNull MessageContext getMessageContext(long serverId, long userId) {
+        ServerData serverData = serverDataCache.getIfPresent(serverId);
+        ServerUserData serverUserData = serverUserDataCache.getIfPresent(new ServerUserCacheKey(serverId, userId));
+
+        // 両方のデータが読み込み済みであれば、スナップショットから作成する
+        if (serverData != null && serverUserData != null) {
+            return createMessageContext(serverData, serverUserData);
+        }
+
+        Optional<MessageContextRecord> record = selectMessageContext(serverId, userId);
+
+        // レコードが存在しない場合は、初期状態のレコードを作成して読み込む
+        if (record.isEmpty()) {
+            return createMessageContext(getServerData(serverId), getServerUserData(serverId, userId));
+        }
+
+        // 以降のメッセージでは問い合わせないように、取得したレコードからデータを作成してキャッシュに追加する
+        if (serverData == null) {
+            ServerDataImpl newServerData = new ServerDataImpl(this, serverId);
+            newServerData.init(dao.serverDataTable(), record.get().serverData());
+            ServerData pre = serverDataCache.asMap().putIfAbsent(serverId, newServerData);
+            serverData = pre != null ? pre : newServerData;
+        }
+
+        if (serverUserData == null) {
+            ServerUserDataImpl newServerUserData = new ServerUserDataImpl(this, serverId, userId);
+            newServerUserData.init(dao.serverUserDataTable(), record.get().serverUserData());
+            ServerUserData pre = serverUserDataCache.asMap().putIfAbsent(new ServerUserCacheKey(serverId, userId), newServerUserData);
+            serverUserData = pre != null ? pre : newServerUserData;
+        }
+
+        return createMessageContext(serverData, serverUserData);
+    }
+
+    private Optional<MessageContextRecord> selectMessageContext(long serverId, long userId) {
+        try (Connection connection = dao.getReadConnection()) {
+            return dao.serverUserDataTable().selectMessageContext(connection, serverId, userId);
+        } catch (Exception e) {
+            fireErrorEvent(e);
+            throw new RuntimeException(e);
+        } catch (Throwable throwable) {
+            fireErrorEvent(throwable);
+            throw throwable;
+        }
+    }
+
+    private MessageContext createMessageContext(ServerData serverData, ServerUserData serverUserData) {
+        return new MessageContext(serverData.getIgnoreRegex(), serverData.isNeedJoin(), serverData.getReadLimit(), serverData.getNameReadLimit(),
+                serverData.getDefaultVoiceType(), serverUserData.isDeny(), serverUserData.getVoiceType(), serverUserData.getNickName());
+    }
+
     @Override
     public @NotNull DictionaryUseData getDictionaryUseData(long serverId, String dictionaryId) {
         return dictionaryUseDataCache.getUnchecked(new ServerDictionaryCacheKey(serverId, dictionaryId));
@@ -309,8 +417,30 @@ public final class DataRepositoryImpl implements DataRepository {
 
     @Override
     public @NotNull @Unmodifiable Map<Long, TTSChannelPair> getAllConnectedChannel(long botId) {
-        try (Connection connection = dao.getConnection()) {
-            return dao.botStateDataTable().selectAllConnectedChannelPairByBotKeyId(connection, botKeyData.getId(botId));
+        // データベースの値より新しい書き込み待ちの更新は、問い合わせの前に取得しておき結果に反映する
+        List<BotStateDataImpl> pendingBotStateData = writeBehindQueue != null
+                ? writeBehindQueue.getPendingRecords(BotStateDataImpl.class).stream().filter(it -> it.getBotId() == botId).toList()
+                : List.of();
+
+        try (Connection connection = dao.getReadConnection()) {
+            Map<Long, TTSChannelPair> connectedChannels = dao.botStateDataTable().selectAllConnectedChannelPairByBotKeyId(connection, botKeyData.getId(botId));
+
+            if (pendingBotStateData.isEmpty()) {
+                return connectedChannels;
+            }
+
+            Map<Long, TTSChannelPair> ret = new HashMap<>(connectedChannels);
+            for (BotStateDataImpl botStateData : pendingBotStateData) {
+                TTSChannelPair connectedChannel = botStateData.getConnectedChannelPair();
+
+                if (connectedChannel != null) {
+                    ret.put(botStateData.getServerId(), connectedChannel);
+                } else {
+                    ret.remove(botStateData.getServerId());
+                }
+            }
+
+            return Map.copyOf(ret);
         } catch (Exception e) {
             fireErrorEvent(e);
             throw new RuntimeException(e);
@@ -322,7 +452,7 @@ public final class DataRepositoryImpl implements DataRepository {
 
     @Override
     public @NotNull @Unmodifiable List<Long> getAllDenyUser(long serverId) {
-        try (Connection connection = dao.getConnection()) {
+        try (Connection connection = dao.getReadConnection()) {
             return dao.serverUserDataTable().selectAllDenyUser(connection, serverKeyData.getId(serverId));
         } catch (Exception e) {
             fireErrorEvent(e);
@@ -335,7 +465,7 @@ public final class DataRepositoryImpl implements DataRepository {
 
     @Override
     public @NotNull @Unmodifiable List<DictionaryUseEntry> getAllDictionaryUseData(long serverId) {
-        try (Connection connection = dao.getConnection()) {
+        try (Connection connection = dao.getReadConnection()) {
             return dao.dictionaryUseDataTable().selectAll(connection, serverKeyData.getId(serverId));
         } catch (Exception e) {
             fireErrorEvent(e);
@@ -348,10 +478,11 @@ public final class DataRepositoryImpl implements DataRepository {
 
     @Override
     public @NotNull @Unmodifiable Map<Long, BotStateData> getAllBotStateData(long botId) {
-        try (Connection connection = dao.getConnection()) {
-            List<Long> allServerIdList = dao.botStateDataTable().selectAll(connection, botKeyData.getId(botId));
-            return allServerIdList.stream().map(it -> Pair.of(it, getBotStateData(it, botId)))
-                    .collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
+        // レコードの追加は書き込み待ちを利用しないため、書き込み待ちの更新があってもサーバーの一覧は変わらない
+        List<Long> allServerIdList;
+
+        try (Connection connection = dao.getReadConnection()) {
+            allServerIdList = dao.botStateDataTable().selectAll(connection, botKeyData.getId(botId));
         } catch (Exception e) {
             fireErrorEvent(e);
             throw new RuntimeException(e);
@@ -359,6 +490,15 @@ public final class DataRepositoryImpl implements DataRepository {
             fireErrorEvent(throwable);
             throw throwable;
         }
+
+        // データの読み込みで別のコネクションを利用するため、一覧の取得後にコネクションを返してから読み込む
+        return allServerIdList.stream().map(it -> Pair.of(it, getBotStateData(it, botId)))
+                .collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
+    }
+
+    @Override
+    public @NotNull Optional<WriteBehindMetrics> getBotStateWriteBehindMetrics() {
+        return Optional.ofNullable(writeBehindQueue).map(WriteBehindQueue::getMetrics);
     }
 
     /**
@@ -5,8 +5,6 @@ import dev.felnull.itts.core.savedata.dao.ServerDictionaryKey;
 import dev.felnull.itts.core.savedata.repository.DictionaryUseData;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.OptionalInt;
-
 /**
  * 辞書使用データの実装
  */
@@ -41,26 +39,21 @@ public class DictionaryUseDataImpl extends RecordData<ServerDictionaryKey, Dicti
 
     @Override
     public @Nullable Boolean isEnable() {
-        return sqlProcReturnable(con ->
-                dao().dictionaryUseDataTable().selectEnable(con, recordId()).orElse(null)
-        );
+        return record().enable();
     }
 
     @Override
     public void setEnable(@Nullable Boolean enable) {
-        sqlProc(con -> dao().dictionaryUseDataTable().updateEnable(con, recordId(), enable));
+        updateRecord(con -> dao().dictionaryUseDataTable().updateEnable(con, recordId(), enable));
     }
 
     @Override
     public @Nullable Integer getPriority() {
-        return sqlProcReturnable(con -> {
-            OptionalInt priority = dao().dictionaryUseDataTable().selectPriority(con, recordId());
-            return priority.isPresent() ? priority.getAsInt() : null;
-        });
+        return record().priority();
     }
 
     @Override
     public void setPriority(@Nullable Integer priority) {
-        sqlProc(con -> dao().dictionaryUseDataTable().updatePriority(con, recordId(), priority));
+        updateRecord(con -> dao().dictionaryUseDataTable().updatePriority(con, recordId(), priority));
     }
 }
@@ -9,6 +9,8 @@ import dev.felnull.itts.core.savedata.repository.IdCustomDictionaryEntryPair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,7 +25,7 @@ class GlobalCustomDictionaryData extends SaveDataBase implements CustomDictionar
 
     @Override
     public @NotNull @Unmodifiable List<IdCustomDictionaryEntryPair> getAll() {
-        return sqlProcReturnable(connection -> {
+        return sqlReadProcReturnable(connection -> {
             Map<Integer, DictionaryRecord> dictData = dao().globalCustomDictionaryTable().selectRecords(connection);
 
             ImmutableList.Builder<IdCustomDictionaryEntryPair> retBuilder = ImmutableList.builder();
@@ -40,7 +42,7 @@ class GlobalCustomDictionaryData extends SaveDataBase implements CustomDictionar
 
     @Override
     public @NotNull @Unmodifiable List<IdCustomDictionaryEntryPair> getByTarget(@NotNull String target) {
-        return sqlProcReturnable(connection -> {
+        return sqlReadProcReturnable(connection -> {
             Map<Integer, DictionaryRecord> dictData = dao().globalCustomDictionaryTable().selectRecordByTarget(connection, target);
 
             ImmutableList.Builder<IdCustomDictionaryEntryPair> retBuilder = ImmutableList.builder();
@@ -56,13 +58,49 @@ class GlobalCustomDictionaryData extends SaveDataBase implements CustomDictionar
 
     @Override
     public void add(@NotNull CustomDictionaryEntry dictionaryEntry) {
+        // 置き換え方法のキーの登録は別のコネクションで行われるため、書き込みの開始前に取得しておく
+        int replaceTypeKeyId = repository.getDictionaryReplaceTypeKeyData().getId(dictionaryEntry.replaceType().getName());
+
         sqlProc(connection -> {
-            int replaceTypeKeyId = repository.getDictionaryReplaceTypeKeyData().getId(dictionaryEntry.replaceType().getName());
             DictionaryRecord record = new DictionaryRecord(dictionaryEntry.target(), dictionaryEntry.read(), replaceTypeKeyId);
             dao().globalCustomDictionaryTable().insertRecord(connection, record);
         });
     }
 
+    @Override
+    public @NotNull @Unmodifiable List<CustomDictionaryEntry> addAll(@NotNull List<CustomDictionaryEntry> dictionaryEntries, boolean overwrite) {
+        // 置き換え方法のキーの登録は別のコネクションで行われるため、トランザクションの開始前に取得しておく
+        Map<ReplaceType, Integer> replaceTypeKeyIds = new EnumMap<>(ReplaceType.class);
+        dictionaryEntries.forEach(entry ->
+                replaceTypeKeyIds.computeIfAbsent(entry.replaceType(), type -> repository.getDictionaryReplaceTypeKeyData().getId(type.getName())));
+
+        return sqlTransactionProcReturnable(connection -> {
+            Map<Integer, DictionaryRecord> dictData = dao().globalCustomDictionaryTable().selectRecords(connection);
+
+            List<IdCustomDictionaryEntryPair> existingEntries = new ArrayList<>(dictData.size());
+            dictData.forEach((key, entry) -> {
+                ReplaceType replaceType =
+                        ReplaceType.getByName(repository.getDictionaryReplaceTypeKeyData().getKey(entry.replaceTypeKeyId())).orElse(ReplaceType.CHARACTER);
+                existingEntries.add(new IdCustomDictionaryEntryPair(key, new CustomDictionaryEntry(entry.target(), entry.read(), replaceType)));
+            });
+
+            CustomDictionaryDiff diff = CustomDictionaryDiff.create(existingEntries, dictionaryEntries, overwrite);
+
+            if (!diff.deleteIds().isEmpty()) {
+                dao().globalCustomDictionaryTable().deleteRecords(connection, diff.deleteIds());
+            }
+
+            if (!diff.addEntries().isEmpty()) {
+                List<DictionaryRecord> records = diff.addEntries().stream()
+                        .map(entry -> new DictionaryRecord(entry.target(), entry.read(), replaceTypeKeyIds.get(entry.replaceType())))
+                        .toList();
+                dao().globalCustomDictionaryTable().insertRecords(connection, records);
+            }
+
+            return diff.addEntries();
+        });
+    }
+
     @Override
     public void remove(int entryId) {
         sqlProc(connection -> dao().globalCustomDictionaryTable().deleteRecord(connection, entryId));
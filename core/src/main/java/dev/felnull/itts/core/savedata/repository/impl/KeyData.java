@@ -44,6 +44,13 @@ final class KeyData<T> extends SaveDataBase {
                 .build(new CacheLoader<>() {
                     @Override
                     public @NotNull Integer load(@NotNull T key) {
+                        // 既に存在するキーは読み取り用のコネクションで取得し、存在しない場合のみ書き込む
+                        OptionalInt keyId = sqlReadProcReturnable(connection -> keyTableProvider.apply(dao()).selectId(connection, key));
+
+                        if (keyId.isPresent()) {
+                            return keyId.getAsInt();
+                        }
+
                         return sqlProcReturnable(connection -> getIdFromDB(connection, key));
                     }
                 });
@@ -53,7 +60,7 @@ final class KeyData<T> extends SaveDataBase {
                 .build(new CacheLoader<>() {
                     @Override
                     public @NotNull T load(@NotNull Integer id) {
-                        return sqlProcReturnable(connection -> getKeyFromDB(connection, id));
+                        return sqlReadProcReturnable(connection -> getKeyFromDB(connection, id));
                     }
                 });
     }
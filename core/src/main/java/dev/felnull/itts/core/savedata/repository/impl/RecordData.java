@@ -2,14 +2,21 @@ package dev.felnull.itts.core.savedata.repository.impl;
 
 import dev.felnull.itts.core.savedata.dao.DAO;
 import dev.felnull.itts.core.savedata.dao.IdRecordPair;
+import org.apache.commons.lang3.function.FailableConsumer;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
- * レコードごとのデータ
+ * レコードごとのデータ<br/>
+ * 初期化時にレコード全体を読み込んで不変のスナップショットとして保持し、取得はスナップショットから行う<br/>
+ * 書き込みは排他した上でデータベースを更新し、同じコネクションで読み直したレコードにスナップショットを差し替えるため、書き込み後の取得には必ず反映される<br/>
+ * 書き込み待ちを利用する更新は、スナップショットのみを先に差し替えて、データベースへは後でまとめて書き込む
  *
  * @param <K> キーの型
  * @param <T> レコードの型
@@ -21,13 +28,33 @@ abstract class RecordData<K extends Record, T extends Record> extends SaveDataBa
      */
     private int recordId = -1;
 
+    /**
+     * テーブル
+     */
+    private DAO.DataTable<K, T> table;
+
+    /**
+     * レコードのスナップショット
+     */
+    private volatile T snapshot;
+
+    /**
+     * 書き込み待ちの更新 (列ごとに最後の更新のみを、更新された順に保持)
+     */
+    private final Map<String, PendingUpdate<T>> pendingUpdates = new LinkedHashMap<>();
+
+    /**
+     * 書き込み中の更新
+     */
+    private Map<String, PendingUpdate<T>> flushingUpdates = Map.of();
+
     RecordData(DataRepositoryImpl repository) {
         super(repository);
     }
 
     void init() {
-        try (Connection con = dao().getConnection()) {
-            initRecord(con, getInitRecordContext());
+        try {
+            initRecord(getInitRecordContext());
         } catch (Throwable throwable) {
             IllegalStateException e = new IllegalStateException("Record initialization failure", throwable);
             this.repository.fireErrorEvent(e);
@@ -35,24 +62,33 @@ abstract class RecordData<K extends Record, T extends Record> extends SaveDataBa
         }
     }
 
-    private void initRecord(Connection connection, InitRecordContext context) throws SQLException {
+    private void initRecord(InitRecordContext context) throws SQLException {
         DAO.DataTable<K, T> table = context.getTable();
         K key = context.getKey();
 
-        Optional<IdRecordPair<T>> record = table.selectRecordByKey(connection, key);
-
-        // レコードが既に存在すればIDを代入する
-        if (record.isPresent()) {
-            recordId = record.get().getId();
-            return;
+        Optional<IdRecordPair<T>> record;
+        try (Connection connection = dao().getReadConnection()) {
+            record = table.selectRecordByKey(connection, key);
         }
 
-        // レコードが存在しなければ、追加後にIDを取得して代入する
-        T initialRecord = context.getInitialRecordProvider().get();
+        // レコードが存在しなければ、追加後に取得する
+        if (record.isEmpty()) {
+            // 初期状態のレコードの作成でキーの登録を行う場合があるため、書き込み用のコネクションの取得前に作成する
+            T initialRecord = context.getInitialRecordProvider().get();
+
+            try (Connection connection = dao().getConnection()) {
+                table.insertRecordIfNotExists(connection, key, initialRecord);
+                record = table.selectRecordByKey(connection, key);
+            }
+        }
 
-        table.insertRecordIfNotExists(connection, key, initialRecord);
+        init(table, record.orElseThrow());
+    }
 
-        recordId = table.selectRecordByKey(connection, key).orElseThrow().getId();
+    void init(DAO.DataTable<K, T> table, IdRecordPair<T> record) {
+        this.table = table;
+        this.recordId = record.getId();
+        this.snapshot = record.getRecord();
     }
 
     protected abstract InitRecordContext getInitRecordContext();
@@ -61,6 +97,134 @@ abstract class RecordData<K extends Record, T extends Record> extends SaveDataBa
         return recordId;
     }
 
+    /**
+     * レコードのスナップショットを取得
+     *
+     * @return レコード
+     */
+    protected T record() {
+        return snapshot;
+    }
+
+    /**
+     * レコードを更新して、スナップショットを更新後のレコードに差し替える
+     *
+     * @param proc 更新処理
+     */
+    protected void updateRecord(FailableConsumer<Connection, SQLException> proc) {
+        synchronized (this) {
+            sqlProc(con -> {
+                proc.accept(con);
+                snapshot = table.selectRecordById(con, recordId).orElseThrow();
+            });
+        }
+    }
+
+    /**
+     * スナップショットを先に更新して、データベースへの書き込みを書き込み待ちに追加する<br/>
+     * 書き込み待ちを利用しない場合は、{@link #updateRecord(FailableConsumer)}と同じくすぐに書き込む
+     *
+     * @param column          更新する列、同じ列の書き込み待ちの更新は置き換える
+     * @param snapshotUpdater スナップショットの更新処理
+     * @param proc            更新処理
+     */
+    protected void updateRecordLater(String column, UnaryOperator<T> snapshotUpdater, FailableConsumer<Connection, SQLException> proc) {
+        WriteBehindQueue writeBehindQueue = repository.getWriteBehindQueue();
+
+        if (writeBehindQueue == null) {
+            updateRecord(proc);
+            return;
+        }
+
+        boolean coalesced;
+
+        synchronized (this) {
+            snapshot = snapshotUpdater.apply(snapshot);
+
+            // 列が重なる更新があっても最後の値が書き込まれるように、置き換えた更新は末尾に移す
+            coalesced = pendingUpdates.remove(column) != null;
+            pendingUpdates.put(column, new PendingUpdate<>(snapshotUpdater, proc));
+        }
+
+        writeBehindQueue.enqueue(this, coalesced);
+    }
+
+    /**
+     * 書き込み待ちの更新を書き込み中に移す
+     */
+    synchronized void beginFlush() {
+        flushingUpdates = new LinkedHashMap<>(pendingUpdates);
+        pendingUpdates.clear();
+    }
+
+    /**
+     * 書き込み中の更新をデータベースに書き込む
+     *
+     * @param connection コネクション
+     * @return 書き込んだ更新の数
+     * @throws SQLException SQL例外
+     */
+    int writeFlushingUpdates(Connection connection) throws SQLException {
+        Map<String, PendingUpdate<T>> updates;
+        synchronized (this) {
+            updates = flushingUpdates;
+        }
+
+        for (PendingUpdate<T> update : updates.values()) {
+            update.proc().accept(connection);
+        }
+
+        return updates.size();
+    }
+
+    /**
+     * 書き込みを終了する<br/>
+     * 書き込めなかった場合は、書き込み中の更新を書き込み待ちに戻す
+     *
+     * @param written 書き込めたかどうか
+     */
+    synchronized void endFlush(boolean written) {
+        if (!written) {
+            // 戻す更新の方が古いため、後から追加された同じ列の更新を優先して、その前に並べる
+            Map<String, PendingUpdate<T>> merged = new LinkedHashMap<>();
+            flushingUpdates.forEach((column, update) -> {
+                if (!pendingUpdates.containsKey(column)) {
+                    merged.put(column, update);
+                }
+            });
+
+            merged.putAll(pendingUpdates);
+            pendingUpdates.clear();
+            pendingUpdates.putAll(merged);
+        }
+
+        flushingUpdates = Map.of();
+    }
+
+    /**
+     * 書き込み中の更新を破棄し、データベースから読み直したレコードに書き込み待ちの更新のみを反映したスナップショットに差し替える
+     */
+    synchronized void dropFlushingUpdates() {
+        flushingUpdates = Map.of();
+
+        T reloaded = sqlReadProcReturnable(con -> table.selectRecordById(con, recordId).orElseThrow());
+        for (PendingUpdate<T> update : pendingUpdates.values()) {
+            reloaded = update.snapshotUpdater().apply(reloaded);
+        }
+
+        snapshot = reloaded;
+    }
+
+    /**
+     * 書き込み待ちの更新
+     *
+     * @param snapshotUpdater スナップショットの更新処理
+     * @param proc            更新処理
+     * @param <T>             レコードの型
+     */
+    private record PendingUpdate<T>(UnaryOperator<T> snapshotUpdater, FailableConsumer<Connection, SQLException> proc) {
+    }
+
     /**
      * レコードを初期化するために必要なコンテキスト
      */
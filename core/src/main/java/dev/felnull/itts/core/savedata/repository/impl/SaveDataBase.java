@@ -48,6 +48,46 @@ abstract class SaveDataBase {
         }
     }
 
+    /**
+     * 読み取りのみのSQLアクセス処理実行用<br/>
+     * 書き込みを行う場合は{@link #sqlProcReturnable(FailableFunction)}を利用してください
+     *
+     * @param proc 処理用インタフェース
+     */
+    protected <T> T sqlReadProcReturnable(FailableFunction<Connection, T, SQLException> proc) {
+        try (Connection con = dao().getReadConnection()) {
+            return proc.apply(con);
+        } catch (Throwable throwable) {
+            IllegalStateException e = new IllegalStateException("SQL processing failed.", throwable);
+            this.repository.fireErrorEvent(e);
+            throw e;
+        }
+    }
+
+    /**
+     * トランザクション内でのSQLアクセス処理実行用<br/>
+     * 処理が例外で終了した場合はロールバックする
+     *
+     * @param proc 処理用インタフェース
+     */
+    protected <T> T sqlTransactionProcReturnable(FailableFunction<Connection, T, SQLException> proc) {
+        return sqlProcReturnable(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+                T ret = proc.apply(connection);
+                connection.commit();
+                return ret;
+            } catch (Throwable throwable) {
+                connection.rollback();
+                throw throwable;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
     /**
      * SQLアクセス処理実行用
      *
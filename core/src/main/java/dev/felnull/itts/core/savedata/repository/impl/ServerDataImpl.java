@@ -53,6 +53,11 @@ final class ServerDataImpl extends RecordData<ServerKey, ServerDataRecord> imple
      */
     private static final AutoDisconnectMode INITIAL_AUTO_DISCONNECT_MODE = AutoDisconnectMode.OFF;
 
+    /**
+     * 初期状態の読み上げの間隔
+     */
+    private static final int INITIAL_READ_INTERVAL = 500;
+
     /**
      * サーバーID
      */
@@ -81,108 +86,104 @@ final class ServerDataImpl extends RecordData<ServerKey, ServerDataRecord> imple
                     INITIAL_NOTIFY_MOVE,
                     INITIAL_READ_LIMIT,
                     INITIAL_NAME_READ_LIMIT,
-                    autoDisconnectModeKeyId
+                    autoDisconnectModeKeyId,
+                    INITIAL_READ_INTERVAL
             );
         });
     }
 
     @Override
     public @Nullable String getDefaultVoiceType() {
-        return sqlProcReturnable(con -> {
-            OptionalInt voiceType = dao().serverDataTable().selectDefaultVoiceType(con, recordId());
-            if (voiceType.isPresent()) {
-                return repository.getVoiceTypeKeyData().getKey(voiceType.getAsInt());
-            } else {
-                return null;
-            }
-        });
+        Integer voiceType = record().defaultVoiceTypeKeyId();
+        return voiceType != null ? repository.getVoiceTypeKeyData().getKey(voiceType) : null;
     }
 
     @Override
     public void setDefaultVoiceType(@Nullable String voiceType) {
-        sqlProc(con -> {
-            OptionalInt voiceTypeKeyId = repository.getVoiceTypeKeyData().getIdNullable(voiceType);
-            dao().serverDataTable().updateDefaultVoiceType(con, recordId(), voiceTypeKeyId.isPresent() ? voiceTypeKeyId.getAsInt() : null);
-        });
+        OptionalInt voiceTypeKeyId = repository.getVoiceTypeKeyData().getIdNullable(voiceType);
+        updateRecord(con -> dao().serverDataTable().updateDefaultVoiceType(con, recordId(), voiceTypeKeyId.isPresent() ? voiceTypeKeyId.getAsInt() : null));
     }
 
     @Override
     public @Nullable String getIgnoreRegex() {
-        return sqlProcReturnable(con ->
-                dao().serverDataTable().selectIgnoreRegex(con, recordId()).orElse(null)
-        );
+        return record().ignoreRegex();
     }
 
     @Override
     public void setIgnoreRegex(@Nullable String ignoreRegex) {
-        sqlProc(con -> dao().serverDataTable().updateIgnoreRegex(con, recordId(), ignoreRegex));
+        updateRecord(con -> dao().serverDataTable().updateIgnoreRegex(con, recordId(), ignoreRegex));
     }
 
     @Override
     public boolean isNeedJoin() {
-        return sqlProcReturnable(con -> dao().serverDataTable().selectNeedJoin(con, recordId()));
+        return record().needJoin();
     }
 
     @Override
     public void setNeedJoin(boolean needJoin) {
-        sqlProc(con -> dao().serverDataTable().updateNeedJoin(con, recordId(), needJoin));
+        updateRecord(con -> dao().serverDataTable().updateNeedJoin(con, recordId(), needJoin));
     }
 
     @Override
     public boolean isOverwriteAloud() {
-        return sqlProcReturnable(con -> dao().serverDataTable().selectOverwriteAloud(con, recordId()));
+        return record().overwriteAloud();
     }
 
     @Override
     public void setOverwriteAloud(boolean overwriteAloud) {
-        sqlProc(con -> dao().serverDataTable().updateOverwriteAloud(con, recordId(), overwriteAloud));
+        updateRecord(con -> dao().serverDataTable().updateOverwriteAloud(con, recordId(), overwriteAloud));
     }
 
     @Override
     public boolean isNotifyMove() {
-        return sqlProcReturnable(con -> dao().serverDataTable().selectNotifyMove(con, recordId()));
+        return record().notifyMove();
     }
 
     @Override
     public void setNotifyMove(boolean notifyMove) {
-        sqlProc(con -> dao().serverDataTable().updateNotifyMove(con, recordId(), notifyMove));
+        updateRecord(con -> dao().serverDataTable().updateNotifyMove(con, recordId(), notifyMove));
     }
 
     @Override
     public int getReadLimit() {
-        return sqlProcReturnable(con -> dao().serverDataTable().selectReadLimit(con, recordId()));
+        return record().readLimit();
     }
 
     @Override
     public void setReadLimit(int readLimit) {
-        sqlProc(con -> dao().serverDataTable().updateReadLimit(con, recordId(), readLimit));
+        updateRecord(con -> dao().serverDataTable().updateReadLimit(con, recordId(), readLimit));
     }
 
     @Override
     public int getNameReadLimit() {
-        return sqlProcReturnable(con -> dao().serverDataTable().selectNameReadLimit(con, recordId()));
+        return record().nameReadLimit();
     }
 
     @Override
     public void setNameReadLimit(int nameReadLimit) {
-        sqlProc(con -> dao().serverDataTable().updateNameReadLimit(con, recordId(), nameReadLimit));
+        updateRecord(con -> dao().serverDataTable().updateNameReadLimit(con, recordId(), nameReadLimit));
     }
 
     @Override
     public AutoDisconnectMode getAutoDisconnectMode() {
-        return sqlProcReturnable(con -> {
-            int autoDisMode = dao().serverDataTable().selectAutoDisconnectMode(con, recordId());
-            return AutoDisconnectMode.getByName(repository.getAutoDisconnectModeKeyData().getKey(autoDisMode))
-                    .orElse(AutoDisconnectMode.OFF);
-        });
+        return AutoDisconnectMode.getByName(repository.getAutoDisconnectModeKeyData().getKey(record().autoDisconnectModeKeyId()))
+                .orElse(AutoDisconnectMode.OFF);
     }
 
     @Override
     public void setAutoDisconnectMode(AutoDisconnectMode autoDisconnectMode) {
-        sqlProc(con -> {
-            int autoDisModeKeyId = repository.getAutoDisconnectModeKeyData().getId(autoDisconnectMode.getName());
-            dao().serverDataTable().updateAutoDisconnectMode(con, recordId(), autoDisModeKeyId);
-        });
+        int autoDisModeKeyId = repository.getAutoDisconnectModeKeyData().getId(autoDisconnectMode.getName());
+        updateRecord(con -> dao().serverDataTable().updateAutoDisconnectMode(con, recordId(), autoDisModeKeyId));
+    }
+
+    @Override
+    public int getReadInterval() {
+        return record().readInterval();
+    }
+
+    @Override
+    public void setReadInterval(int readInterval) {
+        updateRecord(con -> dao().serverDataTable().updateReadInterval(con, recordId(), readInterval));
     }
 
 }
@@ -61,45 +61,33 @@ final class ServerUserDataImpl extends RecordData<ServerUserKey, ServerUserDataR
 
     @Override
     public @Nullable String getVoiceType() {
-        return sqlProcReturnable(con -> {
-            OptionalInt voiceType = dao().serverUserDataTable().selectVoiceType(con, recordId());
-            if (voiceType.isPresent()) {
-                return repository.getVoiceTypeKeyData().getKey(voiceType.getAsInt());
-            } else {
-                return null;
-            }
-        });
+        Integer voiceType = record().voiceTypeKeyId();
+        return voiceType != null ? repository.getVoiceTypeKeyData().getKey(voiceType) : null;
     }
 
     @Override
     public void setVoiceType(@Nullable String voiceType) {
-        sqlProc(con -> {
-            OptionalInt voiceTypeKeyId = repository.getVoiceTypeKeyData().getIdNullable(voiceType);
-            dao().serverUserDataTable().updateVoiceType(con, recordId(), voiceTypeKeyId.isPresent() ? voiceTypeKeyId.getAsInt() : null);
-        });
+        OptionalInt voiceTypeKeyId = repository.getVoiceTypeKeyData().getIdNullable(voiceType);
+        updateRecord(con -> dao().serverUserDataTable().updateVoiceType(con, recordId(), voiceTypeKeyId.isPresent() ? voiceTypeKeyId.getAsInt() : null));
     }
 
     @Override
     public boolean isDeny() {
-        return sqlProcReturnable(con ->
-                dao().serverUserDataTable().selectDeny(con, recordId())
-        );
+        return record().deny();
     }
 
     @Override
     public void setDeny(boolean deny) {
-        sqlProc(con -> dao().serverUserDataTable().updateDeny(con, recordId(), deny));
+        updateRecord(con -> dao().serverUserDataTable().updateDeny(con, recordId(), deny));
     }
 
     @Override
     public @Nullable String getNickName() {
-        return sqlProcReturnable(con ->
-                dao().serverUserDataTable().selectNickName(con, recordId()).orElse(null)
-        );
+        return record().nickName();
     }
 
     @Override
     public void setNickName(@Nullable String nickName) {
-        sqlProc(con -> dao().serverUserDataTable().updateNickName(con, recordId(), nickName));
+        updateRecord(con -> dao().serverUserDataTable().updateNickName(con, recordId(), nickName));
     }
 }
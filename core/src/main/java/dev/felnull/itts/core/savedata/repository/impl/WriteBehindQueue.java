@@ -0,0 +1,315 @@
+package dev.felnull.itts.core.savedata.repository.impl;
+
+import dev.felnull.itts.core.savedata.repository.WriteBehindMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * レコードの更新をまとめて書き込むための書き込み待ち<br/>
+ * 同じレコードの同じ列への更新は最後のもののみを書き込み、一定間隔ごとに全てのレコードの更新を1つのトランザクションで書き込む<br/>
+ * 書き込みはレコードごとに区切り、失敗したレコードの更新のみを書き込み待ちに戻す<br/>
+ * 続けて失敗した回数が上限を超えたレコードは更新を破棄し、スナップショットをデータベースの値に戻す
+ */
+final class WriteBehindQueue extends SaveDataBase {
+
+    /**
+     * ロガー
+     */
+    private static final Logger LOGGER = LogManager.getLogger(WriteBehindQueue.class);
+
+    /**
+     * 続けて書き込みに失敗した場合に、更新を破棄するまでに再試行する回数
+     */
+    private static final int MAX_RETRIES = 5;
+
+    /**
+     * 書き込みの間隔(ms)
+     */
+    private final long interval;
+
+    /**
+     * 書き込み待ちの更新があるレコード
+     */
+    private final Set<RecordData<?, ?>> pendingRecords = new LinkedHashSet<>();
+
+    /**
+     * 書き込み中のレコード (書き込み待ちと同じく排他して操作)<br/>
+     * 書き込みが確定するまでは、データベースの値より新しい値を持つレコードとして取得できるようにする
+     */
+    private final Set<RecordData<?, ?>> flushingRecords = new LinkedHashSet<>();
+
+    /**
+     * レコードごとの続けて書き込みに失敗した回数 (書き込みの排他中のみ操作)
+     */
+    private final Map<RecordData<?, ?>, Integer> failureCounts = new HashMap<>();
+
+    /**
+     * 書き込みの排他用
+     */
+    private final Object flushLock = new Object();
+
+    /**
+     * ワーカースレッド
+     */
+    private final Thread workerThread;
+
+    /**
+     * 書き込み待ちに追加された更新の数
+     */
+    private final AtomicLong queuedWrites = new AtomicLong();
+
+    /**
+     * 置き換えられた更新の数
+     */
+    private final AtomicLong coalescedWrites = new AtomicLong();
+
+    /**
+     * 書き込んだ更新の数
+     */
+    private final AtomicLong flushedWrites = new AtomicLong();
+
+    /**
+     * 書き込みに成功した回数
+     */
+    private final AtomicLong flushes = new AtomicLong();
+
+    /**
+     * 書き込みに失敗した回数
+     */
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    /**
+     * 最後の書き込みの遅れ(ns)
+     */
+    private final AtomicLong lastFlushLag = new AtomicLong();
+
+    /**
+     * 書き込みの遅れの最大(ns)
+     */
+    private final AtomicLong maxFlushLag = new AtomicLong();
+
+    /**
+     * 書き込み待ちの中で最も古い更新が追加された時間(ns)
+     */
+    private long oldestQueuedTime;
+
+    /**
+     * 停止したかどうか
+     */
+    private volatile boolean stopped;
+
+    WriteBehindQueue(DataRepositoryImpl repository, long interval) {
+        super(repository);
+        this.interval = interval;
+        this.workerThread = new Thread(this::work, "I-TTS Write Behind");
+        this.workerThread.setDaemon(true);
+    }
+
+    void start() {
+        workerThread.start();
+    }
+
+    /**
+     * 停止して、残っている更新を書き込む
+     */
+    void stop() {
+        stopped = true;
+        workerThread.interrupt();
+        flush();
+    }
+
+    /**
+     * 更新のあったレコードを書き込み待ちに追加
+     *
+     * @param recordData レコード
+     * @param coalesced  書き込み待ちの更新を置き換えたかどうか
+     */
+    void enqueue(RecordData<?, ?> recordData, boolean coalesced) {
+        queuedWrites.incrementAndGet();
+
+        if (coalesced) {
+            coalescedWrites.incrementAndGet();
+        }
+
+        synchronized (pendingRecords) {
+            if (pendingRecords.isEmpty()) {
+                oldestQueuedTime = System.nanoTime();
+            }
+
+            pendingRecords.add(recordData);
+        }
+    }
+
+    /**
+     * 書き込み待ちの更新を全て書き込む<br/>
+     * 失敗したレコードは、書き込めなかった更新を書き込み待ちに戻す
+     *
+     * @return 全てのレコードを書き込めたかどうか
+     */
+    boolean flush() {
+        synchronized (flushLock) {
+            List<RecordData<?, ?>> records;
+            long queuedTime;
+
+            synchronized (pendingRecords) {
+                if (pendingRecords.isEmpty()) {
+                    return true;
+                }
+
+                queuedTime = oldestQueuedTime;
+                records = new ArrayList<>(pendingRecords);
+                flushingRecords.addAll(records);
+                pendingRecords.clear();
+            }
+
+            for (RecordData<?, ?> record : records) {
+                record.beginFlush();
+            }
+
+            Set<RecordData<?, ?>> failed = new HashSet<>();
+            int count = 0;
+            boolean committed = true;
+
+            try {
+                count = sqlTransactionProcReturnable(connection -> write(connection, records, failed));
+            } catch (IllegalStateException e) {
+                LOGGER.warn("Failed to commit pending updates", e);
+                failed.addAll(records);
+                committed = false;
+            }
+
+            List<RecordData<?, ?>> retryRecords = new ArrayList<>();
+
+            for (RecordData<?, ?> record : records) {
+                if (!failed.contains(record)) {
+                    record.endFlush(true);
+                    failureCounts.remove(record);
+                    continue;
+                }
+
+                int failures = failureCounts.merge(record, 1, Integer::sum);
+
+                if (failures <= MAX_RETRIES) {
+                    LOGGER.warn("Failed to flush pending updates of a record, retrying later ({}/{})", failures, MAX_RETRIES);
+                    record.endFlush(false);
+                    retryRecords.add(record);
+                    continue;
+                }
+
+                failureCounts.remove(record);
+                drop(record, failures);
+            }
+
+            synchronized (pendingRecords) {
+                if (!retryRecords.isEmpty()) {
+                    // 戻す更新は書き込み中に追加された更新よりも古い
+                    oldestQueuedTime = queuedTime;
+                    pendingRecords.addAll(retryRecords);
+                }
+
+                flushingRecords.removeAll(records);
+            }
+
+            if (committed) {
+                long lag = System.nanoTime() - queuedTime;
+                flushedWrites.addAndGet(count);
+                lastFlushLag.set(lag);
+                maxFlushLag.accumulateAndGet(lag, Math::max);
+            }
+
+            if (failed.isEmpty()) {
+                flushes.incrementAndGet();
+                return true;
+            }
+
+            failedFlushes.incrementAndGet();
+            return false;
+        }
+    }
+
+    private int write(Connection connection, List<RecordData<?, ?>> records, Set<RecordData<?, ?>> failed) throws SQLException {
+        int ret = 0;
+
+        for (RecordData<?, ?> record : records) {
+            // 1つのレコードの失敗で他のレコードの更新まで巻き戻さないように、レコードごとにセーブポイントを設ける
+            Savepoint savepoint = connection.setSavepoint();
+
+            try {
+                ret += record.writeFlushingUpdates(connection);
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback(savepoint);
+                failed.add(record);
+                LOGGER.warn("Failed to write pending updates of a record", e);
+            }
+        }
+
+        return ret;
+    }
+
+    private void drop(RecordData<?, ?> record, int failures) {
+        LOGGER.error("Dropped pending updates of a record after {} failed flushes", failures);
+
+        try {
+            record.dropFlushingUpdates();
+        } catch (IllegalStateException e) {
+            LOGGER.error("Failed to reload a record whose pending updates were dropped", e);
+        }
+    }
+
+    /**
+     * 書き込み待ちか書き込み中の更新があるレコードを取得<br/>
+     * 取得したレコードのスナップショットは、データベースの値より新しい
+     *
+     * @param type 取得するレコードの型
+     * @param <R>  レコードの型
+     * @return 書き込み待ちの更新があるレコードのリスト
+     */
+    <R extends RecordData<?, ?>> List<R> getPendingRecords(Class<R> type) {
+        synchronized (pendingRecords) {
+            return Stream.concat(pendingRecords.stream(), flushingRecords.stream())
+                    .distinct()
+                    .filter(type::isInstance)
+                    .map(type::cast)
+                    .toList();
+        }
+    }
+
+    WriteBehindMetrics getMetrics() {
+        int pending;
+        synchronized (pendingRecords) {
+            pending = (int) Stream.concat(pendingRecords.stream(), flushingRecords.stream()).distinct().count();
+        }
+
+        return new WriteBehindMetrics(pending, queuedWrites.get(), coalescedWrites.get(), flushedWrites.get(),
+                flushes.get(), failedFlushes.get(), lastFlushLag.get(), maxFlushLag.get());
+    }
+
+    private void work() {
+        while (!stopped) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(interval);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return;
+                }
+            }
+
+            flush();
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package dev.felnull.itts.core.tts;
 
 import dev.felnull.itts.core.ITTSRuntimeUse;
-import dev.felnull.itts.core.ImmortalityTimer;
 import dev.felnull.itts.core.audio.LoadedSaidText;
 import dev.felnull.itts.core.audio.VoiceAudioScheduler;
+import dev.felnull.itts.core.savedata.SaveDataManager;
 import dev.felnull.itts.core.tts.saidtext.SaidText;
 import dev.felnull.itts.core.tts.saidtext.VCEventSaidText;
 import net.dv8tion.jda.api.entities.Guild;
@@ -33,11 +33,6 @@ public final class TTSInstance implements ITTSRuntimeUse {
      */
     private static final int LOAD_COUNT = 10;
 
-    /**
-     * 最大生成待機時間
-     */
-    private static final int NEXT_WAIT_TIME = 500;
-
     /**
      * 読み込み前読み上げテキストのキュー
      */
@@ -54,14 +49,14 @@ public final class TTSInstance implements ITTSRuntimeUse {
     private final AtomicReference<LoadedSaidTextEntry> currentSaidText = new AtomicReference<>();
 
     /**
-     * VC参加読み上げの制御
+     * 現在の読み上げの後に続けて再生する読み上げテキスト
      */
-    private final VCEventSaidRegulator vcEventSaidRegulator = new VCEventSaidRegulator(this);
+    private final AtomicReference<LoadedSaidTextEntry> armedSaidText = new AtomicReference<>();
 
     /**
-     * 次の読み上げを行うかどうか
+     * VC参加読み上げの制御
      */
-    private final AtomicBoolean next = new AtomicBoolean(true);
+    private final VCEventSaidRegulator vcEventSaidRegulator = new VCEventSaidRegulator(this);
 
     /**
      * 破棄済みかどうか
@@ -83,6 +78,11 @@ public final class TTSInstance implements ITTSRuntimeUse {
      */
     private final AtomicReference<UUID> currentReadAloudUUID = new AtomicReference<>();
 
+    /**
+     * サーバーID
+     */
+    private final long guildId;
+
     /**
      * オーディオチャンネル
      */
@@ -108,6 +108,7 @@ public final class TTSInstance implements ITTSRuntimeUse {
      */
     public TTSInstance(Guild guild, long audioChannel, long textChannel, boolean overwriteAloud) {
         this.voiceAudioScheduler = new VoiceAudioScheduler(guild.getAudioManager(), getVoiceAudioManager(), guild.getIdLong());
+        this.guildId = guild.getIdLong();
         this.audioChannel = audioChannel;
         this.textChannel = textChannel;
         this.overwriteAloud = overwriteAloud;
@@ -140,6 +141,11 @@ public final class TTSInstance implements ITTSRuntimeUse {
             cst.dispose();
         }
 
+        LoadedSaidTextEntry armed = armedSaidText.get();
+        if (armed != null) {
+            armed.dispose();
+        }
+
         voiceAudioScheduler.dispose();
     }
 
@@ -196,7 +202,11 @@ public final class TTSInstance implements ITTSRuntimeUse {
                 ct++;
             }
 
-            next.compareAndSet(false, true);
+            LoadedSaidTextEntry armed = armedSaidText.getAndSet(null);
+            if (armed != null) {
+                armed.dispose();
+                ct++;
+            }
 
             updateQueue();
 
@@ -242,28 +252,60 @@ public final class TTSInstance implements ITTSRuntimeUse {
                 loadSaidTextQueue.add(new LoadedSaidTextEntry(saidTextQueue.poll()));
             }
 
+            LoadedSaidTextEntry armed = armedSaidText.get();
+            if (armed != null && armed.isFailure()) {
+                armed.dispose();
+                armedSaidText.set(null);
+            }
+
             LoadedSaidTextEntry cst = currentSaidText.get();
 
-            if ((cst == null || cst.isFailure() || cst.isAlreadyUsed()) && next.get()) {
+            if (cst == null || cst.isFailure() || cst.isAlreadyUsed()) {
 
                 if (cst != null) {
                     cst.dispose();
                 }
 
-                if (!loadSaidTextQueue.isEmpty()) {
-                    currentSaidText.set(loadSaidTextQueue.poll());
-                    sayStart();
-                } else {
-                    currentSaidText.set(null);
+                // 続けて再生する予定だったものがあれば、それを現在の読み上げにする
+                cst = armedSaidText.getAndSet(null);
+                if (cst == null) {
+                    cst = loadSaidTextQueue.poll();
                 }
 
+                currentSaidText.set(cst);
+
                 while (!saidTextQueue.isEmpty()) {
                     loadSaidTextQueue.add(new LoadedSaidTextEntry(saidTextQueue.poll()));
                 }
             }
+
+            // 再生中に次の読み上げを用意しておき、終了と同時に切り替えられるようにする
+            if (cst != null && armedSaidText.get() == null && !loadSaidTextQueue.isEmpty()) {
+                armedSaidText.set(loadSaidTextQueue.poll());
+            }
+
+            handOff();
+        }
+    }
+
+    private void handOff() {
+        LoadedSaidTextEntry cst = currentSaidText.get();
+
+        // 順番が入れ替わらないように、現在の読み上げを渡した後に次の読み上げを渡す
+        if (cst == null || !cst.handOff()) {
+            return;
+        }
+
+        LoadedSaidTextEntry armed = armedSaidText.get();
+        if (armed != null) {
+            armed.handOff();
         }
     }
 
+    private int getReadInterval() {
+        return SaveDataManager.getInstance().getRepository().getServerData(guildId).getReadInterval();
+    }
+
     private void sayStart() {
         final UUID uuid = UUID.randomUUID();
         currentReadAloudUUID.set(uuid);
@@ -277,44 +319,14 @@ public final class TTSInstance implements ITTSRuntimeUse {
                 if (!(throwable instanceof CancellationException)) {
                     getITTSLogger().error("Failed to load voice audio", throwable);
                 }
-
-                if (!overwriteAloud) {
-                    updateQueue();
-                }
-
                 return;
             }
 
-            if (loadedSaidText.isFailure()) {
-                updateQueue();
-            } else {
-                next.set(false);
+            if (!loadedSaidText.isFailure()) {
                 voiceAudioScheduler.play(loadedSaidText, () -> {
-                    if (!uuid.equals(currentReadAloudUUID.get())) {
-                        return;
-                    }
-
-                    if (overwriteAloud) {
+                    if (uuid.equals(currentReadAloudUUID.get())) {
                         loadedSaidText.dispose();
                     }
-
-                    if (!overwriteAloud) {
-                        updateQueue();
-
-                        getImmortalityTimer().schedule(new ImmortalityTimer.ImmortalityTimerTask() {
-                            @Override
-                            public void run() {
-                                CompletableFuture.runAsync(() -> {
-                                    if (!uuid.equals(currentReadAloudUUID.get())) {
-                                        return;
-                                    }
-
-                                    next.set(true);
-                                    updateQueue();
-                                }, getAsyncExecutor());
-                            }
-                        }, NEXT_WAIT_TIME);
-                    }
                 });
             }
 
@@ -343,15 +355,47 @@ public final class TTSInstance implements ITTSRuntimeUse {
          */
         private final AtomicBoolean failure = new AtomicBoolean();
 
+        /**
+         * 再生を音声スケジューラに渡したかどうか (updateLockを取得して操作)
+         */
+        private boolean handedOff;
+
         private LoadedSaidTextEntry(SaidText saidText) {
             this.saidText = saidText;
             this.completableFuture = voiceAudioScheduler.load(saidText);
             this.completableFuture.whenCompleteAsync((loadedSaidText, throwable) -> {
                 failure.set(throwable != null);
+
+                if (!overwriteAloud) {
+                    if (throwable != null && !(throwable instanceof CancellationException)) {
+                        getITTSLogger().error("Failed to load voice audio", throwable);
+                    }
+
+                    updateQueue();
+                }
             }, getAsyncExecutor());
         }
 
+        private boolean handOff() {
+            if (handedOff) {
+                return true;
+            }
+
+            if (!completableFuture.isDone() || completableFuture.isCompletedExceptionally() || isFailure()) {
+                return false;
+            }
+
+            LoadedSaidText loadedSaidText = completableFuture.join();
+            handedOff = true;
+            voiceAudioScheduler.playNext(loadedSaidText, getReadInterval(),
+                    () -> CompletableFuture.runAsync(TTSInstance.this::updateQueue, getAsyncExecutor()));
+
+            return true;
+        }
+
         private void dispose() {
+            // 読み込み中の場合は合成を中止する
+            completableFuture.cancel(false);
             completableFuture.thenAcceptAsync(LoadedSaidText::dispose, getAsyncExecutor());
         }
 
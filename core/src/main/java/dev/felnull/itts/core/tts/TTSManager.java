@@ -1,10 +1,14 @@
 package dev.felnull.itts.core.tts;
 
 import dev.felnull.itts.core.ITTSRuntimeUse;
+import dev.felnull.itts.core.dict.BoundedRegex;
+import dev.felnull.itts.core.dict.RegexTimeoutCounter;
+import dev.felnull.itts.core.dict.RegexTimeoutException;
 import dev.felnull.itts.core.savedata.SaveDataManager;
 import dev.felnull.itts.core.savedata.legacy.LegacySaveDataLayer;
 import dev.felnull.itts.core.savedata.repository.BotStateData;
 import dev.felnull.itts.core.savedata.repository.DataRepository;
+import dev.felnull.itts.core.savedata.repository.MessageContext;
 import dev.felnull.itts.core.tts.saidtext.FileUploadSaidText;
 import dev.felnull.itts.core.tts.saidtext.MessageSaidText;
 import dev.felnull.itts.core.tts.saidtext.SaidText;
@@ -23,7 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * TTS管理
@@ -37,6 +41,16 @@ public class TTSManager implements ITTSRuntimeUse {
      */
     private final Map<Long, TTSInstance> instances = new ConcurrentHashMap<>();
 
+    /**
+     * サーバーごとのコンパイル済みの読み上げない正規表現
+     */
+    private final Map<Long, IgnorePattern> ignorePatterns = new ConcurrentHashMap<>();
+
+    /**
+     * サーバーごとの読み上げない正規表現の評価が続けて制限時間を超えた回数
+     */
+    private final RegexTimeoutCounter<Long> ignoreTimeoutCounter = new RegexTimeoutCounter<>();
+
     public int getTTSCount() {
         return instances.size();
     }
@@ -131,6 +145,10 @@ public class TTSManager implements ITTSRuntimeUse {
 
         instance.dispose();
         instances.remove(guildId);
+        getVoiceManager().getSynthesisScheduler().removeGuildMetrics(guildId);
+        getDictionaryManager().removePipeline(guildId);
+        ignorePatterns.remove(guildId);
+        ignoreTimeoutCounter.remove(guildId);
 
         DataRepository dataRepository = SaveDataManager.getInstance().getRepository();
         BotStateData botStateData = dataRepository.getBotStateData(guildId, getBot().getBotId());
@@ -182,17 +200,55 @@ public class TTSManager implements ITTSRuntimeUse {
             return;
         }
 
-        LegacySaveDataLayer legacySaveDataLayer = SaveDataManager.getInstance().getLegacySaveDataLayer();
+        sayGuildMemberText(guild, messageChannel, member, message.getContentDisplay(), voice -> new MessageSaidText(message, voice));
+    }
 
-        String ignoreRegex = legacySaveDataLayer.getServerData(guild.getIdLong()).getIgnoreRegex();
-        if (ignoreRegex != null) {
-            Pattern ignorePattern = Pattern.compile(ignoreRegex);
-            if (ignorePattern.matcher(message.getContentDisplay()).matches()) {
-                return;
+    /**
+     * 読み上げない正規表現に一致するかどうか<br/>
+     * コンパイル済みの正規表現は正規表現が変更されるまで使い回し、不正なものや評価が続けて制限時間を超えたものは変更されるまで無効にする
+     *
+     * @param guildId     サーバーID
+     * @param ignoreRegex 読み上げない正規表現
+     * @param text        テキスト
+     * @return 一致すればtrue
+     */
+    private boolean isIgnore(long guildId, String ignoreRegex, String text) {
+        IgnorePattern ignorePattern = ignorePatterns.get(guildId);
+
+        if (ignorePattern == null || !ignorePattern.source().equals(ignoreRegex)) {
+            BoundedRegex regex = null;
+
+            try {
+                regex = BoundedRegex.compile(ignoreRegex);
+            } catch (PatternSyntaxException e) {
+                getITTSLogger().warn("Disabled ignore regex in guild {} (invalid pattern): {}", guildId, ignoreRegex);
             }
+
+            ignorePattern = new IgnorePattern(ignoreRegex, regex);
+            ignorePatterns.put(guildId, ignorePattern);
+            ignoreTimeoutCounter.remove(guildId);
+        }
+
+        if (ignorePattern.regex() == null) {
+            return false;
         }
 
-        sayGuildMemberText(guild, messageChannel, member, voice -> new MessageSaidText(message, voice));
+        try {
+            boolean ret = ignorePattern.regex().matches(text);
+            ignoreTimeoutCounter.onSuccess(guildId);
+            return ret;
+        } catch (RegexTimeoutException e) {
+            int timeouts = ignoreTimeoutCounter.onTimeout(guildId);
+
+            if (!RegexTimeoutCounter.shouldDisable(timeouts)) {
+                getITTSLogger().warn("Ignore regex in guild {} timed out ({}/{}): {}", guildId, timeouts, BoundedRegex.DISABLE_TIMEOUT_COUNT, ignoreRegex);
+            } else {
+                getITTSLogger().warn("Disabled ignore regex in guild {} (evaluation timed out): {}", guildId, ignoreRegex);
+                ignorePatterns.put(guildId, new IgnorePattern(ignoreRegex, null));
+            }
+
+            return false;
+        }
     }
 
     /**
@@ -221,8 +277,21 @@ public class TTSManager implements ITTSRuntimeUse {
      */
     public void sayGuildMemberText(@NotNull Guild guild, @NotNull MessageChannel messageChannel,
                                    @Nullable Member member, @NotNull Function<Voice, SaidText> saidTextFactory) {
-        LegacySaveDataLayer legacySaveDataLayer = SaveDataManager.getInstance().getLegacySaveDataLayer();
+        sayGuildMemberText(guild, messageChannel, member, null, saidTextFactory);
+    }
 
+    /**
+     * サーバーメンバーのテキスト読み上げを行う<br/>
+     * 読み上げに必要な設定は、読み上げ中のチャンネルであることを確認してからまとめて取得する
+     *
+     * @param guild           サーバー
+     * @param messageChannel  メッセージのチャンネル
+     * @param member          メンバー
+     * @param ignoreCheckText 読み上げない正規表現で判定するテキスト、判定しない場合はnull
+     * @param saidTextFactory 読み上げテキストの生成ファンクション
+     */
+    private void sayGuildMemberText(@NotNull Guild guild, @NotNull MessageChannel messageChannel, @Nullable Member member,
+                                    @Nullable String ignoreCheckText, @NotNull Function<Voice, SaidText> saidTextFactory) {
         if (!canSpeak(guild)) {
             return;
         }
@@ -241,16 +310,22 @@ public class TTSManager implements ITTSRuntimeUse {
 
         long userId = user.getIdLong();
 
-        if (legacySaveDataLayer.getServerUserData(guildId, userId).isDeny()) {
+        TTSInstance ti = getTTSInstance(guildId);
+        if (ti == null || ti.getTextChannel() != textChannelId) {
             return;
         }
 
-        TTSInstance ti = getTTSInstance(guildId);
-        if (ti == null || ti.getTextChannel() != textChannelId) {
+        MessageContext context = SaveDataManager.getInstance().getRepository().getMessageContext(guildId, userId);
+
+        if (ignoreCheckText != null && context.ignoreRegex() != null && isIgnore(guildId, context.ignoreRegex(), ignoreCheckText)) {
+            return;
+        }
+
+        if (context.deny()) {
             return;
         }
 
-        if (legacySaveDataLayer.getServerData(guildId).isNeedJoin()) {
+        if (context.needJoin()) {
             GuildVoiceState vs = member.getVoiceState();
             if (vs == null) {
                 return;
@@ -262,7 +337,7 @@ public class TTSManager implements ITTSRuntimeUse {
             }
         }
 
-        VoiceType vt = getVoiceManager().getVoiceType(guildId, userId);
+        VoiceType vt = getVoiceManager().getVoiceType(context);
         if (vt == null) {
             return;
         }
@@ -374,4 +449,14 @@ public class TTSManager implements ITTSRuntimeUse {
 
         ttsInstance.sayText(new VCEventSaidText(voice, vcEventType, member, join, left));
     }
+
+    /**
+     * コンパイル済みの読み上げない正規表現
+     *
+     * @param source 元の正規表現
+     * @param regex  制限時間付きの正規表現、無効な場合はnull
+     * @author MORIMORI0317
+     */
+    private record IgnorePattern(@NotNull String source, @Nullable BoundedRegex regex) {
+    }
 }
@@ -1,5 +1,12 @@
 package dev.felnull.itts.core.util;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 文字列関係のユーティリティ
  *
@@ -34,4 +41,99 @@ public final class StringUtils {
         }
         return point;
     }
+
+    /**
+     * 文章を文の区切りで分割する<br/>
+     * 短すぎる文は次の文と結合し、最大文字数を超える文は読点や空白、それも無い場合は最大文字数で分割する
+     *
+     * @param text      文章
+     * @param minLength 1つあたりの最小文字数
+     * @param maxLength 1つあたりの最大文字数
+     * @return 分割した文、空白のみの場合は空
+     */
+    @NotNull
+    @Unmodifiable
+    public static List<String> splitSentences(@NotNull String text, int minLength, int maxLength) {
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("maxLength must be positive");
+        }
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int start = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            if (!isSentenceEnd(text, i)) {
+                continue;
+            }
+
+            int end = i + 1;
+
+            // 連続する終端記号はまとめる
+            while (end < text.length() && isSentenceEnd(text, end)) {
+                end++;
+            }
+
+            appendSentence(chunks, current, text.substring(start, end), minLength, maxLength);
+            start = end;
+            i = end - 1;
+        }
+
+        if (start < text.length()) {
+            appendSentence(chunks, current, text.substring(start), minLength, maxLength);
+        }
+
+        if (!current.toString().isBlank()) {
+            chunks.add(current.toString());
+        }
+
+        return Collections.unmodifiableList(chunks);
+    }
+
+    private static void appendSentence(List<String> chunks, StringBuilder current, String sentence, int minLength, int maxLength) {
+        if (!current.isEmpty() && current.length() + sentence.length() > maxLength && !current.toString().isBlank()) {
+            chunks.add(current.toString());
+            current.setLength(0);
+        }
+
+        current.append(sentence);
+
+        while (current.length() > maxLength) {
+            int cut = findCutPosition(current, maxLength);
+            chunks.add(current.substring(0, cut));
+            current.delete(0, cut);
+        }
+
+        if (current.length() >= minLength && !current.toString().isBlank()) {
+            chunks.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private static int findCutPosition(CharSequence text, int maxLength) {
+        for (int i = maxLength; i > maxLength / 2; i--) {
+            char c = text.charAt(i - 1);
+            if (c == '、' || c == '，' || c == ',' || Character.isWhitespace(c)) {
+                return i;
+            }
+        }
+
+        // サロゲートペアの途中で分割しない
+        if (Character.isHighSurrogate(text.charAt(maxLength - 1)) && maxLength > 1) {
+            return maxLength - 1;
+        }
+
+        return maxLength;
+    }
+
+    private static boolean isSentenceEnd(String text, int index) {
+        char c = text.charAt(index);
+
+        return switch (c) {
+            case '。', '．', '！', '？', '\n' -> true;
+            // 半角記号は小数点や省略記号と区別するため、後ろが空白か終端の場合のみ
+            case '.', '!', '?' -> index + 1 >= text.length() || Character.isWhitespace(text.charAt(index + 1)) || isSentenceEnd(text, index + 1);
+            default -> false;
+        };
+    }
 }
@@ -83,9 +83,33 @@ public final class TTSUtils {
      * @return 読み上げてるテキスト
      */
     public static String roundText(Voice voice, long guildId, String text, boolean name) {
+        return roundText(voice, guildId, text, name, false);
+    }
+
+    /**
+     * 対象のテキストを読み上げるテキストに変換する<br/>
+     * "以下省略"などの処理を行う<br/>
+     * 分割して読み上げる場合は声の最大文字数を分割した1つごとに適用するため、ここではサーバーの最大文字数のみ適用する
+     *
+     * @param voice   音声タイプ
+     * @param guildId サーバーID
+     * @param text    テキスト
+     * @param name    名前かどうか
+     * @param chunked 分割して読み上げるかどうか
+     * @return 読み上げてるテキスト
+     */
+    public static String roundText(Voice voice, long guildId, String text, boolean name, boolean chunked) {
         LegacySaveDataLayer legacySaveDataLayer = SaveDataManager.getInstance().getLegacySaveDataLayer();
         LegacyServerData sud = legacySaveDataLayer.getServerData(guildId);
-        int max = name ? sud.getNameReadLimit() : Math.min(sud.getReadLimit(), voice.getReadLimit());
+        int max;
+
+        if (name) {
+            max = sud.getNameReadLimit();
+        } else if (chunked) {
+            max = sud.getReadLimit();
+        } else {
+            max = Math.min(sud.getReadLimit(), voice.getReadLimit());
+        }
 
         if (text.length() <= max) {
             return text;
@@ -2,8 +2,10 @@ package dev.felnull.itts.core.voice;
 
 import com.google.common.hash.HashCode;
 import com.google.common.hash.Hashing;
+import dev.felnull.itts.core.ITTSRuntime;
 import dev.felnull.itts.core.audio.loader.CachedVoiceTrackLoader;
 import dev.felnull.itts.core.audio.loader.VoiceTrackLoader;
+import dev.felnull.itts.core.config.voicetype.VoiceTypeConfig;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -42,8 +44,20 @@ public abstract class CachedVoice extends BaseVoice {
      */
     protected abstract String createHashCodeChars();
 
+    /**
+     * 声の種類のコンフィグを取得
+     *
+     * @return コンフィグ
+     */
+    protected abstract VoiceTypeConfig getVoiceTypeConfig();
+
     @Override
     public VoiceTrackLoader createVoiceTrackLoader(String text) {
+        return createVoiceTrackLoader(text, SynthesisScheduler.UNKNOWN_GUILD_ID);
+    }
+
+    @Override
+    public VoiceTrackLoader createVoiceTrackLoader(String text, long guildId) {
         HashCode hash = Hashing.murmur3_128().newHasher()
                 .putString(voiceType.getId(), StandardCharsets.UTF_8)
                 .putString(text, StandardCharsets.UTF_8)
@@ -55,7 +69,10 @@ public abstract class CachedVoice extends BaseVoice {
                 throw new RuntimeException("Voice is not available");
             }
 
-            return openVoiceStream(text);
+            // キャッシュに無い場合のみ、合成の順番を待つ
+            SynthesisScheduler scheduler = ITTSRuntime.getInstance().getVoiceManager().getSynthesisScheduler();
+            return scheduler.open(voiceType.getCategory().getId(), getVoiceTypeConfig().getMaxConcurrentSynthesis(), guildId, text,
+                    () -> openVoiceStream(text));
         });
     }
 }
@@ -0,0 +1,24 @@
+package dev.felnull.itts.core.voice;
+
+/**
+ * サーバーごとの音声合成の統計
+ *
+ * @param guildId       サーバーID
+ * @param queued        待機中の数
+ * @param running       合成中の数
+ * @param completed     完了した数
+ * @param totalWaitTime 合成開始までの待機時間の合計(ns)
+ * @author MORIMORI0317
+ */
+public record GuildSynthesisMetrics(long guildId, int queued, int running, long completed, long totalWaitTime) {
+
+    /**
+     * 合成開始までの平均待機時間を取得
+     *
+     * @return 平均待機時間(ns)
+     */
+    public long averageWaitTime() {
+        long started = completed + running;
+        return started > 0 ? totalWaitTime / started : 0;
+    }
+}
@@ -0,0 +1,379 @@
+package dev.felnull.itts.core.voice;
+
+import dev.felnull.itts.core.cache.StreamOpener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 全サーバー共通の音声合成のスケジューラー<br/>
+ * エンジンごとに同時に合成する数を制限し、空きが出た場合は次の順で待機中の合成を開始する<br/>
+ * サーバー間はテキストの長さを重みとした公平キューで選び、同じサーバー内では短いテキストを優先する
+ *
+ * @author MORIMORI0317
+ */
+public class SynthesisScheduler {
+
+    /**
+     * サーバーが不明な場合のサーバーID
+     */
+    public static final long UNKNOWN_GUILD_ID = 0;
+
+    /**
+     * 排他用オブジェクト
+     */
+    private final Object lock = new Object();
+
+    /**
+     * エンジンごとの待機キュー
+     */
+    private final Map<String, EngineQueue> engines = new HashMap<>();
+
+    /**
+     * サーバーごとの統計
+     */
+    private final Map<Long, GuildStats> guildStats = new ConcurrentHashMap<>();
+
+    /**
+     * 受付順の番号
+     */
+    private long sequence;
+
+    /**
+     * 合成の順番を待ってからストリームを開く<br/>
+     * 返したストリームを閉じるまで同時合成数の枠を使用する
+     *
+     * @param engineId       エンジンID
+     * @param maxConcurrency エンジンの最大同時合成数
+     * @param guildId        サーバーID
+     * @param text           合成するテキスト
+     * @param opener         ストリームのオープナー
+     * @return ストリーム
+     * @throws IOException          IO例外
+     * @throws InterruptedException 割り込み例外
+     */
+    public InputStream open(@NotNull String engineId, int maxConcurrency, long guildId, @NotNull String text, @NotNull StreamOpener opener)
+            throws IOException, InterruptedException {
+        Ticket ticket = acquire(engineId, maxConcurrency, guildId, Math.max(text.length(), 1));
+        boolean success = false;
+
+        try {
+            InputStream in = new TicketInputStream(opener.openStream(), ticket);
+            success = true;
+            return in;
+        } finally {
+            if (!success) {
+                release(ticket);
+            }
+        }
+    }
+
+    /**
+     * サーバーの統計を取得
+     *
+     * @param guildId サーバーID
+     * @return 統計、一度も合成していない場合はnull
+     */
+    @Nullable
+    public GuildSynthesisMetrics getGuildMetrics(long guildId) {
+        GuildStats stats = guildStats.get(guildId);
+        return stats != null ? stats.toMetrics(guildId) : null;
+    }
+
+    /**
+     * 全サーバーの統計を取得
+     *
+     * @return サーバーIDと統計のマップ
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<Long, GuildSynthesisMetrics> getAllGuildMetrics() {
+        Map<Long, GuildSynthesisMetrics> ret = new HashMap<>();
+        guildStats.forEach((guildId, stats) -> ret.put(guildId, stats.toMetrics(guildId)));
+        return Map.copyOf(ret);
+    }
+
+    /**
+     * サーバーの統計を破棄
+     *
+     * @param guildId サーバーID
+     */
+    public void removeGuildMetrics(long guildId) {
+        guildStats.computeIfPresent(guildId, (id, stats) -> stats.queued.get() == 0 && stats.running.get() == 0 ? null : stats);
+    }
+
+    private Ticket acquire(String engineId, int maxConcurrency, long guildId, int cost) throws InterruptedException {
+        GuildStats stats = guildStats.computeIfAbsent(guildId, id -> new GuildStats());
+        Ticket ticket;
+
+        synchronized (lock) {
+            EngineQueue engine = engines.computeIfAbsent(engineId, id -> new EngineQueue());
+            engine.maxConcurrency = Math.max(maxConcurrency, 1);
+
+            ticket = new Ticket(engine, guildId, stats, cost, sequence++);
+            engine.guilds.computeIfAbsent(guildId, id -> new GuildQueue()).tickets.add(ticket);
+            stats.queued.incrementAndGet();
+
+            dispatch(engine);
+
+            try {
+                while (!ticket.granted) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                if (ticket.granted) {
+                    release(ticket);
+                } else {
+                    cancel(ticket);
+                }
+                throw e;
+            }
+        }
+
+        return ticket;
+    }
+
+    private void release(Ticket ticket) {
+        if (!ticket.released.compareAndSet(false, true)) {
+            return;
+        }
+
+        ticket.stats.running.decrementAndGet();
+        ticket.stats.completed.incrementAndGet();
+
+        synchronized (lock) {
+            ticket.engine.running--;
+            dispatch(ticket.engine);
+        }
+    }
+
+    private void cancel(Ticket ticket) {
+        GuildQueue guild = ticket.engine.guilds.get(ticket.guildId);
+
+        if (guild != null && guild.tickets.remove(ticket)) {
+            ticket.stats.queued.decrementAndGet();
+
+            if (guild.tickets.isEmpty()) {
+                ticket.engine.guilds.remove(ticket.guildId);
+            }
+        }
+    }
+
+    private void dispatch(EngineQueue engine) {
+        boolean granted = false;
+
+        while (engine.running < engine.maxConcurrency && !engine.guilds.isEmpty()) {
+            Map.Entry<Long, GuildQueue> next = null;
+            long nextStart = 0;
+            long nextFinish = Long.MAX_VALUE;
+
+            // 先頭の合成を行った場合の仮想終了時間が最も早いサーバーを選ぶ
+            for (Map.Entry<Long, GuildQueue> entry : engine.guilds.entrySet()) {
+                GuildQueue guild = entry.getValue();
+                long start = Math.max(guild.finishTag, engine.virtualTime);
+                long finish = start + guild.tickets.peek().cost;
+
+                if (finish < nextFinish) {
+                    next = entry;
+                    nextStart = start;
+                    nextFinish = finish;
+                }
+            }
+
+            GuildQueue guild = next.getValue();
+            Ticket ticket = guild.tickets.poll();
+
+            engine.virtualTime = nextStart;
+            guild.finishTag = nextFinish;
+            engine.running++;
+
+            if (guild.tickets.isEmpty()) {
+                // 待機が無くなったサーバーは次回に現在の仮想時間から再開する
+                engine.guilds.remove(next.getKey());
+            }
+
+            ticket.stats.queued.decrementAndGet();
+            ticket.stats.running.incrementAndGet();
+            ticket.stats.totalWaitTime.addAndGet(System.nanoTime() - ticket.createTime);
+            ticket.granted = true;
+            granted = true;
+        }
+
+        if (granted) {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * エンジンごとの待機キュー
+     *
+     * @author MORIMORI0317
+     */
+    private static final class EngineQueue {
+
+        /**
+         * 待機中の合成があるサーバーのキュー
+         */
+        private final Map<Long, GuildQueue> guilds = new HashMap<>();
+
+        /**
+         * 最大同時合成数
+         */
+        private int maxConcurrency;
+
+        /**
+         * 合成中の数
+         */
+        private int running;
+
+        /**
+         * 仮想時間
+         */
+        private long virtualTime;
+    }
+
+    /**
+     * サーバーごとの待機キュー
+     *
+     * @author MORIMORI0317
+     */
+    private static final class GuildQueue {
+
+        /**
+         * 短いテキスト順の待機中の合成
+         */
+        private final PriorityQueue<Ticket> tickets = new PriorityQueue<>(Comparator.<Ticket>comparingInt(t -> t.cost).thenComparingLong(t -> t.sequence));
+
+        /**
+         * 最後に開始した合成の仮想終了時間
+         */
+        private long finishTag;
+    }
+
+    /**
+     * サーバーごとの統計
+     *
+     * @author MORIMORI0317
+     */
+    private static final class GuildStats {
+
+        /**
+         * 待機中の数
+         */
+        private final AtomicInteger queued = new AtomicInteger();
+
+        /**
+         * 合成中の数
+         */
+        private final AtomicInteger running = new AtomicInteger();
+
+        /**
+         * 完了した数
+         */
+        private final AtomicLong completed = new AtomicLong();
+
+        /**
+         * 待機時間の合計(ns)
+         */
+        private final AtomicLong totalWaitTime = new AtomicLong();
+
+        private GuildSynthesisMetrics toMetrics(long guildId) {
+            return new GuildSynthesisMetrics(guildId, queued.get(), running.get(), completed.get(), totalWaitTime.get());
+        }
+    }
+
+    /**
+     * 合成の順番待ち
+     *
+     * @author MORIMORI0317
+     */
+    private static final class Ticket {
+
+        /**
+         * エンジンのキュー
+         */
+        private final EngineQueue engine;
+
+        /**
+         * サーバーID
+         */
+        private final long guildId;
+
+        /**
+         * サーバーの統計
+         */
+        private final GuildStats stats;
+
+        /**
+         * コスト (テキストの長さ)
+         */
+        private final int cost;
+
+        /**
+         * 受付順の番号
+         */
+        private final long sequence;
+
+        /**
+         * 受付時間(ns)
+         */
+        private final long createTime = System.nanoTime();
+
+        /**
+         * 枠を返却したかどうか
+         */
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * 合成を開始できるかどうか
+         */
+        private boolean granted;
+
+        private Ticket(EngineQueue engine, long guildId, GuildStats stats, int cost, long sequence) {
+            this.engine = engine;
+            this.guildId = guildId;
+            this.stats = stats;
+            this.cost = cost;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * 閉じた時に枠を返却するストリーム
+     *
+     * @author MORIMORI0317
+     */
+    private final class TicketInputStream extends FilterInputStream {
+
+        /**
+         * 順番待ち
+         */
+        private final Ticket ticket;
+
+        private TicketInputStream(InputStream in, Ticket ticket) {
+            super(in);
+            this.ticket = ticket;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release(ticket);
+            }
+        }
+    }
+}
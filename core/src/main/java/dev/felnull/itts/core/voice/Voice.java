@@ -24,6 +24,18 @@ public interface Voice {
      */
     VoiceTrackLoader createVoiceTrackLoader(String text);
 
+    /**
+     * サーバーを指定して声トラックローダーを作成<br/>
+     * 合成の順番待ちでサーバー間の公平性を保つために利用する
+     *
+     * @param text    テキスト
+     * @param guildId サーバーID
+     * @return 声トラックローダー
+     */
+    default VoiceTrackLoader createVoiceTrackLoader(String text, long guildId) {
+        return createVoiceTrackLoader(text);
+    }
+
     /**
      * 声タイプを取得
      *
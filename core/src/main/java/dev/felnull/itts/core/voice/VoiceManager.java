@@ -4,6 +4,7 @@ import dev.felnull.itts.core.ITTSBaseManager;
 import dev.felnull.itts.core.savedata.SaveDataManager;
 import dev.felnull.itts.core.savedata.legacy.LegacySaveDataLayer;
 import dev.felnull.itts.core.savedata.legacy.LegacyServerUserData;
+import dev.felnull.itts.core.savedata.repository.MessageContext;
 import dev.felnull.itts.core.voice.coeiroink.CoeiroinkManager;
 import dev.felnull.itts.core.voice.voicetext.VoiceTextManager;
 import dev.felnull.itts.core.voice.voicevox.VoicevoxManager;
@@ -49,6 +50,11 @@ public class VoiceManager implements ITTSBaseManager {
             new VoicevoxManager("sharevox", () ->
                     getConfigManager().getConfig().getSharevoxConfig().getApiUrls(), () -> getConfigManager().getConfig().getSharevoxConfig());
 
+    /**
+     * 音声合成のスケジューラー
+     */
+    private final SynthesisScheduler synthesisScheduler = new SynthesisScheduler();
+
     /**
      * 全音声タイプ
      */
@@ -74,6 +80,10 @@ public class VoiceManager implements ITTSBaseManager {
                 }, getAsyncExecutor());
     }
 
+    public SynthesisScheduler getSynthesisScheduler() {
+        return synthesisScheduler;
+    }
+
     public VoiceTextManager getVoiceTextManager() {
         return voiceTextManager;
     }
@@ -172,4 +182,25 @@ public class VoiceManager implements ITTSBaseManager {
 
         return vt.orElseGet(() -> getDefaultVoiceType(guildId));
     }
+
+    /**
+     * メッセージのコンテキストから声タイプを取得
+     *
+     * @param context メッセージのコンテキスト
+     * @return 声タイプ
+     */
+    @Nullable
+    public VoiceType getVoiceType(@NotNull MessageContext context) {
+        Optional<VoiceType> vt = getVoiceType(context.voiceType());
+
+        if (vt.isPresent()) {
+            return vt.get();
+        }
+
+        if (context.defaultVoiceType() == null) {
+            return getDefaultVoiceType();
+        }
+
+        return getVoiceType(context.defaultVoiceType()).orElseGet(this::getDefaultVoiceType);
+    }
 }
@@ -5,6 +5,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import dev.felnull.itts.core.ITTSNetworkManager;
 import dev.felnull.itts.core.ITTSRuntime;
 import dev.felnull.itts.core.config.voicetype.VoicevoxConfig;
 import dev.felnull.itts.core.voice.VoiceType;
@@ -141,14 +142,14 @@ public class CoeiroinkManager {
     protected InputStream openVoiceStream(String text, int styleId, String speakerUuid) {
         JsonObject qry = createSynthesisParam(text, styleId, speakerUuid);
         try (var urlUse = balancer.getUseURL()) {
-            HttpClient hc = ITTSRuntime.getInstance().getNetworkManager().getHttpClient();
+            ITTSNetworkManager nm = ITTSRuntime.getInstance().getNetworkManager();
             HttpRequest request = HttpRequest.newBuilder(urlUse.getCIURL().createURI("synthesis"))
                     .timeout(Duration.of(10, ChronoUnit.SECONDS))
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(GSON.toJson(qry)))
                     .build();
 
-            HttpResponse<InputStream> res = hc.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            HttpResponse<InputStream> res = nm.sendInterruptibly(request, HttpResponse.BodyHandlers.ofInputStream());
 
             Optional<String> content = res.headers().firstValue("content-type");
             int code = res.statusCode();
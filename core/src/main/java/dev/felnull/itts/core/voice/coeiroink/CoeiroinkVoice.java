@@ -1,5 +1,6 @@
 package dev.felnull.itts.core.voice.coeiroink;
 
+import dev.felnull.itts.core.config.voicetype.VoiceTypeConfig;
 import dev.felnull.itts.core.voice.CachedVoice;
 import dev.felnull.itts.core.voice.VoiceType;
 
@@ -52,4 +53,9 @@ public class CoeiroinkVoice extends CachedVoice {
     protected String createHashCodeChars() {
         return this.speaker.speakerUuid().toString();
     }
+
+    @Override
+    protected VoiceTypeConfig getVoiceTypeConfig() {
+        return this.manager.getConfig();
+    }
 }
@@ -11,7 +11,6 @@ import org.jetbrains.annotations.NotNull;
 import java.io.*;
 import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
@@ -74,14 +73,13 @@ public class VoiceTextManager implements ITTSRuntimeUse {
     public InputStream openVoiceStream(@NotNull VoiceTextSpeaker speaker, @NotNull String text) throws IOException, InterruptedException {
         text = URLEncoder.encode(text, StandardCharsets.UTF_8);
 
-        HttpClient hc = getNetworkManager().getHttpClient();
         String basic = "Basic " + FNStringUtil.encodeBase64(getApiKey() + ":");
         HttpRequest request = HttpRequest.newBuilder(URI.create(API_URL))
                 .header("Authorization", basic)
                 .header("Content-Type", "application/x-www-form-urlencoded; charset=utf-8")
                 .POST(HttpRequest.BodyPublishers.ofString(String.format("text=%s&speaker=%s", text, speaker.getId())))
                 .build();
-        HttpResponse<InputStream> res = hc.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        HttpResponse<InputStream> res = getNetworkManager().sendInterruptibly(request, HttpResponse.BodyHandlers.ofInputStream());
 
         Optional<String> content = res.headers().firstValue("content-type");
         int code = res.statusCode();
@@ -1,6 +1,7 @@
 package dev.felnull.itts.core.voice.voicetext;
 
 import dev.felnull.itts.core.ITTSRuntime;
+import dev.felnull.itts.core.config.voicetype.VoiceTypeConfig;
 import dev.felnull.itts.core.voice.CachedVoice;
 import dev.felnull.itts.core.voice.VoiceType;
 
@@ -40,6 +41,11 @@ public class VoiceTextVoice extends CachedVoice {
         return speakers.getId();
     }
 
+    @Override
+    protected VoiceTypeConfig getVoiceTypeConfig() {
+        return ITTSRuntime.getInstance().getConfigManager().getConfig().getVoiceTextConfig();
+    }
+
     private VoiceTextManager getVoiceTextManager() {
         return ITTSRuntime.getInstance().getVoiceManager().getVoiceTextManager();
     }
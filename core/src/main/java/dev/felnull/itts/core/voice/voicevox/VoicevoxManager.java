@@ -5,6 +5,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import dev.felnull.itts.core.ITTSNetworkManager;
 import dev.felnull.itts.core.ITTSRuntime;
 import dev.felnull.itts.core.config.voicetype.VoicevoxConfig;
 import dev.felnull.itts.core.voice.VoiceType;
@@ -135,12 +136,12 @@ public class VoicevoxManager {
         text = URLEncoder.encode(text, StandardCharsets.UTF_8);
 
         try (var urlUse = balancer.getUseURL()) {
-            HttpClient hc = ITTSRuntime.getInstance().getNetworkManager().getHttpClient();
+            ITTSNetworkManager nm = ITTSRuntime.getInstance().getNetworkManager();
             HttpRequest req = HttpRequest.newBuilder(urlUse.getVVURL().createURI(String.format("audio_query?text=%s&speaker=%d", text, speakerId)))
                     .POST(HttpRequest.BodyPublishers.noBody())
                     .timeout(Duration.of(10, ChronoUnit.SECONDS))
                     .build();
-            HttpResponse<InputStream> rep = hc.send(req, HttpResponse.BodyHandlers.ofInputStream());
+            HttpResponse<InputStream> rep = nm.sendInterruptibly(req, HttpResponse.BodyHandlers.ofInputStream());
 
             try (InputStream stream = new BufferedInputStream(rep.body()); Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
                 return GSON.fromJson(reader, JsonObject.class);
@@ -162,14 +163,14 @@ public class VoicevoxManager {
     protected InputStream openVoiceStream(String text, int speakerId) throws IOException, InterruptedException {
         JsonObject qry = getQuery(text, speakerId);
         try (var urlUse = balancer.getUseURL()) {
-            HttpClient hc = ITTSRuntime.getInstance().getNetworkManager().getHttpClient();
+            ITTSNetworkManager nm = ITTSRuntime.getInstance().getNetworkManager();
             HttpRequest request = HttpRequest.newBuilder(urlUse.getVVURL().createURI(String.format("synthesis?speaker=%d", speakerId)))
                     .timeout(Duration.of(10, ChronoUnit.SECONDS))
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(GSON.toJson(qry)))
                     .build();
 
-            HttpResponse<InputStream> res = hc.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            HttpResponse<InputStream> res = nm.sendInterruptibly(request, HttpResponse.BodyHandlers.ofInputStream());
 
             Optional<String> content = res.headers().firstValue("content-type");
             int code = res.statusCode();
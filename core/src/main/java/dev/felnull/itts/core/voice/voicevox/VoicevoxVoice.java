@@ -1,5 +1,6 @@
 package dev.felnull.itts.core.voice.voicevox;
 
+import dev.felnull.itts.core.config.voicetype.VoiceTypeConfig;
 import dev.felnull.itts.core.voice.CachedVoice;
 import dev.felnull.itts.core.voice.VoiceType;
 
@@ -44,4 +45,9 @@ public class VoicevoxVoice extends CachedVoice {
     protected String createHashCodeChars() {
         return this.speaker.uuid().toString();
     }
+
+    @Override
+    protected VoiceTypeConfig getVoiceTypeConfig() {
+        return this.manager.getConfig();
+    }
 }
@@ -0,0 +1,115 @@
+package dev.felnull.itts.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedWheelTimer("test-timer", 10, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    void testSchedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // ホイール1周を超える遅延
+        timer.newTimeout(latch::countDown, 150, 0);
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    @Test
+    void testCancel() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> executed.set(true), 50, 0);
+        Assertions.assertTrue(timeout.cancel());
+        Assertions.assertFalse(timeout.cancel());
+
+        timer.newTimeout(latch::countDown, 100, 0);
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(executed.get());
+        Assertions.assertEquals(1, timer.getMetrics().cancelledTasks());
+    }
+
+    @Test
+    void testPeriodic() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> {
+            count.incrementAndGet();
+            latch.countDown();
+        }, 0, 20);
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        timeout.cancel();
+
+        int stopped = count.get();
+        Thread.sleep(100);
+        Assertions.assertTrue(count.get() <= stopped + 1);
+        Assertions.assertEquals(0, timer.getMetrics().pendingTasks());
+    }
+
+    @Test
+    void testPeriodicWheelSpan() throws InterruptedException {
+        // ホイール1周: 10ms * 64 = 640ms
+        HashedWheelTimer spanTimer = new HashedWheelTimer("test-span-timer", 10, TimeUnit.MILLISECONDS, 64);
+        long span = 640;
+        long[] periods = {span - 10, span, span * 2};
+
+        List<List<Long>> executedTimes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(periods.length * 3);
+
+        try {
+            for (long period : periods) {
+                List<Long> times = new CopyOnWriteArrayList<>();
+                executedTimes.add(times);
+
+                spanTimer.newTimeout(() -> {
+                    if (times.size() < 3) {
+                        times.add(System.nanoTime());
+                        latch.countDown();
+                    }
+                }, 0, period);
+            }
+
+            Assertions.assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            spanTimer.stop();
+        }
+
+        // 自身の枠に再登録された場合でも、1周遅れて実行されない
+        for (int i = 0; i < periods.length; i++) {
+            List<Long> times = executedTimes.get(i);
+
+            for (int j = 1; j < times.size(); j++) {
+                long interval = TimeUnit.NANOSECONDS.toMillis(times.get(j) - times.get(j - 1));
+                Assertions.assertTrue(interval >= periods[i], "period " + periods[i] + ": " + interval + "ms");
+                Assertions.assertTrue(interval < periods[i] + span / 2, "period " + periods[i] + ": " + interval + "ms");
+            }
+        }
+    }
+}
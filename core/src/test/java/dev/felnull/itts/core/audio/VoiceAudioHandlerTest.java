@@ -0,0 +1,157 @@
+package dev.felnull.itts.core.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
+import dev.felnull.itts.core.audio.loader.VoiceTrackLoader;
+import dev.felnull.itts.core.cache.OpusFrameSequence;
+import net.dv8tion.jda.api.managers.AudioManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoiceAudioHandlerTest {
+
+    @Mock
+    private AudioPlayer audioPlayer;
+
+    private VoiceAudioHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new VoiceAudioHandler(audioPlayer);
+    }
+
+    @Test
+    void testEncodedHandOff() {
+        AtomicInteger ended = new AtomicInteger();
+        OpusFrameSequence next = createFrames(3);
+
+        handler.playEncoded(createFrames(1, 2), () -> handler.playEncoded(next, ended::incrementAndGet));
+
+        assertEquals(1, provideFrame());
+        assertEquals(2, provideFrame());
+
+        // 終了したフレームの次のフレームで、空白を空けずに続きを送信する
+        assertEquals(3, provideFrame());
+
+        assertFalse(handler.canProvide());
+        assertEquals(1, ended.get());
+    }
+
+    @Test
+    void testStartAfter() {
+        OpusFrameSequence next = createFrames(4);
+        AtomicInteger started = new AtomicInteger();
+
+        handler.playEncoded(createFrames(1), () -> handler.startAfter(3, () -> {
+            started.incrementAndGet();
+            handler.playEncoded(next, () -> {
+            });
+        }));
+
+        assertEquals(1, provideFrame());
+
+        // 指定したフレーム数だけ何も送信しない
+        for (int i = 0; i < 3; i++) {
+            assertFalse(handler.canProvide());
+        }
+        assertEquals(0, started.get());
+
+        // 間隔を空けた次のフレームから送信する
+        assertEquals(4, provideFrame());
+        assertEquals(1, started.get());
+    }
+
+    @Test
+    void testCancelPendingStart() {
+        AtomicInteger started = new AtomicInteger();
+
+        handler.startAfter(1, started::incrementAndGet);
+        handler.cancelPendingStart();
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(handler.canProvide());
+        }
+        assertEquals(0, started.get());
+    }
+
+    @Test
+    void testTrackEndOnSendThread(@Mock AudioManager audioManager, @Mock VoiceAudioManager voiceAudioManager, @Mock AudioPlayerManager audioPlayerManager,
+                                  @Mock AudioTrack firstTrack, @Mock AudioTrack secondTrack, @Mock VoiceTrackLoader loader) {
+        when(voiceAudioManager.getAudioPlayerManager()).thenReturn(audioPlayerManager);
+        when(audioPlayerManager.createPlayer()).thenReturn(audioPlayer);
+
+        List<Runnable> tasks = new ArrayList<>();
+        VoiceAudioScheduler scheduler = new VoiceAudioScheduler(audioManager, voiceAudioManager, 1) {
+            @Override
+            public Executor getAsyncExecutor() {
+                return tasks::add;
+            }
+        };
+
+        LoadedSaidText second = new LoadedSaidText(null, secondTrack, loader);
+        LoadedSaidText first = new LoadedSaidText(null, firstTrack, loader, CompletableFuture.completedFuture(second));
+        AtomicInteger ended = new AtomicInteger();
+
+        scheduler.play(first, ended::incrementAndGet);
+        verify(audioPlayer).playTrack(firstTrack);
+
+        // 再生終了は音声送信スレッドから呼ばれるため、次のトラックはその場で開始しない
+        scheduler.onTrackEnd(audioPlayer, firstTrack, AudioTrackEndReason.FINISHED);
+        verify(audioPlayer, never()).playTrack(secondTrack);
+        assertEquals(1, tasks.size());
+
+        tasks.remove(0).run();
+        verify(audioPlayer).playTrack(secondTrack);
+
+        scheduler.onTrackEnd(audioPlayer, secondTrack, AudioTrackEndReason.FINISHED);
+        assertEquals(1, ended.get());
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void testIntervalFrames() {
+        assertEquals(0, VoiceAudioScheduler.toFrames(-10));
+        assertEquals(0, VoiceAudioScheduler.toFrames(0));
+        assertEquals(1, VoiceAudioScheduler.toFrames(1));
+        assertEquals(1, VoiceAudioScheduler.toFrames(20));
+        assertEquals(2, VoiceAudioScheduler.toFrames(21));
+        assertEquals(50, VoiceAudioScheduler.toFrames(1000));
+    }
+
+    private int provideFrame() {
+        assertTrue(handler.canProvide());
+        ByteBuffer buffer = handler.provide20MsAudio();
+        assertNotNull(buffer);
+        assertEquals(1, buffer.remaining());
+        return buffer.get(0);
+    }
+
+    private static OpusFrameSequence createFrames(int... values) {
+        ByteBuffer data = ByteBuffer.allocate(values.length);
+        int[] offsets = new int[values.length + 1];
+
+        for (int i = 0; i < values.length; i++) {
+            data.put((byte) values[i]);
+            offsets[i + 1] = i + 1;
+        }
+
+        data.flip();
+        return new OpusFrameSequence(data, offsets);
+    }
+}
@@ -0,0 +1,108 @@
+package dev.felnull.itts.core.cache;
+
+import com.google.common.hash.HashCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheManagerTest {
+
+    private static final HashCode KEY = HashCode.fromInt(1);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final CacheManager cacheManager = new CacheManager(null) {
+        @Override
+        public Executor getAsyncExecutor() {
+            return executor;
+        }
+    };
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCancelSharedLoad() throws Exception {
+        BlockingInputStream stream = new BlockingInputStream();
+        AtomicInteger opened = new AtomicInteger();
+        byte[] data = {1, 2, 3};
+
+        StreamOpener opener = () -> opened.incrementAndGet() == 1 ? stream : new ByteArrayInputStream(data);
+
+        CompletableFuture<CacheUseEntry> first = cacheManager.loadOrRestore(KEY, opener);
+        CompletableFuture<CacheUseEntry> second = cacheManager.loadOrRestore(KEY, opener);
+        waitUntil(() -> opened.get() == 1);
+
+        // 同じキャッシュを待つ者が残っている間は取得を続ける
+        first.cancel(false);
+        assertFalse(stream.isClosed());
+        assertFalse(second.isDone());
+        assertEquals(1, opened.get());
+
+        // 全員が利用を終了した場合は取得を中止する
+        second.cancel(false);
+        waitUntil(stream::isClosed);
+
+        // 中止された取得には相乗りせずに取得し直す
+        CompletableFuture<CacheUseEntry> third = cacheManager.loadOrRestore(KEY, opener);
+        CacheUseEntry entry = third.get(5, TimeUnit.SECONDS);
+        assertEquals(2, opened.get());
+        assertArrayEquals(data, entry.buffer().toByteArray());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limit, "Timed out");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * 閉じられるまで受信を待ち続けるストリーム
+     */
+    private static final class BlockingInputStream extends InputStream {
+
+        private boolean closed;
+
+        @Override
+        public synchronized int read() throws IOException {
+            while (!closed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+
+            throw new IOException("Stream closed");
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            notifyAll();
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+}
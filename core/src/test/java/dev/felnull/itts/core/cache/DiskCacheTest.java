@@ -0,0 +1,128 @@
+package dev.felnull.itts.core.cache;
+
+import com.google.common.hash.HashCode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiskCacheTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(DiskCacheTest.class);
+
+    @TempDir
+    private Path cacheDir;
+
+    @Test
+    void testSizeBound() throws Exception {
+        DiskCache cache = createCache(10, 100);
+        cache.load();
+
+        cache.put(key(1), new byte[4]);
+        cache.put(key(2), new byte[4]);
+        assertEquals(8, cache.getTotalSize());
+
+        // 使用するとLRUの末尾に移動する
+        assertNotNull(cache.get(key(1)));
+
+        // 合計サイズを超えた場合は最も長く使われていないものから削除する
+        cache.put(key(3), new byte[4]);
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(8, cache.getTotalSize());
+        assertNull(cache.get(key(2)));
+        assertFalse(Files.exists(file(key(2))));
+        assertNotNull(cache.get(key(1)));
+        assertNotNull(cache.get(key(3)));
+
+        // 最大サイズを超えるデータは保存しない
+        cache.put(key(4), new byte[11]);
+        assertNull(cache.get(key(4)));
+        assertEquals(8, cache.getTotalSize());
+    }
+
+    @Test
+    void testEntriesBound() throws Exception {
+        DiskCache cache = createCache(100, 2);
+        cache.load();
+
+        cache.put(key(1), new byte[1]);
+        cache.put(key(2), new byte[1]);
+        cache.put(key(3), new byte[1]);
+
+        // 件数が上限を超えた場合も削除する
+        assertEquals(2, cache.getEntryCount());
+        assertNull(cache.get(key(1)));
+        assertNotNull(cache.get(key(2)));
+        assertNotNull(cache.get(key(3)));
+    }
+
+    @Test
+    void testReload() throws Exception {
+        DiskCache cache = createCache(10, 100);
+        cache.load();
+
+        cache.put(key(1), new byte[]{1, 2, 3});
+        cache.put(key(2), new byte[]{4, 5, 6});
+        assertNotNull(cache.get(key(1)));
+        cache.saveIndex();
+
+        // 再起動後もインデックスから合計サイズと使用順を復元する
+        DiskCache reloaded = createCache(10, 100);
+        reloaded.load();
+        assertEquals(2, reloaded.getEntryCount());
+        assertEquals(6, reloaded.getTotalSize());
+        assertArrayEquals(new byte[]{1, 2, 3}, reloaded.get(key(1)));
+
+        reloaded.put(key(3), new byte[5]);
+        assertNull(reloaded.get(key(2)));
+        assertArrayEquals(new byte[]{1, 2, 3}, reloaded.get(key(1)));
+    }
+
+    @Test
+    void testReloadUnindexed() throws Exception {
+        DiskCache cache = createCache(10, 100);
+        cache.load();
+
+        cache.put(key(1), new byte[]{1, 2, 3});
+        cache.saveIndex();
+
+        // インデックスを保存する前に終了した場合
+        cache.put(key(2), new byte[]{4, 5});
+
+        // インデックスに無いファイルも走査して登録する
+        DiskCache reloaded = createCache(10, 100);
+        reloaded.load();
+        assertEquals(2, reloaded.getEntryCount());
+        assertEquals(5, reloaded.getTotalSize());
+        assertArrayEquals(new byte[]{4, 5}, reloaded.get(key(2)));
+    }
+
+    private DiskCache createCache(long maxSize, int maxEntries) {
+        return new DiskCache(cacheDir, maxSize, maxEntries) {
+            @Override
+            public Logger getITTSLogger() {
+                return LOGGER;
+            }
+
+            @Override
+            public Executor getHeavyExecutor() {
+                return Runnable::run;
+            }
+        };
+    }
+
+    private Path file(HashCode key) {
+        String name = key.toString();
+        return cacheDir.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static HashCode key(int value) {
+        return HashCode.fromLong(value * 0x0101010101010101L);
+    }
+}
@@ -0,0 +1,140 @@
+package dev.felnull.itts.core.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GrowingBufferTest {
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Test
+    void testReadWhileAppending() throws Exception {
+        GrowingBuffer buffer = new GrowingBuffer();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Thread reader = start(() -> {
+            try {
+                readAll(buffer, read);
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+
+        // 書き込まれるまで待機する
+        waitUntil(() -> reader.getState() == Thread.State.WAITING);
+        assertEquals(0, read.size());
+
+        // 書き込まれると待機中の読み込みが再開し、再び待機する
+        buffer.append(new byte[]{1, 2, 3}, 0, 3);
+        waitUntil(() -> read.size() == 3 && reader.getState() == Thread.State.WAITING);
+
+        // 初期容量を超えて書き込まれた場合も続きから読み込む
+        byte[] large = new byte[100 * 1024];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) i;
+        }
+        buffer.append(large, 0, large.length);
+        waitUntil(() -> read.size() == 3 + large.length && reader.getState() == Thread.State.WAITING);
+        assertTrue(reader.isAlive());
+
+        // 完了すると終端まで読み込んで終了する
+        buffer.complete();
+        reader.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(reader.isAlive());
+        assertNull(error.get());
+
+        byte[] data = read.toByteArray();
+        assertArrayEquals(new byte[]{1, 2, 3}, Arrays.copyOf(data, 3));
+        assertArrayEquals(large, Arrays.copyOfRange(data, 3, data.length));
+        assertArrayEquals(data, buffer.toByteArray());
+        assertTrue(buffer.getCompleteFuture().isDone());
+    }
+
+    @Test
+    void testFailWhileReading() throws Exception {
+        GrowingBuffer buffer = new GrowingBuffer();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Thread reader = start(() -> {
+            try {
+                readAll(buffer, read);
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+
+        buffer.append(new byte[]{1, 2}, 0, 2);
+        waitUntil(() -> read.size() == 2 && reader.getState() == Thread.State.WAITING);
+
+        // 書き込みが失敗した場合は待機中の読み込みも失敗する
+        buffer.fail(new IOException("Test"));
+        reader.join(TimeUnit.SECONDS.toMillis(5));
+        assertInstanceOf(IOException.class, error.get());
+        assertTrue(buffer.getCompleteFuture().isCompletedExceptionally());
+
+        // 失敗後に書き込むことはできない
+        assertThrows(IllegalStateException.class, () -> buffer.append(new byte[1], 0, 1));
+    }
+
+    @Test
+    void testCompletedData() throws Exception {
+        GrowingBuffer buffer = new GrowingBuffer(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        byte[] data = new byte[8];
+
+        // 書き込み済みのバッファは待機せずに読み込める
+        assertEquals(2, buffer.read(1, data, 0, 8));
+        assertEquals(2, data[0]);
+        assertEquals(3, data[1]);
+        assertEquals(-1, buffer.read(3, data, 0, 8));
+        assertTrue(buffer.isCompleted());
+    }
+
+    private Thread start(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        threads.add(thread);
+        thread.start();
+        return thread;
+    }
+
+    private static void readAll(GrowingBuffer buffer, ByteArrayOutputStream out) throws IOException, InterruptedException {
+        byte[] buf = new byte[8192];
+        long position = 0;
+        int len;
+
+        while ((len = buffer.read(position, buf, 0, buf.length)) >= 0) {
+            out.write(buf, 0, len);
+            position += len;
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limit, "Timed out");
+            Thread.sleep(1);
+        }
+    }
+}
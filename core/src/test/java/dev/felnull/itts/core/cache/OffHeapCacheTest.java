@@ -0,0 +1,68 @@
+package dev.felnull.itts.core.cache;
+
+import com.google.common.hash.HashCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapCacheTest {
+
+    @Test
+    void testByteBudget() {
+        OffHeapCache cache = new OffHeapCache(10, 8);
+
+        cache.put(key(1), ByteBuffer.wrap(new byte[]{1, 2, 3, 4}));
+        cache.put(key(2), ByteBuffer.wrap(new byte[4]));
+        assertEquals(8, cache.getTotalSize());
+
+        // 使用するとLRUの末尾に移動する
+        ByteBuffer data = cache.get(key(1));
+        assertNotNull(data);
+        assertEquals(4, data.remaining());
+        assertEquals(4, data.get(3));
+
+        // 合計サイズを超えた場合は最も長く使われていないものから削除する
+        cache.put(key(3), ByteBuffer.wrap(new byte[4]));
+        assertEquals(8, cache.getTotalSize());
+        assertNull(cache.get(key(2)));
+        assertNotNull(cache.get(key(1)));
+        assertNotNull(cache.get(key(3)));
+
+        // 1件あたりの最大サイズを超えるデータは保存しない
+        cache.put(key(4), ByteBuffer.wrap(new byte[9]));
+        assertNull(cache.get(key(4)));
+        assertEquals(8, cache.getTotalSize());
+
+        assertEquals(3, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void testOpusFramesBudget() {
+        OffHeapCache cache = new OffHeapCache(10, 8);
+
+        cache.put(key(1), ByteBuffer.wrap(new byte[4]));
+        cache.put(key(2), ByteBuffer.wrap(new byte[4]));
+
+        // 存在しないエントリにはエンコード済みフレームを保存しない
+        cache.putOpusFrames(key(3), createFrames(3));
+        assertNull(cache.getOpusFrames(key(3)));
+
+        // エンコード済みフレームのサイズも合計サイズに含める
+        OpusFrameSequence frames = createFrames(3);
+        cache.putOpusFrames(key(2), frames);
+        assertSame(frames, cache.getOpusFrames(key(2)));
+        assertNull(cache.get(key(1)));
+        assertEquals(7, cache.getTotalSize());
+    }
+
+    private static OpusFrameSequence createFrames(int size) {
+        return new OpusFrameSequence(ByteBuffer.allocate(size), new int[]{0, size});
+    }
+
+    private static HashCode key(int value) {
+        return HashCode.fromInt(value);
+    }
+}
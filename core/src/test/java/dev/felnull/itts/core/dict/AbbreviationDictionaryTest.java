@@ -0,0 +1,153 @@
+package dev.felnull.itts.core.dict;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class AbbreviationDictionaryTest {
+    private static final Pattern CODE_BLOCK_REGEX = Pattern.compile("```(.|\n)*```");
+
+    private static final Pattern DOMAIN_REGEX = Pattern.compile("^([a-zA-Z0-9][a-zA-Z0-9-]*[a-zA-Z0-9]*\\.)+[a-zA-Z]{2,}$");
+
+    private static final Pattern IPV4_REGEX = Pattern.compile("^((25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])\\.){3}(25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])$");
+
+    private static final Pattern IPV6_REGEX = Pattern.compile("(([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}|"
+            + "([0-9a-fA-F]{1,4}:){1,7}:|"
+            + "([0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}|"
+            + "([0-9a-fA-F]{1,4}:){1,5}(:[0-9a-fA-F]{1,4}){1,2}|"
+            + "([0-9a-fA-F]{1,4}:){1,4}(:[0-9a-fA-F]{1,4}){1,3}|"
+            + "([0-9a-fA-F]{1,4}:){1,3}(:[0-9a-fA-F]{1,4}){1,4}|"
+            + "([0-9a-fA-F]{1,4}:){1,2}(:[0-9a-fA-F]{1,4}){1,5}|"
+            + "[0-9a-fA-F]{1,4}:((:[0-9a-fA-F]{1,4}){1,6})|"
+            + ":((:[0-9a-fA-F]{1,4}){1,7}|:)|fe80:(:[0-9a-fA-F]{0,4}){0,4}%[0-9a-zA-Z]+|"
+            + "::(ffff(:0{1,4})?:)?((25[0-5]|(2[0-4]|1?[0-9])?[0-9])\\.){3}(25[0-5]|"
+            + "(2[0-4]|1?[0-9])?[0-9])|([0-9a-fA-F]{1,4}:){1,4}:((25[0-5]|"
+            + "(2[0-4]|1?[0-9])?[0-9])\\.){3}(25[0-5]|(2[0-4]|1?[0-9])?[0-9]))");
+
+    private static final String[] CORPUS = new String[]{
+            "",
+            "こんにちは",
+            "example.com",
+            "example.comを見て",
+            "これはexample.comです",
+            "sub.example.co.jp",
+            "a-b.example.com",
+            "-a.example.com",
+            "a..com",
+            ".com",
+            "example.c",
+            "example.c0m",
+            "example.com.",
+            "192.168.0.1",
+            "IPは192.168.0.1です",
+            "255.255.255.255",
+            "256.1.1.1",
+            "01.1.1.1",
+            "0.0.0.0",
+            "1.2.3",
+            "1.2.3.4.5",
+            "1.2.3.4.",
+            "::1",
+            "::",
+            "2001:db8::1",
+            "2001:0db8:85a3:0000:0000:8a2e:0370:7334",
+            "fe80::1%eth0",
+            "::ffff:192.168.0.1",
+            "2001:db8::192.168.0.1",
+            "12:34",
+            "時刻は12:34です",
+            "https://www.google.com/ と example.com",
+            "```code example.com```の後にexample.com",
+            "www。example。com",
+            "ｅｘａｍｐｌｅ.com",
+            "test@example.com",
+            "a?b.com",
+            "💩example.com💩",
+            "abc,def.com;1.1.1.1<2.2.2.2>",
+    };
+
+    private static Stream<String> corpus() {
+        return Stream.of(CORPUS);
+    }
+
+    @ParameterizedTest
+    @MethodSource("corpus")
+    void testCorpus(String text) {
+        Assertions.assertEquals(reference(text), new AbbreviationDictionary().apply(text, 0));
+    }
+
+    @Test
+    void testSameAsReference() {
+        String[] pieces = {"a", "Z", "0", "1", "9", "25", "255", "f", "e", "80", ".", ":", "::", "-", "%", "_", "/", "#", "?",
+                "com", "example", "192", "168", "fe80", "ffff", " ", "　", "あ", "漢", "。", "💩", "\n", "ｅ"};
+        Random random = new Random(114514);
+        AbbreviationDictionary dictionary = new AbbreviationDictionary();
+
+        for (int i = 0; i < 30000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int count = random.nextInt(12);
+            for (int j = 0; j < count; j++) {
+                sb.append(pieces[random.nextInt(pieces.length)]);
+            }
+
+            String text = sb.toString();
+            Assertions.assertEquals(reference(text), dictionary.apply(text, 0), text);
+        }
+    }
+
+    /**
+     * 文字ごとに正規表現で判定して分割していた以前の処理
+     */
+    private static String reference(String text) {
+        text = new URLReplacer("ユーアルエルショウリャク").replace(text);
+        text = CODE_BLOCK_REGEX.matcher(text).replaceAll("コードブロックショウリャク");
+
+        List<String> texts = new ArrayList<>();
+        StringBuilder tmpText = new StringBuilder();
+        boolean en = false;
+
+        for (String txt : text.split("")) {
+            if (txt.matches("[A-Za-z0-9:/#$%&.,-?_]+")) {
+                if (!en) {
+                    texts.add(tmpText.toString());
+                    tmpText.setLength(0);
+                }
+                en = true;
+                tmpText.append(txt);
+            } else {
+                if (en) {
+                    texts.add(tmpText.toString());
+                    tmpText.setLength(0);
+                    en = false;
+                }
+                tmpText.append(txt);
+            }
+        }
+
+        if (!tmpText.isEmpty()) {
+            texts.add(tmpText.toString());
+        }
+
+        StringBuilder ret = new StringBuilder();
+        for (String txt : texts) {
+            if (DOMAIN_REGEX.matcher(txt).find()) {
+                ret.append("ドメインショウリャク");
+            } else if (IPV4_REGEX.matcher(txt).matches()) {
+                ret.append("アイピーブイフォーショウリャク");
+            } else if (IPV6_REGEX.matcher(txt).matches()) {
+                ret.append("アイピーブイロクショウリャク");
+            } else {
+                ret.append(txt);
+            }
+        }
+
+        return ret.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package dev.felnull.itts.core.dict;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+public class BoundedRegexTest {
+
+    @Test
+    void testReplaceAll() {
+        Assertions.assertEquals("イチ2イチ", BoundedRegex.compile("1+").replaceAll("1211", "イチ"));
+        Assertions.assertEquals("b-a", BoundedRegex.compile("(a)-(b)").replaceAll("a-b", "$2-$1"));
+        Assertions.assertEquals("そのまま", BoundedRegex.compile("[0-9]").replaceAll("そのまま", "数字"));
+    }
+
+    @Test
+    void testMatches() {
+        Assertions.assertTrue(BoundedRegex.compile("^!.*").matches("!skip"));
+        Assertions.assertFalse(BoundedRegex.compile("^!.*").matches("read"));
+    }
+
+    @Test
+    void testInvalid() {
+        Assertions.assertThrows(PatternSyntaxException.class, () -> BoundedRegex.compile("(a"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BoundedRegex.compile("a", 0));
+    }
+
+    @Test
+    void testTimeout() {
+        // バックトラックが爆発する正規表現
+        BoundedRegex regex = BoundedRegex.compile("(.*a){12}x", 50);
+        String text = "a".repeat(64);
+
+        long start = System.nanoTime();
+        RegexTimeoutException e = Assertions.assertThrows(RegexTimeoutException.class, () -> regex.matches(text));
+        Assertions.assertEquals("(.*a){12}x", e.getRegex());
+        Assertions.assertTrue(System.nanoTime() - start < 5_000_000_000L);
+
+        Assertions.assertThrows(RegexTimeoutException.class, () -> regex.replaceAll(text, "x"));
+    }
+}
@@ -0,0 +1,140 @@
+package dev.felnull.itts.core.dict;
+
+import dev.felnull.itts.core.savedata.legacy.LegacyDictData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomReplaceBaseDictionaryTest {
+
+    @Test
+    void testDuplicatedTarget() {
+        List<LegacyDictData> dictData = List.of(
+                new TestDictData("野獣", "やじゅう"),
+                new TestDictData("先輩", "せんぱい"),
+                new TestDictData("野獣", "けもの"),
+                new TestDictData("[0-9]+", "数字"),
+                new TestDictData("[0-9]+", "すうじ"));
+
+        // 同じ置き換え対象は後のものを優先する
+        Map<String, String> entries = CustomReplaceBaseDictionary.toEntries(dictData);
+        assertEquals(Map.of("野獣", "けもの", "先輩", "せんぱい", "[0-9]+", "すうじ"), entries);
+
+        TestDictionary dictionary = new TestDictionary(entries);
+        assertEquals("けものせんぱいすうじ", dictionary.apply("野獣先輩114514", 0));
+    }
+
+    @Test
+    void testDisableTimeoutPerGuild() {
+        // バックトラックが爆発する正規表現
+        String regex = "(.*a){12}x";
+        String text = "a".repeat(64);
+        TestDictionary dictionary = new TestDictionary(Map.of(regex, "x"));
+
+        // 一度だけ制限時間を超えても無効にしない
+        for (int i = 0; i < BoundedRegex.DISABLE_TIMEOUT_COUNT - 1; i++) {
+            assertEquals(text, dictionary.apply(text, 1));
+        }
+        assertEquals("x", dictionary.getShowInfo(1).get(regex));
+        assertTrue(dictionary.disabledGuilds.isEmpty());
+
+        // 続けて制限時間を超えた場合は、そのサーバーでのみ無効にする
+        assertEquals(text, dictionary.apply(text, 1));
+        assertNotEquals("x", dictionary.getShowInfo(1).get(regex));
+        assertEquals("x", dictionary.getShowInfo(2).get(regex));
+        assertEquals(List.of(1L), dictionary.disabledGuilds);
+
+        // 無効にした正規表現は評価しない
+        long start = System.nanoTime();
+        assertEquals(text, dictionary.apply(text, 1));
+        assertTrue(System.nanoTime() - start < BoundedRegex.DEFAULT_TIME_LIMIT * 1_000_000L);
+    }
+
+    @Test
+    void testDisableInvalidReplacementPerGuild() {
+        TestDictionary dictionary = new TestDictionary(Map.of("(a)", "$9"));
+
+        assertEquals("abc", dictionary.apply("abc", 1));
+        assertNotEquals("$9", dictionary.getShowInfo(1).get("(a)"));
+        assertEquals("$9", dictionary.getShowInfo(2).get("(a)"));
+        assertEquals(List.of(1L), dictionary.disabledGuilds);
+    }
+
+    private record TestDictData(String target, String read) implements LegacyDictData {
+        @Override
+        public @NotNull String getTarget() {
+            return target;
+        }
+
+        @Override
+        public @NotNull String getRead() {
+            return read;
+        }
+    }
+
+    private static final class TestDictionary extends CustomReplaceBaseDictionary {
+
+        private static final Logger LOGGER = LogManager.getLogger(TestDictionary.class);
+
+        private final Map<String, String> entries;
+
+        private final List<Long> disabledGuilds = new ArrayList<>();
+
+        private TestDictionary(Map<String, String> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Logger getITTSLogger() {
+            return LOGGER;
+        }
+
+        @Override
+        protected void onDisabled(long guildId) {
+            disabledGuilds.add(guildId);
+        }
+
+        @Override
+        protected @NotNull Map<String, String> getEntries(long guildId) {
+            return entries;
+        }
+
+        @Override
+        protected boolean isReplacedByWordDictionary(long guildId) {
+            return false;
+        }
+
+        @Override
+        public boolean isBuiltIn() {
+            return false;
+        }
+
+        @Override
+        public @NotNull String getName() {
+            return "テスト辞書";
+        }
+
+        @Override
+        public @NotNull String getId() {
+            return "test";
+        }
+
+        @Override
+        public @NotNull @Unmodifiable Map<String, String> getShowInfo(long guildId) {
+            return markDisabled(guildId, getEntries(guildId));
+        }
+
+        @Override
+        public int getDefaultPriority() {
+            return 0;
+        }
+    }
+}
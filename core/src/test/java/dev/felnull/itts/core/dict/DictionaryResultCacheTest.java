@@ -0,0 +1,54 @@
+package dev.felnull.itts.core.dict;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DictionaryResultCacheTest {
+
+    @Test
+    void testGetAndPut() {
+        DictionaryResultCache cache = new DictionaryResultCache(16, 100);
+
+        Assertions.assertNull(cache.get(1, 0, 0, "課長"));
+        cache.put(1, 0, 0, "課長", "かちょう");
+        Assertions.assertEquals("かちょう", cache.get(1, 0, 0, "課長"));
+
+        // サーバーやバージョンが異なる場合は使わない
+        Assertions.assertNull(cache.get(2, 0, 0, "課長"));
+        Assertions.assertNull(cache.get(1, 1, 0, "課長"));
+        Assertions.assertNull(cache.get(1, 0, 1, "課長"));
+
+        Assertions.assertEquals(1, cache.getHitCount());
+        Assertions.assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    void testEvict() {
+        DictionaryResultCache cache = new DictionaryResultCache(2, 100);
+
+        cache.put(1, 0, 0, "a", "A");
+        cache.put(1, 0, 0, "b", "B");
+        cache.get(1, 0, 0, "a");
+        cache.put(1, 0, 0, "c", "C");
+
+        Assertions.assertEquals(2, cache.getEntryCount());
+        Assertions.assertEquals("A", cache.get(1, 0, 0, "a"));
+        Assertions.assertNull(cache.get(1, 0, 0, "b"));
+        Assertions.assertEquals("C", cache.get(1, 0, 0, "c"));
+    }
+
+    @Test
+    void testLongTextAndRemove() {
+        DictionaryResultCache cache = new DictionaryResultCache(16, 3);
+
+        cache.put(1, 0, 0, "long", "LONG");
+        Assertions.assertNull(cache.get(1, 0, 0, "long"));
+
+        cache.put(1, 0, 0, "a", "A");
+        cache.put(2, 0, 0, "a", "A");
+        cache.remove(1);
+
+        Assertions.assertNull(cache.get(1, 0, 0, "a"));
+        Assertions.assertEquals("A", cache.get(2, 0, 0, "a"));
+    }
+}
@@ -0,0 +1,162 @@
+package dev.felnull.itts.core.dict;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+public class LiteralReplacerTest {
+    private static final Map<String, String> REPLACES = Map.of(
+            "野獣", "やじゅう",
+            "野獣先輩", "やじゅうせんぱい",
+            "先輩", "せんぱい",
+            "課長", "かちょう",
+            "he", "ヒー",
+            "she", "シー",
+            "hers", "ハーズ",
+            "$1", "ドルイチ"
+    );
+
+    private static final TestEntry[] ENTRIES = new TestEntry[]{
+            new TestEntry("", ""),
+            new TestEntry("何もない", "何もない"),
+            new TestEntry("野獣", "やじゅう"),
+            new TestEntry("野獣先輩", "やじゅうせんぱい"),
+            new TestEntry("野獣先", "やじゅう先"),
+            new TestEntry("先輩野獣", "せんぱいやじゅう"),
+            new TestEntry("課長壊れる課長", "かちょう壊れるかちょう"),
+            new TestEntry("ushers", "uシーrs"),
+            new TestEntry("hers", "ハーズ"),
+            new TestEntry("shers", "シーrs"),
+            new TestEntry("$1です", "ドルイチです"),
+            new TestEntry("野獣野獣先輩先輩", "やじゅうやじゅうせんぱいせんぱい"),
+    };
+
+    @ParameterizedTest
+    @MethodSource("entries")
+    void testReplace(String before, String after) {
+        LiteralReplacer replacer = new LiteralReplacer(REPLACES);
+        Assertions.assertEquals(after, replacer.replace(before));
+    }
+
+    @Test
+    void testEmpty() {
+        Assertions.assertTrue(LiteralReplacer.empty().isEmpty());
+        Assertions.assertTrue(new LiteralReplacer(Map.of("", "a")).isEmpty());
+
+        // 置き換えが無い場合は同じインスタンスを返す
+        String text = "何もない";
+        Assertions.assertSame(text, LiteralReplacer.empty().replace(text));
+        Assertions.assertSame(text, new LiteralReplacer(REPLACES).replace(text));
+    }
+
+    @Test
+    void testSameAsSimpleScan() {
+        // 先頭から順に最も長い一致を探す単純な実装と結果が一致するか確認
+        Random random = new Random(114514);
+
+        for (int i = 0; i < 10000; i++) {
+            Map<String, String> replaces = new HashMap<>();
+            int count = 1 + random.nextInt(6);
+
+            for (int j = 0; j < count; j++) {
+                replaces.put(randomText(random, 1 + random.nextInt(4)), "<" + j + ">");
+            }
+
+            String text = randomText(random, random.nextInt(20));
+            Assertions.assertEquals(simpleReplace(replaces, text, pos -> true), new LiteralReplacer(replaces).replace(text), () -> replaces + " " + text);
+        }
+    }
+
+    @Test
+    void testBoundary() {
+        LiteralReplacer replacer = new LiteralReplacer(REPLACES);
+        BitSet boundary = new BitSet();
+        boundary.set(0);
+        boundary.set(2);
+        boundary.set(4);
+
+        // 野獣|先輩 の区切りのみ
+        Assertions.assertEquals("やじゅうせんぱい", replacer.replace("野獣先輩", boundary::get));
+        boundary.clear(4);
+        Assertions.assertEquals("やじゅう先輩", replacer.replace("野獣先輩", boundary::get));
+        boundary.clear(2);
+        Assertions.assertEquals("野獣先輩", replacer.replace("野獣先輩", boundary::get));
+    }
+
+    @Test
+    void testSameAsSimpleScanWithBoundary() {
+        // 区切りの判定を指定した場合も単純な実装と結果が一致するか確認
+        Random random = new Random(1919810);
+
+        for (int i = 0; i < 10000; i++) {
+            Map<String, String> replaces = new HashMap<>();
+            int count = 1 + random.nextInt(6);
+
+            for (int j = 0; j < count; j++) {
+                replaces.put(randomText(random, 1 + random.nextInt(4)), "<" + j + ">");
+            }
+
+            String text = randomText(random, random.nextInt(20));
+            BitSet boundary = new BitSet();
+            for (int j = 0; j <= text.length(); j++) {
+                if (random.nextInt(3) != 0) {
+                    boundary.set(j);
+                }
+            }
+
+            Assertions.assertEquals(simpleReplace(replaces, text, boundary::get), new LiteralReplacer(replaces).replace(text, boundary::get),
+                    () -> replaces + " " + text + " " + boundary);
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append("abc".charAt(random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+    private static String simpleReplace(Map<String, String> replaces, String text, IntPredicate boundary) {
+        StringBuilder sb = new StringBuilder();
+        int pos = 0;
+
+        while (pos < text.length()) {
+            String longest = null;
+
+            for (String target : replaces.keySet()) {
+                if (boundary.test(pos) && text.startsWith(target, pos) && boundary.test(pos + target.length())
+                        && (longest == null || target.length() > longest.length())) {
+                    longest = target;
+                }
+            }
+
+            if (longest != null) {
+                sb.append(replaces.get(longest));
+                pos += longest.length();
+            } else {
+                sb.append(text.charAt(pos));
+                pos++;
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static Stream<Arguments> entries() {
+        return Arrays.stream(ENTRIES).map(it -> Arguments.arguments(it.before, it.after));
+    }
+
+    private record TestEntry(String before, String after) {
+    }
+}
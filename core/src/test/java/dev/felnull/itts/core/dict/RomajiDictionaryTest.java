@@ -0,0 +1,54 @@
+package dev.felnull.itts.core.dict;
+
+import com.ibm.icu.text.Transliterator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class RomajiDictionaryTest {
+
+    private static final RomajiDictionary DICTIONARY = new RomajiDictionary();
+
+    /**
+     * ラテン文字の前後が仮名や漢字、空白の場合は、テキスト全体を変換した場合と一致する
+     *
+     * @param text テキスト
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Katyou",
+            "konnichiha",
+            "今日はkaisyaでkaigiがある",
+            "kbtitさん、kon'nichiwa",
+            "o-samaと野獣senpai",
+            "ABC TEISYOKU 114514円",
+            "Ikisugi iku iku",
+            "café de kaigi",
+            "まだnとnnとnyaの区別"
+    })
+    void testSameAsWholeText(String text) {
+        String expected = Transliterator.getInstance("Latin-Hiragana").transliterate(text);
+        Assertions.assertEquals(expected, DICTIONARY.apply(text, 0));
+    }
+
+    @Test
+    void testWithoutLatin() {
+        String text = "野獣先輩、114514です。";
+        Assertions.assertSame(text, DICTIONARY.apply(text, 0));
+    }
+
+    /**
+     * ラテン文字の連続の外にある記号と数字は変換しない<br/>
+     * テキスト全体を変換した場合は、句読点などの記号が日本語の記号に変換される場合がある
+     */
+    @Test
+    void testOutsideLatinRun() {
+        Assertions.assertEquals("1.5, 2.0?!", DICTIONARY.apply("1.5, 2.0?!", 0));
+
+        String latin = Transliterator.getInstance("Latin-Hiragana").transliterate("ka");
+        Assertions.assertEquals(latin + "-", DICTIONARY.apply("ka-", 0));
+        Assertions.assertEquals("~" + latin + ".", DICTIONARY.apply("~ka.", 0));
+        Assertions.assertEquals(latin + ", " + latin + "!", DICTIONARY.apply("ka, ka!", 0));
+    }
+}
@@ -0,0 +1,69 @@
+package dev.felnull.itts.core.dict;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+public class UnitDictionaryTest {
+    private static final TestEntry[] ENTRIES = new TestEntry[]{
+            new TestEntry("", ""),
+            new TestEntry("単位なし", "単位なし"),
+            new TestEntry("10kg", "10きろぐらむ"),
+            new TestEntry("10KG", "10きろぐらむ"),
+            new TestEntry("5m", "5めーとる"),
+            new TestEntry("10MB", "10めがばいと"),
+            new TestEntry("100ms", "100みり秒"),
+            new TestEntry("100mS", "100みりじーめんす"),
+            new TestEntry("3kPa", "3きろぱすかる"),
+            new TestEntry("10Mm", "10めがめーとる"),
+            new TestEntry("10mm", "10みりめーとる"),
+            new TestEntry("20°C", "20ど"),
+            new TestEntry("10kΩ", "10きろおーむ"),
+            new TestEntry("10μm", "10まいくろめーとる"),
+            new TestEntry("1GHz", "1ぎがへるつ"),
+            new TestEntry("10daHz", "10でかへるつ"),
+            new TestEntry("1mol", "1もる"),
+            new TestEntry("時速10km/h", "時速10きろめーとる/h"),
+            new TestEntry("10kgと20g", "10きろぐらむと20ぐらむ"),
+            new TestEntry("10mile", "10mile"),
+            new TestEntry("10m-long", "10m-long"),
+            new TestEntry("10xyz", "10xyz"),
+            new TestEntry("10 m", "10 m"),
+            new TestEntry("1hz", "1hz"),
+            new TestEntry("3A", "3あんぺあ"),
+            new TestEntry("300K", "300けるびん"),
+            new TestEntry("10CM", "10せんちめーとる"),
+            new TestEntry("1MG", "1MG"),
+            new TestEntry("5am", "5am"),
+            new TestEntry("5AM", "5AM"),
+            new TestEntry("8pm", "8pm"),
+            new TestEntry("12:00pm", "12:00pm"),
+            new TestEntry("4th", "4th"),
+            new TestEntry("10th", "10th"),
+            new TestEntry("1st", "1st"),
+            new TestEntry("2nd", "2nd"),
+            new TestEntry("3rd", "3rd"),
+            new TestEntry("2ch", "2ch"),
+            new TestEntry("2h", "2h"),
+            new TestEntry("3a", "3a"),
+            new TestEntry("2n", "2n"),
+            new TestEntry("10k", "10k"),
+    };
+
+    @ParameterizedTest
+    @MethodSource("entries")
+    void testApply(String before, String after) {
+        Assertions.assertEquals(after, new UnitDictionary().apply(before, 0));
+    }
+
+    private static Stream<Arguments> entries() {
+        return Arrays.stream(ENTRIES).map(it -> Arguments.arguments(it.before, it.after));
+    }
+
+    private record TestEntry(String before, String after) {
+    }
+}
@@ -0,0 +1,33 @@
+package dev.felnull.itts.core.dict;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntPredicate;
+
+public class WordBoundaryAnalyzerTest {
+
+    @Test
+    void testBoundaries() {
+        WordBoundaryAnalyzer analyzer = new WordBoundaryAnalyzer();
+        String text = "東京に行く";
+        IntPredicate boundaries = analyzer.getBoundaries(text);
+
+        Assertions.assertTrue(boundaries.test(0));
+        Assertions.assertFalse(boundaries.test(1));
+        Assertions.assertTrue(boundaries.test(2));
+        Assertions.assertTrue(boundaries.test(text.length()));
+    }
+
+    @Test
+    void testCache() {
+        WordBoundaryAnalyzer analyzer = new WordBoundaryAnalyzer();
+
+        analyzer.getBoundaries("東京に行く");
+        analyzer.getBoundaries("東京に行く");
+        analyzer.getBoundaries("大阪に行く");
+
+        Assertions.assertEquals(1, analyzer.getHitCount());
+        Assertions.assertEquals(2, analyzer.getMissCount());
+    }
+}
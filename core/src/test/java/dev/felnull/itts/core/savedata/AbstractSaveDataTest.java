@@ -111,13 +111,13 @@ public abstract class AbstractSaveDataTest {
     }
 
     private static final ServerDataRecord[] SERVER_DATA_RECORDS = new ServerDataRecord[]{
-            new ServerDataRecord(null, null, true, true, false, 0, 15, 0),
-            new ServerDataRecord(null, "", false, true, true, 100, 0, 0),
-            new ServerDataRecord(null, null, false, false, false, 364, 12, 0),
-            new ServerDataRecord(null, "(;).*", true, false, false, 130, 1, 0),
-            new ServerDataRecord(null, "(!|/|\\\\$|`).*", false, true, false, Integer.MAX_VALUE, 5, 0),
-            new ServerDataRecord(null, "ikisugi", false, false, true, 30, Integer.MAX_VALUE, 0),
-            new ServerDataRecord(null, "F.C.O.H", true, true, true, 1, 40, 0)
+            new ServerDataRecord(null, null, true, true, false, 0, 15, 0, 0),
+            new ServerDataRecord(null, "", false, true, true, 100, 0, 0, 500),
+            new ServerDataRecord(null, null, false, false, false, 364, 12, 0, 1000),
+            new ServerDataRecord(null, "(;).*", true, false, false, 130, 1, 0, 250),
+            new ServerDataRecord(null, "(!|/|\\\\$|`).*", false, true, false, Integer.MAX_VALUE, 5, 0, 0),
+            new ServerDataRecord(null, "ikisugi", false, false, true, 30, Integer.MAX_VALUE, 0, 30000),
+            new ServerDataRecord(null, "F.C.O.H", true, true, true, 1, 40, 0, 1)
     };
 
     private static final ServerUserDataRecord[] SERVER_USER_DATA_RECORDS = new ServerUserDataRecord[]{
@@ -12,6 +12,9 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Stream;
@@ -154,7 +157,7 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
             serverDataTableTestCreateTable(connection);
 
             int autoDisconnectModeKeyId = insertAndSelectKeyId(connection, dao.autoDisconnectModeKeyTable(), AutoDisconnectMode.ON.getName());
-            ServerDataRecord initRecord = new ServerDataRecord(null, null, false, false, false, 0, 0, autoDisconnectModeKeyId);
+            ServerDataRecord initRecord = new ServerDataRecord(null, null, false, false, false, 0, 0, autoDisconnectModeKeyId, 0);
 
             TestUtils.testForEach(discordServerIdsData(), serverId -> {
                 int serverKeyId = insertAndSelectKeyId(connection, dao.serverKeyTable(), serverId);
@@ -175,6 +178,7 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
                     dao.serverDataTable().updateReadLimit(connection, tableId, record.readLimit());
                     dao.serverDataTable().updateNameReadLimit(connection, tableId, record.nameReadLimit());
                     dao.serverDataTable().updateAutoDisconnectMode(connection, tableId, record.autoDisconnectModeKeyId());
+                    dao.serverDataTable().updateReadInterval(connection, tableId, record.readInterval());
 
                     serverDataTableTestSelectCheck(connection, serverKey, record);
                 });
@@ -188,7 +192,7 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
             serverDataTableTestCreateTable(connection);
 
             int autoDisconnectModeKeyId = insertAndSelectKeyId(connection, dao.autoDisconnectModeKeyTable(), AutoDisconnectMode.ON.getName());
-            ServerDataRecord record = new ServerDataRecord(null, null, false, false, false, 0, 0, autoDisconnectModeKeyId);
+            ServerDataRecord record = new ServerDataRecord(null, null, false, false, false, 0, 0, autoDisconnectModeKeyId, 0);
 
             int serverKeyId = insertAndSelectKeyId(connection, dao.serverKeyTable(), 114514L);
             ServerKey serverKey = new ServerKey(serverKeyId);
@@ -210,6 +214,7 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
             assertThrows(IllegalStateException.class, () -> dao.serverDataTable().selectReadLimit(connection, recordId));
             assertThrows(IllegalStateException.class, () -> dao.serverDataTable().selectNameReadLimit(connection, recordId));
             assertThrows(IllegalStateException.class, () -> dao.serverDataTable().selectAutoDisconnectMode(connection, recordId));
+            assertThrows(IllegalStateException.class, () -> dao.serverDataTable().selectReadInterval(connection, recordId));
 
             // 存在しないレコードIDで更新
             assertThrows(IllegalStateException.class, () -> dao.serverDataTable().updateDefaultVoiceType(connection, recordId, record.defaultVoiceTypeKeyId()));
@@ -220,6 +225,7 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
             assertThrows(IllegalStateException.class, () -> dao.serverDataTable().updateReadLimit(connection, recordId, record.readLimit()));
             assertThrows(IllegalStateException.class, () -> dao.serverDataTable().updateNameReadLimit(connection, recordId, record.nameReadLimit()));
             assertThrows(IllegalStateException.class, () -> dao.serverDataTable().updateAutoDisconnectMode(connection, recordId, record.autoDisconnectModeKeyId()));
+            assertThrows(IllegalStateException.class, () -> dao.serverDataTable().updateReadInterval(connection, recordId, record.readInterval()));
         }
     }
 
@@ -252,7 +258,8 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
                                 serverData.notifyMove(),
                                 serverData.readLimit(),
                                 serverData.nameReadLimit(),
-                                autoDisconnectModeKeyId
+                                autoDisconnectModeKeyId,
+                                serverData.readInterval()
                         );
                     } catch (SQLException e) {
                         throw new RuntimeException(e);
@@ -284,6 +291,7 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
         assertEquals(expectedRecord.readLimit(), dao.serverDataTable().selectReadLimit(connection, tableId));
         assertEquals(expectedRecord.nameReadLimit(), dao.serverDataTable().selectNameReadLimit(connection, tableId));
         assertEquals(expectedRecord.autoDisconnectModeKeyId(), dao.serverDataTable().selectAutoDisconnectMode(connection, tableId));
+        assertEquals(expectedRecord.readInterval(), dao.serverDataTable().selectReadInterval(connection, tableId));
     }
 
     // ServerUserDataTable
@@ -402,6 +410,52 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
         }
     }
 
+    @Test
+    void testServerUserDataTableMessageContext() throws Exception {
+        try (Connection connection = dao.getConnection()) {
+            serverDataTableTestCreateTable(connection);
+            serverUserDataTableTestCreateTable(connection);
+
+            int defaultVoiceTypeKeyId = insertAndSelectKeyId(connection, dao.voiceTypeKeyTable(), "kbtit");
+            int voiceTypeKeyId = insertAndSelectKeyId(connection, dao.voiceTypeKeyTable(), "ikisugi");
+            int autoDisconnectModeKeyId = insertAndSelectKeyId(connection, dao.autoDisconnectModeKeyTable(), AutoDisconnectMode.OFF.getName());
+
+            int serverKeyId = insertAndSelectKeyId(connection, dao.serverKeyTable(), 114514L);
+            int userKeyId1 = insertAndSelectKeyId(connection, dao.userKeyTable(), 364364L);
+            int userKeyId2 = insertAndSelectKeyId(connection, dao.userKeyTable(), 1919L);
+            insertAndSelectKeyId(connection, dao.userKeyTable(), 810L);
+
+            // レコードが存在しない場合は空
+            assertTrue(dao.serverUserDataTable().selectMessageContext(connection, 114514L, 364364L).isEmpty());
+
+            dao.serverDataTable().insertRecordIfNotExists(connection, new ServerKey(serverKeyId),
+                    new ServerDataRecord(defaultVoiceTypeKeyId, "(!|/).*", true, false, true, 200, 20, autoDisconnectModeKeyId, 500));
+
+            // サーバー別ユーザーデータが存在しない場合も空
+            assertTrue(dao.serverUserDataTable().selectMessageContext(connection, 114514L, 364364L).isEmpty());
+
+            dao.serverUserDataTable().insertRecordIfNotExists(connection, new ServerUserKey(serverKeyId, userKeyId1), new ServerUserDataRecord(voiceTypeKeyId, true, "野獣"));
+            dao.serverUserDataTable().insertRecordIfNotExists(connection, new ServerUserKey(serverKeyId, userKeyId2), new ServerUserDataRecord(null, false, null));
+
+            // 結合したレコードが取得できるか確認
+            IdRecordPair<ServerDataRecord> serverData = dao.serverDataTable().selectRecordByKey(connection, new ServerKey(serverKeyId)).orElseThrow();
+            IdRecordPair<ServerUserDataRecord> serverUserData1 =
+                    dao.serverUserDataTable().selectRecordByKey(connection, new ServerUserKey(serverKeyId, userKeyId1)).orElseThrow();
+            IdRecordPair<ServerUserDataRecord> serverUserData2 =
+                    dao.serverUserDataTable().selectRecordByKey(connection, new ServerUserKey(serverKeyId, userKeyId2)).orElseThrow();
+
+            assertEquals(Optional.of(new MessageContextRecord(serverData, serverUserData1)),
+                    dao.serverUserDataTable().selectMessageContext(connection, 114514L, 364364L));
+            assertEquals(Optional.of(new MessageContextRecord(serverData, serverUserData2)),
+                    dao.serverUserDataTable().selectMessageContext(connection, 114514L, 1919L));
+            assertEquals(new ServerUserDataRecord(voiceTypeKeyId, true, "野獣"), serverUserData1.getRecord());
+
+            // 存在しないユーザーとサーバー
+            assertTrue(dao.serverUserDataTable().selectMessageContext(connection, 114514L, 810L).isEmpty());
+            assertTrue(dao.serverUserDataTable().selectMessageContext(connection, 810L, 364364L).isEmpty());
+        }
+    }
+
     private void serverUserDataTableTestCreateTable(Connection connection) throws Exception {
         // テストで必要なテーブルを作成
         dao.serverKeyTable().createTableIfNotExists(connection);
@@ -990,6 +1044,61 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
         }
     }
 
+    @Test
+    void testServerCustomDictionaryTableBatch() throws Exception {
+        try (Connection connection = dao.getConnection()) {
+            DAO.ServerCustomDictionaryTable serverCustomDictionaryTable = dao.serverCustomDictionaryTable();
+
+            // テーブルの作成
+            serverCustomDictionaryTable.createTableIfNotExists(connection);
+            dao.serverKeyTable().createTableIfNotExists(connection);
+            dao.dictionaryReplaceTypeKeyTable().createTableIfNotExists(connection);
+
+            ServerKey serverKey1 = new ServerKey(insertAndSelectKeyId(connection, dao.serverKeyTable(), 810L));
+            ServerKey serverKey2 = new ServerKey(insertAndSelectKeyId(connection, dao.serverKeyTable(), 114514L));
+
+            List<DictionaryRecord> dictEntries = new ArrayList<>();
+
+            TestUtils.testForEach(createTestDataStream(customDictionaryData1(), Arrays.stream(ReplaceType.values())), data -> {
+                int replaceTypeId = insertAndSelectKeyId(connection, dao.dictionaryReplaceTypeKeyTable(), data.getRight().getName());
+                dictEntries.add(new DictionaryRecord(data.getKey().getLeft(), data.getKey().getRight(), replaceTypeId));
+            });
+
+            // 空の場合にエラーが出ないか確認
+            serverCustomDictionaryTable.insertRecords(connection, serverKey1, List.of());
+            serverCustomDictionaryTable.deleteRecords(connection, List.of());
+            assertTrue(serverCustomDictionaryTable.selectRecords(connection, serverKey1).isEmpty());
+
+            // トランザクション内でまとめて追加
+            connection.setAutoCommit(false);
+            serverCustomDictionaryTable.insertRecords(connection, serverKey1, dictEntries);
+            connection.commit();
+            connection.setAutoCommit(true);
+
+            Map<Integer, DictionaryRecord> ret1 = serverCustomDictionaryTable.selectRecords(connection, serverKey1);
+            assertTrue(!dictEntries.isEmpty() && CollectionUtils.isEqualCollection(dictEntries, ret1.values()));
+            assertTrue(serverCustomDictionaryTable.selectRecords(connection, serverKey2).isEmpty());
+
+            // ロールバックした場合は削除されていないか確認
+            connection.setAutoCommit(false);
+            serverCustomDictionaryTable.deleteRecords(connection, List.copyOf(ret1.keySet()));
+            connection.rollback();
+            connection.setAutoCommit(true);
+
+            assertEquals(ret1, serverCustomDictionaryTable.selectRecords(connection, serverKey1));
+
+            // まとめて削除
+            List<Integer> ids = List.copyOf(ret1.keySet());
+            serverCustomDictionaryTable.deleteRecords(connection, ids.subList(0, ids.size() / 2));
+
+            Map<Integer, DictionaryRecord> delRet1 = serverCustomDictionaryTable.selectRecords(connection, serverKey1);
+            assertEquals(Set.copyOf(ids.subList(ids.size() / 2, ids.size())), delRet1.keySet());
+
+            serverCustomDictionaryTable.deleteRecords(connection, List.copyOf(delRet1.keySet()));
+            assertTrue(serverCustomDictionaryTable.selectRecords(connection, serverKey1).isEmpty());
+        }
+    }
+
     // GlobalCustomDictionaryTable
 
     @Test
@@ -1072,6 +1181,102 @@ public abstract class DAOAccessTest extends AbstractSaveDataTest {
         }
     }
 
+    // SchemaVersionTable
+
+    @Test
+    void testSchemaMigration() throws Exception {
+        try (Connection connection = dao.getConnection()) {
+            // テーブルの作成
+            dao.serverKeyTable().createTableIfNotExists(connection);
+            dao.userKeyTable().createTableIfNotExists(connection);
+            dao.botKeyTable().createTableIfNotExists(connection);
+            dao.channelKeyTable().createTableIfNotExists(connection);
+            dao.dictionaryKeyTable().createTableIfNotExists(connection);
+            dao.dictionaryReplaceTypeKeyTable().createTableIfNotExists(connection);
+            dao.autoDisconnectModeKeyTable().createTableIfNotExists(connection);
+            dao.voiceTypeKeyTable().createTableIfNotExists(connection);
+            dao.serverDataTable().createTableIfNotExists(connection);
+            dao.serverUserDataTable().createTableIfNotExists(connection);
+            dao.dictionaryUseDataTable().createTableIfNotExists(connection);
+            dao.botStateDataTable().createTableIfNotExists(connection);
+            dao.serverCustomDictionaryTable().createTableIfNotExists(connection);
+            dao.globalCustomDictionaryTable().createTableIfNotExists(connection);
+            dao.schemaVersionTable().createTableIfNotExists(connection);
+
+            assertTrue(dao.schemaVersionTable().selectVersion(connection).isEmpty());
+
+            // 索引が無かった頃に重複して追加されたレコード
+            int serverKeyId = insertAndSelectKeyId(connection, dao.serverKeyTable(), 114514L);
+            int userKeyId = insertAndSelectKeyId(connection, dao.userKeyTable(), 1919810L);
+            String insertSql = "insert into server_user_data(server_id, user_id, voice_type, deny, nick_name) values (?, ?, null, false, ?)";
+
+            for (String nickName : List.of("ikisugi", "yajuu")) {
+                try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                    statement.setInt(1, serverKeyId);
+                    statement.setInt(2, userKeyId);
+                    statement.setString(3, nickName);
+                    statement.execute();
+                }
+            }
+
+            dao.migrateSchema(connection);
+
+            OptionalInt version = dao.schemaVersionTable().selectVersion(connection);
+            assertTrue(version.isPresent());
+
+            // 最初に追加されたレコードのみ残っているか確認
+            ServerUserKey serverUserKey = new ServerUserKey(serverKeyId, userKeyId);
+            assertEquals("ikisugi", dao.serverUserDataTable().selectRecordByKey(connection, serverUserKey).orElseThrow().getRecord().nickName());
+            assertEquals(1, countRecords(connection, "server_user_data"));
+
+            assertTrue(existsIndex(connection, "server_user_data", "server_user_data_key"));
+            assertTrue(existsIndex(connection, "dictionary_use_data", "dictionary_use_data_key"));
+            assertTrue(existsIndex(connection, "bot_state_data", "bot_state_data_key"));
+            assertTrue(existsIndex(connection, "bot_state_data", "bot_state_data_bot"));
+            assertTrue(existsIndex(connection, "server_custom_dictionary", "server_custom_dictionary_target"));
+            assertTrue(existsIndex(connection, "global_custom_dictionary", "global_custom_dictionary_target"));
+
+            // 適用済みの場合は何もしないか確認
+            dao.migrateSchema(connection);
+            assertEquals(version, dao.schemaVersionTable().selectVersion(connection));
+
+            // 適用済みの変更があってもやり直せるか確認
+            dao.schemaVersionTable().updateVersion(connection, 0);
+            dao.migrateSchema(connection);
+            assertEquals(version, dao.schemaVersionTable().selectVersion(connection));
+
+            // 一意な索引により重複して追加できないか確認
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                statement.setInt(1, serverKeyId);
+                statement.setInt(2, userKeyId);
+                statement.setString(3, "senpai");
+                assertThrows(SQLException.class, statement::execute);
+            }
+        }
+    }
+
+    private boolean existsIndex(Connection connection, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private int countRecords(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select count(*) from " + table);
+             ResultSet rs = statement.executeQuery()) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+
     // Common
 
     private <T> Integer insertAndSelectKeyId(Connection connection, DAO.KeyTable<T> table, T key) throws SQLException {
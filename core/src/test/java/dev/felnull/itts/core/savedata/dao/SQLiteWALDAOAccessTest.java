@@ -0,0 +1,64 @@
+package dev.felnull.itts.core.savedata.dao;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SQLiteWALDAOAccessTest extends SQLiteDAOAccessTest {
+
+    @TempDir
+    private static Path walDbDir;
+
+    @BeforeAll
+    static void setUpAll() {
+        File dbFile = new File(walDbDir.toFile(), "save_data.db");
+        assertFalse(dbFile.exists());
+
+        dao = DAOFactory.getInstance().createSQLiteWALDAO(dbFile);
+        dao.init();
+    }
+
+    @Test
+    void testJournalMode() throws SQLException {
+        try (Connection connection = dao.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement("PRAGMA journal_mode");
+             ResultSet rs = statement.executeQuery()) {
+            assertTrue(rs.next());
+            assertEquals("wal", rs.getString(1));
+        }
+    }
+
+    @Test
+    void testReadConnection() throws SQLException {
+        try (Connection connection = dao.getConnection()) {
+            dao.serverKeyTable().createTableIfNotExists(connection);
+            dao.serverKeyTable().insertKeyIfNotExists(connection, 114514L);
+        }
+
+        try (Connection writeConnection = dao.getConnection(); Connection readConnection = dao.getReadConnection()) {
+            // 書き込んだ内容は読み取り用のコネクションから取得できる
+            int id = dao.serverKeyTable().selectId(writeConnection, 114514L).orElseThrow();
+            assertEquals(id, dao.serverKeyTable().selectId(readConnection, 114514L).orElseThrow());
+
+            // 書き込み中のトランザクションがあっても読み取れる
+            writeConnection.setAutoCommit(false);
+            dao.serverKeyTable().insertKeyIfNotExists(writeConnection, 1919810L);
+            assertTrue(dao.serverKeyTable().selectId(readConnection, 1919810L).isEmpty());
+            writeConnection.commit();
+            writeConnection.setAutoCommit(true);
+            assertTrue(dao.serverKeyTable().selectId(readConnection, 1919810L).isPresent());
+
+            // 読み取り用のコネクションでは書き込めない
+            assertThrows(SQLException.class, () -> dao.serverKeyTable().insertKeyIfNotExists(readConnection, 364364L));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package dev.felnull.itts.core.savedata.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 100万件のユーザーデータに対する、索引の追加前後のキーによる取得時間の計測
+ */
+@EnabledIfEnvironmentVariable(named = "I_TTS_BENCHMARK_TEST", matches = "ENABLE")
+public class SchemaIndexBenchmarkTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(SchemaIndexBenchmarkTest.class);
+
+    private static final int SERVER_COUNT = 1000;
+
+    private static final int USER_COUNT = 1000;
+
+    private static final int LOOKUP_COUNT = 200;
+
+    @TempDir
+    private static Path dbDir;
+
+    private static DAO dao;
+
+    @BeforeAll
+    static void setUpAll() {
+        File dbFile = new File(dbDir.toFile(), "save_data.db");
+        assertFalse(dbFile.exists());
+
+        dao = DAOFactory.getInstance().createSQLiteDAO(dbFile);
+        dao.init();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        dao.dispose();
+        dao = null;
+    }
+
+    @Test
+    void benchmarkServerUserDataLookup() throws Exception {
+        try (Connection connection = dao.getConnection()) {
+            dao.serverKeyTable().createTableIfNotExists(connection);
+            dao.userKeyTable().createTableIfNotExists(connection);
+            dao.voiceTypeKeyTable().createTableIfNotExists(connection);
+            dao.serverUserDataTable().createTableIfNotExists(connection);
+
+            insertRecords(connection);
+
+            long noIndexTime = measureLookup(connection);
+
+            dao.serverDataTable().createTableIfNotExists(connection);
+            dao.dictionaryUseDataTable().createTableIfNotExists(connection);
+            dao.dictionaryKeyTable().createTableIfNotExists(connection);
+            dao.botKeyTable().createTableIfNotExists(connection);
+            dao.channelKeyTable().createTableIfNotExists(connection);
+            dao.botStateDataTable().createTableIfNotExists(connection);
+            dao.dictionaryReplaceTypeKeyTable().createTableIfNotExists(connection);
+            dao.autoDisconnectModeKeyTable().createTableIfNotExists(connection);
+            dao.serverCustomDictionaryTable().createTableIfNotExists(connection);
+            dao.globalCustomDictionaryTable().createTableIfNotExists(connection);
+
+            long migrateStart = System.nanoTime();
+            dao.migrateSchema(connection);
+            long migrateTime = System.nanoTime() - migrateStart;
+
+            long indexTime = measureLookup(connection);
+
+            LOGGER.info("server_user_data rows: {}", SERVER_COUNT * USER_COUNT);
+            LOGGER.info("lookup without index: {}ms/op", String.format("%.3f", noIndexTime / 1_000_000d / LOOKUP_COUNT));
+            LOGGER.info("migration: {}ms", String.format("%.3f", migrateTime / 1_000_000d));
+            LOGGER.info("lookup with index: {}ms/op", String.format("%.3f", indexTime / 1_000_000d / LOOKUP_COUNT));
+
+            assertTrue(indexTime < noIndexTime);
+        }
+    }
+
+    private void insertRecords(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement statement = connection.prepareStatement("insert into server_key(id, discord_id) values (?, ?)")) {
+            for (int i = 1; i <= SERVER_COUNT; i++) {
+                statement.setInt(1, i);
+                statement.setLong(2, i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("insert into user_key(id, discord_id) values (?, ?)")) {
+            for (int i = 1; i <= USER_COUNT; i++) {
+                statement.setInt(1, i);
+                statement.setLong(2, i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        String sql = "insert into server_user_data(server_id, user_id, voice_type, deny, nick_name) values (?, ?, null, false, null)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int server = 1; server <= SERVER_COUNT; server++) {
+                for (int user = 1; user <= USER_COUNT; user++) {
+                    statement.setInt(1, server);
+                    statement.setInt(2, user);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private long measureLookup(Connection connection) throws SQLException {
+        Random random = new Random(114514L);
+
+        // ウォームアップ
+        dao.serverUserDataTable().selectRecordByKey(connection, new ServerUserKey(1, 1));
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            ServerUserKey key = new ServerUserKey(random.nextInt(SERVER_COUNT) + 1, random.nextInt(USER_COUNT) + 1);
+            assertTrue(dao.serverUserDataTable().selectRecordByKey(connection, key).isPresent());
+        }
+
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,162 @@
+package dev.felnull.itts.core.savedata.repository;
+
+import dev.felnull.itts.core.savedata.dao.DAO;
+import dev.felnull.itts.core.tts.TTSChannelPair;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BotStateWriteBehindTest extends RepoBaseTest {
+
+    private static final long SERVER_ID = 1919810114514L;
+
+    private static final long BOT_ID = 1145141919810L;
+
+    private DataRepository createWriteBehindRepository() {
+        // 間隔による書き込みが起きないように長めに設定
+        DataRepository repo = DataRepository.create(createDAO(), 60 * 60 * 1000);
+        repo.init();
+        return repo;
+    }
+
+    @Test
+    void testDisabled() {
+        DataRepository repo = createRepository();
+        assertTrue(repo.getBotStateWriteBehindMetrics().isEmpty());
+        repo.dispose();
+    }
+
+    @Test
+    void testCoalesceAndFlush() {
+        DataRepository repo = createWriteBehindRepository();
+        BotStateData botStateData = repo.getBotStateData(SERVER_ID, BOT_ID);
+
+        TTSChannelPair connectedChannel = new TTSChannelPair(10, 20);
+        TTSChannelPair reconnectChannel = new TTSChannelPair(30, 40);
+
+        botStateData.setConnectedChannelPair(new TTSChannelPair(1, 2));
+        botStateData.setConnectedChannelPair(connectedChannel);
+        botStateData.setReconnectChannelPair(new TTSChannelPair(3, 4));
+        botStateData.setReconnectChannelPair(reconnectChannel);
+
+        // 書き込み前でも更新後の値を取得できる
+        assertEquals(connectedChannel, botStateData.getConnectedChannelPair());
+        assertEquals(reconnectChannel, botStateData.getReconnectChannelPair());
+
+        WriteBehindMetrics metrics = repo.getBotStateWriteBehindMetrics().orElseThrow();
+        assertEquals(1, metrics.pendingRecords());
+        assertEquals(4, metrics.queuedWrites());
+        assertEquals(2, metrics.coalescedWrites());
+        assertEquals(0, metrics.flushes());
+
+        // 一括取得では、書き込まずに書き込み待ちの値が反映される
+        Map<Long, TTSChannelPair> connectedChannels = repo.getAllConnectedChannel(BOT_ID);
+        assertEquals(connectedChannel, connectedChannels.get(SERVER_ID));
+        assertEquals(1, repo.getBotStateWriteBehindMetrics().orElseThrow().pendingRecords());
+
+        // 終了時に書き込まれる
+        repo.dispose();
+
+        metrics = repo.getBotStateWriteBehindMetrics().orElseThrow();
+        assertEquals(0, metrics.pendingRecords());
+        assertEquals(2, metrics.flushedWrites());
+        assertEquals(1, metrics.flushes());
+        assertEquals(0, metrics.failedFlushes());
+        assertTrue(metrics.lastFlushLag() > 0);
+        assertTrue(metrics.maxFlushLag() >= metrics.lastFlushLag());
+
+        DataRepository repo2 = createRepository();
+        assertEquals(connectedChannel, repo2.getAllConnectedChannel(BOT_ID).get(SERVER_ID));
+        repo2.dispose();
+    }
+
+    @Test
+    void testPendingDisconnect() {
+        long serverId = SERVER_ID + 2;
+        DataRepository repo = createRepository();
+        repo.getBotStateData(serverId, BOT_ID).setConnectedChannelPair(new TTSChannelPair(80, 90));
+        repo.dispose();
+
+        // データベースには接続中として残っていても、書き込み待ちの切断が反映される
+        DataRepository repo2 = createWriteBehindRepository();
+        repo2.getBotStateData(serverId, BOT_ID).setConnectedChannelPair(null);
+        assertFalse(repo2.getAllConnectedChannel(BOT_ID).containsKey(serverId));
+        repo2.dispose();
+    }
+
+    @Test
+    void testFlushOnDispose() {
+        long serverId = SERVER_ID + 1;
+        DataRepository repo = createWriteBehindRepository();
+        BotStateData botStateData = repo.getBotStateData(serverId, BOT_ID);
+
+        TTSChannelPair connectedChannel = new TTSChannelPair(50, 60);
+
+        // 重なる列の更新は後の値が優先される
+        botStateData.setSpeakAudioChannel(70L);
+        botStateData.setConnectedChannelPair(connectedChannel);
+        botStateData.setReconnectChannelPair(null);
+
+        repo.dispose();
+
+        DataRepository repo2 = createRepository();
+        BotStateData botStateData2 = repo2.getBotStateData(serverId, BOT_ID);
+        assertEquals(connectedChannel, botStateData2.getConnectedChannelPair());
+        assertNull(botStateData2.getReconnectChannelPair());
+        repo2.dispose();
+    }
+
+    @Test
+    void testFailedRecordIsolated() throws Exception {
+        long serverId = SERVER_ID + 3;
+        long deletedServerId = SERVER_ID + 4;
+        TTSChannelPair connectedChannel = new TTSChannelPair(100, 110);
+
+        DataRepository repo = DataRepository.create(createDAO(), 20);
+        repo.init();
+        BotStateData botStateData = repo.getBotStateData(serverId, BOT_ID);
+        BotStateData deletedBotStateData = repo.getBotStateData(deletedServerId, BOT_ID);
+
+        // 更新先のレコードが存在しない場合は、そのレコードの書き込みのみ失敗する
+        deleteBotStateData(deletedServerId);
+        deletedBotStateData.setConnectedChannelPair(new TTSChannelPair(120, 130));
+        botStateData.setConnectedChannelPair(connectedChannel);
+
+        // 続けて失敗したレコードの更新は、上限を超えると破棄される
+        long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repo.getBotStateWriteBehindMetrics().orElseThrow().pendingRecords() > 0) {
+            assertTrue(System.nanoTime() < limit, "Timed out");
+            Thread.sleep(10);
+        }
+
+        WriteBehindMetrics metrics = repo.getBotStateWriteBehindMetrics().orElseThrow();
+        assertEquals(6, metrics.failedFlushes());
+        assertEquals(1, metrics.flushedWrites());
+        repo.dispose();
+
+        DataRepository repo2 = createRepository();
+        Map<Long, TTSChannelPair> connectedChannels = repo2.getAllConnectedChannel(BOT_ID);
+        assertEquals(connectedChannel, connectedChannels.get(serverId));
+        assertFalse(connectedChannels.containsKey(deletedServerId));
+        repo2.dispose();
+    }
+
+    private void deleteBotStateData(long serverId) throws Exception {
+        DAO dao = createDAO();
+        dao.init();
+
+        try (Connection connection = dao.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "delete from bot_state_data where server_id = (select id from server_key where discord_id = ?)")) {
+            statement.setLong(1, serverId);
+            assertEquals(1, statement.executeUpdate());
+        } finally {
+            dao.dispose();
+        }
+    }
+}
@@ -12,6 +12,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RepositoryTest extends RepoBaseTest {
@@ -93,6 +95,51 @@ public class RepositoryTest extends RepoBaseTest {
         repo.dispose();
     }
 
+    @Test
+    void testGetMessageContext() {
+        DataRepository repo = createRepository();
+
+        // レコードが存在しない場合は初期状態
+        MessageContext initContext = repo.getMessageContext(364L, 4545L);
+        assertFalse(initContext.deny());
+        assertNull(initContext.voiceType());
+        assertNull(initContext.nickName());
+
+        ServerData serverData = repo.getServerData(364L);
+        serverData.setIgnoreRegex("イキスギ");
+        serverData.setNeedJoin(true);
+        serverData.setReadLimit(114);
+        serverData.setNameReadLimit(51);
+        serverData.setDefaultVoiceType("kbtit");
+
+        ServerUserData serverUserData = repo.getServerUserData(364L, 4545L);
+        serverUserData.setDeny(true);
+        serverUserData.setVoiceType("ikisugi");
+        serverUserData.setNickName("野獣");
+
+        MessageContext expected = new MessageContext("イキスギ", true, 114, 51, "kbtit", true, "ikisugi", "野獣");
+
+        // 書き込みがすぐに反映されているか確認
+        assertEquals(expected, repo.getMessageContext(364L, 4545L));
+
+        repo.dispose();
+
+        // 読み込み済みのデータが無い状態で、データベースから取得できるか確認
+        DataRepository repo2 = createRepository();
+        assertEquals(expected, repo2.getMessageContext(364L, 4545L));
+
+        // 取得したレコードから作成されたデータがキャッシュされ、更新できるか確認
+        ServerData serverData2 = repo2.getServerData(364L);
+        ServerUserData serverUserData2 = repo2.getServerUserData(364L, 4545L);
+        assertEquals(114, serverData2.getReadLimit());
+        assertEquals("野獣", serverUserData2.getNickName());
+
+        serverData2.setReadLimit(810);
+        serverUserData2.setNickName("先輩");
+        assertEquals(new MessageContext("イキスギ", true, 810, 51, "kbtit", true, "ikisugi", "先輩"), repo2.getMessageContext(364L, 4545L));
+        repo2.dispose();
+    }
+
     @Test
     void testGetAllDictionaryUseData() {
         DataRepository repo = createRepository();
@@ -104,4 +104,71 @@ public class ServerCustomDictionaryDataTest extends RepoBaseTest {
 
         repo.dispose();
     }
+
+    @Test
+    void testAddAll() {
+        DataRepository repo = createRepository();
+        CustomDictionaryData customDictionaryData = repo.getServerCustomDictionaryData(114514);
+
+        customDictionaryData.add(new CustomDictionaryEntry("kbtit", "KBTITさん", ReplaceType.WORD));
+        customDictionaryData.add(new CustomDictionaryEntry("太い", "お太い", ReplaceType.WORD));
+
+        List<CustomDictionaryEntry> entries = List.of(
+                new CustomDictionaryEntry("kbtit", "くぼたいと", ReplaceType.WORD),
+                new CustomDictionaryEntry("太い", "お太い", ReplaceType.WORD),
+                new CustomDictionaryEntry("aikiso", "あいきそ", ReplaceType.WORD),
+                new CustomDictionaryEntry("test", "てすと", ReplaceType.CHARACTER),
+                new CustomDictionaryEntry("test", "テスト", ReplaceType.WORD));
+
+        // 上書きしない場合は未登録のもののみ追加され、重複する置き換え対象は後のものを優先
+        List<CustomDictionaryEntry> added = customDictionaryData.addAll(entries, false);
+        assertEquals(List.of(
+                new CustomDictionaryEntry("aikiso", "あいきそ", ReplaceType.WORD),
+                new CustomDictionaryEntry("test", "テスト", ReplaceType.WORD)), added);
+        assertEquals("KBTITさん", customDictionaryData.getByTarget("kbtit").get(0).entry().read());
+        assertEquals(4, customDictionaryData.getAll().size());
+
+        // 上書きする場合は変更があるもののみ置き換えられる
+        List<CustomDictionaryEntry> overwritten = customDictionaryData.addAll(entries, true);
+        assertEquals(List.of(new CustomDictionaryEntry("kbtit", "くぼたいと", ReplaceType.WORD)), overwritten);
+
+        List<IdCustomDictionaryEntryPair> kbtit = customDictionaryData.getByTarget("kbtit");
+        assertEquals(1, kbtit.size());
+        assertEquals("くぼたいと", kbtit.get(0).entry().read());
+        assertEquals(4, customDictionaryData.getAll().size());
+
+        // 変更が無い場合は何もしない
+        assertTrue(customDictionaryData.addAll(entries, true).isEmpty());
+        assertTrue(customDictionaryData.addAll(List.of(), true).isEmpty());
+        assertEquals(4, customDictionaryData.getAll().size());
+
+        // 辞書エントリを削除
+        customDictionaryData.getAll().forEach(it -> customDictionaryData.remove(it.id()));
+        assertTrue(customDictionaryData.getAll().isEmpty());
+
+        repo.dispose();
+    }
+
+    @Test
+    void testOverwriteDuplicatedTarget() {
+        DataRepository repo = createRepository();
+        CustomDictionaryData customDictionaryData = repo.getServerCustomDictionaryData(1145141919);
+
+        // 以前の登録方法で重複して登録された置き換え対象
+        customDictionaryData.add(new CustomDictionaryEntry("kbtit", "KBTITさん", ReplaceType.WORD));
+        customDictionaryData.add(new CustomDictionaryEntry("kbtit", "くぼたいと", ReplaceType.WORD));
+        assertEquals(2, customDictionaryData.getByTarget("kbtit").size());
+
+        // 上書きすると重複したものは全て置き換えられる
+        customDictionaryData.addAll(List.of(new CustomDictionaryEntry("kbtit", "きたない", ReplaceType.WORD)), true);
+
+        List<IdCustomDictionaryEntryPair> kbtit = customDictionaryData.getByTarget("kbtit");
+        assertEquals(1, kbtit.size());
+        assertEquals("きたない", kbtit.get(0).entry().read());
+
+        customDictionaryData.getAll().forEach(it -> customDictionaryData.remove(it.id()));
+        assertTrue(customDictionaryData.getAll().isEmpty());
+
+        repo.dispose();
+    }
 }
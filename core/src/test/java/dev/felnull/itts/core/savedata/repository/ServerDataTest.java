@@ -50,6 +50,7 @@ public class ServerDataTest extends RepoBaseTest {
         serverData.setReadLimit(serverDataRecord.readLimit());
         serverData.setNameReadLimit(serverDataRecord.nameReadLimit());
         serverData.setAutoDisconnectMode(autoDisconnectMode);
+        serverData.setReadInterval(serverDataRecord.readInterval());
 
         // データを取得
         assertEquals(defaultVoiceType, serverData.getDefaultVoiceType());
@@ -60,6 +61,34 @@ public class ServerDataTest extends RepoBaseTest {
         assertEquals(serverDataRecord.readLimit(), serverData.getReadLimit());
         assertEquals(serverDataRecord.nameReadLimit(), serverData.getNameReadLimit());
         assertEquals(autoDisconnectMode, serverData.getAutoDisconnectMode());
+        assertEquals(serverDataRecord.readInterval(), serverData.getReadInterval());
+    }
+
+    @ParameterizedTest
+    @MethodSource("serverDataTestData")
+    void testLoadSnapshot(long serverId, ServerDataRecord serverDataRecord, String defaultVoiceType, AutoDisconnectMode autoDisconnectMode) {
+        DataRepository repo = createRepository();
+
+        ServerData serverData = repo.getServerData(serverId);
+        checkGetAndSet(serverData, serverDataRecord, defaultVoiceType, autoDisconnectMode);
+
+        repo.dispose();
+
+        // 書き込んだ内容が、新しく読み込んだスナップショットに反映されているか確認
+        DataRepository repo2 = createRepository();
+        ServerData serverData2 = repo2.getServerData(serverId);
+
+        assertEquals(defaultVoiceType, serverData2.getDefaultVoiceType());
+        assertEquals(serverDataRecord.ignoreRegex(), serverData2.getIgnoreRegex());
+        assertEquals(serverDataRecord.needJoin(), serverData2.isNeedJoin());
+        assertEquals(serverDataRecord.overwriteAloud(), serverData2.isOverwriteAloud());
+        assertEquals(serverDataRecord.notifyMove(), serverData2.isNotifyMove());
+        assertEquals(serverDataRecord.readLimit(), serverData2.getReadLimit());
+        assertEquals(serverDataRecord.nameReadLimit(), serverData2.getNameReadLimit());
+        assertEquals(autoDisconnectMode, serverData2.getAutoDisconnectMode());
+        assertEquals(serverDataRecord.readInterval(), serverData2.getReadInterval());
+
+        repo2.dispose();
     }
 
     private static Stream<Arguments> serverDataTestData() {
@@ -0,0 +1,29 @@
+package dev.felnull.itts.core.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class StringUtilsTest {
+
+    @Test
+    void testSplitSentences() {
+        Assertions.assertEquals(List.of("こんにちは。今日はいい天気ですね！", "明日は雨が降るらしいので傘を持って行きましょう。"),
+                StringUtils.splitSentences("こんにちは。今日はいい天気ですね！明日は雨が降るらしいので傘を持って行きましょう。", 15, 100));
+
+        Assertions.assertEquals(List.of("version 1.5 is out.", " Really? yes"),
+                StringUtils.splitSentences("version 1.5 is out. Really? yes", 15, 100));
+
+        Assertions.assertEquals(List.of("ええ！？", "本当に。。。"),
+                StringUtils.splitSentences("ええ！？本当に。。。", 1, 100));
+
+        Assertions.assertEquals(List.of(), StringUtils.splitSentences("  \n ", 5, 100));
+    }
+
+    @Test
+    void testSplitLongSentence() {
+        Assertions.assertEquals(List.of("あいうえおかきくけこさし", "すせそたちつてと、", "なにぬねのはひふへほ"),
+                StringUtils.splitSentences("あいうえおかきくけこさしすせそたちつてと、なにぬねのはひふへほ", 5, 12));
+    }
+}
@@ -0,0 +1,169 @@
+package dev.felnull.itts.core.voice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SynthesisSchedulerTest {
+
+    private static final String ENGINE_ID = "test";
+
+    private final SynthesisScheduler scheduler = new SynthesisScheduler();
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Test
+    void testConcurrencyLimit() throws Exception {
+        InputStream first = scheduler.open(ENGINE_ID, 2, 1, "a", InputStream::nullInputStream);
+        InputStream second = scheduler.open(ENGINE_ID, 2, 2, "b", InputStream::nullInputStream);
+
+        List<String> opened = new CopyOnWriteArrayList<>();
+        openLater(2, 3, "c", opened);
+        waitUntil(() -> queued(3) == 1);
+
+        // 最大同時合成数に達している間は待機する
+        assertEquals(1, scheduler.getGuildMetrics(1).running());
+        assertEquals(1, scheduler.getGuildMetrics(2).running());
+        assertTrue(opened.isEmpty());
+
+        // 閉じると枠が返却され、待機中の合成が開始する
+        first.close();
+        waitUntil(() -> opened.size() == 1);
+        assertEquals(List.of("c"), opened);
+
+        // 二重に閉じても枠は一度しか返却しない
+        first.close();
+        assertEquals(1, scheduler.getGuildMetrics(1).completed());
+
+        second.close();
+    }
+
+    @Test
+    void testOrder() throws Exception {
+        InputStream holder = scheduler.open(ENGINE_ID, 1, 1, "x", InputStream::nullInputStream);
+        List<String> opened = new CopyOnWriteArrayList<>();
+
+        openLater(1, 1, "c".repeat(30), opened);
+        waitUntil(() -> queued(1) == 1);
+        openLater(1, 1, "a".repeat(10), opened);
+        waitUntil(() -> queued(1) == 2);
+        openLater(1, 1, "b".repeat(10), opened);
+        waitUntil(() -> queued(1) == 3);
+        openLater(1, 2, "d".repeat(15), opened);
+        waitUntil(() -> queued(2) == 1);
+
+        holder.close();
+        waitUntil(() -> opened.size() == 4);
+
+        // 同じサーバー内では短い順、同じ長さであれば受付順に開始し、後から受け付けた別のサーバーの合成は待たされない
+        assertEquals(List.of("a".repeat(10), "d".repeat(15), "b".repeat(10), "c".repeat(30)), opened);
+
+        waitUntil(() -> scheduler.getGuildMetrics(1).completed() == 4 && scheduler.getGuildMetrics(2).completed() == 1);
+        assertEquals(0, scheduler.getGuildMetrics(1).queued());
+        assertEquals(0, scheduler.getGuildMetrics(1).running());
+    }
+
+    @Test
+    void testCancelWaiting() throws Exception {
+        InputStream holder = scheduler.open(ENGINE_ID, 1, 1, "x", InputStream::nullInputStream);
+
+        AtomicBoolean cancelledOpened = new AtomicBoolean();
+        AtomicReference<Throwable> cancelledError = new AtomicReference<>();
+        Thread cancelled = start(() -> {
+            try (InputStream in = scheduler.open(ENGINE_ID, 1, 2, "cancelled", () -> {
+                cancelledOpened.set(true);
+                return InputStream.nullInputStream();
+            })) {
+                fail("Should not be opened");
+            } catch (Throwable e) {
+                cancelledError.set(e);
+            }
+        });
+        waitUntil(() -> queued(2) == 1);
+
+        List<String> opened = new CopyOnWriteArrayList<>();
+        openLater(1, 3, "next", opened);
+        waitUntil(() -> queued(3) == 1);
+
+        // 待機中に割り込まれた場合は待機キューから取り除く
+        cancelled.interrupt();
+        cancelled.join(TimeUnit.SECONDS.toMillis(5));
+        assertInstanceOf(InterruptedException.class, cancelledError.get());
+        assertEquals(0, queued(2));
+
+        holder.close();
+        waitUntil(() -> opened.size() == 1);
+        assertEquals(List.of("next"), opened);
+        assertFalse(cancelledOpened.get());
+        assertEquals(0, scheduler.getGuildMetrics(2).completed());
+
+        // 待機も合成も無いサーバーの統計は破棄できる
+        scheduler.removeGuildMetrics(2);
+        assertNull(scheduler.getGuildMetrics(2));
+    }
+
+    @Test
+    void testOpenFailure() throws Exception {
+        assertThrows(IOException.class, () -> scheduler.open(ENGINE_ID, 1, 1, "fail", () -> {
+            throw new IOException("Test");
+        }));
+
+        // 開くことに失敗した場合も枠を返却する
+        assertEquals(0, scheduler.getGuildMetrics(1).running());
+        assertEquals(1, scheduler.getGuildMetrics(1).completed());
+        scheduler.open(ENGINE_ID, 1, 1, "ok", InputStream::nullInputStream).close();
+    }
+
+    private int queued(long guildId) {
+        GuildSynthesisMetrics metrics = scheduler.getGuildMetrics(guildId);
+        return metrics != null ? metrics.queued() : 0;
+    }
+
+    private void openLater(int maxConcurrency, long guildId, String text, List<String> opened) {
+        start(() -> {
+            try (InputStream in = scheduler.open(ENGINE_ID, maxConcurrency, guildId, text, () -> {
+                opened.add(text);
+                return InputStream.nullInputStream();
+            })) {
+                in.readAllBytes();
+            } catch (IOException | InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private Thread start(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        threads.add(thread);
+        thread.start();
+        return thread;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limit, "Timed out");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -3,8 +3,10 @@ package dev.felnull.itts.config;
 import blue.endless.jankson.JsonObject;
 import blue.endless.jankson.JsonPrimitive;
 import dev.felnull.itts.config.old.ConfigV0;
+import dev.felnull.itts.core.config.CacheConfig;
 import dev.felnull.itts.core.config.Config;
 import dev.felnull.itts.core.config.DataBaseConfig;
+import dev.felnull.itts.core.config.ThreadConfig;
 import dev.felnull.itts.core.config.voicetype.VoiceTextConfig;
 import dev.felnull.itts.core.config.voicetype.VoicevoxConfig;
 import dev.felnull.itts.core.util.NameSerializableEnum;
@@ -26,6 +28,8 @@ import java.util.Optional;
  * @param coeirolnkConfig COEIROLNK コンフィグ
  * @param sharevoxConfig  SHAREVOX コンフィグ
  * @param dataBaseConfig  データベースコンフィグ
+ * @param cacheConfig     キャッシュコンフィグ
+ * @param threadConfig    スレッドコンフィグ
  */
 public record ConfigImpl(
         String botToken,
@@ -35,7 +39,9 @@ public record ConfigImpl(
         VoicevoxConfig voicevoxConfig,
         VoicevoxConfig coeirolnkConfig,
         VoicevoxConfig sharevoxConfig,
-        DataBaseConfig dataBaseConfig
+        DataBaseConfig dataBaseConfig,
+        CacheConfig cacheConfig,
+        ThreadConfig threadConfig
 ) implements Config {
 
     /**
@@ -52,6 +58,8 @@ public record ConfigImpl(
             VoicevoxConfig coeirolnkConfig = VoicevoxConfigImpl.fromJson(Optional.ofNullable(json5.getObject("coeirolnk")).orElseGet(JsonObject::new));
             VoicevoxConfig sharevoxConfig = VoicevoxConfigImpl.fromJson(Optional.ofNullable(json5.getObject("sharevox")).orElseGet(JsonObject::new));
             DataBaseConfig dataBaseConfig = DataBaseConfigImpl.fromJson(Optional.ofNullable(json5.getObject("data_base")).orElseGet(JsonObject::new));
+            CacheConfig cacheConfig = CacheConfigImpl.fromJson(Optional.ofNullable(json5.getObject("cache")).orElseGet(JsonObject::new));
+            ThreadConfig threadConfig = ThreadConfigImpl.fromJson(Optional.ofNullable(json5.getObject("thread")).orElseGet(JsonObject::new));
 
             return new ConfigImpl(
                     botToken,
@@ -61,7 +69,9 @@ public record ConfigImpl(
                     voicevoxConfig,
                     coeirolnkConfig,
                     sharevoxConfig,
-                    dataBaseConfig
+                    dataBaseConfig,
+                    cacheConfig,
+                    threadConfig
             );
         }
 
@@ -73,11 +83,16 @@ public record ConfigImpl(
                     configV0.botToken(),
                     configV0.themeColor(),
                     configV0.cacheTime(),
-                    new VoiceTextConfigImpl(configV0.voiceTextConfig().enable(), configV0.voiceTextConfig().apiKey()),
-                    new VoicevoxConfigImpl(configV0.voicevoxConfig().enable(), configV0.voicevoxConfig().apiUrls(), configV0.voicevoxConfig().checkTime()),
-                    new VoicevoxConfigImpl(configV0.coeirolnkConfig().enable(), configV0.coeirolnkConfig().apiUrls(), configV0.coeirolnkConfig().checkTime()),
-                    new VoicevoxConfigImpl(configV0.sharevoxConfig().enable(), configV0.sharevoxConfig().apiUrls(), configV0.sharevoxConfig().checkTime()),
-                    new DataBaseConfigImpl()
+                    new VoiceTextConfigImpl(configV0.voiceTextConfig().enable(), configV0.voiceTextConfig().apiKey(), VoiceTextConfig.DEFAULT_MAX_CONCURRENT_SYNTHESIS),
+                    new VoicevoxConfigImpl(configV0.voicevoxConfig().enable(), configV0.voicevoxConfig().apiUrls(), configV0.voicevoxConfig().checkTime(),
+                            VoicevoxConfig.DEFAULT_MAX_CONCURRENT_SYNTHESIS),
+                    new VoicevoxConfigImpl(configV0.coeirolnkConfig().enable(), configV0.coeirolnkConfig().apiUrls(), configV0.coeirolnkConfig().checkTime(),
+                            VoicevoxConfig.DEFAULT_MAX_CONCURRENT_SYNTHESIS),
+                    new VoicevoxConfigImpl(configV0.sharevoxConfig().enable(), configV0.sharevoxConfig().apiUrls(), configV0.sharevoxConfig().checkTime(),
+                            VoicevoxConfig.DEFAULT_MAX_CONCURRENT_SYNTHESIS),
+                    new DataBaseConfigImpl(),
+                    new CacheConfigImpl(),
+                    new ThreadConfigImpl()
             );
         }
     };
@@ -96,7 +111,9 @@ public record ConfigImpl(
                 new VoicevoxConfigImpl(),
                 new VoicevoxConfigImpl(),
                 new VoicevoxConfigImpl(),
-                new DataBaseConfigImpl()
+                new DataBaseConfigImpl(),
+                new CacheConfigImpl(),
+                new ThreadConfigImpl()
         );
     }
 
@@ -112,6 +129,8 @@ public record ConfigImpl(
         json5.put("coeirolnk", ((VoicevoxConfigImpl) this.coeirolnkConfig).toJson(), "COEIROLNKのコンフィグ");
         json5.put("sharevox", ((VoicevoxConfigImpl) this.sharevoxConfig).toJson(), "SHAREVOXのコンフィグ");
         json5.put("data_base", ((DataBaseConfigImpl) this.dataBaseConfig).toJson(), "データベースのコンフィグ");
+        json5.put("cache", ((CacheConfigImpl) this.cacheConfig).toJson(), "キャッシュのコンフィグ");
+        json5.put("thread", ((ThreadConfigImpl) this.threadConfig).toJson(), "スレッドのコンフィグ");
     }
 
     @Override
@@ -154,28 +173,41 @@ public record ConfigImpl(
         return dataBaseConfig;
     }
 
+    @Override
+    public CacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+
+    @Override
+    public ThreadConfig getThreadConfig() {
+        return threadConfig;
+    }
+
     /**
      * VOICETEXTコンフィグの実装
      *
-     * @param enable 有効かどうか
-     * @param apiKey APIキー
+     * @param enable                 有効かどうか
+     * @param apiKey                 APIキー
+     * @param maxConcurrentSynthesis 最大同時合成数
      */
-    private record VoiceTextConfigImpl(boolean enable, String apiKey) implements VoiceTextConfig {
+    private record VoiceTextConfigImpl(boolean enable, String apiKey, int maxConcurrentSynthesis) implements VoiceTextConfig {
 
         private VoiceTextConfigImpl() {
-            this(DEFAULT_ENABLE, DEFAULT_API_KEY);
+            this(DEFAULT_ENABLE, DEFAULT_API_KEY, DEFAULT_MAX_CONCURRENT_SYNTHESIS);
         }
 
         public static VoiceTextConfigImpl fromJson(JsonObject jo) {
             boolean enable = jo.getBoolean("enable", DEFAULT_ENABLE);
             String apiKey = Json5Utils.getStringOrElse(jo, "api_key", DEFAULT_API_KEY);
-            return new VoiceTextConfigImpl(enable, apiKey);
+            int maxConcurrentSynthesis = jo.getInt("max_concurrent_synthesis", DEFAULT_MAX_CONCURRENT_SYNTHESIS);
+            return new VoiceTextConfigImpl(enable, apiKey, maxConcurrentSynthesis);
         }
 
         public JsonObject toJson() {
             JsonObject jo = new JsonObject();
             jo.put("enable", JsonPrimitive.of(enable), "有効かどうか");
             jo.put("api_key", JsonPrimitive.of(apiKey), "APIキー");
+            jo.put("max_concurrent_synthesis", new JsonPrimitive(maxConcurrentSynthesis), "全サーバー合計の最大同時合成数");
             return jo;
         }
 
@@ -184,6 +216,11 @@ public record ConfigImpl(
             return apiKey;
         }
 
+        @Override
+        public int getMaxConcurrentSynthesis() {
+            return maxConcurrentSynthesis;
+        }
+
         @Override
         public boolean isEnable() {
             return enable;
@@ -193,14 +230,15 @@ public record ConfigImpl(
     /**
      * VOICEVOXコンフィグの実装
      *
-     * @param enable    有効かどうか
-     * @param apiUrls   APIのURLリスト
-     * @param checkTime APIが利用可能かどうか確認する間隔(ms)
+     * @param enable                 有効かどうか
+     * @param apiUrls                APIのURLリスト
+     * @param checkTime              APIが利用可能かどうか確認する間隔(ms)
+     * @param maxConcurrentSynthesis 最大同時合成数
      */
-    private record VoicevoxConfigImpl(boolean enable, List<String> apiUrls, long checkTime) implements VoicevoxConfig {
+    private record VoicevoxConfigImpl(boolean enable, List<String> apiUrls, long checkTime, int maxConcurrentSynthesis) implements VoicevoxConfig {
 
         private VoicevoxConfigImpl() {
-            this(DEFAULT_ENABLE, DEFAULT_API_URLS, DEFAULT_CHECK_TIME);
+            this(DEFAULT_ENABLE, DEFAULT_API_URLS, DEFAULT_CHECK_TIME, DEFAULT_MAX_CONCURRENT_SYNTHESIS);
         }
 
         public static VoicevoxConfigImpl fromJson(JsonObject jo) {
@@ -210,7 +248,8 @@ public record ConfigImpl(
             List<String> apiUrls = loadApiUrls.isEmpty() ? DEFAULT_API_URLS : loadApiUrls;
 
             long checkTime = jo.getLong("check_time", DEFAULT_CHECK_TIME);
-            return new VoicevoxConfigImpl(enable, apiUrls, checkTime);
+            int maxConcurrentSynthesis = jo.getInt("max_concurrent_synthesis", DEFAULT_MAX_CONCURRENT_SYNTHESIS);
+            return new VoicevoxConfigImpl(enable, apiUrls, checkTime, maxConcurrentSynthesis);
         }
 
         public JsonObject toJson() {
@@ -218,6 +257,7 @@ public record ConfigImpl(
             jo.put("enable", JsonPrimitive.of(enable), "有効かどうか");
             jo.put("api_url", Json5Utils.toJsonArray(this.apiUrls), "EngineのURL");
             jo.put("check_time", JsonPrimitive.of(checkTime), "APIが利用可能かどうか確認する間隔(ms)");
+            jo.put("max_concurrent_synthesis", new JsonPrimitive(maxConcurrentSynthesis), "全サーバー合計の最大同時合成数 (全エンジンURLの合計)");
             return jo;
         }
 
@@ -231,6 +271,11 @@ public record ConfigImpl(
             return checkTime;
         }
 
+        @Override
+        public int getMaxConcurrentSynthesis() {
+            return maxConcurrentSynthesis;
+        }
+
         @Override
         public boolean isEnable() {
             return enable;
@@ -240,12 +285,14 @@ public record ConfigImpl(
     /**
      * データベースコンフィグの実装
      *
-     * @param type         データベースの種類
-     * @param host         ホスト名
-     * @param port         ポート番号
-     * @param databaseName データベース名
-     * @param user         ユーザー名
-     * @param password     パスワード
+     * @param type                        データベースの種類
+     * @param host                        ホスト名
+     * @param port                        ポート番号
+     * @param databaseName                データベース名
+     * @param user                        ユーザー名
+     * @param password                    パスワード
+     * @param sqliteWal                   SQLiteをWALモードで利用するかどうか
+     * @param botStateWriteBehindInterval BOT状態データの更新をまとめて書き込む間隔(ms)
      */
     private record DataBaseConfigImpl(
             DataBaseType type,
@@ -253,11 +300,14 @@ public record ConfigImpl(
             @Range(from = 0, to = 65535) int port,
             String databaseName,
             String user,
-            String password
+            String password,
+            boolean sqliteWal,
+            long botStateWriteBehindInterval
     ) implements DataBaseConfig {
 
         private DataBaseConfigImpl() {
-            this(DEFAULT_TYPE, DEFAULT_HOST, DEFAULT_PORT, DEFAULT_DATABASE_NAME, DEFAULT_USER, DEFAULT_PASSWORD);
+            this(DEFAULT_TYPE, DEFAULT_HOST, DEFAULT_PORT, DEFAULT_DATABASE_NAME, DEFAULT_USER, DEFAULT_PASSWORD, DEFAULT_SQLITE_WAL,
+                    DEFAULT_BOT_STATE_WRITE_BEHIND_INTERVAL);
         }
 
         public static DataBaseConfigImpl fromJson(JsonObject jo) {
@@ -268,8 +318,10 @@ public record ConfigImpl(
             String databaseName = Json5Utils.getStringOrElse(jo, "database_name", DEFAULT_DATABASE_NAME);
             String user = Json5Utils.getStringOrElse(jo, "user", DEFAULT_USER);
             String password = Json5Utils.getStringOrElse(jo, "password", DEFAULT_PASSWORD);
+            boolean sqliteWal = jo.getBoolean("sqlite_wal", DEFAULT_SQLITE_WAL);
+            long botStateWriteBehindInterval = jo.getLong("bot_state_write_behind_interval", DEFAULT_BOT_STATE_WRITE_BEHIND_INTERVAL);
 
-            return new DataBaseConfigImpl(type, host, port, databaseName, user, password);
+            return new DataBaseConfigImpl(type, host, port, databaseName, user, password, sqliteWal, botStateWriteBehindInterval);
         }
 
         public JsonObject toJson() {
@@ -280,6 +332,8 @@ public record ConfigImpl(
             jo.put("database_name", JsonPrimitive.of(databaseName), "データベース名 (MySQL)");
             jo.put("user", JsonPrimitive.of(user), "ユーザー名 (MySQL)");
             jo.put("password", JsonPrimitive.of(password), "パスワード (MySQL)");
+            jo.put("sqlite_wal", JsonPrimitive.of(sqliteWal), "WALモードで書き込みと読み取りのコネクションを分けるかどうか (SQLite)");
+            jo.put("bot_state_write_behind_interval", JsonPrimitive.of(botStateWriteBehindInterval), "BOTの接続状態の更新をまとめて書き込む間隔(ms)、0で更新ごとに書き込む");
             return jo;
         }
 
@@ -312,5 +366,140 @@ public record ConfigImpl(
         public @NotNull String getPassword() {
             return password;
         }
+
+        @Override
+        public boolean isSQLiteWal() {
+            return sqliteWal;
+        }
+
+        @Override
+        public long getBotStateWriteBehindInterval() {
+            return botStateWriteBehindInterval;
+        }
+    }
+
+    /**
+     * キャッシュコンフィグの実装
+     *
+     * @param streamingPlayback       音声の取得完了を待たずに再生を開始するかどうか
+     * @param persistent              永続キャッシュを利用するかどうか
+     * @param persistentDirectory     永続キャッシュの保存先フォルダ
+     * @param maxDiskSize             永続キャッシュの最大合計サイズ
+     * @param maxDiskEntries          永続キャッシュの最大件数
+     * @param memoryCacheSize         メモリキャッシュの最大合計サイズ
+     * @param memoryCacheMaxEntrySize メモリキャッシュに保持する1件あたりの最大サイズ
+     */
+    private record CacheConfigImpl(
+            boolean streamingPlayback,
+            boolean persistent,
+            String persistentDirectory,
+            long maxDiskSize,
+            int maxDiskEntries,
+            long memoryCacheSize,
+            int memoryCacheMaxEntrySize
+    ) implements CacheConfig {
+
+        private CacheConfigImpl() {
+            this(DEFAULT_STREAMING_PLAYBACK, DEFAULT_PERSISTENT, DEFAULT_PERSISTENT_DIRECTORY, DEFAULT_MAX_DISK_SIZE, DEFAULT_MAX_DISK_ENTRIES,
+                    DEFAULT_MEMORY_CACHE_SIZE, DEFAULT_MEMORY_CACHE_MAX_ENTRY_SIZE);
+        }
+
+        public static CacheConfigImpl fromJson(JsonObject jo) {
+            boolean streamingPlayback = jo.getBoolean("streaming_playback", DEFAULT_STREAMING_PLAYBACK);
+            boolean persistent = jo.getBoolean("persistent", DEFAULT_PERSISTENT);
+            String persistentDirectory = Json5Utils.getStringOrElse(jo, "persistent_directory", DEFAULT_PERSISTENT_DIRECTORY);
+            long maxDiskSize = jo.getLong("max_disk_size", DEFAULT_MAX_DISK_SIZE);
+            int maxDiskEntries = jo.getInt("max_disk_entries", DEFAULT_MAX_DISK_ENTRIES);
+            long memoryCacheSize = jo.getLong("memory_cache_size", DEFAULT_MEMORY_CACHE_SIZE);
+            int memoryCacheMaxEntrySize = jo.getInt("memory_cache_max_entry_size", DEFAULT_MEMORY_CACHE_MAX_ENTRY_SIZE);
+            return new CacheConfigImpl(streamingPlayback, persistent, persistentDirectory, maxDiskSize, maxDiskEntries,
+                    memoryCacheSize, memoryCacheMaxEntrySize);
+        }
+
+        public JsonObject toJson() {
+            JsonObject jo = new JsonObject();
+            jo.put("streaming_playback", JsonPrimitive.of(streamingPlayback), "音声の取得完了を待たずに再生を開始するかどうか");
+            jo.put("persistent", JsonPrimitive.of(persistent), "再起動後も保持される永続キャッシュを利用するかどうか");
+            jo.put("persistent_directory", JsonPrimitive.of(persistentDirectory), "永続キャッシュの保存先フォルダ");
+            jo.put("max_disk_size", JsonPrimitive.of(maxDiskSize), "永続キャッシュの最大合計サイズ(byte)");
+            jo.put("max_disk_entries", new JsonPrimitive(maxDiskEntries), "永続キャッシュの最大件数");
+            jo.put("memory_cache_size", JsonPrimitive.of(memoryCacheSize), "ヒープ外に保持するメモリキャッシュの最大合計サイズ(byte) 0で無効");
+            jo.put("memory_cache_max_entry_size", new JsonPrimitive(memoryCacheMaxEntrySize), "メモリキャッシュに保持する1件あたりの最大サイズ(byte)");
+            return jo;
+        }
+
+        @Override
+        public boolean isStreamingPlayback() {
+            return streamingPlayback;
+        }
+
+        @Override
+        public boolean isPersistent() {
+            return persistent;
+        }
+
+        @Override
+        public @NotNull String getPersistentDirectory() {
+            return persistentDirectory;
+        }
+
+        @Override
+        public long getMaxDiskSize() {
+            return maxDiskSize;
+        }
+
+        @Override
+        public int getMaxDiskEntries() {
+            return maxDiskEntries;
+        }
+
+        @Override
+        public long getMemoryCacheSize() {
+            return memoryCacheSize;
+        }
+
+        @Override
+        public int getMemoryCacheMaxEntrySize() {
+            return memoryCacheMaxEntrySize;
+        }
+    }
+
+    /**
+     * スレッドコンフィグの実装
+     *
+     * @param virtualThreads      非同期処理とHTTP通信に仮想スレッドを利用するかどうか
+     * @param pinnedWarnThreshold キャリアスレッド固定の警告を行う時間
+     */
+    private record ThreadConfigImpl(
+            boolean virtualThreads,
+            long pinnedWarnThreshold
+    ) implements ThreadConfig {
+
+        private ThreadConfigImpl() {
+            this(DEFAULT_VIRTUAL_THREADS, DEFAULT_PINNED_WARN_THRESHOLD);
+        }
+
+        public static ThreadConfigImpl fromJson(JsonObject jo) {
+            boolean virtualThreads = jo.getBoolean("virtual_threads", DEFAULT_VIRTUAL_THREADS);
+            long pinnedWarnThreshold = jo.getLong("pinned_warn_threshold", DEFAULT_PINNED_WARN_THRESHOLD);
+            return new ThreadConfigImpl(virtualThreads, pinnedWarnThreshold);
+        }
+
+        public JsonObject toJson() {
+            JsonObject jo = new JsonObject();
+            jo.put("virtual_threads", JsonPrimitive.of(virtualThreads), "非同期処理とHTTP通信に仮想スレッドを利用するかどうか");
+            jo.put("pinned_warn_threshold", JsonPrimitive.of(pinnedWarnThreshold), "仮想スレッドがキャリアスレッドに固定された場合に警告を行う時間(ms) 0で無効");
+            return jo;
+        }
+
+        @Override
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        @Override
+        public long getPinnedWarnThreshold() {
+            return pinnedWarnThreshold;
+        }
     }
 }